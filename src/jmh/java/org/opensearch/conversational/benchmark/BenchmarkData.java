@@ -0,0 +1,157 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.benchmark;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.conversational.index.ConvoIndexConstants;
+import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.search.SearchHit;
+
+/**
+ * Deterministic, realistically sized inputs shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    private final static String[] WORDS = {
+        "the", "conversation", "retrieval", "augmented", "generation", "document", "answer", "question", "context",
+        "search", "index", "opensearch", "embedding", "vector", "ranking", "prompt", "response", "agent", "user",
+        "résumé", "naïve", "über", "これは", "テスト", "数据", "of", "and", "to", "in", "is", "for", "with", "on"
+    };
+
+    private BenchmarkData() {}
+
+    /**
+     * @param random source of the words
+     * @param bytes roughly how many bytes of text to make
+     * @return prose-like text, with some multibyte characters
+     */
+    static String text(Random random, int bytes) {
+        StringBuilder text = new StringBuilder(bytes + 16);
+        while(text.length() < bytes) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param random source of the contents
+     * @param count how many interactions to make
+     * @param textBytes rough size of each prompt and response
+     * @return interactions of one conversation, newest first, as a page of get interactions would have them
+     */
+    static List<Interaction> interactions(Random random, int count, int textBytes) {
+        List<Interaction> interactions = new ArrayList<>(count);
+        Instant now = Instant.parse("2023-06-01T12:00:00Z");
+        for(int i = 0; i < count; i++) {
+            interactions.add(new Interaction(
+                "interaction-" + i + "-" + Long.toHexString(random.nextLong()),
+                now.minusSeconds(i),
+                "conversation-" + Long.toHexString(random.nextLong()),
+                text(random, textBytes / 8),
+                text(random, textBytes),
+                text(random, textBytes),
+                "agent-" + random.nextInt(4),
+                "{\"model\":\"gpt-3.5-turbo\",\"temperature\":0.2,\"sources\":[\"doc-1\",\"doc-2\",\"doc-3\"]}",
+                (long) (count - i)
+            ));
+        }
+        return interactions;
+    }
+
+    /**
+     * @param interaction an interaction
+     * @return the interaction's document source, as it's stored in the interactions index
+     */
+    static Map<String, Object> source(Interaction interaction) {
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, interaction.getTimestamp().toString());
+        source.put(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, interaction.getConvoId());
+        source.put(ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, interaction.getInput());
+        source.put(ConvoIndexConstants.INTERACTIONS_PROMPT_FIELD, interaction.getPrompt());
+        source.put(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, interaction.getResponse());
+        source.put(ConvoIndexConstants.INTERACTIONS_AGENT_FIELD, interaction.getAgent());
+        source.put(ConvoIndexConstants.INTERACTIONS_METADATA_FIELD, interaction.getMetadata());
+        source.put(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD, interaction.getSequence());
+        return source;
+    }
+
+    /**
+     * @param random source of the contents
+     * @param count how many conversations to make
+     * @return conversations, most recently hit first, as a page of list conversations would have them
+     */
+    static List<ConvoMeta> conversations(Random random, int count) {
+        List<ConvoMeta> conversations = new ArrayList<>(count);
+        Instant now = Instant.parse("2023-06-01T12:00:00Z");
+        for(int i = 0; i < count; i++) {
+            conversations.add(new ConvoMeta(
+                "conversation-" + i + "-" + Long.toHexString(random.nextLong()),
+                now.minusSeconds(3600 + i),
+                now.minusSeconds(i),
+                random.nextInt(200),
+                text(random, 40),
+                random.nextInt(200)
+            ));
+        }
+        return conversations;
+    }
+
+    /**
+     * @param conversation a conversation
+     * @return the conversation's document source, as it's stored in the meta index
+     */
+    static Map<String, Object> source(ConvoMeta conversation) {
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.META_CREATED_FIELD, conversation.getCreated().toString());
+        source.put(ConvoIndexConstants.META_ENDED_FIELD, conversation.getLastHit().toString());
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, conversation.getLength());
+        source.put(ConvoIndexConstants.META_NAME_FIELD, conversation.getName());
+        source.put(ConvoIndexConstants.META_SEQUENCE_FIELD, conversation.getLastSequence());
+        return source;
+    }
+
+    /**
+     * @param source a document source
+     * @return the source serialized as JSON, the way a search response carries it
+     * @throws IOException if the source can't be serialized
+     */
+    static BytesReference sourceBytes(Map<String, Object> source) throws IOException {
+        return BytesReference.bytes(XContentFactory.jsonBuilder().map(source));
+    }
+
+    /**
+     * A search hit parses its source once and keeps the map, so every benchmark invocation needs a hit of its own
+     * @param id id of the document
+     * @param sourceBytes the document's source
+     * @return a search hit that hasn't parsed its source yet
+     */
+    static SearchHit searchHit(String id, BytesReference sourceBytes) {
+        SearchHit hit = new SearchHit(0, id, Map.of(), Map.of());
+        hit.sourceRef(sourceBytes);
+        return hit;
+    }
+}
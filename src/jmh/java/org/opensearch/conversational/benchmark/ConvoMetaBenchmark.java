@@ -0,0 +1,78 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.core.xcontent.ToXContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and rendering of one conversation's metadata
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ConvoMetaBenchmark {
+
+    private ConvoMeta conversation;
+    private Map<String, Object> source;
+
+    /**
+     * Build the conversation and its source
+     */
+    @Setup
+    public void setup() {
+        conversation = BenchmarkData.conversations(new Random(42), 1).get(0);
+        source = BenchmarkData.source(conversation);
+    }
+
+    /**
+     * @return the conversation, read out of its source map
+     */
+    @Benchmark
+    public ConvoMeta fromMap() {
+        return ConvoMeta.fromMap(conversation.getId(), source);
+    }
+
+    /**
+     * @return the conversation, rendered as JSON for a REST response
+     * @throws IOException if it can't be rendered
+     */
+    @Benchmark
+    public BytesReference toXContent() throws IOException {
+        return BytesReference.bytes(conversation.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.search.SearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and serialization of one interaction, with prompts and responses of a few sizes
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class InteractionBenchmark {
+
+    /** Rough size of the prompt and of the response, in bytes */
+    @Param({ "1024", "8192", "32768" })
+    public int textBytes;
+
+    private Interaction interaction;
+    private Map<String, Object> source;
+    private BytesReference sourceBytes;
+    private BytesReference streamBytes;
+
+    /**
+     * Build the interaction and its serialized forms
+     * @throws IOException if they can't be serialized
+     */
+    @Setup
+    public void setup() throws IOException {
+        interaction = BenchmarkData.interactions(new Random(42), 1, textBytes).get(0);
+        source = BenchmarkData.source(interaction);
+        sourceBytes = BenchmarkData.sourceBytes(source);
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            interaction.writeTo(out);
+            streamBytes = out.bytes();
+        }
+    }
+
+    /**
+     * @return the interaction, read out of its source map
+     */
+    @Benchmark
+    public Interaction fromMap() {
+        return Interaction.fromMap(interaction.getId(), source);
+    }
+
+    /**
+     * @return the interaction, read out of a search hit whose source hasn't been parsed yet
+     */
+    @Benchmark
+    public Interaction fromSearchHit() {
+        SearchHit hit = BenchmarkData.searchHit(interaction.getId(), sourceBytes);
+        return Interaction.fromSearchHit(hit);
+    }
+
+    /**
+     * @return the interaction, written to the transport wire format
+     * @throws IOException if it can't be written
+     */
+    @Benchmark
+    public BytesReference writeTo() throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            interaction.writeTo(out);
+            return out.bytes();
+        }
+    }
+
+    /**
+     * @return the interaction, read from the transport wire format
+     * @throws IOException if it can't be read
+     */
+    @Benchmark
+    public Interaction fromStream() throws IOException {
+        try (StreamInput in = streamBytes.streamInput()) {
+            return Interaction.fromStream(in);
+        }
+    }
+
+    /**
+     * @return the interaction, rendered as JSON for a REST response
+     * @throws IOException if it can't be rendered
+     */
+    @Benchmark
+    public BytesReference toXContent() throws IOException {
+        return BytesReference.bytes(interaction.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+    }
+}
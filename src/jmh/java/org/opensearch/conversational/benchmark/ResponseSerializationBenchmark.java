@@ -0,0 +1,158 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.conversational.action.memory.conversation.ListConversationsResponse;
+import org.opensearch.conversational.action.memory.interaction.GetInteractionsResponse;
+import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.conversational.index.PageCursor;
+import org.opensearch.core.xcontent.ToXContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of whole pages of get interactions and list conversations, between nodes and to REST clients
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ResponseSerializationBenchmark {
+
+    /** Number of interactions or conversations in the page */
+    @Param({ "10", "100", "1000" })
+    public int pageSize;
+
+    /** Rough size of each prompt and response, in bytes */
+    @Param({ "2048", "8192" })
+    public int textBytes;
+
+    private GetInteractionsResponse interactionsResponse;
+    private ListConversationsResponse conversationsResponse;
+    private BytesReference interactionsBytes;
+    private BytesReference conversationsBytes;
+
+    /**
+     * Build the pages and their serialized forms
+     * @throws IOException if they can't be serialized
+     */
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        List<Interaction> interactions = BenchmarkData.interactions(random, pageSize, textBytes);
+        interactionsResponse = new GetInteractionsResponse(
+            interactions,
+            PageCursor.after(interactions.get(interactions.size() - 1)).encode(),
+            true
+        );
+        List<ConvoMeta> conversations = BenchmarkData.conversations(random, pageSize);
+        conversationsResponse = new ListConversationsResponse(
+            conversations,
+            PageCursor.after(conversations.get(conversations.size() - 1)).encode(),
+            true
+        );
+        interactionsBytes = write(interactionsResponse);
+        conversationsBytes = write(conversationsResponse);
+    }
+
+    private static BytesReference write(Writeable writeable) throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            writeable.writeTo(out);
+            return out.bytes();
+        }
+    }
+
+    /**
+     * @return the get interactions page, written to the transport wire format
+     * @throws IOException if it can't be written
+     */
+    @Benchmark
+    public BytesReference getInteractionsWriteTo() throws IOException {
+        return write(interactionsResponse);
+    }
+
+    /**
+     * @return the get interactions page, read from the transport wire format
+     * @throws IOException if it can't be read
+     */
+    @Benchmark
+    public GetInteractionsResponse getInteractionsReadFrom() throws IOException {
+        try (StreamInput in = interactionsBytes.streamInput()) {
+            return new GetInteractionsResponse(in);
+        }
+    }
+
+    /**
+     * @return the get interactions page, rendered as JSON for a REST response
+     * @throws IOException if it can't be rendered
+     */
+    @Benchmark
+    public BytesReference getInteractionsToXContent() throws IOException {
+        return BytesReference.bytes(interactionsResponse.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+    }
+
+    /**
+     * @return the list conversations page, written to the transport wire format
+     * @throws IOException if it can't be written
+     */
+    @Benchmark
+    public BytesReference listConversationsWriteTo() throws IOException {
+        return write(conversationsResponse);
+    }
+
+    /**
+     * @return the list conversations page, read from the transport wire format
+     * @throws IOException if it can't be read
+     */
+    @Benchmark
+    public ListConversationsResponse listConversationsReadFrom() throws IOException {
+        try (StreamInput in = conversationsBytes.streamInput()) {
+            return new ListConversationsResponse(in);
+        }
+    }
+
+    /**
+     * @return the list conversations page, rendered as JSON for a REST response
+     * @throws IOException if it can't be rendered
+     */
+    @Benchmark
+    public BytesReference listConversationsToXContent() throws IOException {
+        return BytesReference.bytes(conversationsResponse.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.lucene.tests.util.TimeUnits;
+import org.opensearch.client.Request;
+import org.opensearch.client.ResponseException;
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.PathUtils;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.test.rest.OpenSearchRestTestCase;
+
+import com.carrotsearch.randomizedtesting.annotations.TimeoutSuite;
+
+/**
+ * Drives a put and get interactions workload against a test cluster through the REST API, and writes the throughput
+ * and latency percentiles it sustained to a JSON report. Run it with ./gradlew loadTest; the workload is configured
+ * with load.* system properties (see {@link Workload}), and is reproducible for a given load.seed
+ */
+@TimeoutSuite(millis = 4 * TimeUnits.HOUR)
+public class ConversationalLoadIT extends OpenSearchRestTestCase {
+
+    private final static String PUT_INTERACTION = "put_interaction";
+    private final static String GET_INTERACTIONS = "get_interactions";
+
+    public void testLoad() throws Exception {
+        Workload workload = Workload.fromSystemProperties();
+        Map<String, Object> nodesInfo = entityAsMap(client().performRequest(new Request("GET", "/_nodes")));
+        int nodes = ((Number) ((Map<?, ?>) nodesInfo.get("_nodes")).get("total")).intValue();
+        logger.info("running load test against [{}] nodes: {}", nodes, workload);
+
+        Recorder puts = new Recorder();
+        Recorder gets = new Recorder();
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + workload.warmup.nanos();
+        long endNanos = measureStartNanos + workload.duration.nanos();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>(workload.conversations);
+        for(int i = 0; i < workload.conversations; i++) {
+            Random random = new Random(workload.seed + i);
+            Thread worker = new Thread(() -> {
+                try {
+                    runConversation(workload, random, puts, gets, measureStartNanos, endNanos);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "conversational-load-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for(Thread worker : workers) {
+            worker.join();
+        }
+        if(failure.get() != null) {
+            throw failure.get();
+        }
+
+        double measuredSeconds = workload.duration.nanos() / 1e9;
+        XContentBuilder report = XContentFactory.jsonBuilder().prettyPrint();
+        report.startObject();
+        report.field("workload");
+        workload.toXContent(report);
+        report.field("nodes", nodes);
+        report.field("measured_seconds", measuredSeconds);
+        report.startObject("operations");
+        puts.toXContent(report, PUT_INTERACTION, measuredSeconds, nodes);
+        gets.toXContent(report, GET_INTERACTIONS, measuredSeconds, nodes);
+        report.endObject();
+        report.endObject();
+        String json = Strings.toString(report);
+        Path reportPath = PathUtils.get(workload.report);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.write(reportPath, json.getBytes(StandardCharsets.UTF_8));
+        logger.info("load test report written to [{}]:\n{}", reportPath.toAbsolutePath(), json);
+
+        assert(puts.histogram.snapshot().getCount() + gets.histogram.snapshot().getCount() > 0);
+    }
+
+    private void runConversation(Workload workload, Random random, Recorder puts, Recorder gets, long measureStartNanos, long endNanos)
+        throws IOException, InterruptedException {
+        Request create = new Request("POST", ActionConstants.CREATE_CONVERSATION_PATH);
+        create.setJsonEntity("{\"" + ActionConstants.REQUEST_CONVO_NAME_FIELD + "\":\"load\"}");
+        String conversationId = (String) entityAsMap(client().performRequest(create)).get(ActionConstants.CONVO_ID_FIELD);
+        String path = ActionConstants.GET_INTERACTIONS_PATH.replace("{" + ActionConstants.CONVO_ID_FIELD + "}", conversationId);
+        String corpus = corpus(random, workload.maxPayloadBytes() * 2);
+
+        long now;
+        while((now = System.nanoTime()) < endNanos) {
+            boolean put = random.nextDouble() < workload.putFraction();
+            Request request = put ? putRequest(path, workload, random, corpus) : getRequest(path, workload);
+            int status = perform(request);
+            long took = System.nanoTime() - now;
+            if(now >= measureStartNanos) {
+                (put ? puts : gets).record(took, status);
+            }
+            long thinkNanos = workload.thinkTimeNanos(random);
+            if(thinkNanos > 0) {
+                Thread.sleep(thinkNanos / 1_000_000, (int) (thinkNanos % 1_000_000));
+            }
+        }
+    }
+
+    private static Request putRequest(String path, Workload workload, Random random, String corpus) throws IOException {
+        Request request = new Request("POST", path);
+        XContentBuilder body = XContentFactory.jsonBuilder();
+        body.startObject();
+        body.field(ActionConstants.INPUT_FIELD, text(random, corpus, workload.inputBytes.sample(random)));
+        body.field(ActionConstants.PROMPT_FIELD, text(random, corpus, workload.promptBytes.sample(random)));
+        body.field(ActionConstants.AI_RESPONSE_FIELD, text(random, corpus, workload.responseBytes.sample(random)));
+        body.field(ActionConstants.AI_AGENT_FIELD, "load-agent");
+        body.field(ActionConstants.INTER_ATTRIBUTES_FIELD, "{\"source\":\"load\"}");
+        body.endObject();
+        request.setJsonEntity(Strings.toString(body));
+        return request;
+    }
+
+    private static Request getRequest(String path, Workload workload) {
+        Request request = new Request("GET", path);
+        request.addParameter(ActionConstants.REQUEST_MAX_RESULTS_FIELD, Integer.toString(workload.maxResults));
+        return request;
+    }
+
+    /** @return the HTTP status of the response, or -1 if there wasn't one */
+    private static int perform(Request request) {
+        try {
+            return client().performRequest(request).getStatusLine().getStatusCode();
+        } catch (ResponseException e) {
+            return e.getResponse().getStatusLine().getStatusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /** Payloads are slices of one block of text per conversation, so generating them doesn't load the driver */
+    private static String corpus(Random random, int bytes) {
+        StringBuilder corpus = new StringBuilder(bytes);
+        while(corpus.length() < bytes) {
+            int wordLength = 2 + random.nextInt(9);
+            for(int i = 0; i < wordLength; i++) {
+                corpus.append((char) ('a' + random.nextInt(26)));
+            }
+            corpus.append(' ');
+        }
+        return corpus.toString();
+    }
+
+    private static String text(Random random, String corpus, int bytes) {
+        int length = Math.min(bytes, corpus.length());
+        int offset = random.nextInt(corpus.length() - length + 1);
+        return corpus.substring(offset, offset + length);
+    }
+
+    /**
+     * Latencies and outcomes of one kind of request
+     */
+    private static final class Recorder {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, int status) {
+            if(status >= 200 && status < 300) {
+                histogram.record(nanos);
+            } else if(status == 429) {
+                rejected.increment();
+            } else {
+                errors.increment();
+            }
+        }
+
+        void toXContent(XContentBuilder builder, String name, double seconds, int nodes) throws IOException {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            builder.startObject(name);
+            builder.field("succeeded", snapshot.getCount());
+            builder.field("rejected", rejected.sum());
+            builder.field("errors", errors.sum());
+            builder.field("throughput_per_sec", snapshot.getCount() / seconds);
+            builder.field("throughput_per_node_per_sec", snapshot.getCount() / seconds / nodes);
+            builder.startObject("latency");
+            snapshot.toXContent(builder, ToXContent.EMPTY_PARAMS);
+            builder.endObject();
+            builder.endObject();
+        }
+    }
+
+    /**
+     * The workload, read from system properties:
+     * <ul>
+     * <li>load.conversations: number of conversations driven at once, one client thread each (default 16)</li>
+     * <li>load.warmup: how long to run before measuring (default 10s)</li>
+     * <li>load.duration: how long to measure for (default 60s)</li>
+     * <li>load.put_get_ratio: puts to gets, as PUTS:GETS (default 1:3)</li>
+     * <li>load.think_time: mean pause of a conversation between requests, exponentially distributed; 0 doesn't pause (default 0)</li>
+     * <li>load.input_bytes, load.prompt_bytes, load.response_bytes: payload size distributions, as fixed:N,
+     *      uniform:MIN:MAX or lognormal:MEDIAN:SIGMA (defaults uniform:64:512, lognormal:2048:0.5 and lognormal:2048:0.8)</li>
+     * <li>load.max_results: interactions asked for by each get (default 10)</li>
+     * <li>load.seed: seed of every random choice (default 42)</li>
+     * <li>load.report: where to write the JSON report (default load-test-results.json)</li>
+     * </ul>
+     */
+    static final class Workload {
+        final int conversations;
+        final TimeValue warmup;
+        final TimeValue duration;
+        final int puts;
+        final int gets;
+        final TimeValue thinkTime;
+        final SizeDistribution inputBytes;
+        final SizeDistribution promptBytes;
+        final SizeDistribution responseBytes;
+        final int maxResults;
+        final long seed;
+        final String report;
+
+        private Workload() {
+            this.conversations = Integer.parseInt(property("conversations", "16"));
+            this.warmup = TimeValue.parseTimeValue(property("warmup", "10s"), "load.warmup");
+            this.duration = TimeValue.parseTimeValue(property("duration", "60s"), "load.duration");
+            String[] ratio = property("put_get_ratio", "1:3").split(":");
+            if(ratio.length != 2) {
+                throw new IllegalArgumentException("load.put_get_ratio must be PUTS:GETS");
+            }
+            this.puts = Integer.parseInt(ratio[0].trim());
+            this.gets = Integer.parseInt(ratio[1].trim());
+            if(puts < 0 || gets < 0 || puts + gets == 0) {
+                throw new IllegalArgumentException("load.put_get_ratio must have a positive side");
+            }
+            this.thinkTime = TimeValue.parseTimeValue(property("think_time", "0ms"), "load.think_time");
+            this.inputBytes = SizeDistribution.parse(property("input_bytes", "uniform:64:512"));
+            this.promptBytes = SizeDistribution.parse(property("prompt_bytes", "lognormal:2048:0.5"));
+            this.responseBytes = SizeDistribution.parse(property("response_bytes", "lognormal:2048:0.8"));
+            this.maxResults = Integer.parseInt(property("max_results", "10"));
+            this.seed = Long.parseLong(property("seed", "42"));
+            this.report = property("report", "load-test-results.json");
+            if(conversations <= 0 || maxResults <= 0) {
+                throw new IllegalArgumentException("load.conversations and load.max_results must be positive");
+            }
+        }
+
+        static Workload fromSystemProperties() {
+            return new Workload();
+        }
+
+        private static String property(String name, String defaultValue) {
+            String value = System.getProperty("load." + name);
+            return value == null || value.isEmpty() ? defaultValue : value;
+        }
+
+        double putFraction() {
+            return (double) puts / (puts + gets);
+        }
+
+        long thinkTimeNanos(Random random) {
+            if(thinkTime.nanos() <= 0) {
+                return 0;
+            }
+            return (long) (-Math.log(1 - random.nextDouble()) * thinkTime.nanos());
+        }
+
+        int maxPayloadBytes() {
+            return Math.max(inputBytes.max(), Math.max(promptBytes.max(), responseBytes.max()));
+        }
+
+        void toXContent(XContentBuilder builder) throws IOException {
+            builder.startObject();
+            builder.field("conversations", conversations);
+            builder.field("warmup", warmup.getStringRep());
+            builder.field("duration", duration.getStringRep());
+            builder.field("put_get_ratio", puts + ":" + gets);
+            builder.field("think_time", thinkTime.getStringRep());
+            builder.field("input_bytes", inputBytes.toString());
+            builder.field("prompt_bytes", promptBytes.toString());
+            builder.field("response_bytes", responseBytes.toString());
+            builder.field("max_results", maxResults);
+            builder.field("seed", seed);
+            builder.endObject();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                Locale.ROOT,
+                "conversations[%d], warmup[%s], duration[%s], put_get_ratio[%d:%d], think_time[%s], input_bytes[%s], prompt_bytes[%s], "
+                    + "response_bytes[%s], max_results[%d], seed[%d]",
+                conversations, warmup, duration, puts, gets, thinkTime, inputBytes, promptBytes, responseBytes, maxResults, seed
+            );
+        }
+    }
+
+    /**
+     * Distribution of payload sizes in bytes: fixed:N, uniform:MIN:MAX or lognormal:MEDIAN:SIGMA.
+     * Lognormal sizes are capped at 16 times the median, so one huge draw doesn't dominate a run
+     */
+    static final class SizeDistribution {
+        private final String spec;
+        private final String kind;
+        private final double a;
+        private final double b;
+
+        private SizeDistribution(String spec, String kind, double a, double b) {
+            this.spec = spec;
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+        }
+
+        static SizeDistribution parse(String spec) {
+            String[] parts = spec.split(":");
+            switch(parts[0]) {
+                case "fixed":
+                    if(parts.length == 2) {
+                        return new SizeDistribution(spec, parts[0], Integer.parseInt(parts[1]), 0);
+                    }
+                    break;
+                case "uniform":
+                case "lognormal":
+                    if(parts.length == 3) {
+                        return new SizeDistribution(spec, parts[0], Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("size distribution must be fixed:N, uniform:MIN:MAX or lognormal:MEDIAN:SIGMA, got [" + spec + "]");
+        }
+
+        int sample(Random random) {
+            switch(kind) {
+                case "fixed":
+                    return (int) a;
+                case "uniform":
+                    return (int) (a + random.nextDouble() * (b - a));
+                default:
+                    return (int) Math.min(max(), Math.round(a * Math.exp(b * random.nextGaussian())));
+            }
+        }
+
+        int max() {
+            switch(kind) {
+                case "fixed":
+                    return (int) a;
+                case "uniform":
+                    return (int) b;
+                default:
+                    return (int) (a * 16);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+
+/**
+ * Caps how many requests of each conversational action run at once on this node. Requests past the limit
+ * wait in a small bounded queue, and are rejected with a 429 once that's full too, instead of piling up
+ * behind the index and search calls they'd make.
+ * Each action's limit adapts to the latency of the update, index or search calls its requests make, as recorded in
+ * {@link ConversationalStats}: it shrinks while the smoothed latency is well above the recent baseline, and grows
+ * back one slot at a time while the action is using its whole limit and latency is fine. Requests answered without
+ * such a call (cache hits, not-modified short-circuits) don't count, and neither does time spent queueing.
+ */
+public class AdmissionController {
+    /** Name of the limiter of put interaction requests */
+    public final static String PUT_INTERACTION = "put_interaction";
+    /** Name of the limiter of bulk put interactions requests */
+    public final static String BULK_PUT_INTERACTIONS = "bulk_put_interactions";
+    /** Name of the limiter of get interactions requests */
+    public final static String GET_INTERACTIONS = "get_interactions";
+
+    /**
+     * The phases of each operation whose latency drives each limiter. Puts update their conversation's metadata
+     * document before writing, so a hot metadata shard slows them down as much as a slow interactions shard
+     */
+    private final static Map<Operation, Set<Phase>> SAMPLED_PHASES = Map.of(
+        Operation.PUT_INTERACTION, Set.of(Phase.UPDATE, Phase.INDEX),
+        Operation.BULK_PUT_INTERACTIONS, Set.of(Phase.UPDATE, Phase.INDEX),
+        Operation.GET_INTERACTIONS, Set.of(Phase.SEARCH)
+    );
+    private final static Map<Operation, String> LIMITER_NAMES = Map.of(
+        Operation.PUT_INTERACTION, PUT_INTERACTION,
+        Operation.BULK_PUT_INTERACTIONS, BULK_PUT_INTERACTIONS,
+        Operation.GET_INTERACTIONS, GET_INTERACTIONS
+    );
+
+    private final boolean enabled;
+    private final Map<String, Limiter> limiters;
+
+    /**
+     * Constructor
+     * @param settings node settings to read the limits from
+     */
+    public AdmissionController(Settings settings) {
+        this.enabled = ConversationalSettings.ADMISSION_ENABLED.get(settings);
+        int maxLimit = ConversationalSettings.ADMISSION_MAX_CONCURRENCY.get(settings);
+        int minLimit = Math.min(ConversationalSettings.ADMISSION_MIN_CONCURRENCY.get(settings), maxLimit);
+        int queueCapacity = ConversationalSettings.ADMISSION_QUEUE_SIZE.get(settings);
+        double tolerance = ConversationalSettings.ADMISSION_LATENCY_TOLERANCE.get(settings);
+        this.limiters = Map.of(
+            PUT_INTERACTION, new Limiter(PUT_INTERACTION, minLimit, maxLimit, queueCapacity, tolerance),
+            BULK_PUT_INTERACTIONS, new Limiter(BULK_PUT_INTERACTIONS, minLimit, maxLimit, queueCapacity, tolerance),
+            GET_INTERACTIONS, new Limiter(GET_INTERACTIONS, minLimit, maxLimit, queueCapacity, tolerance)
+        );
+    }
+
+    /**
+     * Adapt the limit of the operation's action to the latency of one of its phases. Only the metadata update and
+     * index phases of puts, and the search phase of gets, count; the rest are ignored
+     * @param operation the operation the phase is part of
+     * @param phase the phase
+     * @param nanos how long the phase took
+     */
+    public void onPhase(Operation operation, Phase phase, long nanos) {
+        if(enabled && SAMPLED_PHASES.getOrDefault(operation, Set.of()).contains(phase)) {
+            limiters.get(LIMITER_NAMES.get(operation)).sample(nanos);
+        }
+    }
+
+    /**
+     * Run some work once the action has a free slot. The slot is held until the work's listener is called
+     * @param <T> type of the work's result
+     * @param action name of the action's limiter
+     * @param listener gets the result of the work, or an {@link OpenSearchRejectedExecutionException} if the action's queue is full
+     * @param work the work; gets the listener to complete
+     */
+    public <T> void admit(String action, ActionListener<T> listener, Consumer<ActionListener<T>> work) {
+        if(!enabled) {
+            work.accept(listener);
+            return;
+        }
+        getLimiter(action).admit(listener, work);
+    }
+
+    /**
+     * @param action name of the action
+     * @return the action's limiter
+     * @throws IllegalArgumentException if there's no limiter for the action
+     */
+    public Limiter getLimiter(String action) {
+        Limiter limiter = limiters.get(action);
+        if(limiter == null) {
+            throw new IllegalArgumentException("no admission limiter for [" + action + "]");
+        }
+        return limiter;
+    }
+
+    /**
+     * @return the limiter of every action, by name
+     */
+    public Map<String, Limiter> getLimiters() {
+        return limiters;
+    }
+
+    /**
+     * @return whether requests go through admission control at all
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adaptive concurrency limit of one action, with its wait queue
+     */
+    public static final class Limiter {
+        /** Weight of the newest sample in the smoothed latency */
+        private final static double SMOOTHING = 0.1;
+        /** Number of samples averaged into one window of the baseline */
+        private final static int WINDOW_SAMPLES = 50;
+        /**
+         * Number of recent windows the baseline is the lowest mean of. Older windows fall out, so a lasting shift
+         * in latency moves the baseline with it instead of shrinking the limit forever
+         */
+        private final static int BASELINE_WINDOWS = 10;
+        /** Factor the limit shrinks by on every slow sample */
+        private final static double BACKOFF = 0.9;
+
+        private final String name;
+        private final int minLimit;
+        private final int maxLimit;
+        private final int queueCapacity;
+        private final double tolerance;
+
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int limit;
+        private int inFlight = 0;
+        private double smoothedNanos = -1;
+        private final double[] windowMeans = new double[BASELINE_WINDOWS];
+        private int windowsDone = 0;
+        private double windowSumNanos = 0;
+        private int windowCount = 0;
+
+        private final CounterMetric admitted = new CounterMetric();
+        private final CounterMetric rejected = new CounterMetric();
+        private final CounterMetric queued = new CounterMetric();
+
+        private Limiter(String name, int minLimit, int maxLimit, int queueCapacity, double tolerance) {
+            this.name = name;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueCapacity = queueCapacity;
+            this.tolerance = tolerance;
+            this.limit = maxLimit;
+        }
+
+        private <T> void admit(ActionListener<T> listener, Consumer<ActionListener<T>> work) {
+            Runnable start = () -> run(listener, work);
+            int rejectedAt;
+            synchronized(this) {
+                if(inFlight < limit) {
+                    inFlight++;
+                    rejectedAt = -1;
+                } else if(waiting.size() < queueCapacity) {
+                    waiting.add(start);
+                    queued.inc();
+                    return;
+                } else {
+                    rejectedAt = limit;
+                }
+            }
+            if(rejectedAt >= 0) {
+                rejected.inc();
+                listener.onFailure(new OpenSearchRejectedExecutionException(
+                    "too many concurrent [" + name + "] requests [limit=" + rejectedAt + ", queue_size=" + queueCapacity + "]"
+                ));
+                return;
+            }
+            start.run();
+        }
+
+        private <T> void run(ActionListener<T> listener, Consumer<ActionListener<T>> work) {
+            admitted.inc();
+            ActionListener<T> releasing = ActionListener.notifyOnce(ActionListener.runBefore(listener, this::release));
+            try {
+                work.accept(releasing);
+            } catch (Exception e) {
+                releasing.onFailure(e);
+            }
+        }
+
+        private void release() {
+            Runnable next = null;
+            synchronized(this) {
+                if(inFlight <= limit && !waiting.isEmpty()) {
+                    // hand this slot straight to the oldest waiting request
+                    next = waiting.poll();
+                } else {
+                    inFlight--;
+                }
+            }
+            if(next != null) {
+                next.run();
+            }
+        }
+
+        /**
+         * Adapt the limit to the latency of one update, index or search call made by a request of this action
+         * @param latencyNanos how long the call took
+         */
+        synchronized void sample(long latencyNanos) {
+            smoothedNanos = smoothedNanos < 0 ? latencyNanos : smoothedNanos + SMOOTHING * (latencyNanos - smoothedNanos);
+            windowSumNanos += latencyNanos;
+            if(++windowCount == WINDOW_SAMPLES) {
+                windowMeans[windowsDone++ % BASELINE_WINDOWS] = windowSumNanos / windowCount;
+                windowSumNanos = 0;
+                windowCount = 0;
+            }
+            if(windowsDone == 0) {
+                // no baseline to compare against yet
+                return;
+            }
+            // the lowest mean of a recent window, not the lowest single sample: one fast call among slow ones
+            // doesn't pull the baseline down to where every normal call looks slow
+            double baselineNanos = Double.MAX_VALUE;
+            for(int i = 0; i < Math.min(windowsDone, BASELINE_WINDOWS); i++) {
+                baselineNanos = Math.min(baselineNanos, windowMeans[i]);
+            }
+            if(smoothedNanos > baselineNanos * tolerance) {
+                limit = Math.max(minLimit, (int) (limit * BACKOFF));
+            } else if(inFlight >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+
+        /**
+         * @return the name of the action this limits
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return how many requests may run at once right now
+         */
+        public synchronized int getLimit() {
+            return limit;
+        }
+
+        /**
+         * @return how many requests are running
+         */
+        public synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * @return how many requests are waiting for a slot
+         */
+        public synchronized int getQueueSize() {
+            return waiting.size();
+        }
+
+        /**
+         * @return number of requests that got a slot
+         */
+        public long getAdmitted() {
+            return admitted.count();
+        }
+
+        /**
+         * @return number of requests rejected because the queue was full
+         */
+        public long getRejected() {
+            return rejected.count();
+        }
+
+        /**
+         * @return number of requests that had to wait for a slot
+         */
+        public long getQueued() {
+            return queued.count();
+        }
+    }
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.client.Requests;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsAction;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsRequest;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsTask;
+import org.opensearch.conversational.index.ConvoIndexConstants;
+import org.opensearch.conversational.index.IndexInitializer;
+import org.opensearch.gateway.GatewayService;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.mapper.IndexFieldMapper;
+import org.opensearch.index.mapper.RoutingFieldMapper;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.tasks.TaskCancelledException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Deletes conversations that are past their retention, along with their interactions.
+ * A conversation expires once its last interaction is older than its own retention, or than the
+ * cluster default if it has none. While a default retention is set, old generations of the interactions index
+ * that only hold interactions of expired conversations are dropped whole, once the metadata of all of those is
+ * deleted; everything else is deleted in throttled bulk requests.
+ */
+public class ConversationExpiry {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConversationExpiry.class);
+
+    /** Conversations expired per round */
+    private final static int CONVERSATION_BATCH_SIZE = 100;
+    /** Interactions deleted per bulk request, and conversations checked per page when deciding whether to drop a generation */
+    private final static int INTERACTION_BATCH_SIZE = 500;
+    private final static TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+    private final static String CONVERSATIONS_AGG = "conversations";
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final IndexInitializer metaInitializer;
+    private final IndexInitializer interactionsInitializer;
+    private final InteractionsCache interactionsCache;
+    private final TimeValue checkInterval;
+    private volatile TimeValue defaultRetention;
+    private volatile int deletesPerSecond;
+    private final AtomicBoolean scheduledRunning = new AtomicBoolean(false);
+
+    /**
+     * Constructor
+     * @param client client to search and delete with
+     * @param clusterService cluster service to read settings and generations from
+     * @param metaInitializer initializer of the conversational meta index
+     * @param interactionsInitializer initializer of the interactions alias
+     * @param interactionsCache this node's cache of recent interactions, to drop expired conversations from
+     */
+    public ConversationExpiry(
+        Client client,
+        ClusterService clusterService,
+        IndexInitializer metaInitializer,
+        IndexInitializer interactionsInitializer,
+        InteractionsCache interactionsCache
+    ) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.metaInitializer = metaInitializer;
+        this.interactionsInitializer = interactionsInitializer;
+        this.interactionsCache = interactionsCache;
+        this.checkInterval = ConversationalSettings.RETENTION_CHECK_INTERVAL.get(clusterService.getSettings());
+        this.defaultRetention = ConversationalSettings.RETENTION_DEFAULT.get(clusterService.getSettings());
+        this.deletesPerSecond = ConversationalSettings.RETENTION_DELETES_PER_SECOND.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ConversationalSettings.RETENTION_DEFAULT, v -> defaultRetention = v);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ConversationalSettings.RETENTION_DELETES_PER_SECOND, v -> deletesPerSecond = v);
+    }
+
+    /**
+     * Start expiring conversations on a schedule, unless it's disabled. Each run is an expire conversations
+     * action, so it shows up in the tasks API with its progress
+     * @return the scheduled runs, to cancel when the node shuts down; or null if the background expiry is disabled
+     */
+    public Scheduler.Cancellable start() {
+        if(checkInterval.millis() == 0) {
+            return null;
+        }
+        return client.threadPool().scheduleWithFixedDelay(() -> {
+            ClusterState state = clusterService.state();
+            if(!state.nodes().isLocalNodeElectedClusterManager() || state.blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK)) {
+                return;
+            }
+            if(!scheduledRunning.compareAndSet(false, true)) {
+                return;
+            }
+            client.execute(ExpireConversationsAction.INSTANCE, new ExpireConversationsRequest(), ActionListener.runAfter(ActionListener.wrap(
+                r -> log.debug("expired [" + r.getStatus().getConversationsDeleted() + "] conversations"),
+                e -> log.warn("failed to expire conversations, will retry", e)
+            ), () -> scheduledRunning.set(false)));
+        }, checkInterval, ThreadPool.Names.GENERIC);
+    }
+
+    /**
+     * Delete every conversation that has expired as of now
+     * @param task task of this run, which tracks progress and may be cancelled
+     * @param listener gets the final progress of the run
+     */
+    public void expire(ExpireConversationsTask task, ActionListener<ExpireConversationsTask.Status> listener) {
+        if(!metaInitializer.indexExists()) {
+            listener.onResponse(task.getStatus());
+            return;
+        }
+        QueryBuilder expired = expiredQuery(Instant.now());
+        // without a default retention, conversations only expire one by one; no generation is worth checking
+        List<String> generations = defaultRetention.millis() > 0 ? candidateGenerations() : List.of();
+        // searches below only see refreshed documents; catch up on recent writes once per run
+        RefreshRequest refresh = Requests.refreshRequest(metaInitializer.getIndexName(), interactionsInitializer.getIndexName())
+            .indicesOptions(IndicesOptions.lenientExpandOpen());
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().refresh(refresh, ActionListener.wrap(
+                refreshed -> dropGenerations(task, expired, generations.iterator(), ActionListener.wrap(
+                    r -> expireBatch(task, expired, listener),
+                    listener::onFailure
+                )),
+                listener::onFailure
+            ));
+        }
+    }
+
+    /**
+     * @param now the time to check expiry at
+     * @return query matching the metadata of conversations expired at that time
+     */
+    QueryBuilder expiredQuery(Instant now) {
+        BoolQueryBuilder expired = QueryBuilders.boolQuery().minimumShouldMatch(1)
+            .should(QueryBuilders.rangeQuery(ConvoIndexConstants.META_EXPIRES_FIELD).lt(now.toEpochMilli()));
+        TimeValue retention = defaultRetention;
+        if(retention.millis() > 0) {
+            expired.should(QueryBuilders.boolQuery()
+                .mustNot(QueryBuilders.existsQuery(ConvoIndexConstants.META_RETENTION_FIELD))
+                .filter(QueryBuilders.rangeQuery(ConvoIndexConstants.META_ENDED_FIELD).lt(now.toEpochMilli() - retention.millis()))
+            );
+        }
+        return QueryBuilders.constantScoreQuery(expired);
+    }
+
+    /**
+     * @return the generations of the interactions index that no longer take writes
+     */
+    private List<String> candidateGenerations() {
+        List<String> generations = new ArrayList<>();
+        IndexAbstraction alias = clusterService.state().metadata().getIndicesLookup().get(interactionsInitializer.getIndexName());
+        if(alias == null || alias.getType() != IndexAbstraction.Type.ALIAS || alias.getWriteIndex() == null) {
+            return generations;
+        }
+        for(IndexMetadata generation : alias.getIndices()) {
+            if(!generation.getIndex().equals(alias.getWriteIndex().getIndex())) {
+                generations.add(generation.getIndex().getName());
+            }
+        }
+        return generations;
+    }
+
+    private void dropGenerations(ExpireConversationsTask task, QueryBuilder expired, Iterator<String> generations, ActionListener<Void> listener) {
+        if(!generations.hasNext()) {
+            listener.onResponse(null);
+            return;
+        }
+        String generation = generations.next();
+        ActionListener<Void> next = ActionListener.wrap(r -> dropGenerations(task, expired, generations, listener), listener::onFailure);
+        onlyExpiredConversations(generation, expired, null, ActionListener.wrap(droppable -> {
+            if(!droppable) {
+                next.onResponse(null);
+                return;
+            }
+            dropGeneration(task, generation, expired, ActionListener.wrap(dropped -> next.onResponse(null), next::onFailure));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Drops a generation whose conversations were all found expired. A conversation can get a new interaction
+     * between that check and the drop, and must then keep its older history. So the metadata of the generation's
+     * conversations goes first, each only if it hasn't changed since it was found expired, along with their
+     * interactions in other generations; the generation is only dropped if all of it went. Otherwise it's kept, and
+     * the interactions in it of the conversations whose metadata is gone are deleted one by one instead
+     * @param task task of this run
+     * @param generation the generation to drop
+     * @param expired query matching expired conversation metadata, as of the start of the run
+     * @param listener gets whether the generation was dropped
+     */
+    void dropGeneration(ExpireConversationsTask task, String generation, QueryBuilder expired, ActionListener<Boolean> listener) {
+        deleteGenerationConversations(task, generation, expired, null, ActionListener.wrap(revived -> {
+            if(revived) {
+                log.info("kept interactions generation [" + generation + "], one of its conversations got a new interaction");
+                deleteOrphanedInteractions(task, generation, null, ActionListener.wrap(r -> listener.onResponse(false), listener::onFailure));
+                return;
+            }
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.admin().indices().delete(new DeleteIndexRequest(generation), ActionListener.wrap(r -> {
+                    log.info("dropped interactions generation [" + generation + "], all of its conversations have expired");
+                    task.onGenerationDropped();
+                    listener.onResponse(true);
+                }, listener::onFailure));
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Deletes the metadata of a generation's conversations, a page at a time, each only if it's still expired and
+     * unchanged, and their interactions in every other generation. Stops at the first page with a conversation
+     * that isn't expired anymore
+     * @param listener gets whether a conversation was found alive again
+     */
+    private void deleteGenerationConversations(
+        ExpireConversationsTask task,
+        String generation,
+        QueryBuilder expired,
+        Map<String, Object> afterKey,
+        ActionListener<Boolean> listener
+    ) {
+        conversationsPage(generation, afterKey, ActionListener.wrap(page -> {
+            List<String> ids = conversationIds(page);
+            if(ids.isEmpty()) {
+                listener.onResponse(false);
+                return;
+            }
+            SearchRequest expiredOnes = new SearchRequest(metaInitializer.getIndexName());
+            expiredOnes.source().size(ids.size()).fetchSource(false).seqNoAndPrimaryTerm(true).query(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.idsQuery().addIds(ids.toArray(new String[0])))
+                .filter(expired)
+            );
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.search(expiredOnes, ActionListener.wrap(response -> deleteConversations(task, response.getHits().getHits(), ActionListener.wrap(
+                    deleted -> deleteInteractions(task, deleted, generation, ActionListener.wrap(r -> {
+                        if(deleted.size() < ids.size()) {
+                            listener.onResponse(true);
+                        } else {
+                            deleteGenerationConversations(task, generation, expired, page.afterKey(), listener);
+                        }
+                    }, listener::onFailure)),
+                    listener::onFailure
+                )), listener::onFailure));
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Deletes the interactions of a kept generation's conversations whose metadata is gone. Every conversation in
+     * the generation had metadata when it was checked, so the ones without it now were expired by this run
+     */
+    private void deleteOrphanedInteractions(ExpireConversationsTask task, String generation, Map<String, Object> afterKey, ActionListener<Void> listener) {
+        conversationsPage(generation, afterKey, ActionListener.wrap(page -> {
+            List<String> ids = conversationIds(page);
+            if(ids.isEmpty()) {
+                listener.onResponse(null);
+                return;
+            }
+            SearchRequest existing = new SearchRequest(metaInitializer.getIndexName());
+            existing.source().size(ids.size()).fetchSource(false)
+                .query(QueryBuilders.idsQuery().addIds(ids.toArray(new String[0])));
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.search(existing, ActionListener.wrap(response -> {
+                    List<String> orphaned = new ArrayList<>(ids);
+                    for(SearchHit hit : response.getHits().getHits()) {
+                        orphaned.remove(hit.getId());
+                    }
+                    deleteInteractions(task, orphaned, null, ActionListener.wrap(
+                        r -> deleteOrphanedInteractions(task, generation, page.afterKey(), listener),
+                        listener::onFailure
+                    ));
+                }, listener::onFailure));
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Checks, a page of conversations at a time, whether every conversation with interactions in a generation has expired.
+     * Conversations without metadata can't be told apart from live ones, so they keep their generation
+     */
+    private void onlyExpiredConversations(String generation, QueryBuilder expired, Map<String, Object> afterKey, ActionListener<Boolean> listener) {
+        conversationsPage(generation, afterKey, ActionListener.wrap(page -> {
+            List<String> ids = conversationIds(page);
+            if(ids.isEmpty()) {
+                listener.onResponse(true);
+                return;
+            }
+            SearchRequest expiredOnes = new SearchRequest(metaInitializer.getIndexName());
+            expiredOnes.source().size(0).trackTotalHits(true).query(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.idsQuery().addIds(ids.toArray(new String[0])))
+                .filter(expired)
+            );
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.search(expiredOnes, ActionListener.wrap(expiredResponse -> {
+                    if(expiredResponse.getHits().getTotalHits().value < ids.size()) {
+                        listener.onResponse(false);
+                    } else {
+                        onlyExpiredConversations(generation, expired, page.afterKey(), listener);
+                    }
+                }, listener::onFailure));
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Gets a page of the ids of the conversations with interactions in a generation
+     */
+    private void conversationsPage(String generation, Map<String, Object> afterKey, ActionListener<CompositeAggregation> listener) {
+        CompositeAggregationBuilder conversations = new CompositeAggregationBuilder(
+            CONVERSATIONS_AGG,
+            List.of(new TermsValuesSourceBuilder(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD).field(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD))
+        ).size(INTERACTION_BATCH_SIZE);
+        if(afterKey != null) {
+            conversations.aggregateAfter(afterKey);
+        }
+        SearchRequest request = new SearchRequest(generation);
+        request.source().size(0).aggregation(conversations);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.search(request, ActionListener.wrap(
+                response -> listener.onResponse(response.getAggregations().get(CONVERSATIONS_AGG)),
+                listener::onFailure
+            ));
+        }
+    }
+
+    private static List<String> conversationIds(CompositeAggregation page) {
+        List<String> ids = new ArrayList<>();
+        for(CompositeAggregation.Bucket bucket : page.getBuckets()) {
+            ids.add(bucket.getKey().get(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD).toString());
+        }
+        return ids;
+    }
+
+    private void expireBatch(ExpireConversationsTask task, QueryBuilder expired, ActionListener<ExpireConversationsTask.Status> listener) {
+        if(task.isCancelled()) {
+            listener.onFailure(new TaskCancelledException("expiry cancelled"));
+            return;
+        }
+        SearchRequest request = new SearchRequest(metaInitializer.getIndexName());
+        request.source().query(expired).size(CONVERSATION_BATCH_SIZE).fetchSource(false).seqNoAndPrimaryTerm(true);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.search(request, ActionListener.wrap(response -> {
+                SearchHit[] hits = response.getHits().getHits();
+                if(hits.length == 0) {
+                    listener.onResponse(task.getStatus());
+                    return;
+                }
+                // the metadata goes first, and only if it hasn't changed since it was found expired; a conversation
+                // that got a new interaction in the meantime keeps its metadata and all of its interactions
+                deleteConversations(task, hits, ActionListener.wrap(
+                    deleted -> deleteInteractions(task, deleted, null, ActionListener.wrap(
+                        v -> expireBatch(task, expired, listener),
+                        listener::onFailure
+                    )),
+                    listener::onFailure
+                ));
+            }, listener::onFailure));
+        }
+    }
+
+    /**
+     * Deletes the interactions of conversations, in throttled bulk requests
+     * @param excludedGeneration a generation whose interactions are left alone, since it's about to be dropped; or null
+     */
+    private void deleteInteractions(
+        ExpireConversationsTask task,
+        List<String> conversationIds,
+        String excludedGeneration,
+        ActionListener<Void> listener
+    ) {
+        if(conversationIds.isEmpty() || !interactionsInitializer.indexExists()) {
+            listener.onResponse(null);
+            return;
+        }
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+            .filter(QueryBuilders.termsQuery(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, conversationIds));
+        if(excludedGeneration != null) {
+            query.mustNot(QueryBuilders.termQuery(IndexFieldMapper.NAME, excludedGeneration));
+        }
+        SearchRequest search = new SearchRequest(interactionsInitializer.getIndexName()).scroll(SCROLL_KEEP_ALIVE);
+        search.source()
+            .query(query)
+            .size(INTERACTION_BATCH_SIZE)
+            .fetchSource(false)
+            .sort(FieldSortBuilder.DOC_FIELD_NAME);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.search(search, ActionListener.wrap(r -> onInteractionsPage(task, r, listener), listener::onFailure));
+        }
+    }
+
+    private void onInteractionsPage(ExpireConversationsTask task, SearchResponse response, ActionListener<Void> listener) {
+        String scrollId = response.getScrollId();
+        SearchHit[] hits = response.getHits().getHits();
+        if(hits.length == 0 || task.isCancelled()) {
+            clearScroll(scrollId);
+            if(hits.length == 0) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(new TaskCancelledException("expiry cancelled"));
+            }
+            return;
+        }
+        long startNanos = System.nanoTime();
+        BulkRequest bulk = new BulkRequest();
+        for(SearchHit hit : hits) {
+            DeleteRequest delete = new DeleteRequest(hit.getIndex(), hit.getId());
+            DocumentField routing = hit.field(RoutingFieldMapper.NAME);
+            if(routing != null && routing.getValue() != null) {
+                delete.routing(routing.getValue().toString());
+            }
+            bulk.add(delete);
+        }
+        ActionListener<Void> next = ActionListener.wrap(v -> {
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.searchScroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE), ActionListener.wrap(
+                    r -> onInteractionsPage(task, r, listener),
+                    e -> {
+                        clearScroll(scrollId);
+                        listener.onFailure(e);
+                    }
+                ));
+            }
+        }, e -> {
+            clearScroll(scrollId);
+            listener.onFailure(e);
+        });
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.bulk(bulk, ActionListener.wrap(bulkResponse -> {
+                long deleted = 0;
+                for(BulkItemResponse item : bulkResponse.getItems()) {
+                    if(!item.isFailed()) {
+                        deleted++;
+                    }
+                }
+                task.onInteractionsDeleted(deleted);
+                if(bulkResponse.hasFailures()) {
+                    next.onFailure(new IllegalStateException("failed to delete expired interactions: " + bulkResponse.buildFailureMessage()));
+                    return;
+                }
+                throttle(hits.length, startNanos, next);
+            }, next::onFailure));
+        }
+    }
+
+    /**
+     * Waits long enough after a batch of deletes to keep the delete rate under the limit
+     */
+    private void throttle(int deleted, long startNanos, ActionListener<Void> next) {
+        int limit = deletesPerSecond;
+        if(limit == 0) {
+            next.onResponse(null);
+            return;
+        }
+        long delayMillis = deleted * 1000L / limit - TimeValue.nsecToMSec(System.nanoTime() - startNanos);
+        if(delayMillis <= 0) {
+            next.onResponse(null);
+            return;
+        }
+        client.threadPool().schedule(() -> next.onResponse(null), TimeValue.timeValueMillis(delayMillis), ThreadPool.Names.GENERIC);
+    }
+
+    /**
+     * Deletes the metadata of conversations found expired, each only if it hasn't been written to since
+     * @param hits the expired conversations, with the sequence number and primary term they were found with
+     * @param listener gets the ids of the conversations deleted
+     */
+    private void deleteConversations(ExpireConversationsTask task, SearchHit[] hits, ActionListener<List<String>> listener) {
+        if(hits.length == 0) {
+            listener.onResponse(List.of());
+            return;
+        }
+        // wait for the deletes to be visible, so the next round doesn't find these again
+        BulkRequest bulk = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+        for(SearchHit hit : hits) {
+            bulk.add(new DeleteRequest(metaInitializer.getIndexName(), hit.getId())
+                .setIfSeqNo(hit.getSeqNo())
+                .setIfPrimaryTerm(hit.getPrimaryTerm())
+            );
+        }
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.bulk(bulk, ActionListener.wrap(bulkResponse -> {
+                List<String> deleted = new ArrayList<>();
+                boolean failed = false;
+                for(BulkItemResponse item : bulkResponse.getItems()) {
+                    if(!item.isFailed()) {
+                        deleted.add(item.getId());
+                    } else if(!(ExceptionsHelper.unwrapCause(item.getFailure().getCause()) instanceof VersionConflictEngineException)) {
+                        failed = true;
+                    }
+                }
+                for(String id : deleted) {
+                    interactionsCache.invalidate(id);
+                }
+                task.onConversationsDeleted(deleted.size());
+                if(failed) {
+                    // the conversations whose metadata is gone still lose their interactions before the run fails
+                    Exception e = new IllegalStateException("failed to delete expired conversations: " + bulkResponse.buildFailureMessage());
+                    deleteInteractions(task, deleted, null, ActionListener.wrap(r -> listener.onFailure(e), inner -> listener.onFailure(e)));
+                } else {
+                    listener.onResponse(deleted);
+                }
+            }, listener::onFailure));
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        ClearScrollRequest clear = new ClearScrollRequest();
+        clear.addScrollId(scrollId);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.clearScroll(clear, ActionListener.wrap(r -> {}, e -> log.warn("failed to clear scroll", e)));
+        }
+    }
+}
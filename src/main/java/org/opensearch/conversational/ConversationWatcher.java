@@ -0,0 +1,431 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.StepListener;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersAction;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersNodeResponse;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersRequest;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Parks requests waiting for new interactions in a conversation, on the node that coordinates them.
+ * Interactions added on this node wake up local watchers right away, and are broadcast in small batches to
+ * the other nodes that have watchers, so watchers parked there wake up too. Watchers hold no thread while parked.
+ * A node announces itself to the others when it parks watchers, for a lease that outlasts them; the others answer
+ * with the interactions they were recently notified of, which watches parked before the announcement got through
+ * replay along with this node's own recent notifications.
+ */
+public class ConversationWatcher {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConversationWatcher.class);
+
+    // shortest time other nodes tell this node about new interactions after it announces its watchers
+    private final static TimeValue WATCHING_LEASE = TimeValue.timeValueMinutes(5);
+    private final static int MAX_RECENT_CONVERSATIONS = 1000;
+    private final static int MAX_RECENT_PER_CONVERSATION = 100;
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+    private final int maxWatchers;
+    private final TimeValue notifyLinger;
+    private final TimeValue replayWindow;
+
+    private final Map<String, List<Watch>> watches = new HashMap<>();
+    private int numWatchers = 0;
+    private Map<String, Set<String>> pendingBroadcast = new HashMap<>();
+    private boolean broadcastScheduled = false;
+    // oldest notified conversation first
+    private final LinkedHashMap<String, Recent> recent = new LinkedHashMap<>();
+    // other nodes with watchers, and when their lease runs out
+    private final Map<String, Long> watchingNodes = new HashMap<>();
+    // when this node's lease runs out on the other nodes, or null if it has to announce itself again
+    private Long announcedUntil = null;
+    // ephemeral ids of the nodes told about this node's current lease
+    private final Set<String> announcedTo = new HashSet<>();
+    private StepListener<Void> announcing = new StepListener<>();
+
+    /**
+     * Constructor
+     * @param client client used to broadcast new interactions to the other nodes
+     * @param clusterService used to find the other nodes
+     * @param settings node settings to read the watch configuration from
+     */
+    public ConversationWatcher(Client client, ClusterService clusterService, Settings settings) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = client.threadPool();
+        this.maxWatchers = ConversationalSettings.WATCH_MAX_WATCHERS.get(settings);
+        this.notifyLinger = ConversationalSettings.WATCH_NOTIFY_LINGER.get(settings);
+        this.replayWindow = ConversationalSettings.WATCH_REPLAY_WINDOW.get(settings);
+        this.announcing.onResponse(null);
+    }
+
+    /**
+     * Park until a conversation gets new interactions, or until the timeout passes.
+     * Announces this node to the other nodes if its lease doesn't outlast the watch, or if some node wasn't told yet.
+     * Notifications that came before the watch aren't passed to it; see {@link #afterAnnounced} and {@link #getRecent(String)}
+     * @param conversationId the conversation to watch
+     * @param timeout how long to wait at most
+     * @param listener gets the ids of the new interactions, or an empty list on timeout
+     * @return the watch, which can be cancelled
+     * @throws OpenSearchRejectedExecutionException if this node already has as many watchers as it allows
+     */
+    public Watch watch(String conversationId, TimeValue timeout, ActionListener<List<String>> listener) {
+        Watch watch = new Watch(conversationId, listener);
+        List<DiscoveryNode> toAnnounce = new ArrayList<>();
+        TimeValue watchingFor;
+        StepListener<Void> previous;
+        StepListener<Void> announced;
+        synchronized(this) {
+            if(numWatchers >= maxWatchers) {
+                throw new OpenSearchRejectedExecutionException("too many watchers parked on this node [" + maxWatchers + "]");
+            }
+            watches.computeIfAbsent(conversationId, id -> new ArrayList<>()).add(watch);
+            numWatchers++;
+
+            long now = System.nanoTime();
+            long needed = timeout.nanos() + replayWindow.nanos();
+            if(announcedUntil == null || now + needed - announcedUntil > 0) {
+                announcedUntil = now + Math.max(needed, WATCHING_LEASE.nanos());
+                announcedTo.clear();
+            }
+            for(DiscoveryNode node : otherNodes()) {
+                if(announcedTo.add(node.getEphemeralId())) {
+                    toAnnounce.add(node);
+                }
+            }
+            watchingFor = TimeValue.timeValueNanos(announcedUntil - now);
+            previous = announcing;
+            announced = toAnnounce.isEmpty() ? announcing : new StepListener<>();
+            announcing = announced;
+        }
+        watch.timeout = threadPool.schedule(() -> watch.complete(List.of()), timeout, ThreadPool.Names.GENERIC);
+        if(!toAnnounce.isEmpty()) {
+            announce(toAnnounce, watchingFor, previous, announced);
+        }
+        return watch;
+    }
+
+    /**
+     * Run something once this node's latest announcement, if any, got through, or failed.
+     * Interactions the other nodes added before then may not have been broadcast here, but are in {@link #getRecent(String)}
+     * @param then what to run
+     */
+    public void afterAnnounced(Runnable then) {
+        StepListener<Void> current;
+        synchronized(this) {
+            current = announcing;
+        }
+        current.whenComplete(r -> then.run(), e -> then.run());
+    }
+
+    private void announce(List<DiscoveryNode> nodes, TimeValue watchingFor, StepListener<Void> previous, StepListener<Void> announced) {
+        String[] nodeIds = nodes.stream().map(DiscoveryNode::getId).toArray(String[]::new);
+        NotifyWatchersRequest request = new NotifyWatchersRequest(clusterService.localNode().getId(), watchingFor, nodeIds);
+        // done once the announcements before this one are too
+        Runnable done = () -> previous.whenComplete(r -> announced.onResponse(null), e -> announced.onResponse(null));
+        try (ThreadContext.StoredContext threadContext = threadPool.getThreadContext().stashContext()) {
+            client.execute(NotifyWatchersAction.INSTANCE, request, ActionListener.wrap(r -> {
+                for(NotifyWatchersNodeResponse node : r.getNodes()) {
+                    recordRecent(node.getRecent());
+                }
+                if(r.hasFailures()) {
+                    log.debug("failed to announce watchers to some nodes", r.failures().get(0));
+                    forgetAnnouncement();
+                }
+                done.run();
+            }, e -> {
+                log.warn("failed to announce watchers to other nodes", e);
+                forgetAnnouncement();
+                done.run();
+            }));
+        } catch (Exception e) {
+            log.warn("failed to announce watchers to other nodes", e);
+            forgetAnnouncement();
+            done.run();
+        }
+    }
+
+    private synchronized void forgetAnnouncement() {
+        // the next watch announces this node to every node again
+        announcedUntil = null;
+        announcedTo.clear();
+    }
+
+    /**
+     * Record that another node has watchers parked, so new interactions get broadcast to it
+     * @param nodeId id of the node with watchers
+     * @param watchingFor how long to keep broadcasting to it
+     */
+    public synchronized void onWatching(String nodeId, TimeValue watchingFor) {
+        long until = System.nanoTime() + watchingFor.nanos();
+        watchingNodes.merge(nodeId, until, (a, b) -> a - b > 0 ? a : b);
+    }
+
+    private List<DiscoveryNode> otherNodes() {
+        List<DiscoveryNode> otherNodes = new ArrayList<>();
+        String localNode = clusterService.localNode().getId();
+        for(DiscoveryNode node : clusterService.state().nodes()) {
+            if(!node.getId().equals(localNode)) {
+                otherNodes.add(node);
+            }
+        }
+        return otherNodes;
+    }
+
+    /**
+     * Record interactions added by this node: wakes up local watchers and queues a broadcast to the other nodes
+     * @param conversationId the conversation the interactions were added to
+     * @param interactionIds ids of the new interactions
+     */
+    public void onInteractionsAdded(String conversationId, List<String> interactionIds) {
+        notifyLocal(Map.of(conversationId, interactionIds));
+        if(maxWatchers == 0) {
+            // no node watches
+            return;
+        }
+        boolean sendNow = false;
+        boolean schedule = false;
+        synchronized(this) {
+            if(!pruneWatchingNodes()) {
+                // nobody else watches; a node that starts to gets these from the replay
+                return;
+            }
+            pendingBroadcast.computeIfAbsent(conversationId, id -> new LinkedHashSet<>()).addAll(interactionIds);
+            if(notifyLinger.millis() == 0) {
+                sendNow = true;
+            } else if(!broadcastScheduled) {
+                broadcastScheduled = true;
+                schedule = true;
+            }
+        }
+        if(sendNow) {
+            broadcast();
+        } else if(schedule) {
+            threadPool.schedule(this::broadcast, notifyLinger, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    /**
+     * Wake up the watchers parked on this node for these conversations
+     * @param interactions map of conversation id to the ids of its new interactions
+     * @return number of watchers woken up
+     */
+    public int notifyLocal(Map<String, List<String>> interactions) {
+        List<Watch> toWake = new ArrayList<>();
+        synchronized(this) {
+            recordRecent(interactions);
+            for(String conversationId : interactions.keySet()) {
+                List<Watch> waiting = watches.get(conversationId);
+                if(waiting != null) {
+                    toWake.addAll(waiting);
+                }
+            }
+        }
+        int woken = 0;
+        for(Watch watch : toWake) {
+            if(watch.complete(interactions.get(watch.conversationId))) {
+                woken++;
+            }
+        }
+        return woken;
+    }
+
+    private void broadcast() {
+        Map<String, Set<String>> toSend;
+        synchronized(this) {
+            broadcastScheduled = false;
+            toSend = pendingBroadcast;
+            pendingBroadcast = new HashMap<>();
+        }
+        if(toSend.isEmpty()) {
+            return;
+        }
+        List<String> targets = new ArrayList<>();
+        synchronized(this) {
+            pruneWatchingNodes();
+            for(DiscoveryNode node : otherNodes()) {
+                if(watchingNodes.containsKey(node.getId())) {
+                    targets.add(node.getId());
+                }
+            }
+        }
+        if(targets.isEmpty()) {
+            return;
+        }
+        Map<String, List<String>> interactions = new HashMap<>();
+        for(Map.Entry<String, Set<String>> entry : toSend.entrySet()) {
+            interactions.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        NotifyWatchersRequest request = new NotifyWatchersRequest(interactions, targets.toArray(new String[0]));
+        try (ThreadContext.StoredContext threadContext = threadPool.getThreadContext().stashContext()) {
+            client.execute(NotifyWatchersAction.INSTANCE, request, ActionListener.wrap(r -> {
+                if(r.hasFailures()) {
+                    log.debug("failed to notify watchers on some nodes", r.failures().get(0));
+                }
+            }, e -> {
+                log.warn("failed to notify watchers on other nodes", e);
+            }));
+        }
+    }
+
+    /**
+     * Drop the leases of nodes that stopped watching
+     * @return whether some other node still watches
+     */
+    private boolean pruneWatchingNodes() {
+        long now = System.nanoTime();
+        watchingNodes.values().removeIf(until -> now - until >= 0);
+        return !watchingNodes.isEmpty();
+    }
+
+    private synchronized void recordRecent(Map<String, List<String>> interactions) {
+        if(maxWatchers == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for(Map.Entry<String, List<String>> entry : interactions.entrySet()) {
+            // reinserted, so the map stays in order of last notification
+            Recent conversation = recent.remove(entry.getKey());
+            if(conversation == null) {
+                conversation = new Recent();
+            }
+            conversation.ids.addAll(entry.getValue());
+            Iterator<String> oldest = conversation.ids.iterator();
+            while(conversation.ids.size() > MAX_RECENT_PER_CONVERSATION) {
+                oldest.next();
+                oldest.remove();
+            }
+            conversation.lastNanos = now;
+            recent.put(entry.getKey(), conversation);
+        }
+        pruneRecent(now);
+    }
+
+    private void pruneRecent(long now) {
+        Iterator<Recent> oldest = recent.values().iterator();
+        while(oldest.hasNext()) {
+            Recent conversation = oldest.next();
+            if(recent.size() <= MAX_RECENT_CONVERSATIONS && now - conversation.lastNanos <= replayWindow.nanos()) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    /**
+     * @param conversationId a conversation
+     * @return ids of the interactions this node was notified of in the conversation within the replay window, oldest first
+     */
+    public synchronized List<String> getRecent(String conversationId) {
+        pruneRecent(System.nanoTime());
+        Recent conversation = recent.get(conversationId);
+        return conversation == null ? List.of() : new ArrayList<>(conversation.ids);
+    }
+
+    /**
+     * @return map of conversation id to the ids of the interactions this node was notified of within the replay window
+     */
+    public synchronized Map<String, List<String>> getRecent() {
+        pruneRecent(System.nanoTime());
+        Map<String, List<String>> copy = new HashMap<>();
+        for(Map.Entry<String, Recent> entry : recent.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue().ids));
+        }
+        return copy;
+    }
+
+    /**
+     * @return number of watchers parked on this node
+     */
+    public synchronized int getNumWatchers() {
+        return numWatchers;
+    }
+
+    private synchronized boolean remove(Watch watch) {
+        List<Watch> waiting = watches.get(watch.conversationId);
+        if(waiting == null || !waiting.remove(watch)) {
+            return false;
+        }
+        if(waiting.isEmpty()) {
+            watches.remove(watch.conversationId);
+        }
+        numWatchers--;
+        return true;
+    }
+
+    private static final class Recent {
+        private final LinkedHashSet<String> ids = new LinkedHashSet<>();
+        private long lastNanos;
+    }
+
+    /**
+     * A request parked until its conversation gets new interactions
+     */
+    public final class Watch {
+        private final String conversationId;
+        private final ActionListener<List<String>> listener;
+        private volatile Scheduler.ScheduledCancellable timeout;
+
+        private Watch(String conversationId, ActionListener<List<String>> listener) {
+            this.conversationId = conversationId;
+            this.listener = listener;
+        }
+
+        private boolean complete(List<String> interactionIds) {
+            // only the first of notification, timeout and cancellation gets through
+            if(!remove(this)) {
+                return false;
+            }
+            Scheduler.ScheduledCancellable scheduled = timeout;
+            if(scheduled != null) {
+                scheduled.cancel();
+            }
+            listener.onResponse(interactionIds);
+            return true;
+        }
+
+        /**
+         * Stop watching without calling the listener
+         */
+        public void cancel() {
+            if(remove(this) && timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
@@ -17,24 +17,60 @@
 package org.opensearch.conversational;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsTask;
+import org.opensearch.conversational.index.ConvoContext;
+import org.opensearch.conversational.index.ConvoHits;
+import org.opensearch.conversational.index.ConvoIndexConstants;
 import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.conversational.index.ConvoMetaIdMigration;
 import org.opensearch.conversational.index.ConvoMetaIndex;
+import org.opensearch.conversational.index.IndexInitializer;
+import org.opensearch.conversational.index.IndexMigration;
 import org.opensearch.conversational.index.Interaction;
+import org.opensearch.conversational.index.InteractionsCopier;
 import org.opensearch.conversational.index.InteractionsIndex;
+import org.opensearch.conversational.index.InteractionsLayoutMigration;
+import org.opensearch.conversational.index.InteractionsRollover;
+import org.opensearch.conversational.index.InteractionsWriteBuffer;
+import org.opensearch.conversational.index.PageCursor;
+import org.opensearch.index.engine.DocumentMissingException;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
 
 /**
  * Class for handling all Conversational Memory operactions
  */
 public class ConversationalMemoryHandler {
-    //private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConversationalMemoryHandler.class);
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConversationalMemoryHandler.class);
 
     private ConvoMetaIndex convoMetaIndex;
     private InteractionsIndex interactionsIndex;
+    private InteractionsCache interactionsCache;
+    private ConvoMetaHitBuffer hitBuffer;
+    private ConversationExpiry expiry;
+    private ConversationWatcher watcher;
+    private AdmissionController admissionController;
+    private ConversationalStats stats;
+    private ConversationalSlowLog slowLog;
 
     /**
      * Constructor
@@ -42,8 +78,22 @@ public class ConversationalMemoryHandler {
      * @param clusterService ClusterService object for managing OS
      */
     public ConversationalMemoryHandler(Client client, ClusterService clusterService) {
-        this.convoMetaIndex = new ConvoMetaIndex(client, clusterService);
-        this.interactionsIndex = new InteractionsIndex(client, clusterService);
+        this.stats = new ConversationalStats();
+        this.slowLog = new ConversationalSlowLog(clusterService);
+        this.convoMetaIndex = new ConvoMetaIndex(client, clusterService, stats, slowLog);
+        this.interactionsIndex = new InteractionsIndex(client, clusterService, stats, slowLog);
+        this.interactionsCache = new InteractionsCache(clusterService.getSettings());
+        this.hitBuffer = new ConvoMetaHitBuffer(convoMetaIndex, client.threadPool(), clusterService.getSettings());
+        this.expiry = new ConversationExpiry(
+            client,
+            clusterService,
+            convoMetaIndex.getIndexInitializer(),
+            interactionsIndex.getIndexInitializer(),
+            interactionsCache
+        );
+        this.watcher = new ConversationWatcher(client, clusterService, clusterService.getSettings());
+        this.admissionController = new AdmissionController(clusterService.getSettings());
+        stats.addPhaseListener(admissionController::onPhase);
     }
 
     /**
@@ -63,6 +113,16 @@ public class ConversationalMemoryHandler {
         convoMetaIndex.addNewConversation(name, listener);
     }
 
+    /**
+     * Create a new conversation that expires after its own retention instead of the cluster default
+     * @param name the name of the new conversation
+     * @param retention how long to keep the conversation after its last interaction
+     * @param listener listener to wait for this op to finish, gets unique id of new conversation
+     */
+    public void createConversation(String name, TimeValue retention, ActionListener<String> listener) {
+        convoMetaIndex.addNewConversation(name, retention, listener);
+    }
+
     /**
      * Adds an interaction to the conversation indicated, updating the conversational metadata
      * @param conversationId the conversation to add the interaction to
@@ -83,11 +143,224 @@ public class ConversationalMemoryHandler {
         ActionListener<String> listener
     ) {
         Instant time = Instant.now();
-        convoMetaIndex.hitConversation(conversationId, time, ActionListener.wrap(r->{}, e->{}));
-        interactionsIndex.addInteraction(
-            conversationId, input, prompt, 
-            response, agent, metadata, time, listener
-        );
+        interactionsCache.markWriting(conversationId);
+        // one trace for the sequence update and the write, so a slow put shows which of them was slow
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.PUT_INTERACTION, conversationId);
+        ActionListener<String> traced = trace.whenDone(listener);
+        // the position in the conversation comes from its metadata document, not from this node's clock.
+        // The same update counts the put, so only the tail is left to the hit buffer
+        convoMetaIndex.allocateSequence(conversationId, new ConvoHits(0).add(time, 1), trace, ActionListener.wrap(sequence -> {
+            // write-behind may ack the put before it's written; the tail and the watchers only learn about it once it is
+            interactionsIndex.addInteraction(
+                conversationId, input, prompt,
+                response, agent, metadata, time, sequence, iid -> {
+                    Interaction added = new Interaction(iid, time, conversationId, input, prompt, response, agent, metadata, sequence);
+                    if(sequence != null) {
+                        hitBuffer.tail(added);
+                    }
+                    interactionsCache.onInteractionAdded(added);
+                    watcher.onInteractionsAdded(conversationId, List.of(iid));
+                }, e -> {
+                    // acked before the write and never written: it was counted when it was numbered
+                    if(sequence != null) {
+                        hitBuffer.uncount(conversationId, time);
+                    }
+                }, trace, uncountOnFailure(conversationId, time, sequence, traced)
+            );
+        }, traced::onFailure));
+    }
+
+    /**
+     * Adds an interaction to the conversation indicated, at most once per client request id.
+     * The interaction's id is derived from the request id. It's looked up first with a realtime get across every
+     * generation of the interactions index, so a retry of a put that already went through, even before a rollover,
+     * gets the original id back without another document, another hit on the conversation or another sequence number.
+     * The write itself is op_type=create, so a retry that races with the original put fails the create instead of
+     * writing a second copy. Without a request id this is the same as the put without one
+     * @param conversationId the conversation to add the interaction to
+     * @param input the human input for the interaction
+     * @param prompt the prompt template used in this interaction
+     * @param response the Gen AI response for this interaction
+     * @param agent the name of the GenAI agent in this interaction
+     * @param metadata arbitrary JSON string of extra stuff
+     * @param requestId client-supplied id of this put, the same across its retries; or null
+     * @param listener gets the ID of the interaction
+     */
+    public void putInteraction(
+        String conversationId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        String requestId,
+        ActionListener<String> listener
+    ) {
+        if(requestId == null) {
+            putInteraction(conversationId, input, prompt, response, agent, metadata, listener);
+            return;
+        }
+        String iid = InteractionsIndex.idempotentId(conversationId, requestId);
+        interactionsIndex.getInteractionsById(conversationId, List.of(iid), ActionListener.wrap(existing -> {
+            if(!existing.isEmpty()) {
+                listener.onResponse(iid);
+            } else {
+                putIdempotentInteraction(conversationId, input, prompt, response, agent, metadata, iid, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    private void putIdempotentInteraction(
+        String conversationId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        String iid,
+        ActionListener<String> listener
+    ) {
+        Instant time = Instant.now();
+        interactionsCache.markWriting(conversationId);
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.PUT_INTERACTION, conversationId);
+        ActionListener<String> traced = trace.whenDone(listener);
+        convoMetaIndex.allocateSequence(conversationId, new ConvoHits(0).add(time, 1), trace, ActionListener.wrap(sequence -> {
+            Interaction interaction = new Interaction(iid, time, conversationId, input, prompt, response, agent, metadata, sequence);
+            ActionListener<String> uncounted = uncountOnFailure(conversationId, time, sequence, traced);
+            interactionsIndex.addInteraction(interaction, trace, ActionListener.wrap(added -> {
+                if(sequence != null) {
+                    hitBuffer.tail(interaction);
+                }
+                interactionsCache.onInteractionAdded(interaction);
+                watcher.onInteractionsAdded(conversationId, List.of(iid));
+                traced.onResponse(iid);
+            }, e -> {
+                if(ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException) {
+                    // a racing put got there first and was counted then; this one's count is given back and its number is skipped
+                    if(sequence != null) {
+                        hitBuffer.uncount(conversationId, time);
+                    }
+                    traced.onResponse(iid);
+                } else {
+                    uncounted.onFailure(e);
+                }
+            }));
+        }, traced::onFailure));
+    }
+
+    /**
+     * Adds many interactions, across any number of conversations, with bulk requests.
+     * Interactions are written in batches; the conversational metadata of each batch is updated in bulk too
+     * @param interactions the interactions to add. Their ids are ignored
+     * @param listener gets one bulk item per interaction, in the same order
+     */
+    public void putInteractions(List<Interaction> interactions, ActionListener<BulkResponse> listener) {
+        putInteractionsBatch(interactions, 0, new ArrayList<>(interactions.size()), 0, listener);
+    }
+
+    private void putInteractionsBatch(
+        List<Interaction> interactions,
+        int start,
+        List<BulkItemResponse> items,
+        long tookMillis,
+        ActionListener<BulkResponse> listener
+    ) {
+        if(start >= interactions.size()) {
+            listener.onResponse(new BulkResponse(items.toArray(new BulkItemResponse[0]), tookMillis));
+            return;
+        }
+        List<Interaction> unsequenced = interactions.subList(start, Math.min(start + ActionConstants.BULK_PUT_BATCH_SIZE, interactions.size()));
+        Map<String, ConvoHits> counts = new HashMap<>();
+        for(Interaction interaction : unsequenced) {
+            interactionsCache.markWriting(interaction.getConvoId());
+            counts.computeIfAbsent(interaction.getConvoId(), id -> new ConvoHits(0)).add(interaction.getTimestamp(), 1);
+        }
+        // one allocation per conversation in the batch, which also counts its interactions in it;
+        // its interactions are numbered in the order they were given
+        convoMetaIndex.allocateSequences(counts, ActionListener.wrap(firsts -> {
+            Map<String, Long> next = new HashMap<>(firsts);
+            List<Interaction> batch = new ArrayList<>(unsequenced.size());
+            for(Interaction interaction : unsequenced) {
+                Long sequence = next.computeIfPresent(interaction.getConvoId(), (id, seq) -> seq + 1);
+                batch.add(interaction.withSequence(sequence == null ? null : sequence - 1));
+            }
+            putSequencedBatch(interactions, start, batch, items, tookMillis, listener);
+        }, listener::onFailure));
+    }
+
+    private void putSequencedBatch(
+        List<Interaction> interactions,
+        int start,
+        List<Interaction> batch,
+        List<BulkItemResponse> items,
+        long tookMillis,
+        ActionListener<BulkResponse> listener
+    ) {
+        interactionsIndex.addInteractions(batch, ActionListener.wrap(response -> {
+            int tailSize = convoMetaIndex.getTailSize();
+            Map<String, ConvoHits> hits = new HashMap<>();
+            Map<String, List<String>> addedIds = new HashMap<>();
+            for(BulkItemResponse item : response.getItems()) {
+                items.add(item);
+                Interaction interaction = batch.get(item.getItemId());
+                if(item.isFailed()) {
+                    if(interaction.getSequence() != null) {
+                        // counted when its number was allocated, but never written
+                        hits.computeIfAbsent(interaction.getConvoId(), id -> new ConvoHits(tailSize)).add(interaction.getTimestamp(), -1);
+                    }
+                    continue;
+                }
+                Interaction added = interaction.withId(item.getId());
+                interactionsCache.onInteractionAdded(added);
+                addedIds.computeIfAbsent(added.getConvoId(), id -> new ArrayList<>()).add(added.getId());
+                // interactions of conversations without metadata have no number, and no tail to be kept in
+                if(added.getSequence() != null && tailSize > 0) {
+                    hits.computeIfAbsent(added.getConvoId(), id -> new ConvoHits(tailSize)).addToTail(added);
+                }
+            }
+            for(Map.Entry<String, List<String>> entry : addedIds.entrySet()) {
+                watcher.onInteractionsAdded(entry.getKey(), entry.getValue());
+            }
+            Runnable next = () -> putInteractionsBatch(interactions, start + batch.size(), items, tookMillis + response.getTook().millis(), listener);
+            if(hits.isEmpty()) {
+                next.run();
+            } else {
+                // the interactions are written either way; the next batch shouldn't wait on a metadata failure
+                convoMetaIndex.hitConversations(hits, ActionListener.wrap(r -> {
+                    for(BulkItemResponse item : r.getItems()) {
+                        // interactions can be put to conversations without metadata
+                        if(item.isFailed() && !(ExceptionsHelper.unwrapCause(item.getFailure().getCause()) instanceof DocumentMissingException)) {
+                            log.warn("failed to update the metadata of conversation [" + item.getId() + "] after a bulk put", item.getFailure().getCause());
+                        }
+                    }
+                    next.run();
+                }, e -> {
+                    log.warn("failed to update the metadata of " + hits.size() + " conversations after a bulk put", e);
+                    next.run();
+                }));
+            }
+        }, e -> {
+            for(Interaction interaction : batch) {
+                if(interaction.getSequence() != null) {
+                    hitBuffer.uncount(interaction.getConvoId(), interaction.getTimestamp());
+                }
+            }
+            listener.onFailure(e);
+        }));
+    }
+
+    /**
+     * Give a put's count back to its conversation if the write fails, since the put was counted when its
+     * sequence number was allocated. Puts without a sequence number weren't counted
+     */
+    private ActionListener<String> uncountOnFailure(String conversationId, Instant time, Long sequence, ActionListener<String> listener) {
+        if(sequence == null) {
+            return listener;
+        }
+        return ActionListener.wrap(listener::onResponse, e -> {
+            hitBuffer.uncount(conversationId, time);
+            listener.onFailure(e);
+        });
     }
 
     /**
@@ -98,7 +371,255 @@ public class ConversationalMemoryHandler {
      * @param listener gets the list of interactions in this conversation, sorted by recency
      */
     public void getInteractions(String conversationId, int from, int maxResults, ActionListener<List<Interaction>> listener) {
-        interactionsIndex.getInteractions(conversationId, from, maxResults, listener);
+        List<Interaction> cached = interactionsCache.get(conversationId, from, maxResults);
+        if(cached != null) {
+            listener.onResponse(cached);
+            return;
+        }
+        if(from != 0) {
+            interactionsIndex.getInteractions(conversationId, from, maxResults, listener);
+            return;
+        }
+        long stamp = interactionsCache.readStamp(conversationId);
+        interactionsIndex.getInteractions(conversationId, from, maxResults, ActionListener.wrap(interactions -> {
+            interactionsCache.populate(conversationId, stamp, interactions, interactions.size() < maxResults);
+            listener.onResponse(interactions);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Get a page of the interactions associated with this conversation, sorted by recency
+     * @param conversationId the conversation whose interactions to get
+     * @param after cursor pointing past the last interaction of the previous page, or null for the first page
+     * @param maxResults how many interactions to get
+     * @param listener gets the list of interactions in this conversation, sorted by recency
+     */
+    public void getInteractions(String conversationId, PageCursor after, int maxResults, ActionListener<List<Interaction>> listener) {
+        if(after == null) {
+            getInteractions(conversationId, 0, maxResults, listener);
+        } else {
+            interactionsIndex.getInteractions(conversationId, after, maxResults, listener);
+        }
+    }
+
+    /**
+     * Get the interactions of this conversation newer than a marker, oldest first.
+     * Checks the conversation's last interaction time with a realtime get first, and only searches
+     * the interactions index when there's something newer than the marker. The put's own update of the metadata
+     * moves the last interaction time, on whichever node takes the put, before the interaction is written; so the
+     * check never hides an interaction that's already searchable, whatever is still in any node's hit buffer
+     * @param conversationId the conversation whose interactions to get
+     * @param since only interactions after this are returned
+     * @param maxResults how many interactions to get
+     * @param listener gets the interactions newer than the marker, oldest first; empty if there are none
+     */
+    public void getInteractionsSince(String conversationId, Instant since, int maxResults, ActionListener<List<Interaction>> listener) {
+        // the last interaction time moved when the put's sequence number was allocated, so there are no buffered hits to flush first
+        convoMetaIndex.getConversations(List.of(conversationId), ActionListener.wrap(conversations -> {
+            // interactions can be put to conversations without metadata; those can't be short-circuited
+            if(!conversations.isEmpty() && !conversations.get(0).getLastHit().isAfter(since)) {
+                listener.onResponse(List.of());
+            } else {
+                interactionsIndex.getInteractionsSince(conversationId, since, maxResults, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Get the interactions of this conversation after a sequence number, in the order they were put.
+     * Checks the conversation's last allocated sequence number with a realtime get first, and only searches
+     * the interactions index when there's something after the marker
+     * @param conversationId the conversation whose interactions to get
+     * @param afterSequence only interactions with a higher sequence number are returned
+     * @param maxResults how many interactions to get
+     * @param listener gets the interactions after the marker, oldest first; empty if there are none
+     */
+    public void getInteractionsAfter(String conversationId, long afterSequence, int maxResults, ActionListener<List<Interaction>> listener) {
+        // sequence numbers are allocated before the put is acked, so there are no buffered hits to flush first
+        convoMetaIndex.getConversations(List.of(conversationId), ActionListener.wrap(conversations -> {
+            if(!conversations.isEmpty() && conversations.get(0).getLastSequence() <= afterSequence) {
+                listener.onResponse(List.of());
+            } else {
+                interactionsIndex.getInteractionsAfter(conversationId, afterSequence, maxResults, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Wait for interactions of this conversation newer than a marker, oldest first.
+     * Answers right away if there already are some; otherwise parks until an interaction is put to the
+     * conversation, on any node, or until the timeout passes. Parked watches don't poll the indices.
+     * The check for existing interactions runs after the watch is parked and announced, and also looks at the
+     * interactions this node was recently notified of with realtime gets, so an interaction that was notified before
+     * the watch was parked, but isn't searchable yet, isn't missed
+     * @param conversationId the conversation to watch
+     * @param since only interactions after this are returned, if there's no sequence marker
+     * @param afterSequence only interactions with a higher sequence number are returned; or null to go by since
+     * @param maxResults how many interactions to get
+     * @param timeout how long to wait at most
+     * @param listener gets the interactions newer than the marker, oldest first; empty if none came before the timeout
+     * @return the parked watch. Cancelling it stops watching without calling the listener
+     */
+    public Scheduler.Cancellable watchInteractions(
+        String conversationId,
+        Instant since,
+        Long afterSequence,
+        int maxResults,
+        TimeValue timeout,
+        ActionListener<List<Interaction>> listener
+    ) {
+        Predicate<Interaction> isNewer = afterSequence == null
+            ? interaction -> interaction.getTimestamp().isAfter(since)
+            : interaction -> interaction.getSequence() != null && interaction.getSequence() > afterSequence;
+        long deadlineNanos = System.nanoTime() + timeout.nanos();
+        // the watch and the initial get race; whichever finds interactions first answers
+        ActionListener<List<Interaction>> once = ActionListener.notifyOnce(listener);
+        // realtime gets, so the new interactions don't have to be refreshed into search first
+        BiConsumer<List<String>, ActionListener<List<Interaction>>> getNewer = (ids, newerListener) -> {
+            interactionsIndex.getInteractionsById(conversationId, ids, ActionListener.wrap(found -> {
+                List<Interaction> newer = new ArrayList<>();
+                for(Interaction interaction : found) {
+                    if(isNewer.test(interaction)) {
+                        newer.add(interaction);
+                    }
+                }
+                newer.sort(Interaction.NEWEST_FIRST.reversed());
+                newerListener.onResponse(newer.subList(0, Math.min(maxResults, newer.size())));
+            }, newerListener::onFailure));
+        };
+        ParkedWatch parked = new ParkedWatch(conversationId, deadlineNanos, getNewer, once);
+        parked.park();
+        // once parked and announced, anything put since is notified to the watch; anything before is searchable or replayed
+        watcher.afterAnnounced(() -> {
+            List<String> replayed = watcher.getRecent(conversationId);
+            ActionListener<List<Interaction>> initial = ActionListener.wrap(found -> {
+                if(!found.isEmpty() || replayed.isEmpty()) {
+                    parked.answerIfFound.onResponse(found);
+                } else {
+                    getNewer.accept(replayed, parked.answerIfFound);
+                }
+            }, parked.answerIfFound::onFailure);
+            if(afterSequence == null) {
+                getInteractionsSince(conversationId, since, maxResults, initial);
+            } else {
+                getInteractionsAfter(conversationId, afterSequence, maxResults, initial);
+            }
+        });
+        return parked;
+    }
+
+    /**
+     * The watch a watchInteractions call has parked. A notification can be all interactions the caller has already
+     * seen, e.g. ones with an older timestamp than its marker; then a new watch is parked for the rest of the timeout
+     */
+    private final class ParkedWatch implements Scheduler.Cancellable {
+        private final String conversationId;
+        private final long deadlineNanos;
+        private final BiConsumer<List<String>, ActionListener<List<Interaction>>> getNewer;
+        private final ActionListener<List<Interaction>> once;
+        private final ActionListener<List<Interaction>> answerIfFound;
+        private final AtomicReference<ConversationWatcher.Watch> current = new AtomicReference<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        private ParkedWatch(
+            String conversationId,
+            long deadlineNanos,
+            BiConsumer<List<String>, ActionListener<List<Interaction>>> getNewer,
+            ActionListener<List<Interaction>> once
+        ) {
+            this.conversationId = conversationId;
+            this.deadlineNanos = deadlineNanos;
+            this.getNewer = getNewer;
+            this.once = once;
+            this.answerIfFound = ActionListener.wrap(found -> {
+                if(!found.isEmpty()) {
+                    cancelCurrent();
+                    once.onResponse(found);
+                }
+            }, e -> {
+                cancelCurrent();
+                once.onFailure(e);
+            });
+        }
+
+        private void park() {
+            TimeValue remaining = TimeValue.timeValueNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+            current.set(watcher.watch(conversationId, remaining, ActionListener.wrap(ids -> {
+                if(ids.isEmpty()) {
+                    once.onResponse(List.of());
+                    return;
+                }
+                getNewer.accept(ids, ActionListener.wrap(newer -> {
+                    if(!newer.isEmpty() || deadlineNanos - System.nanoTime() <= 0) {
+                        once.onResponse(newer);
+                    } else {
+                        repark();
+                    }
+                }, once::onFailure));
+            }, once::onFailure)));
+            if(cancelled.get()) {
+                cancelCurrent();
+            }
+        }
+
+        private void repark() {
+            if(cancelled.get()) {
+                return;
+            }
+            try {
+                park();
+            } catch (Exception e) {
+                once.onFailure(e);
+                return;
+            }
+            // interactions notified between the last watch answering and this one being parked only went to the replay list
+            getNewer.accept(watcher.getRecent(conversationId), answerIfFound);
+        }
+
+        private void cancelCurrent() {
+            ConversationWatcher.Watch watch = current.get();
+            if(watch != null) {
+                watch.cancel();
+            }
+        }
+
+        /**
+         * Stop watching without calling the listener
+         * @return whether this stopped the watch; false if it was cancelled already
+         */
+        @Override
+        public boolean cancel() {
+            if(!cancelled.compareAndSet(false, true)) {
+                return false;
+            }
+            cancelCurrent();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    /**
+     * Get interactions of a conversation by id, with realtime gets
+     * @param conversationId the conversation the interactions belong to
+     * @param interactionIds ids of the interactions to get
+     * @param listener gets the interactions that exist in this conversation, in the order of their ids
+     */
+    public void getInteractionsById(String conversationId, List<String> interactionIds, ActionListener<List<Interaction>> listener) {
+        interactionsIndex.getInteractionsById(conversationId, interactionIds, listener);
+    }
+
+    /**
+     * Get the metadata of conversations by id, with one realtime multi-get
+     * @param conversationIds ids of the conversations to get
+     * @param listener gets the conversations that exist, in the order of their ids
+     */
+    public void getConversations(List<String> conversationIds, ActionListener<List<ConvoMeta>> listener) {
+        Runnable read = () -> convoMetaIndex.getConversations(conversationIds, listener);
+        hitBuffer.flush(conversationIds, ActionListener.wrap(r -> read.run(), e -> read.run()));
     }
 
     /**
@@ -108,7 +629,17 @@ public class ConversationalMemoryHandler {
      * @param listener gets the list of all conversations, sorted by recency
      */
     public void listConversations(int from, int maxResults, ActionListener<List<ConvoMeta>> listener) {
-        convoMetaIndex.listConversations(from, maxResults, listener);
+        afterHitsFlushed(() -> convoMetaIndex.listConversations(from, maxResults, listener));
+    }
+
+    /**
+     * Get a page of conversations (not the interactions in them, just the headers)
+     * @param after cursor pointing past the last conversation of the previous page, or null for the first page
+     * @param maxResults how many conversations to list
+     * @param listener gets the list of conversations, sorted by recency
+     */
+    public void listConversations(PageCursor after, int maxResults, ActionListener<List<ConvoMeta>> listener) {
+        afterHitsFlushed(() -> convoMetaIndex.listConversations(after, maxResults, listener));
     }
 
     /**
@@ -117,9 +648,146 @@ public class ConversationalMemoryHandler {
      * @param listener receives the list of conversations, sorted by recency
      */
     public void listConversations(int maxResults, ActionListener<List<ConvoMeta>> listener) {
-        convoMetaIndex.listConversations(maxResults, listener);
+        afterHitsFlushed(() -> convoMetaIndex.listConversations(maxResults, listener));
+    }
+
+    /**
+     * Get a conversation's metadata and its most recent interactions, with one realtime get of its metadata document.
+     * Reads the interactions index instead of the tail when the tail lags behind the conversation's last sequence
+     * number, e.g. when the newest interactions were put through another node that hasn't flushed their tail yet
+     * @param conversationId the conversation to get
+     * @param maxResults how many recent interactions to get; at most the configured tail size are kept
+     * @param listener gets the conversation's recent context, newest interaction first
+     */
+    public void getConversationContext(String conversationId, int maxResults, ActionListener<ConvoContext> listener) {
+        Runnable read = () -> convoMetaIndex.getConversationContext(conversationId, maxResults, ActionListener.wrap(context -> {
+            if(maxResults == 0 || !context.isTailBehind()) {
+                listener.onResponse(context);
+                return;
+            }
+            // the newest interactions' tail entries are still buffered on the nodes that took them; a context
+            // without the last turn isn't worth returning, so read them from the interactions index instead
+            getInteractions(conversationId, 0, maxResults, ActionListener.wrap(
+                interactions -> listener.onResponse(new ConvoContext(context.getMeta(), interactions)),
+                listener::onFailure
+            ));
+        }, listener::onFailure));
+        hitBuffer.flush(conversationId, ActionListener.wrap(r -> read.run(), e -> read.run()));
+    }
+
+    /**
+     * Run a read of the meta index once the hits buffered on this node have been applied,
+     * so readers see the interactions they put. A failed flush doesn't fail the read
+     */
+    private void afterHitsFlushed(Runnable read) {
+        hitBuffer.flush(ActionListener.wrap(r -> read.run(), e -> read.run()));
+    }
+
+    /**
+     * Delete every conversation past its retention, with its interactions
+     * @param task task of this run, which tracks progress and may be cancelled
+     * @param listener gets the final progress of the run
+     */
+    public void expireConversations(ExpireConversationsTask task, ActionListener<ExpireConversationsTask.Status> listener) {
+        expiry.expire(task, listener);
+    }
+
+    /**
+     * Apply what this node still buffers before it shuts down. Has to run while the node's transport and indices
+     * are still up, i.e. before the cluster service stops, not from the plugin's close
+     * @param timeout how long to wait for the buffered writes to be applied
+     */
+    public void close(TimeValue timeout) {
+        // queued interactions first, since writing them adds hits
+        interactionsIndex.getWriteBuffer().close(timeout);
+        hitBuffer.close(timeout);
+    }
+
+    /**
+     * @return the watcher of conversations getting new interactions
+     */
+    public ConversationWatcher getWatcher() {
+        return watcher;
+    }
+
+    /**
+     * @return the admission control of conversational actions on this node
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * @return the latency stats of conversational memory operations on this node
+     */
+    public ConversationalStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @return the queue of interactions waiting to be written in write-behind mode
+     */
+    public InteractionsWriteBuffer getWriteBuffer() {
+        return interactionsIndex.getWriteBuffer();
+    }
+
+    /**
+     * @return the expiry of conversations past their retention
+     */
+    public ConversationExpiry getConversationExpiry() {
+        return expiry;
     }
 
+    /**
+     * @return the node-local cache of recent interactions
+     */
+    public InteractionsCache getInteractionsCache() {
+        return interactionsCache;
+    }
+
+    /**
+     * @return the initializers of every index conversational memory lives in
+     */
+    public List<IndexInitializer> getIndexInitializers() {
+        return List.of(convoMetaIndex.getIndexInitializer(), interactionsIndex.getIndexInitializer());
+    }
+
+    /**
+     * @param client client to migrate with
+     * @param clusterService cluster service to look up indices with
+     * @return the migrations of existing indices to the current layout, in the order to run them
+     */
+    public List<IndexMigration> getIndexMigrations(Client client, ClusterService clusterService) {
+        InteractionsCopier copier = new InteractionsCopier(client);
+        return List.of(
+            new InteractionsLayoutMigration(
+                client,
+                interactionsIndex.getIndexInitializer(),
+                copier,
+                ConvoIndexConstants.interactionsGenerationName(1)
+            ),
+            new ConvoMetaIdMigration(client, convoMetaIndex.getIndexInitializer())
+        );
+    }
+
+    /**
+     * @param client client to roll over with
+     * @param clusterService cluster service to look up generations with
+     * @param threadPool thread pool to schedule rollover checks on
+     * @return the rollover of the interactions index, not started yet
+     */
+    public InteractionsRollover getInteractionsRollover(Client client, ClusterService clusterService, ThreadPool threadPool) {
+        return new InteractionsRollover(client, clusterService, threadPool, interactionsIndex.getIndexInitializer(), clusterService.getSettings());
+    }
+
+    /**
+     * @return the node-local buffer of conversation hits
+     */
+    public ConvoMetaHitBuffer getHitBuffer() {
+        return hitBuffer;
+    }
+
+
 
 
 
@@ -16,6 +16,7 @@
  */
 package org.opensearch.conversational;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
@@ -26,33 +27,67 @@ import org.opensearch.client.Client;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.component.LifecycleListener;
 import org.opensearch.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.IndexScopedSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.conversational.action.memory.conversation.CreateConversationAction;
 import org.opensearch.conversational.action.memory.conversation.CreateConversationRestAction;
 import org.opensearch.conversational.action.memory.conversation.CreateConversationTransportAction;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsAction;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsRestAction;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsTask;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsTransportAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationContextAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationContextRestAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationContextTransportAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationsAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationsRestAction;
+import org.opensearch.conversational.action.memory.conversation.GetConversationsTransportAction;
 import org.opensearch.conversational.action.memory.conversation.ListConversationsAction;
 import org.opensearch.conversational.action.memory.conversation.ListConversationsRestAction;
 import org.opensearch.conversational.action.memory.conversation.ListConversationsTransportAction;
+import org.opensearch.conversational.action.memory.interaction.BulkPutInteractionsAction;
+import org.opensearch.conversational.action.memory.interaction.BulkPutInteractionsRestAction;
+import org.opensearch.conversational.action.memory.interaction.BulkPutInteractionsTransportAction;
 import org.opensearch.conversational.action.memory.interaction.GetInteractionsAction;
+import org.opensearch.conversational.action.memory.interaction.GetInteractionsByIdAction;
+import org.opensearch.conversational.action.memory.interaction.GetInteractionsByIdRestAction;
+import org.opensearch.conversational.action.memory.interaction.GetInteractionsByIdTransportAction;
 import org.opensearch.conversational.action.memory.interaction.GetInteractionsRestAction;
 import org.opensearch.conversational.action.memory.interaction.GetInteractionsTransportAction;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersAction;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersTransportAction;
 import org.opensearch.conversational.action.memory.interaction.PutInteractionAction;
 import org.opensearch.conversational.action.memory.interaction.PutInteractionRestAction;
 import org.opensearch.conversational.action.memory.interaction.PutInteractionTransportAction;
+import org.opensearch.conversational.action.memory.interaction.WatchInteractionsAction;
+import org.opensearch.conversational.action.memory.interaction.WatchInteractionsRestAction;
+import org.opensearch.conversational.action.memory.interaction.WatchInteractionsTransportAction;
+import org.opensearch.conversational.action.stats.ConversationalStatsAction;
+import org.opensearch.conversational.action.stats.ConversationalStatsRestAction;
+import org.opensearch.conversational.action.stats.ConversationalStatsTransportAction;
+import org.opensearch.conversational.index.ConvoMetaScriptEngine;
+import org.opensearch.conversational.index.IndexBootstrapper;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.plugins.ActionPlugin;
 import org.opensearch.plugins.Plugin;
+import org.opensearch.plugins.ScriptPlugin;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
+import org.opensearch.script.ScriptContext;
+import org.opensearch.script.ScriptEngine;
 import org.opensearch.script.ScriptService;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
 
@@ -60,10 +95,14 @@ import org.opensearch.watcher.ResourceWatcherService;
  * Plugin that implements a conversational memory store and API.
  * Eventually this may also include some conversational 'chains' for lack of a better term
  */
-public class ConversationalPlugin extends Plugin implements ActionPlugin {
-    
+public class ConversationalPlugin extends Plugin implements ActionPlugin, ScriptPlugin {
+
+    /** How long shutting down waits for the writes this node buffers to be applied */
+    private final static TimeValue CLOSE_TIMEOUT = TimeValue.timeValueSeconds(10);
 
     private ConversationalMemoryHandler cmHandler;
+    private Scheduler.Cancellable rolloverTask;
+    private Scheduler.Cancellable expiryTask;
 
     @Override
     public List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> getActions() {
@@ -71,7 +110,15 @@ public class ConversationalPlugin extends Plugin implements ActionPlugin {
             new ActionHandler<>(CreateConversationAction.INSTANCE, CreateConversationTransportAction.class),
             new ActionHandler<>(ListConversationsAction.INSTANCE, ListConversationsTransportAction.class),
             new ActionHandler<>(PutInteractionAction.INSTANCE, PutInteractionTransportAction.class),
-            new ActionHandler<>(GetInteractionsAction.INSTANCE, GetInteractionsTransportAction.class)
+            new ActionHandler<>(GetInteractionsAction.INSTANCE, GetInteractionsTransportAction.class),
+            new ActionHandler<>(BulkPutInteractionsAction.INSTANCE, BulkPutInteractionsTransportAction.class),
+            new ActionHandler<>(ExpireConversationsAction.INSTANCE, ExpireConversationsTransportAction.class),
+            new ActionHandler<>(GetConversationContextAction.INSTANCE, GetConversationContextTransportAction.class),
+            new ActionHandler<>(GetConversationsAction.INSTANCE, GetConversationsTransportAction.class),
+            new ActionHandler<>(GetInteractionsByIdAction.INSTANCE, GetInteractionsByIdTransportAction.class),
+            new ActionHandler<>(WatchInteractionsAction.INSTANCE, WatchInteractionsTransportAction.class),
+            new ActionHandler<>(NotifyWatchersAction.INSTANCE, NotifyWatchersTransportAction.class),
+            new ActionHandler<>(ConversationalStatsAction.INSTANCE, ConversationalStatsTransportAction.class)
         );
     }
 
@@ -91,7 +138,25 @@ public class ConversationalPlugin extends Plugin implements ActionPlugin {
         Supplier<RepositoriesService> repositoriesServiceSupplier
     ){
         this.cmHandler = new ConversationalMemoryHandler(client, clusterService);
-        
+        clusterService.addListener(new IndexBootstrapper(
+            threadPool,
+            cmHandler.getIndexInitializers(),
+            cmHandler.getIndexMigrations(client, clusterService)
+        ));
+        rolloverTask = cmHandler.getInteractionsRollover(client, clusterService, threadPool).start();
+        expiryTask = cmHandler.getConversationExpiry().start();
+        // close() only runs once the node's transport and indices are stopped, too late for a write to reach a shard.
+        // The cluster service stops before them, with the http server already stopped, so no new puts come in
+        clusterService.addLifecycleListener(new LifecycleListener() {
+            @Override
+            public void beforeStop() {
+                // a rollover or expiry run started now would race the node's shutdown halfway through
+                cancel(rolloverTask);
+                cancel(expiryTask);
+                cmHandler.close(CLOSE_TIMEOUT);
+            }
+        });
+
         return List.of(
             this.cmHandler
         );
@@ -111,17 +176,60 @@ public class ConversationalPlugin extends Plugin implements ActionPlugin {
         ListConversationsRestAction restListConversations = new ListConversationsRestAction();
         PutInteractionRestAction restCreateInteraction = new PutInteractionRestAction();
         GetInteractionsRestAction restListInteractions = new GetInteractionsRestAction();
+        BulkPutInteractionsRestAction restBulkCreateInteractions = new BulkPutInteractionsRestAction();
+        ExpireConversationsRestAction restExpireConversations = new ExpireConversationsRestAction();
+        GetConversationContextRestAction restGetContext = new GetConversationContextRestAction();
+        GetConversationsRestAction restGetConversations = new GetConversationsRestAction();
+        GetInteractionsByIdRestAction restGetInteractionsById = new GetInteractionsByIdRestAction();
+        WatchInteractionsRestAction restWatchInteractions = new WatchInteractionsRestAction();
+        ConversationalStatsRestAction restStats = new ConversationalStatsRestAction();
         return List.of(
             restCreateConversation,
             restListConversations,
             restCreateInteraction,
-            restListInteractions
+            restListInteractions,
+            restBulkCreateInteractions,
+            restExpireConversations,
+            restGetContext,
+            restGetConversations,
+            restGetInteractionsById,
+            restWatchInteractions,
+            restStats
         );
     }
 
     @Override
     public List<Setting<?>> getSettings() {
-        return List.of();
+        return ConversationalSettings.getAllSettings();
+    }
+
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        return List.of(ConversationalSettings.threadPoolExecutorBuilder(settings));
+    }
+
+    @Override
+    public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
+        return List.of(
+            new NamedWriteableRegistry.Entry(Task.Status.class, ExpireConversationsTask.Status.NAME, ExpireConversationsTask.Status::new)
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        cancel(rolloverTask);
+        cancel(expiryTask);
+    }
+
+    private static void cancel(Scheduler.Cancellable task) {
+        if(task != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public ScriptEngine getScriptEngine(Settings settings, Collection<ScriptContext<?>> contexts) {
+        return new ConvoMetaScriptEngine();
     }
 
 }
@@ -0,0 +1,337 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.List;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeUnit;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.conversational.index.InteractionsWriteBuffer;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+
+/**
+ * Settings for the conversational plugin
+ */
+public class ConversationalSettings {
+
+    /**
+     * Max memory used by the node-local cache of recent interactions. 0, the default, disables the cache: puts through
+     * other nodes don't update it, so reads through this node can miss them for up to the expire_after_write time
+     */
+    public final static Setting<ByteSizeValue> INTERACTIONS_CACHE_SIZE = Setting.memorySizeSetting(
+        "plugins.conversational.interactions_cache.size",
+        "0b",
+        Setting.Property.NodeScope
+    );
+    /** Max number of recent interactions cached per conversation */
+    public final static Setting<Integer> INTERACTIONS_CACHE_MAX_PER_CONVERSATION = Setting.intSetting(
+        "plugins.conversational.interactions_cache.max_per_conversation",
+        20,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** How long a cached conversation lives before it has to be read from the index again */
+    public final static Setting<TimeValue> INTERACTIONS_CACHE_EXPIRE_AFTER_WRITE = Setting.positiveTimeSetting(
+        "plugins.conversational.interactions_cache.expire_after_write",
+        TimeValue.timeValueSeconds(30),
+        Setting.Property.NodeScope
+    );
+    /** How long conversation hits are buffered and merged before they're flushed to the meta index. 0 applies every hit right away */
+    public final static Setting<TimeValue> META_HITS_FLUSH_INTERVAL = Setting.positiveTimeSetting(
+        "plugins.conversational.meta_hits.flush_interval",
+        TimeValue.timeValueSeconds(1),
+        Setting.Property.NodeScope
+    );
+    /** Number of buffered conversations that triggers a flush before the interval is up */
+    public final static Setting<Integer> META_HITS_FLUSH_SIZE = Setting.intSetting(
+        "plugins.conversational.meta_hits.flush_size",
+        500,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** Whether puts of single interactions are queued and written to the index in bulk instead of one at a time */
+    public final static Setting<Boolean> WRITE_BEHIND_ENABLED = Setting.boolSetting(
+        "plugins.conversational.write_behind.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+    /** Max number of queued interactions written by one bulk request */
+    public final static Setting<Integer> WRITE_BEHIND_BATCH_SIZE = Setting.intSetting(
+        "plugins.conversational.write_behind.batch_size",
+        200,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** How long a queued interaction may wait for its batch to fill up before it's written anyway */
+    public final static Setting<TimeValue> WRITE_BEHIND_LINGER = Setting.positiveTimeSetting(
+        "plugins.conversational.write_behind.linger",
+        TimeValue.timeValueMillis(20),
+        Setting.Property.NodeScope
+    );
+    /**
+     * How many of an index's refresh intervals after a write acked by this node readers stop refreshing for it,
+     * assuming the scheduled refresh made it visible. A scheduled refresh that runs later than this, on a busy node,
+     * leaves a window where a read of the write's conversation may not see it
+     */
+    public final static Setting<Integer> REFRESH_VISIBILITY_INTERVALS = Setting.intSetting(
+        "plugins.conversational.refresh.visibility_intervals",
+        2,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** Max number of interactions waiting to be written. Puts are rejected once it's full */
+    public final static Setting<Integer> WRITE_BEHIND_QUEUE_CAPACITY = Setting.intSetting(
+        "plugins.conversational.write_behind.queue_capacity",
+        10000,
+        1,
+        Setting.Property.NodeScope
+    );
+    /**
+     * When a queued put is acknowledged: once it's queued ("enqueue") or once it's written to the index ("flush").
+     * With "enqueue" an acknowledged put can be lost: if the node dies before the flush, if a clean shutdown can't
+     * write the queue within 10s, or if the write still fails after the write-behind buffer's retries, the caller
+     * already has the interaction's id. Losses after a write was tried are logged and counted as "lost" in the
+     * write-behind stats
+     */
+    public final static Setting<InteractionsWriteBuffer.AckMode> WRITE_BEHIND_ACK = new Setting<>(
+        "plugins.conversational.write_behind.ack",
+        InteractionsWriteBuffer.AckMode.FLUSH.toString(),
+        InteractionsWriteBuffer.AckMode::fromString,
+        Setting.Property.NodeScope
+    );
+    /**
+     * How long a write waits for the cluster manager to create the plugin's indices before creating them itself.
+     * 0 creates them right away
+     */
+    public final static Setting<TimeValue> INDEX_BOOTSTRAP_TIMEOUT = Setting.positiveTimeSetting(
+        "plugins.conversational.index_bootstrap.timeout",
+        TimeValue.timeValueSeconds(10),
+        Setting.Property.NodeScope
+    );
+    /** How often the cluster manager checks whether the interactions index should roll over. 0 disables rollover */
+    public final static Setting<TimeValue> INTERACTIONS_ROLLOVER_CHECK_INTERVAL = Setting.positiveTimeSetting(
+        "plugins.conversational.interactions.rollover.check_interval",
+        TimeValue.timeValueMinutes(5),
+        Setting.Property.NodeScope
+    );
+    /** Roll the interactions index over once its write generation is this old. 0 doesn't roll over by age */
+    public final static Setting<TimeValue> INTERACTIONS_ROLLOVER_MAX_AGE = Setting.positiveTimeSetting(
+        "plugins.conversational.interactions.rollover.max_age",
+        TimeValue.timeValueDays(30),
+        Setting.Property.NodeScope
+    );
+    /** Roll the interactions index over once its write generation's primaries are this big. 0 doesn't roll over by size */
+    public final static Setting<ByteSizeValue> INTERACTIONS_ROLLOVER_MAX_SIZE = Setting.byteSizeSetting(
+        "plugins.conversational.interactions.rollover.max_size",
+        new ByteSizeValue(50, ByteSizeUnit.GB),
+        Setting.Property.NodeScope
+    );
+    /** Roll the interactions index over once its write generation holds this many interactions. 0 doesn't roll over by count */
+    public final static Setting<Long> INTERACTIONS_ROLLOVER_MAX_DOCS = Setting.longSetting(
+        "plugins.conversational.interactions.rollover.max_docs",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+    /** Marks a rolled over generation of the interactions index as force merged, so it's only merged once */
+    public final static Setting<Boolean> INTERACTIONS_GENERATION_FORCE_MERGED = Setting.boolSetting(
+        "index.plugins.conversational.force_merged",
+        false,
+        Setting.Property.IndexScope,
+        Setting.Property.Dynamic
+    );
+    /**
+     * How long conversations without a retention of their own are kept after their last interaction.
+     * 0 keeps them forever
+     */
+    public final static Setting<TimeValue> RETENTION_DEFAULT = Setting.positiveTimeSetting(
+        "plugins.conversational.retention.default",
+        TimeValue.ZERO,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+    /** How often the cluster manager looks for expired conversations to delete. 0 disables the background expiry */
+    public final static Setting<TimeValue> RETENTION_CHECK_INTERVAL = Setting.positiveTimeSetting(
+        "plugins.conversational.retention.check_interval",
+        TimeValue.timeValueHours(1),
+        Setting.Property.NodeScope
+    );
+    /** Max number of interactions expiry deletes per second, so it doesn't compete with live traffic. 0 doesn't throttle */
+    public final static Setting<Integer> RETENTION_DELETES_PER_SECOND = Setting.intSetting(
+        "plugins.conversational.retention.deletes_per_second",
+        1000,
+        0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+    /**
+     * Number of most recent interactions kept inside each conversation's metadata document,
+     * so recent context can be read with one realtime get. 0 doesn't keep any
+     */
+    public final static Setting<Integer> CONVERSATION_TAIL_SIZE = Setting.intSetting(
+        "plugins.conversational.tail.size",
+        10,
+        0,
+        Setting.Property.NodeScope
+    );
+    /** Max number of watch requests parked on a node at once. Watches past it are rejected. 0 disables watches */
+    public final static Setting<Integer> WATCH_MAX_WATCHERS = Setting.intSetting(
+        "plugins.conversational.watch.max_watchers",
+        1000,
+        0,
+        Setting.Property.NodeScope
+    );
+    /** How long new interactions are batched up before watchers on the other nodes are notified of them. 0 notifies right away */
+    public final static Setting<TimeValue> WATCH_NOTIFY_LINGER = Setting.positiveTimeSetting(
+        "plugins.conversational.watch.notify_linger",
+        TimeValue.timeValueMillis(10),
+        Setting.Property.NodeScope
+    );
+    /**
+     * How long a node remembers the interactions it was notified of, so a watch parked right after the notification
+     * still sees them. Should outlast the interactions index's refresh interval
+     */
+    public final static Setting<TimeValue> WATCH_REPLAY_WINDOW = Setting.positiveTimeSetting(
+        "plugins.conversational.watch.replay_window",
+        TimeValue.timeValueSeconds(10),
+        Setting.Property.NodeScope
+    );
+    /** Whether put, bulk put and get interactions requests go through admission control */
+    public final static Setting<Boolean> ADMISSION_ENABLED = Setting.boolSetting(
+        "plugins.conversational.admission.enabled",
+        true,
+        Setting.Property.NodeScope
+    );
+    /** Most requests of one action that may run at once on a node; also where each action's limit starts out */
+    public final static Setting<Integer> ADMISSION_MAX_CONCURRENCY = Setting.intSetting(
+        "plugins.conversational.admission.max_concurrency",
+        64,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** Floor that rising latency can't shrink an action's limit below */
+    public final static Setting<Integer> ADMISSION_MIN_CONCURRENCY = Setting.intSetting(
+        "plugins.conversational.admission.min_concurrency",
+        4,
+        1,
+        Setting.Property.NodeScope
+    );
+    /** Max number of requests of one action waiting for a slot. Requests past it are rejected with a 429 */
+    public final static Setting<Integer> ADMISSION_QUEUE_SIZE = Setting.intSetting(
+        "plugins.conversational.admission.queue_size",
+        100,
+        0,
+        Setting.Property.NodeScope
+    );
+    /**
+     * How many times its recent baseline an action's smoothed index or search latency may reach before its limit shrinks.
+     * The baseline is the lowest mean latency of the action's recent windows of calls
+     */
+    public final static Setting<Double> ADMISSION_LATENCY_TOLERANCE = Setting.doubleSetting(
+        "plugins.conversational.admission.latency_tolerance",
+        2.0,
+        1.0,
+        Setting.Property.NodeScope
+    );
+
+    /** Operations slower than this are logged to the slow log at warn. Negative disables it */
+    public final static Setting<TimeValue> SLOWLOG_THRESHOLD_WARN = slowLogThreshold("warn");
+    /** Operations slower than this are logged to the slow log at info. Negative disables it */
+    public final static Setting<TimeValue> SLOWLOG_THRESHOLD_INFO = slowLogThreshold("info");
+    /** Operations slower than this are logged to the slow log at debug. Negative disables it */
+    public final static Setting<TimeValue> SLOWLOG_THRESHOLD_DEBUG = slowLogThreshold("debug");
+    /** Operations slower than this are logged to the slow log at trace. Negative disables it */
+    public final static Setting<TimeValue> SLOWLOG_THRESHOLD_TRACE = slowLogThreshold("trace");
+
+    private static Setting<TimeValue> slowLogThreshold(String level) {
+        return Setting.timeSetting(
+            ConversationalSlowLog.LOGGER_NAME + ".threshold." + level,
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+    }
+
+    /**
+     * Name of the fixed thread pool conversational memory operations run on, instead of on whatever pool a
+     * response lands on. Sized with thread_pool.conversational.size and thread_pool.conversational.queue_size,
+     * which the pool registers itself; its rejections show up in thread pool stats
+     */
+    public final static String THREAD_POOL_NAME = "conversational";
+    /** Default queue size of the conversational thread pool */
+    public final static int THREAD_POOL_DEFAULT_QUEUE_SIZE = 1000;
+
+    /**
+     * @param settings node settings
+     * @return builder of the conversational thread pool, one thread per allocated processor by default
+     */
+    public static ExecutorBuilder<?> threadPoolExecutorBuilder(Settings settings) {
+        return new FixedExecutorBuilder(
+            settings,
+            THREAD_POOL_NAME,
+            OpenSearchExecutors.allocatedProcessors(settings),
+            THREAD_POOL_DEFAULT_QUEUE_SIZE
+        );
+    }
+
+    /**
+     * @return all of the settings this plugin registers
+     */
+    public static List<Setting<?>> getAllSettings() {
+        return List.of(
+            INTERACTIONS_CACHE_SIZE,
+            INTERACTIONS_CACHE_MAX_PER_CONVERSATION,
+            INTERACTIONS_CACHE_EXPIRE_AFTER_WRITE,
+            META_HITS_FLUSH_INTERVAL,
+            META_HITS_FLUSH_SIZE,
+            REFRESH_VISIBILITY_INTERVALS,
+            WRITE_BEHIND_ENABLED,
+            WRITE_BEHIND_BATCH_SIZE,
+            WRITE_BEHIND_LINGER,
+            WRITE_BEHIND_QUEUE_CAPACITY,
+            WRITE_BEHIND_ACK,
+            INDEX_BOOTSTRAP_TIMEOUT,
+            INTERACTIONS_ROLLOVER_CHECK_INTERVAL,
+            INTERACTIONS_ROLLOVER_MAX_AGE,
+            INTERACTIONS_ROLLOVER_MAX_SIZE,
+            INTERACTIONS_ROLLOVER_MAX_DOCS,
+            INTERACTIONS_GENERATION_FORCE_MERGED,
+            RETENTION_DEFAULT,
+            RETENTION_CHECK_INTERVAL,
+            RETENTION_DELETES_PER_SECOND,
+            CONVERSATION_TAIL_SIZE,
+            WATCH_MAX_WATCHERS,
+            WATCH_NOTIFY_LINGER,
+            WATCH_REPLAY_WINDOW,
+            ADMISSION_ENABLED,
+            ADMISSION_MAX_CONCURRENCY,
+            ADMISSION_MIN_CONCURRENCY,
+            ADMISSION_QUEUE_SIZE,
+            ADMISSION_LATENCY_TOLERANCE,
+            SLOWLOG_THRESHOLD_WARN,
+            SLOWLOG_THRESHOLD_INFO,
+            SLOWLOG_THRESHOLD_DEBUG,
+            SLOWLOG_THRESHOLD_TRACE
+        );
+    }
+}
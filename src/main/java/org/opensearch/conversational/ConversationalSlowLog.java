@@ -0,0 +1,229 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+
+/**
+ * Logs conversational memory operations that take longer than a threshold, along with what they asked for,
+ * how many hits they got and how long each of their phases took, so a slow get can be pinned on its refresh,
+ * its search or the parsing of its hits. There is a threshold per log level; each is dynamic, and negative disables it.
+ * Operations aren't traced at all while every threshold is disabled
+ */
+public class ConversationalSlowLog {
+    /** Name of the logger slow operations are logged to, and prefix of the threshold settings */
+    public final static String LOGGER_NAME = "plugins.conversational.slowlog";
+    /** Phase of turning search hits into interactions or conversations */
+    public final static String HYDRATE = "hydrate";
+
+    private final static Logger log = LogManager.getLogger(LOGGER_NAME);
+
+    private volatile long warnNanos;
+    private volatile long infoNanos;
+    private volatile long debugNanos;
+    private volatile long traceNanos;
+
+    /**
+     * Constructor; thresholds stay at their node settings
+     * @param settings node settings
+     */
+    public ConversationalSlowLog(Settings settings) {
+        this.warnNanos = ConversationalSettings.SLOWLOG_THRESHOLD_WARN.get(settings).nanos();
+        this.infoNanos = ConversationalSettings.SLOWLOG_THRESHOLD_INFO.get(settings).nanos();
+        this.debugNanos = ConversationalSettings.SLOWLOG_THRESHOLD_DEBUG.get(settings).nanos();
+        this.traceNanos = ConversationalSettings.SLOWLOG_THRESHOLD_TRACE.get(settings).nanos();
+    }
+
+    /**
+     * Constructor; thresholds follow updates to the cluster settings
+     * @param clusterService cluster service to read the thresholds from
+     */
+    public ConversationalSlowLog(ClusterService clusterService) {
+        this(clusterService.getSettings());
+        ClusterSettings clusterSettings = clusterService.getClusterSettings();
+        clusterSettings.addSettingsUpdateConsumer(ConversationalSettings.SLOWLOG_THRESHOLD_WARN, v -> warnNanos = v.nanos());
+        clusterSettings.addSettingsUpdateConsumer(ConversationalSettings.SLOWLOG_THRESHOLD_INFO, v -> infoNanos = v.nanos());
+        clusterSettings.addSettingsUpdateConsumer(ConversationalSettings.SLOWLOG_THRESHOLD_DEBUG, v -> debugNanos = v.nanos());
+        clusterSettings.addSettingsUpdateConsumer(ConversationalSettings.SLOWLOG_THRESHOLD_TRACE, v -> traceNanos = v.nanos());
+    }
+
+    /**
+     * Start tracing an operation that doesn't read a page of results
+     * @param operation the operation
+     * @param conversationId conversation the operation is on, or null if it isn't on one
+     * @return the trace of the operation
+     */
+    public Trace start(Operation operation, String conversationId) {
+        return start(operation, conversationId, -1, -1);
+    }
+
+    /**
+     * Start tracing an operation
+     * @param operation the operation
+     * @param conversationId conversation the operation is on, or null if it isn't on one
+     * @param from position of the first result asked for; negative if the operation doesn't page
+     * @param size number of results asked for; negative if the operation doesn't page
+     * @return the trace of the operation
+     */
+    public Trace start(Operation operation, String conversationId, int from, int size) {
+        return new Trace(operation, conversationId, from, size, isEnabled());
+    }
+
+    /**
+     * @return whether any threshold is enabled
+     */
+    public boolean isEnabled() {
+        return warnNanos >= 0 || infoNanos >= 0 || debugNanos >= 0 || traceNanos >= 0;
+    }
+
+    /**
+     * @param tookNanos how long an operation took
+     * @return the highest level whose threshold the operation reached, or null if it reached none
+     */
+    Level level(long tookNanos) {
+        if(warnNanos >= 0 && tookNanos >= warnNanos) {
+            return Level.WARN;
+        } else if(infoNanos >= 0 && tookNanos >= infoNanos) {
+            return Level.INFO;
+        } else if(debugNanos >= 0 && tookNanos >= debugNanos) {
+            return Level.DEBUG;
+        } else if(traceNanos >= 0 && tookNanos >= traceNanos) {
+            return Level.TRACE;
+        }
+        return null;
+    }
+
+    /**
+     * Timings of one operation. Logged when the operation completes, if it was slow
+     */
+    public final class Trace {
+        private final Operation operation;
+        private final String conversationId;
+        private final int from;
+        private final int size;
+        private final boolean enabled;
+        private final long startNanos;
+        private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        private volatile int hits = -1;
+
+        private Trace(Operation operation, String conversationId, int from, int size, boolean enabled) {
+            this.operation = operation;
+            this.conversationId = conversationId;
+            this.from = from;
+            this.size = size;
+            this.enabled = enabled;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Time a phase of the operation, from now until its listener is called
+         * @param <T> type of the phase's result
+         * @param phase the phase
+         * @param listener listener of the call the phase is made of
+         * @return listener that records the phase's time before calling the given one
+         */
+        public <T> ActionListener<T> phase(Phase phase, ActionListener<T> listener) {
+            if(!enabled) {
+                return listener;
+            }
+            long start = System.nanoTime();
+            return ActionListener.runBefore(listener, () -> record(phase.toString(), System.nanoTime() - start));
+        }
+
+        /**
+         * Record the time of a phase of the operation. Time recorded more than once for a phase (retries) adds up
+         * @param phase name of the phase
+         * @param nanos how long it took
+         */
+        public synchronized void record(String phase, long nanos) {
+            phaseNanos.merge(phase, nanos, Long::sum);
+        }
+
+        /**
+         * Record how many hits the operation got
+         * @param hits number of hits
+         */
+        public void hits(int hits) {
+            this.hits = hits;
+        }
+
+        /**
+         * @param <T> type of the operation's result
+         * @param listener listener of the operation
+         * @return listener that logs the operation if it was slow, then calls the given one
+         */
+        public <T> ActionListener<T> whenDone(ActionListener<T> listener) {
+            if(!enabled) {
+                return listener;
+            }
+            return ActionListener.wrap(r -> {
+                done(null);
+                listener.onResponse(r);
+            }, e -> {
+                done(e);
+                listener.onFailure(e);
+            });
+        }
+
+        private void done(Exception failure) {
+            long tookNanos = System.nanoTime() - startNanos;
+            Level level = level(tookNanos);
+            if(level != null && log.isEnabled(level)) {
+                log.log(level, message(tookNanos, failure));
+            }
+        }
+
+        synchronized String message(long tookNanos, Exception failure) {
+            StringBuilder message = new StringBuilder();
+            message.append("took[").append(TimeValue.timeValueNanos(tookNanos)).append("], ");
+            message.append("took_millis[").append(TimeValue.nsecToMSec(tookNanos)).append("], ");
+            message.append("operation[").append(operation).append("]");
+            if(conversationId != null) {
+                message.append(", conversation_id[").append(conversationId).append("]");
+            }
+            if(size >= 0) {
+                message.append(", from[").append(Math.max(0, from)).append("], size[").append(size).append("]");
+            }
+            if(hits >= 0) {
+                message.append(", hits[").append(hits).append("]");
+            }
+            message.append(", phases[");
+            String separator = "";
+            for(Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+                message.append(separator).append(phase.getKey()).append("[").append(TimeValue.timeValueNanos(phase.getValue())).append("]");
+                separator = ", ";
+            }
+            message.append("]");
+            if(failure != null) {
+                message.append(", failure[").append(failure.getMessage()).append("]");
+            }
+            return message.toString();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Node-local latency stats of conversational memory operations. Each operation has a histogram of its
+ * end-to-end latency, plus one per phase (the refresh, search, index and update calls it makes to the cluster)
+ */
+public class ConversationalStats {
+
+    /**
+     * Operations with stats of their own
+     */
+    public enum Operation {
+        /** create a conversation */
+        CREATE_CONVERSATION,
+        /** list conversations */
+        LIST_CONVERSATIONS,
+        /** put one interaction */
+        PUT_INTERACTION,
+        /** put many interactions in bulk */
+        BULK_PUT_INTERACTIONS,
+        /** get the interactions of a conversation */
+        GET_INTERACTIONS,
+        /** apply hits to conversation metadata */
+        HIT_CONVERSATION;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Calls to the cluster an operation is made of
+     */
+    public enum Phase {
+        /** refresh, so recent writes are visible to a search */
+        REFRESH,
+        /** search or realtime get */
+        SEARCH,
+        /** write of a new document */
+        INDEX,
+        /** scripted update of an existing document */
+        UPDATE;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Operation, LatencyHistogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, CounterMetric> failures = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Phase, LatencyHistogram>> phases = new EnumMap<>(Operation.class);
+    private final List<PhaseListener> phaseListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Gets the latency of every phase as it's recorded
+     */
+    @FunctionalInterface
+    public interface PhaseListener {
+        /**
+         * @param operation the operation the phase is part of
+         * @param phase the phase
+         * @param nanos how long the phase took
+         */
+        void onPhase(Operation operation, Phase phase, long nanos);
+    }
+
+    /**
+     * Constructor
+     */
+    public ConversationalStats() {
+        for(Operation operation : Operation.values()) {
+            totals.put(operation, new LatencyHistogram());
+            failures.put(operation, new CounterMetric());
+            Map<Phase, LatencyHistogram> operationPhases = new EnumMap<>(Phase.class);
+            for(Phase phase : Phase.values()) {
+                operationPhases.put(phase, new LatencyHistogram());
+            }
+            phases.put(operation, operationPhases);
+        }
+    }
+
+    /**
+     * Time an operation, from now until its listener is called
+     * @param <T> type of the operation's result
+     * @param operation the operation
+     * @param listener listener of the operation
+     * @return listener that records the operation's latency, and whether it failed, before calling the given one
+     */
+    public <T> ActionListener<T> time(Operation operation, ActionListener<T> listener) {
+        long start = System.nanoTime();
+        return ActionListener.wrap(r -> {
+            totals.get(operation).record(System.nanoTime() - start);
+            listener.onResponse(r);
+        }, e -> {
+            totals.get(operation).record(System.nanoTime() - start);
+            failures.get(operation).inc();
+            listener.onFailure(e);
+        });
+    }
+
+    /**
+     * Time one phase of an operation, from now until its listener is called
+     * @param <T> type of the phase's result
+     * @param operation the operation
+     * @param phase the phase
+     * @param listener listener of the call the phase is made of
+     * @return listener that records the phase's latency before calling the given one
+     */
+    public <T> ActionListener<T> time(Operation operation, Phase phase, ActionListener<T> listener) {
+        long start = System.nanoTime();
+        LatencyHistogram histogram = phases.get(operation).get(phase);
+        return ActionListener.runBefore(listener, () -> {
+            long nanos = System.nanoTime() - start;
+            histogram.record(nanos);
+            for(PhaseListener phaseListener : phaseListeners) {
+                phaseListener.onPhase(operation, phase, nanos);
+            }
+        });
+    }
+
+    /**
+     * Get the latency of every phase from now on, as it's recorded
+     * @param phaseListener gets the latencies; called on the thread that completes the phase, so it must be cheap
+     */
+    public void addPhaseListener(PhaseListener phaseListener) {
+        phaseListeners.add(phaseListener);
+    }
+
+    /**
+     * @return a copy of the stats of every operation as they are now, by operation name
+     */
+    public Map<String, OperationStats> snapshot() {
+        Map<String, OperationStats> result = new LinkedHashMap<>();
+        for(Operation operation : Operation.values()) {
+            Map<String, LatencyHistogram.Snapshot> operationPhases = new LinkedHashMap<>();
+            for(Map.Entry<Phase, LatencyHistogram> phase : phases.get(operation).entrySet()) {
+                LatencyHistogram.Snapshot snapshot = phase.getValue().snapshot();
+                if(snapshot.getCount() > 0) {
+                    operationPhases.put(phase.getKey().toString(), snapshot);
+                }
+            }
+            result.put(
+                operation.toString(),
+                new OperationStats(failures.get(operation).count(), totals.get(operation).snapshot(), operationPhases)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Stats of one operation at a point in time: its latency, its failures and the latency of each of its phases
+     */
+    public static final class OperationStats implements Writeable, ToXContentFragment {
+        private final long failed;
+        private final LatencyHistogram.Snapshot total;
+        private final Map<String, LatencyHistogram.Snapshot> phases;
+
+        /**
+         * Constructor
+         * @param failed number of times the operation failed
+         * @param total latency of the operation, end to end
+         * @param phases latency of each phase the operation went through, by phase name
+         */
+        public OperationStats(long failed, LatencyHistogram.Snapshot total, Map<String, LatencyHistogram.Snapshot> phases) {
+            this.failed = failed;
+            this.total = total;
+            this.phases = phases;
+        }
+
+        /**
+         * Constructor
+         * @param in stream input; assumes OperationStats.writeTo was called
+         * @throws IOException if there's not an OperationStats in the stream
+         */
+        public OperationStats(StreamInput in) throws IOException {
+            this.failed = in.readVLong();
+            this.total = new LatencyHistogram.Snapshot(in);
+            this.phases = in.readOrderedMap(StreamInput::readString, LatencyHistogram.Snapshot::new);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(failed);
+            total.writeTo(out);
+            out.writeMap(phases, StreamOutput::writeString, (o, s) -> s.writeTo(o));
+        }
+
+        /**
+         * @param other stats of the same operation, e.g. on another node
+         * @return stats covering both
+         */
+        public OperationStats merge(OperationStats other) {
+            Map<String, LatencyHistogram.Snapshot> merged = new LinkedHashMap<>(phases);
+            for(Map.Entry<String, LatencyHistogram.Snapshot> phase : other.phases.entrySet()) {
+                merged.merge(phase.getKey(), phase.getValue(), LatencyHistogram.Snapshot::merge);
+            }
+            return new OperationStats(failed + other.failed, total.merge(other.total), merged);
+        }
+
+        /**
+         * @return number of times the operation failed
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return latency of the operation, end to end
+         */
+        public LatencyHistogram.Snapshot getTotal() {
+            return total;
+        }
+
+        /**
+         * @return latency of each phase the operation went through, by phase name
+         */
+        public Map<String, LatencyHistogram.Snapshot> getPhases() {
+            return phases;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            total.toXContent(builder, params);
+            builder.field("failed", failed);
+            builder.startObject("phases");
+            for(Map.Entry<String, LatencyHistogram.Snapshot> phase : phases.entrySet()) {
+                builder.startObject(phase.getKey());
+                phase.getValue().toXContent(builder, params);
+                builder.endObject();
+            }
+            builder.endObject();
+            return builder;
+        }
+    }
+}
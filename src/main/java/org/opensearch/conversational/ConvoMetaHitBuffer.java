@@ -0,0 +1,360 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.metrics.MeanMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.index.ConvoHits;
+import org.opensearch.conversational.index.ConvoMetaIndex;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.index.engine.DocumentMissingException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Node-local buffer that merges conversation tail entries before they reach the meta index.
+ * Interactions are counted in their conversation when their sequence number is allocated, so all this buffer carries
+ * is the newest interactions for each conversation's tail, and the counts given back for puts that were never written.
+ * Entries for the same conversation are merged and flushed as one bulk of scripted updates, either on an interval
+ * or once enough conversations are buffered
+ */
+public class ConvoMetaHitBuffer {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConvoMetaHitBuffer.class);
+
+    private final ConvoMetaIndex convoMetaIndex;
+    private final ThreadPool threadPool;
+    private final TimeValue flushInterval;
+    private final int flushSize;
+    private final int tailSize;
+
+    private Map<String, ConvoHits> pending = new HashMap<>();
+    private final List<Flush> inFlight = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private Scheduler.ScheduledCancellable scheduledFlush = null;
+    private boolean closed = false;
+
+    private final CounterMetric tailsReceived = new CounterMetric();
+    private final CounterMetric countsGivenBack = new CounterMetric();
+    private final CounterMetric updatesSent = new CounterMetric();
+    private final CounterMetric updatesFailed = new CounterMetric();
+    private final MeanMetric flushLatencyMillis = new MeanMetric();
+
+    /**
+     * Constructor
+     * @param convoMetaIndex the meta index to flush hits to
+     * @param threadPool thread pool used to schedule flushes
+     * @param settings node settings to read the buffer configuration from
+     */
+    public ConvoMetaHitBuffer(ConvoMetaIndex convoMetaIndex, ThreadPool threadPool, Settings settings) {
+        this.convoMetaIndex = convoMetaIndex;
+        this.threadPool = threadPool;
+        this.flushInterval = ConversationalSettings.META_HITS_FLUSH_INTERVAL.get(settings);
+        this.flushSize = ConversationalSettings.META_HITS_FLUSH_SIZE.get(settings);
+        this.tailSize = ConversationalSettings.CONVERSATION_TAIL_SIZE.get(settings);
+    }
+
+    /**
+     * Record a new interaction that was already counted in its conversation when its sequence number was
+     * allocated, to be kept in the conversation's tail
+     * @param interaction the new interaction
+     */
+    public void tail(Interaction interaction) {
+        if(tailSize > 0) {
+            tailsReceived.inc();
+            buffer(interaction.getConvoId(), new ConvoHits(tailSize).addToTail(interaction));
+        }
+    }
+
+    /**
+     * Give back the count of an interaction that was counted in its conversation when its sequence number was
+     * allocated, but was never written
+     * @param conversationId the conversation the interaction was put to
+     * @param hitTime time of the interaction
+     */
+    public void uncount(String conversationId, Instant hitTime) {
+        countsGivenBack.inc();
+        buffer(conversationId, new ConvoHits(tailSize).add(hitTime, -1));
+    }
+
+    private void buffer(String conversationId, ConvoHits hits) {
+        boolean buffered = false;
+        boolean flushNow = false;
+        boolean schedule = false;
+        synchronized(this) {
+            // once closed, nothing would flush what's buffered
+            if(flushInterval.millis() != 0 && !closed) {
+                pending.computeIfAbsent(conversationId, id -> new ConvoHits(tailSize)).merge(hits);
+                if(pending.size() >= flushSize) {
+                    flushNow = true;
+                } else if(!flushScheduled) {
+                    flushScheduled = true;
+                    schedule = true;
+                }
+                buffered = true;
+            }
+        }
+        if(!buffered) {
+            updatesSent.inc();
+            convoMetaIndex.hitConversation(conversationId, hits, ActionListener.wrap(r -> {}, e -> {
+                updatesFailed.inc();
+            }));
+            return;
+        }
+        if(flushNow) {
+            flush(ActionListener.wrap(r -> {}, e -> {}));
+        } else if(schedule) {
+            Scheduler.ScheduledCancellable scheduled = threadPool.schedule(this::scheduledFlush, flushInterval, ThreadPool.Names.GENERIC);
+            synchronized(this) {
+                // the flush may have run already, on a very short interval
+                if(flushScheduled) {
+                    scheduledFlush = scheduled;
+                }
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        synchronized(this) {
+            flushScheduled = false;
+            scheduledFlush = null;
+        }
+        flush(ActionListener.wrap(r -> {}, e -> {}));
+    }
+
+    /**
+     * Stop flushing on a schedule and apply every buffered entry, waiting for them for a bounded time.
+     * Entries recorded after this are applied right away
+     * @param timeout how long to wait for the buffered entries to be applied
+     */
+    public void close(TimeValue timeout) {
+        Scheduler.ScheduledCancellable scheduled;
+        synchronized(this) {
+            closed = true;
+            scheduled = scheduledFlush;
+            scheduledFlush = null;
+            flushScheduled = false;
+        }
+        if(scheduled != null) {
+            scheduled.cancel();
+        }
+        PlainActionFuture<Void> flushed = PlainActionFuture.newFuture();
+        flush(flushed);
+        try {
+            flushed.actionGet(timeout);
+        } catch (Exception e) {
+            log.warn("failed to apply buffered conversation hits on close", e);
+        }
+    }
+
+    /**
+     * Flush every buffered hit to the meta index
+     * @param listener called once every hit buffered before this call has been applied (or has failed)
+     */
+    public void flush(ActionListener<Void> listener) {
+        Flush flush = null;
+        List<Flush> toWaitFor;
+        synchronized(this) {
+            if(!pending.isEmpty()) {
+                flush = new Flush(pending);
+                pending = new HashMap<>();
+                inFlight.add(flush);
+            }
+            toWaitFor = new ArrayList<>(inFlight);
+        }
+        if(toWaitFor.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+        GroupedActionListener<Void> waitAll = new GroupedActionListener<>(
+            ActionListener.wrap(r -> listener.onResponse(null), listener::onFailure),
+            toWaitFor.size()
+        );
+        for(Flush f : toWaitFor) {
+            f.addListener(waitAll);
+        }
+        if(flush != null) {
+            send(flush);
+        }
+    }
+
+    /**
+     * Flush buffered hits if some of them are for this conversation, so its metadata reflects
+     * every interaction this node has acked
+     * @param conversationId the conversation about to be read
+     * @param listener called once the conversation's buffered hits have been applied (or have failed)
+     */
+    public void flush(String conversationId, ActionListener<Void> listener) {
+        flush(List.of(conversationId), listener);
+    }
+
+    /**
+     * Flush buffered hits if some of them are for these conversations
+     * @param conversationIds the conversations about to be read
+     * @param listener called once the conversations' buffered hits have been applied (or have failed)
+     */
+    public void flush(Collection<String> conversationIds, ActionListener<Void> listener) {
+        boolean buffered = false;
+        synchronized(this) {
+            for(String conversationId : conversationIds) {
+                if(pending.containsKey(conversationId) || inFlight.stream().anyMatch(f -> f.hits.containsKey(conversationId))) {
+                    buffered = true;
+                    break;
+                }
+            }
+        }
+        if(buffered) {
+            flush(listener);
+        } else {
+            listener.onResponse(null);
+        }
+    }
+
+    private void send(Flush flush) {
+        Map<String, ConvoHits> hits = flush.hits;
+        updatesSent.inc(hits.size());
+        long start = System.nanoTime();
+        convoMetaIndex.hitConversations(hits, ActionListener.wrap(response -> {
+            flushLatencyMillis.inc(TimeValue.nsecToMSec(System.nanoTime() - start));
+            for(BulkItemResponse item : response.getItems()) {
+                if(item.isFailed() && !(ExceptionsHelper.unwrapCause(item.getFailure().getCause()) instanceof DocumentMissingException)) {
+                    updatesFailed.inc();
+                    log.warn("failed to apply hits to conversation [" + item.getId() + "]", item.getFailure().getCause());
+                }
+            }
+            complete(flush, null);
+        }, e -> {
+            flushLatencyMillis.inc(TimeValue.nsecToMSec(System.nanoTime() - start));
+            updatesFailed.inc(hits.size());
+            log.error("failed to flush conversation hits", e);
+            complete(flush, e);
+        }));
+    }
+
+    private void complete(Flush flush, Exception e) {
+        List<ActionListener<Void>> toNotify;
+        synchronized(this) {
+            inFlight.remove(flush);
+            flush.done = true;
+            flush.failure = e;
+            toNotify = new ArrayList<>(flush.listeners);
+            flush.listeners.clear();
+        }
+        for(ActionListener<Void> listener : toNotify) {
+            if(e == null) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * @return number of conversations with hits waiting to be flushed
+     */
+    public synchronized int getBacklog() {
+        return pending.size();
+    }
+
+    /**
+     * @return number of interactions recorded for a conversation's tail
+     */
+    public long getTailsReceived() {
+        return tailsReceived.count();
+    }
+
+    /**
+     * @return number of counts given back for puts that were never written
+     */
+    public long getCountsGivenBack() {
+        return countsGivenBack.count();
+    }
+
+    /**
+     * @return number of updates sent to the meta index
+     */
+    public long getUpdatesSent() {
+        return updatesSent.count();
+    }
+
+    /**
+     * @return number of updates that failed to apply
+     */
+    public long getUpdatesFailed() {
+        return updatesFailed.count();
+    }
+
+    /**
+     * @return tail entries and given back counts recorded per update sent; how much merging saved
+     */
+    public double getMergeRatio() {
+        long sent = updatesSent.count();
+        return sent == 0 ? 0 : (double) (tailsReceived.count() + countsGivenBack.count()) / sent;
+    }
+
+    /**
+     * @return number of flushes done
+     */
+    public long getFlushCount() {
+        return flushLatencyMillis.count();
+    }
+
+    /**
+     * @return mean time a flush took to apply, in millis
+     */
+    public double getFlushLatencyMillis() {
+        return flushLatencyMillis.mean();
+    }
+
+    private final class Flush {
+        private final Map<String, ConvoHits> hits;
+        private final List<ActionListener<Void>> listeners = new ArrayList<>();
+        private boolean done = false;
+        private Exception failure = null;
+
+        private Flush(Map<String, ConvoHits> hits) {
+            this.hits = hits;
+        }
+
+        private void addListener(ActionListener<Void> listener) {
+            synchronized(ConvoMetaHitBuffer.this) {
+                if(!done) {
+                    listeners.add(listener);
+                    return;
+                }
+            }
+            if(failure == null) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(failure);
+            }
+        }
+    }
+}
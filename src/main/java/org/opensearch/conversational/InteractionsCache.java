@@ -0,0 +1,272 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.index.Interaction;
+
+/**
+ * Node-local, size-bounded LRU cache of the most recent interactions of each conversation.
+ * Filled by reads of the first page of a conversation and kept up to date by puts that go through this node.
+ * Entries expire after a while, since puts that go through other nodes can't update them; until then a read
+ * through this node may not see those puts. So it's off unless a size is configured, for deployments that
+ * send each conversation's requests to one node or can live with that staleness.
+ */
+public class InteractionsCache {
+
+    /** Rough per-object overhead of a cached interaction, on top of its strings */
+    private final static long INTERACTION_OVERHEAD_BYTES = 160;
+    private final static int NUM_STRIPES = 256;
+
+    private final Cache<String, CachedConversation> cache;
+    private final int maxPerConversation;
+    private final boolean enabled;
+    private final CounterMetric hits = new CounterMetric();
+    private final CounterMetric misses = new CounterMetric();
+    /** Write stamps, striped by conversation id. A read only fills the cache if no write touched its stripe meanwhile */
+    private final AtomicLongArray writeStamps = new AtomicLongArray(NUM_STRIPES);
+    private final Object[] locks = new Object[NUM_STRIPES];
+
+    /**
+     * Constructor
+     * @param settings node settings to read the cache configuration from
+     */
+    public InteractionsCache(Settings settings) {
+        long maxBytes = ConversationalSettings.INTERACTIONS_CACHE_SIZE.get(settings).getBytes();
+        TimeValue expireAfterWrite = ConversationalSettings.INTERACTIONS_CACHE_EXPIRE_AFTER_WRITE.get(settings);
+        this.maxPerConversation = ConversationalSettings.INTERACTIONS_CACHE_MAX_PER_CONVERSATION.get(settings);
+        this.enabled = maxBytes > 0;
+        CacheBuilder<String, CachedConversation> builder = CacheBuilder.<String, CachedConversation>builder()
+            .setMaximumWeight(maxBytes)
+            .weigher((id, convo) -> convo.bytes);
+        if(expireAfterWrite.nanos() > 0) {
+            builder.setExpireAfterWrite(expireAfterWrite);
+        }
+        this.cache = builder.build();
+        for(int i = 0; i < NUM_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a page of a conversation's most recent interactions, if the cache can answer for it
+     * @param conversationId the conversation to read
+     * @param from position of the first interaction to return
+     * @param maxResults max number of interactions to return
+     * @return the interactions, sorted by recency, or null if the cache can't answer
+     */
+    public List<Interaction> get(String conversationId, int from, int maxResults) {
+        if(!enabled) {
+            return null;
+        }
+        CachedConversation convo = cache.get(conversationId);
+        if(convo != null) {
+            int size = convo.interactions.size();
+            if(size >= from + maxResults) {
+                hits.inc();
+                return convo.interactions.subList(from, from + maxResults);
+            } else if(convo.exhaustive) {
+                hits.inc();
+                return convo.interactions.subList(Math.min(from, size), size);
+            }
+        }
+        misses.inc();
+        return null;
+    }
+
+    /**
+     * Take a stamp before reading a conversation from the index, to pass to {@link #populate} afterwards
+     * @param conversationId the conversation about to be read
+     * @return the current write stamp of the conversation
+     */
+    public long readStamp(String conversationId) {
+        return writeStamps.get(stripe(conversationId));
+    }
+
+    /**
+     * Cache the first page of a conversation, as read from the index.
+     * Does nothing if an interaction was written to (or near) the conversation since the stamp was taken
+     * @param conversationId the conversation that was read
+     * @param stamp the stamp from {@link #readStamp} taken before the read
+     * @param interactions the most recent interactions of the conversation, sorted by recency
+     * @param exhaustive whether these are all of the interactions in the conversation
+     */
+    public void populate(String conversationId, long stamp, List<Interaction> interactions, boolean exhaustive) {
+        if(!enabled) {
+            return;
+        }
+        int stripe = stripe(conversationId);
+        synchronized(locks[stripe]) {
+            if(writeStamps.get(stripe) != stamp) {
+                return;
+            }
+            if(interactions.size() > maxPerConversation) {
+                interactions = interactions.subList(0, maxPerConversation);
+                exhaustive = false;
+            }
+            cache.put(conversationId, new CachedConversation(List.copyOf(interactions), exhaustive));
+        }
+    }
+
+    /**
+     * Mark that an interaction is about to be written to this conversation,
+     * so that reads already in flight don't fill the cache with a stale page
+     * @param conversationId the conversation being written to
+     */
+    public void markWriting(String conversationId) {
+        writeStamps.incrementAndGet(stripe(conversationId));
+    }
+
+    /**
+     * Write an interaction through to the cache, once it has been indexed.
+     * Only updates conversations that are already cached
+     * @param interaction the newly indexed interaction
+     */
+    public void onInteractionAdded(Interaction interaction) {
+        if(!enabled) {
+            return;
+        }
+        String conversationId = interaction.getConvoId();
+        int stripe = stripe(conversationId);
+        synchronized(locks[stripe]) {
+            writeStamps.incrementAndGet(stripe);
+            CachedConversation convo = cache.get(conversationId);
+            if(convo == null) {
+                return;
+            }
+            List<Interaction> updated = new ArrayList<>(convo.interactions.size() + 1);
+            boolean inserted = false;
+            for(Interaction cached : convo.interactions) {
+                if(cached.getId().equals(interaction.getId())) {
+                    return;
+                }
+                if(!inserted && Interaction.NEWEST_FIRST.compare(interaction, cached) <= 0) {
+                    updated.add(interaction);
+                    inserted = true;
+                }
+                updated.add(cached);
+            }
+            if(!inserted) {
+                // older than everything cached. only belongs here if we know there's nothing older
+                if(!convo.exhaustive) {
+                    return;
+                }
+                updated.add(interaction);
+            }
+            boolean exhaustive = convo.exhaustive;
+            if(updated.size() > maxPerConversation) {
+                updated = updated.subList(0, maxPerConversation);
+                exhaustive = false;
+            }
+            cache.put(conversationId, new CachedConversation(List.copyOf(updated), exhaustive));
+        }
+    }
+
+    /**
+     * Drop a conversation from the cache
+     * @param conversationId the conversation to forget
+     */
+    public void invalidate(String conversationId) {
+        int stripe = stripe(conversationId);
+        synchronized(locks[stripe]) {
+            writeStamps.incrementAndGet(stripe);
+            cache.invalidate(conversationId);
+        }
+    }
+
+    /**
+     * @return number of reads answered by the cache
+     */
+    public long getHits() {
+        return hits.count();
+    }
+
+    /**
+     * @return number of reads the cache couldn't answer
+     */
+    public long getMisses() {
+        return misses.count();
+    }
+
+    /**
+     * @return number of conversations evicted to stay under the size limit
+     */
+    public long getEvictions() {
+        return cache.stats().getEvictions();
+    }
+
+    /**
+     * @return estimated memory used by the cache
+     */
+    public long getSizeInBytes() {
+        return cache.weight();
+    }
+
+    /**
+     * @return number of conversations in the cache
+     */
+    public int count() {
+        return cache.count();
+    }
+
+    private static int stripe(String conversationId) {
+        return Math.floorMod(conversationId.hashCode(), NUM_STRIPES);
+    }
+
+    private static long estimateBytes(Interaction interaction) {
+        return INTERACTION_OVERHEAD_BYTES + 2L * (
+            length(interaction.getId())
+            + length(interaction.getConvoId())
+            + length(interaction.getInput())
+            + length(interaction.getPrompt())
+            + length(interaction.getResponse())
+            + length(interaction.getAgent())
+            + length(interaction.getMetadata())
+        );
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    /**
+     * The cached head of a conversation
+     */
+    private static final class CachedConversation {
+        private final List<Interaction> interactions;
+        private final boolean exhaustive;
+        private final long bytes;
+
+        private CachedConversation(List<Interaction> interactions, boolean exhaustive) {
+            this.interactions = interactions;
+            this.exhaustive = exhaustive;
+            long total = INTERACTION_OVERHEAD_BYTES;
+            for(Interaction interaction : interactions) {
+                total += estimateBytes(interaction);
+            }
+            this.bytes = total;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Lock-free histogram of latencies, in microseconds. Buckets are log-linear: every power of two is split
+ * into 8 equal buckets, so percentiles are off by at most 1/8 of their value. Snapshots of histograms
+ * from different nodes merge by adding up their buckets.
+ */
+public class LatencyHistogram {
+    private final static int SUB_BUCKET_BITS = 3;
+    private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final static int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record one latency
+     * @param nanos the latency, in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucket(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * @return a copy of this histogram as it is now
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[NUM_BUCKETS];
+        for(int i = 0; i < NUM_BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, count.sum(), sumMicros.sum(), maxMicros.get());
+    }
+
+    static int bucket(long micros) {
+        if(micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int bucket) {
+        if(bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long bound = ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        return bound < 0 ? Long.MAX_VALUE : bound;
+    }
+
+    /**
+     * Immutable copy of a histogram, that can be sent between nodes and merged with others
+     */
+    public static final class Snapshot implements Writeable, ToXContentFragment {
+        /** Snapshot of a histogram nothing was recorded in */
+        public final static Snapshot EMPTY = new Snapshot(new long[NUM_BUCKETS], 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        /**
+         * Constructor
+         * @param in stream input; assumes Snapshot.writeTo was called
+         * @throws IOException if there's not a Snapshot in the stream
+         */
+        public Snapshot(StreamInput in) throws IOException {
+            this.counts = new long[NUM_BUCKETS];
+            int nonEmpty = in.readVInt();
+            for(int i = 0; i < nonEmpty; i++) {
+                counts[in.readVInt()] = in.readVLong();
+            }
+            this.count = in.readVLong();
+            this.sumMicros = in.readVLong();
+            this.maxMicros = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            // most buckets are empty; only send the others
+            int nonEmpty = 0;
+            for(long c : counts) {
+                if(c > 0) {
+                    nonEmpty++;
+                }
+            }
+            out.writeVInt(nonEmpty);
+            for(int i = 0; i < counts.length; i++) {
+                if(counts[i] > 0) {
+                    out.writeVInt(i);
+                    out.writeVLong(counts[i]);
+                }
+            }
+            out.writeVLong(count);
+            out.writeVLong(sumMicros);
+            out.writeVLong(maxMicros);
+        }
+
+        /**
+         * @param other another snapshot
+         * @return a snapshot of everything recorded in either
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = new long[NUM_BUCKETS];
+            for(int i = 0; i < NUM_BUCKETS; i++) {
+                merged[i] = counts[i] + other.counts[i];
+            }
+            return new Snapshot(merged, count + other.count, sumMicros + other.sumMicros, Math.max(maxMicros, other.maxMicros));
+        }
+
+        /**
+         * @param quantile between 0 and 1
+         * @return latency in micros that this fraction of recorded latencies is at or under; 0 if nothing was recorded
+         */
+        public long percentileMicros(double quantile) {
+            if(count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for(int i = 0; i < NUM_BUCKETS; i++) {
+                seen += counts[i];
+                if(seen >= rank) {
+                    return Math.min(upperBound(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        /**
+         * @return number of latencies recorded
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return highest latency recorded, in micros
+         */
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * @return mean latency recorded, in micros; 0 if nothing was recorded
+         */
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.field("count", count);
+            builder.field("mean_millis", getMeanMicros() / 1000.0);
+            builder.field("p50_millis", percentileMicros(0.5) / 1000.0);
+            builder.field("p90_millis", percentileMicros(0.9) / 1000.0);
+            builder.field("p99_millis", percentileMicros(0.99) / 1000.0);
+            builder.field("max_millis", maxMicros / 1000.0);
+            return builder;
+        }
+    }
+}
@@ -17,6 +17,16 @@
 
 package org.opensearch.conversational.action;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.rest.RestRequest;
+
 /**
  * Constants for conversational actions
  */
@@ -34,6 +44,26 @@ public class ActionConstants {
 
     /** name of conversation name in all requests */
     public final static String REQUEST_CONVO_NAME_FIELD = "name";
+    /** name of the retention field in create conversation requests */
+    public final static String REQUEST_RETENTION_FIELD = "retention";
+    /** name of the list of conversation ids in multi-get requests */
+    public final static String REQUEST_CONVO_IDS_FIELD = "conversationIds";
+    /** name of the interaction id in get interaction requests */
+    public final static String REQUEST_INTER_ID_FIELD = "interactionId";
+    /** name of the list of interaction ids in multi-get requests */
+    public final static String REQUEST_INTER_IDS_FIELD = "interactionIds";
+    /** name of the since marker of incremental get interactions requests and responses */
+    public final static String REQUEST_SINCE_FIELD = "since";
+    /** name of the sequence number marker of incremental get interactions requests and responses */
+    public final static String REQUEST_SINCE_SEQUENCE_FIELD = "sinceSequence";
+    /** name of the field saying nothing changed since the marker of an incremental get */
+    public final static String RESPONSE_NOT_MODIFIED_FIELD = "notModified";
+    /** name of the idempotency key field of put interaction requests */
+    public final static String REQUEST_ID_FIELD = "requestId";
+    /** name of the node ids parameter of stats requests */
+    public final static String REQUEST_NODE_ID_FIELD = "nodeId";
+    /** name of the timeout field of watch interactions requests */
+    public final static String REQUEST_TIMEOUT_FIELD = "timeout";
     /** name of maxResults field name in all requests */
     public final static String REQUEST_MAX_RESULTS_FIELD = "maxResults";
     /** name of nextToken field name in all messages */
@@ -48,6 +78,19 @@ public class ActionConstants {
     public final static String AI_AGENT_FIELD = "agent";
     /** name of interaction attributes field in all requests */
     public final static String INTER_ATTRIBUTES_FIELD = "attributes";
+    /** name of interaction sequence number field in all responses */
+    public final static String INTER_SEQUENCE_FIELD = "sequence";
+    /** name of interaction timestamp field in bulk put requests */
+    public final static String INTER_TIMESTAMP_FIELD = "timestamp";
+
+    /** name of the per-item results list in bulk responses */
+    public final static String RESPONSE_ITEMS_FIELD = "items";
+    /** name of the field saying whether any item of a bulk failed */
+    public final static String RESPONSE_ERRORS_FIELD = "errors";
+    /** name of the error field of a failed bulk item */
+    public final static String RESPONSE_ERROR_FIELD = "error";
+    /** name of the status field of a failed bulk item */
+    public final static String RESPONSE_STATUS_FIELD = "status";
 
     /** path for create conversation */
     public final static String CREATE_CONVERSATION_PATH = "/_plugins/conversational/memory";
@@ -57,7 +100,87 @@ public class ActionConstants {
     public final static String CREATE_INTERACTION_PATH = "/_plugins/conversational/memory/{conversationId}";
     /** path for get interactions */
     public final static String GET_INTERACTIONS_PATH = "/_plugins/conversational/memory/{conversationId}";
+    /** path for bulk put interactions */
+    public final static String BULK_PUT_INTERACTIONS_PATH = "/_plugins/conversational/memory/_bulk";
+    /** path for get conversation context */
+    public final static String GET_CONTEXT_PATH = "/_plugins/conversational/memory/{conversationId}/_context";
+    /** path for get conversation */
+    public final static String GET_CONVERSATION_PATH = "/_plugins/conversational/memory/{conversationId}/meta";
+    /** path for multi-get conversations */
+    public final static String MGET_CONVERSATIONS_PATH = "/_plugins/conversational/memory/_mget";
+    /** path for get interaction */
+    public final static String GET_INTERACTION_PATH = "/_plugins/conversational/memory/{conversationId}/interaction/{interactionId}";
+    /** path for multi-get interactions */
+    public final static String MGET_INTERACTIONS_PATH = "/_plugins/conversational/memory/{conversationId}/interaction/_mget";
+    /** path for watch interactions */
+    public final static String WATCH_INTERACTIONS_PATH = "/_plugins/conversational/memory/{conversationId}/_watch";
+    /** path for expire conversations */
+    public final static String EXPIRE_CONVERSATIONS_PATH = "/_plugins/conversational/memory/_expire";
+    /** path for plugin stats of every node */
+    public final static String STATS_PATH = "/_plugins/conversational/_stats";
+    /** path for plugin stats of some nodes */
+    public final static String NODE_STATS_PATH = "/_plugins/conversational/_stats/{nodeId}";
 
     /** default max results returned by get operations */
     public final static int DEFAULT_MAX_RESULTS = 10;
+    /** default time a watch interactions request waits for new interactions */
+    public final static TimeValue DEFAULT_WATCH_TIMEOUT = TimeValue.timeValueSeconds(30);
+    /** max time a watch interactions request may wait for new interactions */
+    public final static TimeValue MAX_WATCH_TIMEOUT = TimeValue.timeValueMinutes(5);
+    /** max interactions written by one bulk request to the index; bigger bulk puts are split into batches */
+    public final static int BULK_PUT_BATCH_SIZE = 1000;
+    /** max interactions in one bulk put request. The whole request holds a single admission slot while its batches run */
+    public final static int MAX_BULK_PUT_INTERACTIONS = 10 * BULK_PUT_BATCH_SIZE;
+
+    /**
+     * Reads a list of ids out of the body of a multi-get request
+     * @param request the rest request
+     * @param field name of the body field holding the ids
+     * @return the ids
+     * @throws IOException if the body can't be parsed
+     * @throws IllegalArgumentException if the body doesn't have a list of ids
+     */
+    public static List<String> parseIds(RestRequest request, String field) throws IOException {
+        if(!request.hasContent()) {
+            throw new IllegalArgumentException("request body must have [" + field + "]");
+        }
+        Object ids;
+        try (XContentParser parser = request.contentParser()) {
+            ids = parser.map().get(field);
+        }
+        if(!(ids instanceof List)) {
+            throw new IllegalArgumentException("[" + field + "] must be a list of ids");
+        }
+        List<String> result = new ArrayList<>();
+        for(Object id : (List<?>) ids) {
+            result.add(String.valueOf(id));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the marker of an incremental get: an ISO-8601 timestamp, or epoch millis
+     * @param since the marker
+     * @return the time it stands for
+     * @throws IllegalArgumentException if it's neither
+     */
+    public static Instant parseSince(String since) {
+        try {
+            if(!since.isEmpty() && since.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochMilli(Long.parseLong(since));
+            }
+            return Instant.parse(since);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("invalid [" + REQUEST_SINCE_FIELD + "] marker [" + since + "]", e);
+        }
+    }
+
+    /**
+     * Older clients paginate with a numeric position as nextToken; newer tokens are opaque cursors
+     * @param token a nextToken from a request
+     * @return whether the token is a numeric position rather than a cursor
+     */
+    public static boolean isPositionalToken(String token) {
+        return !token.isEmpty() && token.length() < 10 && token.chars().allMatch(Character::isDigit);
+    }
 }
\ No newline at end of file
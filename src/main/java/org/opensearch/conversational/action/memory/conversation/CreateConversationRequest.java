@@ -23,15 +23,19 @@ import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.conversational.action.ActionConstants;
 import org.opensearch.rest.RestRequest;
 
+import static org.opensearch.action.ValidateActions.addValidationError;
+
 /**
  * Action Request for creating a conversation
  */
 public class CreateConversationRequest extends ActionRequest {
 
     private String name = null;
+    private TimeValue retention = null;
 
     /**
      * Constructor
@@ -41,6 +45,7 @@ public class CreateConversationRequest extends ActionRequest {
     public CreateConversationRequest(StreamInput in) throws IOException {
         super(in);
         this.name = in.readOptionalString();
+        this.retention = in.readOptionalTimeValue();
     }
 
     /**
@@ -51,6 +56,17 @@ public class CreateConversationRequest extends ActionRequest {
         super();
         this.name = name;
     }
+    /**
+     * Constructor
+     * @param name name of the conversation
+     * @param retention how long to keep the conversation after its last interaction, or null for the cluster default
+     */
+    public CreateConversationRequest(String name, TimeValue retention) {
+        super();
+        this.name = name;
+        this.retention = retention;
+    }
+
     /**
      * Constructor
      * name will be null
@@ -60,7 +76,8 @@ public class CreateConversationRequest extends ActionRequest {
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
-        out.writeString(name);
+        out.writeOptionalString(name);
+        out.writeOptionalTimeValue(retention);
     }
 
     /**
@@ -70,10 +87,19 @@ public class CreateConversationRequest extends ActionRequest {
         return name;
     }
 
+    /**
+     * @return how long to keep the conversation after its last interaction, or null for the cluster default
+     */
+    public TimeValue getRetention() {
+        return retention;
+    }
+
     @Override
     public ActionRequestValidationException validate() {
         ActionRequestValidationException exception = null;
-
+        if(retention != null && retention.millis() <= 0) {
+            exception = addValidationError("retention must be positive", exception);
+        }
         return exception;
     }
 
@@ -88,11 +114,11 @@ public class CreateConversationRequest extends ActionRequest {
             return new CreateConversationRequest();
         }
         Map<String, String> payload = restRequest.contentParser().mapStrings();
-        if(payload.containsKey(ActionConstants.REQUEST_CONVO_NAME_FIELD)) {
-            return new CreateConversationRequest(payload.get(ActionConstants.REQUEST_CONVO_NAME_FIELD));
-        } else {
-            return new CreateConversationRequest();
+        TimeValue retention = null;
+        if(payload.containsKey(ActionConstants.REQUEST_RETENTION_FIELD)) {
+            retention = TimeValue.parseTimeValue(payload.get(ActionConstants.REQUEST_RETENTION_FIELD), ActionConstants.REQUEST_RETENTION_FIELD);
         }
+        return new CreateConversationRequest(payload.get(ActionConstants.REQUEST_CONVO_NAME_FIELD), retention);
     }
 
 }
\ No newline at end of file
@@ -17,12 +17,16 @@
 package org.opensearch.conversational.action.memory.conversation;
 
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats.Operation;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
@@ -56,7 +60,14 @@ public class CreateConversationTransportAction extends HandledTransportAction<Cr
 
     @Override
     protected void doExecute(Task task, CreateConversationRequest request, ActionListener<CreateConversationResponse> actionListener) {
+        ActionListener<CreateConversationResponse> timed = cmHandler.getStats().time(Operation.CREATE_CONVERSATION, actionListener);
+        client.threadPool().executor(ConversationalSettings.THREAD_POOL_NAME)
+            .execute(ActionRunnable.wrap(timed, l -> createConversation(request, l)));
+    }
+
+    private void createConversation(CreateConversationRequest request, ActionListener<CreateConversationResponse> actionListener) {
         String name = request.getName();
+        TimeValue retention = request.getRetention();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             ActionListener<CreateConversationResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
             ActionListener<String> al = ActionListener.wrap(r -> {
@@ -66,7 +77,9 @@ public class CreateConversationTransportAction extends HandledTransportAction<Cr
                 internalListener.onFailure(e);
             });
 
-            if(name == null) {
+            if(retention != null) {
+                cmHandler.createConversation(name == null ? "" : name, retention, al);
+            } else if(name == null) {
                 cmHandler.createConversation(al);
             } else {
                 cmHandler.createConversation(name, al);
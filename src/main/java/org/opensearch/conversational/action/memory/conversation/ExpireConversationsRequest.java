@@ -0,0 +1,61 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Action Request for expiring conversations. Runs as a cancellable task that reports its progress
+ */
+public class ExpireConversationsRequest extends ActionRequest {
+
+    /**
+     * Constructor
+     */
+    public ExpireConversationsRequest() {}
+
+    /**
+     * Constructor
+     * @param in input stream to read from
+     * @throws IOException if something breaks
+     */
+    public ExpireConversationsRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        return null;
+    }
+
+    @Override
+    public String getDescription() {
+        return "expire conversations";
+    }
+
+    @Override
+    public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new ExpireConversationsTask(id, type, action, getDescription(), parentTaskId, headers);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Action Response for expiring conversations: what the run deleted
+ */
+public class ExpireConversationsResponse extends ActionResponse implements ToXContentObject {
+    private ExpireConversationsTask.Status status;
+
+    /**
+     * Constructor
+     * @param in input stream to create this from
+     * @throws IOException if something breaks
+     */
+    public ExpireConversationsResponse(StreamInput in) throws IOException {
+        super(in);
+        this.status = new ExpireConversationsTask.Status(in);
+    }
+
+    /**
+     * Constructor
+     * @param status final progress of the run
+     */
+    public ExpireConversationsResponse(ExpireConversationsTask.Status status) {
+        this.status = status;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        status.writeTo(out);
+    }
+
+    /**
+     * @return final progress of the run
+     */
+    public ExpireConversationsTask.Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, ToXContentObject.Params params) throws IOException {
+        return status.toXContent(builder, params);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Task of a run of conversation expiry. Reports its progress as its task status, so it shows up in the tasks API
+ */
+public class ExpireConversationsTask extends CancellableTask {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong conversationsDeleted = new AtomicLong(0);
+    private final AtomicLong interactionsDeleted = new AtomicLong(0);
+    private final AtomicLong generationsDropped = new AtomicLong(0);
+
+    /**
+     * Constructor
+     * @param id id of the task
+     * @param type type of the task
+     * @param action action the task runs
+     * @param description description of the task
+     * @param parentTaskId id of the parent task
+     * @param headers headers of the request
+     */
+    public ExpireConversationsTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
+        super(id, type, action, description, parentTaskId, headers);
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    /**
+     * @param count number of conversations whose metadata was just deleted
+     */
+    public void onConversationsDeleted(long count) {
+        conversationsDeleted.addAndGet(count);
+    }
+
+    /**
+     * @param count number of interactions just deleted
+     */
+    public void onInteractionsDeleted(long count) {
+        interactionsDeleted.addAndGet(count);
+    }
+
+    /**
+     * Record that a whole generation of the interactions index was dropped
+     */
+    public void onGenerationDropped() {
+        generationsDropped.incrementAndGet();
+    }
+
+    @Override
+    public Status getStatus() {
+        return new Status(
+            conversationsDeleted.get(),
+            interactionsDeleted.get(),
+            generationsDropped.get(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+    }
+
+    /**
+     * Progress of a run of conversation expiry
+     */
+    public static class Status implements Task.Status {
+        /** Name this is registered under as a named writeable */
+        public final static String NAME = "conversational_expiry";
+
+        private final long conversationsDeleted;
+        private final long interactionsDeleted;
+        private final long generationsDropped;
+        private final long elapsedMillis;
+
+        /**
+         * Constructor
+         * @param conversationsDeleted number of conversations deleted so far
+         * @param interactionsDeleted number of interactions deleted one by one so far
+         * @param generationsDropped number of interactions index generations dropped whole so far
+         * @param elapsedMillis how long the run has been going
+         */
+        public Status(long conversationsDeleted, long interactionsDeleted, long generationsDropped, long elapsedMillis) {
+            this.conversationsDeleted = conversationsDeleted;
+            this.interactionsDeleted = interactionsDeleted;
+            this.generationsDropped = generationsDropped;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Constructor
+         * @param in input stream to read this from
+         * @throws IOException if something breaks
+         */
+        public Status(StreamInput in) throws IOException {
+            this.conversationsDeleted = in.readVLong();
+            this.interactionsDeleted = in.readVLong();
+            this.generationsDropped = in.readVLong();
+            this.elapsedMillis = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(conversationsDeleted);
+            out.writeVLong(interactionsDeleted);
+            out.writeVLong(generationsDropped);
+            out.writeVLong(elapsedMillis);
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        /**
+         * @return number of conversations deleted so far
+         */
+        public long getConversationsDeleted() {
+            return conversationsDeleted;
+        }
+
+        /**
+         * @return number of interactions deleted one by one so far
+         */
+        public long getInteractionsDeleted() {
+            return interactionsDeleted;
+        }
+
+        /**
+         * @return number of interactions index generations dropped whole so far
+         */
+        public long getGenerationsDropped() {
+            return generationsDropped;
+        }
+
+        /**
+         * @return interactions deleted per second, over the whole run
+         */
+        public double getInteractionsPerSecond() {
+            return elapsedMillis == 0 ? 0 : interactionsDeleted * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("conversations_deleted", conversationsDeleted);
+            builder.field("interactions_deleted", interactionsDeleted);
+            builder.field("generations_dropped", generationsDropped);
+            builder.field("elapsed_millis", elapsedMillis);
+            builder.field("interactions_per_second", getInteractionsPerSecond());
+            builder.endObject();
+            return builder;
+        }
+    }
+}
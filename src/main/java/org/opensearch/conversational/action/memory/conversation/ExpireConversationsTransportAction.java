@@ -0,0 +1,73 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+/**
+ * The ExpireConversationsAction that actually does all of the work
+ */
+public class ExpireConversationsTransportAction extends HandledTransportAction<ExpireConversationsRequest, ExpireConversationsResponse> {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ExpireConversationsTransportAction.class);
+
+    private ConversationalMemoryHandler cmHandler;
+    private Client client;
+
+    /**
+     * Constructor
+     * @param transportService for inter-node communications
+     * @param actionFilters filters applied to the action
+     * @param cmHandler Handler for conversational memory operations
+     * @param client OS Client for dealing with OS
+     */
+    @Inject
+    public ExpireConversationsTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler,
+        Client client
+    ) {
+        super(ExpireConversationsAction.NAME, transportService, actionFilters, ExpireConversationsRequest::new);
+        this.cmHandler = cmHandler;
+        this.client = client;
+    }
+
+    @Override
+    protected void doExecute(Task task, ExpireConversationsRequest request, ActionListener<ExpireConversationsResponse> actionListener) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<ExpireConversationsResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
+            ActionListener<ExpireConversationsTask.Status> al = ActionListener.wrap(status -> {
+                internalListener.onResponse(new ExpireConversationsResponse(status));
+            }, e -> {
+                log.error("failed to expire conversations", e);
+                internalListener.onFailure(e);
+            });
+            cmHandler.expireConversations((ExpireConversationsTask) task, al);
+        } catch(Exception e) {
+            log.error("failed to expire conversations", e);
+            actionListener.onFailure(e);
+        }
+    }
+}
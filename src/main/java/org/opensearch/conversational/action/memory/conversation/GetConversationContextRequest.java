@@ -0,0 +1,111 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * ActionRequest for get conversation context
+ */
+public class GetConversationContextRequest extends ActionRequest {
+
+    private String conversationId;
+    private int maxResults = ActionConstants.DEFAULT_MAX_RESULTS;
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to get the context of
+     * @param maxResults max number of recent interactions to retrieve
+     */
+    public GetConversationContextRequest(String conversationId, int maxResults) {
+        this.conversationId = conversationId;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to get the context of
+     */
+    public GetConversationContextRequest(String conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    /**
+     * Constructor
+     * @param in input stream to read from. assumes there was a writeTo
+     * @throws IOException if there wasn't a GetConversationContextRequest in the stream
+     */
+    public GetConversationContextRequest(StreamInput in) throws IOException {
+        super(in);
+        this.conversationId = in.readString();
+        this.maxResults = in.readInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(conversationId);
+        out.writeInt(maxResults);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if(conversationId == null) {
+            exception = addValidationError("must get the context of a conversation", exception);
+        }
+        if(maxResults <= 0) {
+            exception = addValidationError("must retrieve positive interactions", exception);
+        }
+        return exception;
+    }
+
+    /**
+     * @return the UID of the conversation to get the context of
+     */
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    /**
+     * @return the max number of recent interactions to return
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Makes a GetConversationContextRequest out of a RestRequest
+     * @param request Rest Request representing a get conversation context request
+     * @return a new GetConversationContextRequest
+     * @throws IOException if something goes wrong
+     */
+    public static GetConversationContextRequest fromRestRequest(RestRequest request) throws IOException {
+        String cid = request.param(ActionConstants.CONVO_ID_FIELD);
+        int maxResults = request.paramAsInt(ActionConstants.REQUEST_MAX_RESULTS_FIELD, ActionConstants.DEFAULT_MAX_RESULTS);
+        return new GetConversationContextRequest(cid, maxResults);
+    }
+}
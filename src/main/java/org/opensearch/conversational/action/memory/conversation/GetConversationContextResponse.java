@@ -0,0 +1,70 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.index.ConvoContext;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Action Response for get conversation context
+ */
+public class GetConversationContextResponse extends ActionResponse implements ToXContentObject {
+
+    private ConvoContext context;
+
+    /**
+     * Constructor
+     * @param in input stream to create this from
+     * @throws IOException if something breaks
+     */
+    public GetConversationContextResponse(StreamInput in) throws IOException {
+        super(in);
+        this.context = ConvoContext.fromStream(in);
+    }
+
+    /**
+     * Constructor
+     * @param context the conversation's recent context
+     */
+    public GetConversationContextResponse(ConvoContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        context.writeTo(out);
+    }
+
+    /**
+     * @return the conversation's metadata and most recent interactions
+     */
+    public ConvoContext getContext() {
+        return context;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, ToXContent.Params params) throws IOException {
+        return context.toXContent(builder, params);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * ActionRequest for get conversations by id
+ */
+public class GetConversationsRequest extends ActionRequest {
+
+    private List<String> conversationIds;
+
+    /**
+     * Constructor
+     * @param conversationIds UIDs of the conversations to get
+     */
+    public GetConversationsRequest(List<String> conversationIds) {
+        this.conversationIds = conversationIds;
+    }
+
+    /**
+     * Constructor
+     * @param in input stream to read from. assumes there was a writeTo
+     * @throws IOException if there wasn't a GetConversationsRequest in the stream
+     */
+    public GetConversationsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.conversationIds = in.readStringList();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeStringCollection(conversationIds);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if(conversationIds == null || conversationIds.isEmpty()) {
+            exception = addValidationError("must get at least one conversation", exception);
+        }
+        return exception;
+    }
+
+    /**
+     * @return the UIDs of the conversations to get
+     */
+    public List<String> getConversationIds() {
+        return conversationIds;
+    }
+
+    /**
+     * Makes a GetConversationsRequest out of a RestRequest, either for the one conversation
+     * in the path or for the list of conversations in the body
+     * @param request Rest Request representing a get conversation(s) request
+     * @return a new GetConversationsRequest
+     * @throws IOException if something goes wrong
+     */
+    public static GetConversationsRequest fromRestRequest(RestRequest request) throws IOException {
+        if(request.hasParam(ActionConstants.CONVO_ID_FIELD)) {
+            return new GetConversationsRequest(List.of(request.param(ActionConstants.CONVO_ID_FIELD)));
+        }
+        return new GetConversationsRequest(ActionConstants.parseIds(request, ActionConstants.REQUEST_CONVO_IDS_FIELD));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Action Response for get conversations by id
+ */
+public class GetConversationsResponse extends ActionResponse implements ToXContentObject {
+
+    private List<ConvoMeta> conversations;
+
+    /**
+     * Constructor
+     * @param in input stream to create this from
+     * @throws IOException if something breaks
+     */
+    public GetConversationsResponse(StreamInput in) throws IOException {
+        super(in);
+        this.conversations = in.readList(ConvoMeta::fromStream);
+    }
+
+    /**
+     * Constructor
+     * @param conversations the conversations that were found
+     */
+    public GetConversationsResponse(List<ConvoMeta> conversations) {
+        this.conversations = conversations;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(conversations);
+    }
+
+    /**
+     * @return the conversations that were found, in the order they were asked for
+     */
+    public List<ConvoMeta> getConversations() {
+        return conversations;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, ToXContent.Params params) throws IOException {
+        builder.startObject();
+        builder.startArray(ActionConstants.RESPONSE_CONVO_LIST_FIELD);
+        for(ConvoMeta convo : conversations) {
+            convo.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.conversation;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.rest.action.RestBuilderListener;
+import org.opensearch.rest.action.RestToXContentListener;
+
+/**
+ * Rest Handler for get conversation and multi-get conversations
+ */
+public class GetConversationsRestAction extends BaseRestHandler {
+    private final static String GET_CONVERSATIONS_NAME = "conversational_get_conversations";
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+            new Route(RestRequest.Method.GET, ActionConstants.GET_CONVERSATION_PATH),
+            new Route(RestRequest.Method.GET, ActionConstants.MGET_CONVERSATIONS_PATH),
+            new Route(RestRequest.Method.POST, ActionConstants.MGET_CONVERSATIONS_PATH)
+        );
+    }
+
+    @Override
+    public String getName() {
+        return GET_CONVERSATIONS_NAME;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        GetConversationsRequest gcRequest = GetConversationsRequest.fromRestRequest(request);
+        if(!request.hasParam(ActionConstants.CONVO_ID_FIELD)) {
+            return channel -> client.execute(GetConversationsAction.INSTANCE, gcRequest, new RestToXContentListener<>(channel));
+        }
+        String cid = request.param(ActionConstants.CONVO_ID_FIELD);
+        return channel -> client.execute(GetConversationsAction.INSTANCE, gcRequest, new RestBuilderListener<GetConversationsResponse>(channel) {
+            @Override
+            public RestResponse buildResponse(GetConversationsResponse response, XContentBuilder builder) throws Exception {
+                if(response.getConversations().isEmpty()) {
+                    throw new ResourceNotFoundException("conversation [" + cid + "] not found");
+                }
+                response.getConversations().get(0).toXContent(builder, ToXContent.EMPTY_PARAMS);
+                return new BytesRestResponse(RestStatus.OK, builder);
+            }
+        });
+    }
+}
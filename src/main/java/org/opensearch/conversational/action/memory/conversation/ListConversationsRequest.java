@@ -23,6 +23,7 @@ import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.index.PageCursor;
 import org.opensearch.rest.RestRequest;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
@@ -34,6 +35,7 @@ public class ListConversationsRequest extends ActionRequest {
 
     private int maxResults = ActionConstants.DEFAULT_MAX_RESULTS;
     private int from = 0;
+    private String nextToken = null;
 
     /**
      * Constructor; returns from position 0
@@ -55,6 +57,17 @@ public class ListConversationsRequest extends ActionRequest {
         this.from = from;
     }
 
+    /**
+     * Constructor
+     * @param maxResults number of results to return
+     * @param nextToken pagination token returned with the previous page
+     */
+    public ListConversationsRequest(int maxResults, String nextToken) {
+        super();
+        this.maxResults = maxResults;
+        this.nextToken = nextToken;
+    }
+
     /**
      * Constructor; defaults to 10 results returned from position 0
      */
@@ -71,6 +84,7 @@ public class ListConversationsRequest extends ActionRequest {
         super(in);
         this.maxResults = in.readInt();
         this.from = in.readInt();
+        this.nextToken = in.readOptionalString();
     }
 
     /**
@@ -89,11 +103,20 @@ public class ListConversationsRequest extends ActionRequest {
         return from;
     }
 
+    /**
+     * the cursor of the page to retrieve
+     * @return the cursor pointing past the previous page, or null if this request is positional
+     */
+    public PageCursor getCursor() {
+        return nextToken == null ? null : PageCursor.decode(nextToken);
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeInt(maxResults);
         out.writeInt(from);
+        out.writeOptionalString(nextToken);
     }
 
     @Override
@@ -102,6 +125,13 @@ public class ListConversationsRequest extends ActionRequest {
         if(this.maxResults == 0) {
             exception = addValidationError("Can't list 0 conversations", exception);
         }
+        if(nextToken != null) {
+            try {
+                PageCursor.decode(nextToken);
+            } catch (IllegalArgumentException e) {
+                exception = addValidationError(e.getMessage(), exception);
+            }
+        }
         return exception;
     }
 
@@ -112,20 +142,16 @@ public class ListConversationsRequest extends ActionRequest {
      * @throws IOException if something breaks
      */
     public static ListConversationsRequest fromRestRequest(RestRequest request) throws IOException {
+        int maxResults = request.paramAsInt(ActionConstants.REQUEST_MAX_RESULTS_FIELD, ActionConstants.DEFAULT_MAX_RESULTS);
         if(request.hasParam(ActionConstants.NEXT_TOKEN_FIELD)) {
-            if(request.hasParam(ActionConstants.REQUEST_MAX_RESULTS_FIELD)) {
-                return new ListConversationsRequest(Integer.parseInt(request.param(ActionConstants.REQUEST_MAX_RESULTS_FIELD)),
-                                                    Integer.parseInt(request.param(ActionConstants.NEXT_TOKEN_FIELD)));
+            String token = request.param(ActionConstants.NEXT_TOKEN_FIELD);
+            if(ActionConstants.isPositionalToken(token)) {
+                return new ListConversationsRequest(maxResults, Integer.parseInt(token));
             } else {
-                return new ListConversationsRequest(ActionConstants.DEFAULT_MAX_RESULTS,
-                                                    Integer.parseInt(request.param(ActionConstants.NEXT_TOKEN_FIELD)));
+                return new ListConversationsRequest(maxResults, token);
             }
         } else {
-            if(request.hasParam(ActionConstants.REQUEST_MAX_RESULTS_FIELD)) {
-                return new ListConversationsRequest(Integer.parseInt(request.param(ActionConstants.REQUEST_MAX_RESULTS_FIELD)));
-            } else {
-                return new ListConversationsRequest();
-            }
+            return new ListConversationsRequest(maxResults);
         }
     }
 }
\ No newline at end of file
@@ -34,7 +34,7 @@ import org.opensearch.core.xcontent.XContentBuilder;
 public class ListConversationsResponse extends ActionResponse implements ToXContentObject {
     
     private List<ConvoMeta> conversations;
-    private int nextToken;
+    private String nextToken;
     private boolean hasMoreTokens;
 
     /**
@@ -45,17 +45,17 @@ public class ListConversationsResponse extends ActionResponse implements ToXCont
     public ListConversationsResponse(StreamInput in) throws IOException {
         super(in);
         conversations = in.readList(ConvoMeta::fromStream);
-        this.nextToken = in.readInt();
+        this.nextToken = in.readOptionalString();
         this.hasMoreTokens = in.readBoolean();
     }
 
     /**
      * Constructor
      * @param conversations list of conversations in this response
-     * @param nextToken the position of the next conversation after these
+     * @param nextToken opaque token pointing to the next page, past these conversations
      * @param hasMoreTokens whether there are more conversations after this set of results
      */
-    public ListConversationsResponse(List<ConvoMeta> conversations, int nextToken, boolean hasMoreTokens) {
+    public ListConversationsResponse(List<ConvoMeta> conversations, String nextToken, boolean hasMoreTokens) {
         this.conversations = conversations;
         this.nextToken = nextToken;
         this.hasMoreTokens = hasMoreTokens;
@@ -64,7 +64,7 @@ public class ListConversationsResponse extends ActionResponse implements ToXCont
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeList(conversations);
-        out.writeInt(nextToken);
+        out.writeOptionalString(nextToken);
         out.writeBoolean(hasMoreTokens);
     }
 
@@ -78,9 +78,9 @@ public class ListConversationsResponse extends ActionResponse implements ToXCont
 
     /**
      * the token for the next page in the pagination 
-     * @return the token (position) for the next page in the pagination
+     * @return the opaque token for the next page in the pagination
      */
-    public int getNextToken() {
+    public String getNextToken() {
         return nextToken;
     }
 
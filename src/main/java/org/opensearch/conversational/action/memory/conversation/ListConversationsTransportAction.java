@@ -19,13 +19,17 @@ package org.opensearch.conversational.action.memory.conversation;
 import java.util.List;
 
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats.Operation;
 import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.conversational.index.PageCursor;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
@@ -59,17 +63,30 @@ public class ListConversationsTransportAction extends HandledTransportAction<Lis
 
     @Override
     public void doExecute(Task task, ListConversationsRequest request, ActionListener<ListConversationsResponse> actionListener) {
+        ActionListener<ListConversationsResponse> timed = cmHandler.getStats().time(Operation.LIST_CONVERSATIONS, actionListener);
+        client.threadPool().executor(ConversationalSettings.THREAD_POOL_NAME)
+            .execute(ActionRunnable.wrap(timed, l -> listConversations(request, l)));
+    }
+
+    private void listConversations(ListConversationsRequest request, ActionListener<ListConversationsResponse> actionListener) {
         int maxResults = request.getMaxResults();
         int from = request.getFrom();
+        PageCursor cursor = request.getCursor();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             ActionListener<ListConversationsResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
             ActionListener<List<ConvoMeta>> al = ActionListener.wrap(conversations -> {
-                internalListener.onResponse(new ListConversationsResponse(conversations, from + maxResults, conversations.size() == maxResults));
+                boolean hasMore = conversations.size() == maxResults;
+                String nextToken = hasMore ? PageCursor.after(conversations.get(conversations.size() - 1)).encode() : null;
+                internalListener.onResponse(new ListConversationsResponse(conversations, nextToken, hasMore));
             }, e -> {
                 log.error(e.toString());
                 internalListener.onFailure(e);
             });
-            cmHandler.listConversations(from, maxResults, al);
+            if(cursor == null) {
+                cmHandler.listConversations(from, maxResults, al);
+            } else {
+                cmHandler.listConversations(cursor, maxResults, al);
+            }
         } catch (Exception e) {
             log.error(e.toString());
             actionListener.onFailure(e);
@@ -0,0 +1,134 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingResourceException;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Action Request for bulk put interactions
+ */
+public class BulkPutInteractionsRequest extends ActionRequest {
+    private List<PutInteractionRequest> interactions;
+
+    /**
+     * Constructor
+     * @param in stream to read this request from
+     * @throws IOException if something breaks or there's no b.p.i.request in the stream
+     */
+    public BulkPutInteractionsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.interactions = in.readList(PutInteractionRequest::new);
+    }
+
+    /**
+     * Constructor
+     * @param interactions the interactions to add, each naming its own conversation
+     */
+    public BulkPutInteractionsRequest(List<PutInteractionRequest> interactions) {
+        this.interactions = interactions;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(interactions);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if(this.interactions == null || this.interactions.isEmpty()) {
+            exception = addValidationError("Bulk put must contain at least one interaction", exception);
+        } else if(this.interactions.size() > ActionConstants.MAX_BULK_PUT_INTERACTIONS) {
+            exception = addValidationError(
+                "Bulk put can contain at most " + ActionConstants.MAX_BULK_PUT_INTERACTIONS + " interactions", exception);
+        }
+        return exception;
+    }
+
+    /**
+     * the interactions to add
+     * @return the put requests for each interaction, in order
+     */
+    public List<PutInteractionRequest> getInteractions() { return interactions; }
+
+    /**
+     * Create a BulkPutInteractionsRequest from a RestRequest.
+     * The body is either a JSON array of interactions or newline-delimited JSON, one interaction per line
+     * @param request a RestRequest for a bulk put interactions op
+     * @return new BulkPutInteractionsRequest object
+     * @throws MissingResourceException if request has no body
+     * @throws IOException if something goes wrong reading from request
+     */
+    public static BulkPutInteractionsRequest fromRestRequest(RestRequest request) throws MissingResourceException, IOException {
+        if(!request.hasContent()) {
+            throw new MissingResourceException("Bulk put interactions request must have body", "RestRequest", "content");
+        }
+        BytesReference content = request.content();
+        List<PutInteractionRequest> interactions = new ArrayList<>();
+        if(firstNonWhitespace(content) == '[') {
+            for(Object item : request.contentParser().list()) {
+                if(!(item instanceof Map)) {
+                    throw new IllegalArgumentException("Bulk put interactions must be JSON objects");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> fields = (Map<String, Object>) item;
+                interactions.add(PutInteractionRequest.fromMap(fields));
+            }
+        } else {
+            int from = 0;
+            while(from < content.length()) {
+                int end = content.indexOf((byte) '\n', from);
+                if(end < 0) {
+                    end = content.length();
+                }
+                BytesReference line = content.slice(from, end - from);
+                if(firstNonWhitespace(line) >= 0) {
+                    interactions.add(PutInteractionRequest.fromMap(XContentHelper.convertToMap(line, false, XContentType.JSON).v2()));
+                }
+                from = end + 1;
+            }
+        }
+        return new BulkPutInteractionsRequest(interactions);
+    }
+
+    private static int firstNonWhitespace(BytesReference bytes) {
+        for(int i = 0; i < bytes.length(); i++) {
+            byte b = bytes.get(i);
+            if(!Character.isWhitespace(b)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchException;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Action Response for bulk put interactions. Holds one result per interaction in the request, in order
+ */
+public class BulkPutInteractionsResponse extends ActionResponse implements ToXContentObject {
+    private List<Item> items;
+
+    /**
+     * Constructor
+     * @param in input stream to create this from
+     * @throws IOException if something breaks
+     */
+    public BulkPutInteractionsResponse(StreamInput in) throws IOException {
+        super(in);
+        this.items = in.readList(Item::new);
+    }
+
+    /**
+     * Constructor
+     * @param items the result of each interaction in the request, in order
+     */
+    public BulkPutInteractionsResponse(List<Item> items) {
+        this.items = items;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(items);
+    }
+
+    /**
+     * @return the result of each interaction in the request, in order
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * @return whether any interaction failed to be added
+     */
+    public boolean hasFailures() {
+        return items.stream().anyMatch(Item::isFailed);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, ToXContentObject.Params params) throws IOException {
+        builder.startObject();
+        builder.field(ActionConstants.RESPONSE_ERRORS_FIELD, hasFailures());
+        builder.startArray(ActionConstants.RESPONSE_ITEMS_FIELD);
+        for(Item item : items) {
+            item.toXContent(builder, params);
+        }
+        builder.endArray();
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * Result of adding one interaction: either the id of the new interaction or why it failed
+     */
+    public static class Item implements Writeable, ToXContentObject {
+        private String conversationId;
+        private String interactionId;
+        private Exception failure;
+
+        /**
+         * Constructor for an interaction that was added
+         * @param conversationId the conversation the interaction was added to
+         * @param interactionId id of the newly created interaction
+         */
+        public Item(String conversationId, String interactionId) {
+            this.conversationId = conversationId;
+            this.interactionId = interactionId;
+            this.failure = null;
+        }
+
+        /**
+         * Constructor for an interaction that failed to be added
+         * @param conversationId the conversation the interaction was meant for
+         * @param failure why it failed
+         */
+        public Item(String conversationId, Exception failure) {
+            this.conversationId = conversationId;
+            this.interactionId = null;
+            this.failure = failure;
+        }
+
+        /**
+         * Constructor
+         * @param in input stream to create this from
+         * @throws IOException if something breaks
+         */
+        public Item(StreamInput in) throws IOException {
+            this.conversationId = in.readOptionalString();
+            this.interactionId = in.readOptionalString();
+            this.failure = in.readException();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeOptionalString(conversationId);
+            out.writeOptionalString(interactionId);
+            out.writeException(failure);
+        }
+
+        /**
+         * @return the conversation the interaction was meant for
+         */
+        public String getConversationId() {
+            return conversationId;
+        }
+
+        /**
+         * @return the id of the new interaction, or null if it failed
+         */
+        public String getId() {
+            return interactionId;
+        }
+
+        /**
+         * @return why the interaction failed, or null if it was added
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return whether the interaction failed to be added
+         */
+        public boolean isFailed() {
+            return failure != null;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, ToXContentObject.Params params) throws IOException {
+            builder.startObject();
+            builder.field(ActionConstants.CONVO_ID_FIELD, conversationId);
+            if(failure == null) {
+                builder.field(ActionConstants.RESPONSE_INTER_ID_FIELD, interactionId);
+            } else {
+                builder.field(ActionConstants.RESPONSE_STATUS_FIELD, ExceptionsHelper.status(failure).getStatus());
+                builder.startObject(ActionConstants.RESPONSE_ERROR_FIELD);
+                OpenSearchException.generateThrowableXContent(builder, params, failure);
+                builder.endObject();
+            }
+            builder.endObject();
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * The bulk put interactions action that does the work (of calling cmHandler)
+ */
+public class BulkPutInteractionsTransportAction extends HandledTransportAction<BulkPutInteractionsRequest, BulkPutInteractionsResponse> {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(BulkPutInteractionsTransportAction.class);
+
+    private ConversationalMemoryHandler cmHandler;
+    private Client client;
+
+    /**
+     * Constructor
+     * @param transportService for doing intra-cluster communication
+     * @param actionFilters not sure what this is for
+     * @param cmHandler handler for conversational memory
+     * @param client client for general opensearch ops
+     */
+    @Inject
+    public BulkPutInteractionsTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler,
+        Client client
+    ) {
+        super(BulkPutInteractionsAction.NAME, transportService, actionFilters, BulkPutInteractionsRequest::new);
+        this.client = client;
+        this.cmHandler = cmHandler;
+    }
+
+    @Override
+    protected void doExecute(Task task, BulkPutInteractionsRequest request, ActionListener<BulkPutInteractionsResponse> actionListener) {
+        ActionListener<BulkPutInteractionsResponse> timed = cmHandler.getStats().time(Operation.BULK_PUT_INTERACTIONS, actionListener);
+        cmHandler.getAdmissionController().admit(AdmissionController.BULK_PUT_INTERACTIONS, timed, admitted ->
+            client.threadPool().executor(ConversationalSettings.THREAD_POOL_NAME)
+                .execute(ActionRunnable.wrap(admitted, l -> putInteractions(request, l)))
+        );
+    }
+
+    private void putInteractions(BulkPutInteractionsRequest request, ActionListener<BulkPutInteractionsResponse> actionListener) {
+        List<PutInteractionRequest> requests = request.getInteractions();
+        BulkPutInteractionsResponse.Item[] items = new BulkPutInteractionsResponse.Item[requests.size()];
+        // positions in the request of the interactions that are actually sent
+        List<Integer> positions = new ArrayList<>();
+        List<Interaction> interactions = new ArrayList<>();
+        Instant now = Instant.now();
+        for(int i = 0; i < requests.size(); i++) {
+            PutInteractionRequest pir = requests.get(i);
+            ActionRequestValidationException invalid = pir.validate();
+            if(invalid == null && pir.getRequestId() != null) {
+                // bulk puts get their ids assigned, so a retry of one would add its interactions again
+                invalid = addValidationError(
+                    "[" + ActionConstants.REQUEST_ID_FIELD + "] isn't supported in bulk puts; put the interaction on its own instead", null);
+            }
+            if(invalid != null) {
+                items[i] = new BulkPutInteractionsResponse.Item(pir.getConversationId(), invalid);
+                continue;
+            }
+            positions.add(i);
+            interactions.add(new Interaction(
+                null,
+                pir.getTimestamp() == null ? now : pir.getTimestamp(),
+                pir.getConversationId(),
+                pir.getInput(),
+                pir.getPrompt(),
+                pir.getResponse(),
+                pir.getAgent(),
+                pir.getAttributes()
+            ));
+        }
+        if(interactions.isEmpty()) {
+            actionListener.onResponse(new BulkPutInteractionsResponse(List.of(items)));
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<BulkPutInteractionsResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
+            cmHandler.putInteractions(interactions, ActionListener.wrap(bulkResponse -> {
+                BulkItemResponse[] results = bulkResponse.getItems();
+                for(int j = 0; j < results.length; j++) {
+                    String cid = interactions.get(j).getConvoId();
+                    items[positions.get(j)] = results[j].isFailed()
+                        ? new BulkPutInteractionsResponse.Item(cid, results[j].getFailure().getCause())
+                        : new BulkPutInteractionsResponse.Item(cid, results[j].getId());
+                }
+                internalListener.onResponse(new BulkPutInteractionsResponse(List.of(items)));
+            }, e -> {
+                internalListener.onFailure(e);
+            }));
+        } catch (Exception e) {
+            log.error(e.toString());
+            actionListener.onFailure(e);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * ActionRequest for get interactions by id
+ */
+public class GetInteractionsByIdRequest extends ActionRequest {
+
+    private String conversationId;
+    private List<String> interactionIds;
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation the interactions belong to
+     * @param interactionIds UIDs of the interactions to get
+     */
+    public GetInteractionsByIdRequest(String conversationId, List<String> interactionIds) {
+        this.conversationId = conversationId;
+        this.interactionIds = interactionIds;
+    }
+
+    /**
+     * Constructor
+     * @param in input stream to read from. assumes there was a writeTo
+     * @throws IOException if there wasn't a GetInteractionsByIdRequest in the stream
+     */
+    public GetInteractionsByIdRequest(StreamInput in) throws IOException {
+        super(in);
+        this.conversationId = in.readString();
+        this.interactionIds = in.readStringList();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(conversationId);
+        out.writeStringCollection(interactionIds);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if(conversationId == null) {
+            exception = addValidationError("must get interactions from a conversation", exception);
+        }
+        if(interactionIds == null || interactionIds.isEmpty()) {
+            exception = addValidationError("must get at least one interaction", exception);
+        }
+        return exception;
+    }
+
+    /**
+     * @return the UID of the conversation the interactions belong to
+     */
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    /**
+     * @return the UIDs of the interactions to get
+     */
+    public List<String> getInteractionIds() {
+        return interactionIds;
+    }
+
+    /**
+     * Makes a GetInteractionsByIdRequest out of a RestRequest, either for the one interaction
+     * in the path or for the list of interactions in the body
+     * @param request Rest Request representing a get interaction(s) request
+     * @return a new GetInteractionsByIdRequest
+     * @throws IOException if something goes wrong
+     */
+    public static GetInteractionsByIdRequest fromRestRequest(RestRequest request) throws IOException {
+        String cid = request.param(ActionConstants.CONVO_ID_FIELD);
+        if(request.hasParam(ActionConstants.REQUEST_INTER_ID_FIELD)) {
+            return new GetInteractionsByIdRequest(cid, List.of(request.param(ActionConstants.REQUEST_INTER_ID_FIELD)));
+        }
+        return new GetInteractionsByIdRequest(cid, ActionConstants.parseIds(request, ActionConstants.REQUEST_INTER_IDS_FIELD));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.rest.action.RestBuilderListener;
+import org.opensearch.rest.action.RestToXContentListener;
+
+/**
+ * Rest Handler for get interaction and multi-get interactions
+ */
+public class GetInteractionsByIdRestAction extends BaseRestHandler {
+    private final static String GET_INTERACTIONS_BY_ID_NAME = "conversational_get_interactions_by_id";
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+            new Route(RestRequest.Method.GET, ActionConstants.GET_INTERACTION_PATH),
+            new Route(RestRequest.Method.GET, ActionConstants.MGET_INTERACTIONS_PATH),
+            new Route(RestRequest.Method.POST, ActionConstants.MGET_INTERACTIONS_PATH)
+        );
+    }
+
+    @Override
+    public String getName() {
+        return GET_INTERACTIONS_BY_ID_NAME;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        GetInteractionsByIdRequest gibiRequest = GetInteractionsByIdRequest.fromRestRequest(request);
+        if(!request.hasParam(ActionConstants.REQUEST_INTER_ID_FIELD)) {
+            return channel -> client.execute(GetInteractionsByIdAction.INSTANCE, gibiRequest, new RestToXContentListener<>(channel));
+        }
+        String iid = request.param(ActionConstants.REQUEST_INTER_ID_FIELD);
+        return channel -> client.execute(GetInteractionsByIdAction.INSTANCE, gibiRequest, new RestBuilderListener<GetInteractionsByIdResponse>(channel) {
+            @Override
+            public RestResponse buildResponse(GetInteractionsByIdResponse response, XContentBuilder builder) throws Exception {
+                if(response.getInteractions().isEmpty()) {
+                    throw new ResourceNotFoundException("interaction [" + iid + "] not found");
+                }
+                response.getInteractions().get(0).toXContent(builder, ToXContent.EMPTY_PARAMS);
+                return new BytesRestResponse(RestStatus.OK, builder);
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.util.List;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+/**
+ * GetInteractionsByIdAction that reads interactions by id through the ConversationalMemoryHandler
+ */
+public class GetInteractionsByIdTransportAction extends HandledTransportAction<GetInteractionsByIdRequest, GetInteractionsByIdResponse> {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(GetInteractionsByIdTransportAction.class);
+
+    private Client client;
+    private ConversationalMemoryHandler cmHandler;
+
+    /**
+     * Constructor
+     * @param transportService for inter-node communications
+     * @param actionFilters for filtering actions
+     * @param cmHandler Handler for conversational memory operations
+     * @param client OS Client for dealing with OS
+     */
+    @Inject
+    public GetInteractionsByIdTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler,
+        Client client
+    ) {
+        super(GetInteractionsByIdAction.NAME, transportService, actionFilters, GetInteractionsByIdRequest::new);
+        this.client = client;
+        this.cmHandler = cmHandler;
+    }
+
+    @Override
+    public void doExecute(Task task, GetInteractionsByIdRequest request, ActionListener<GetInteractionsByIdResponse> actionListener) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<GetInteractionsByIdResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
+            ActionListener<List<Interaction>> al = ActionListener.wrap(interactions -> {
+                internalListener.onResponse(new GetInteractionsByIdResponse(interactions));
+            }, e -> {
+                log.error(e.toString());
+                internalListener.onFailure(e);
+            });
+            cmHandler.getInteractionsById(request.getConversationId(), request.getInteractionIds(), al);
+        } catch (Exception e) {
+            log.error(e.toString());
+            actionListener.onFailure(e);
+        }
+    }
+}
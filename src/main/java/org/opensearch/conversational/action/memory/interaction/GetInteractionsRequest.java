@@ -17,12 +17,14 @@
 package org.opensearch.conversational.action.memory.interaction;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.index.PageCursor;
 import org.opensearch.rest.RestRequest;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
@@ -34,7 +36,10 @@ public class GetInteractionsRequest extends ActionRequest {
 
     private int maxResults = ActionConstants.DEFAULT_MAX_RESULTS;
     private int from = 0;
+    private String nextToken = null;
     private String conversationId;
+    private Instant since = null;
+    private Long sinceSequence = null;
 
     /**
      * Constructor
@@ -58,6 +63,44 @@ public class GetInteractionsRequest extends ActionRequest {
         this.from = from;
     }
 
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to get interactions from
+     * @param maxResults number of interactions to retrieve
+     * @param nextToken pagination token returned with the previous page
+     */
+    public GetInteractionsRequest(String conversationId, int maxResults, String nextToken) {
+        this.conversationId = conversationId;
+        this.maxResults = maxResults;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to get interactions from
+     * @param maxResults number of interactions to retrieve
+     * @param since only retrieve interactions newer than this, oldest first
+     */
+    public GetInteractionsRequest(String conversationId, int maxResults, Instant since) {
+        this.conversationId = conversationId;
+        this.maxResults = maxResults;
+        this.since = since;
+    }
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to get interactions from
+     * @param maxResults number of interactions to retrieve
+     * @param since only retrieve interactions newer than this, oldest first. Only one of since and sinceSequence may be set
+     * @param sinceSequence only retrieve interactions with a higher sequence number than this, oldest first
+     */
+    public GetInteractionsRequest(String conversationId, int maxResults, Instant since, Long sinceSequence) {
+        this.conversationId = conversationId;
+        this.maxResults = maxResults;
+        this.since = since;
+        this.sinceSequence = sinceSequence;
+    }
+
     /**
      * Constructor
      * @param conversationId the UID of the conversation to get interactions from
@@ -76,6 +119,9 @@ public class GetInteractionsRequest extends ActionRequest {
         this.conversationId = in.readString();
         this.maxResults = in.readInt();
         this.from = in.readInt();
+        this.nextToken = in.readOptionalString();
+        this.since = in.readOptionalInstant();
+        this.sinceSequence = in.readOptionalLong();
     }
 
     @Override
@@ -84,6 +130,9 @@ public class GetInteractionsRequest extends ActionRequest {
         out.writeString(conversationId);
         out.writeInt(maxResults);
         out.writeInt(from);
+        out.writeOptionalString(nextToken);
+        out.writeOptionalInstant(since);
+        out.writeOptionalLong(sinceSequence);
     }
 
     @Override
@@ -98,6 +147,19 @@ public class GetInteractionsRequest extends ActionRequest {
         if(from < 0) {
             exception = addValidationError("must start at nonnegative position", exception);
         }
+        if(nextToken != null) {
+            try {
+                PageCursor.decode(nextToken);
+            } catch (IllegalArgumentException e) {
+                exception = addValidationError(e.getMessage(), exception);
+            }
+        }
+        if(isIncremental() && (from != 0 || nextToken != null)) {
+            exception = addValidationError("can't paginate an incremental get", exception);
+        }
+        if(since != null && sinceSequence != null) {
+            exception = addValidationError("can't get interactions since a time and a sequence number at once", exception);
+        }
         return exception;
     }
 
@@ -125,6 +187,38 @@ public class GetInteractionsRequest extends ActionRequest {
         return from;
     }
 
+    /**
+     * the cursor of the page to retrieve
+     * @return the cursor pointing past the previous page, or null if this request is positional
+     */
+    public PageCursor getCursor() {
+        return nextToken == null ? null : PageCursor.decode(nextToken);
+    }
+
+    /**
+     * the marker of an incremental get
+     * @return only interactions newer than this are retrieved, oldest first; or null to retrieve by recency
+     */
+    public Instant getSince() {
+        return since;
+    }
+
+    /**
+     * the sequence number marker of an incremental get
+     * @return only interactions with a higher sequence number are retrieved, oldest first; or null if this isn't
+     *      an incremental get by sequence number
+     */
+    public Long getSinceSequence() {
+        return sinceSequence;
+    }
+
+    /**
+     * @return whether this request only asks for interactions newer than a marker
+     */
+    public boolean isIncremental() {
+        return since != null || sinceSequence != null;
+    }
+
     /**
      * Makes a GetInteractionsRequest out of a RestRequest
      * @param request Rest Request representing a get interactions request
@@ -133,21 +227,24 @@ public class GetInteractionsRequest extends ActionRequest {
      */
     public static GetInteractionsRequest fromRestRequest(RestRequest request) throws IOException {
         String cid = request.param(ActionConstants.CONVO_ID_FIELD);
-        if(request.hasParam(ActionConstants.NEXT_TOKEN_FIELD)) {
-            int from = Integer.parseInt(request.param(ActionConstants.NEXT_TOKEN_FIELD));
-            if(request.hasParam(ActionConstants.REQUEST_MAX_RESULTS_FIELD)) {
-                int maxResults = Integer.parseInt(request.param(ActionConstants.REQUEST_MAX_RESULTS_FIELD));
-                return new GetInteractionsRequest(cid, maxResults, from);
+        int maxResults = request.paramAsInt(ActionConstants.REQUEST_MAX_RESULTS_FIELD, ActionConstants.DEFAULT_MAX_RESULTS);
+        if(request.hasParam(ActionConstants.REQUEST_SINCE_FIELD) || request.hasParam(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD)) {
+            Instant since = request.hasParam(ActionConstants.REQUEST_SINCE_FIELD)
+                ? ActionConstants.parseSince(request.param(ActionConstants.REQUEST_SINCE_FIELD))
+                : null;
+            Long sinceSequence = request.hasParam(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD)
+                ? request.paramAsLong(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD, 0)
+                : null;
+            return new GetInteractionsRequest(cid, maxResults, since, sinceSequence);
+        } else if(request.hasParam(ActionConstants.NEXT_TOKEN_FIELD)) {
+            String token = request.param(ActionConstants.NEXT_TOKEN_FIELD);
+            if(ActionConstants.isPositionalToken(token)) {
+                return new GetInteractionsRequest(cid, maxResults, Integer.parseInt(token));
             } else {
-                return new GetInteractionsRequest(cid, ActionConstants.DEFAULT_MAX_RESULTS, from);
+                return new GetInteractionsRequest(cid, maxResults, token);
             }
         } else {
-            if(request.hasParam(ActionConstants.REQUEST_MAX_RESULTS_FIELD)) {
-                int maxResults = Integer.parseInt(request.param(ActionConstants.REQUEST_MAX_RESULTS_FIELD));
-                return new GetInteractionsRequest(cid, maxResults);
-            } else {
-                return new GetInteractionsRequest(cid);
-            }
+            return new GetInteractionsRequest(cid, maxResults);
         }
     }
 
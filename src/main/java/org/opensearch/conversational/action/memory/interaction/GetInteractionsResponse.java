@@ -17,6 +17,7 @@
 package org.opensearch.conversational.action.memory.interaction;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 import org.opensearch.action.ActionResponse;
@@ -34,8 +35,10 @@ import org.opensearch.core.xcontent.XContentBuilder;
 public class GetInteractionsResponse extends ActionResponse implements ToXContentObject {
     
     private List<Interaction> interactions;
-    private int nextToken;
+    private String nextToken;
     private boolean hasMoreTokens;
+    private Instant since = null;
+    private Long sinceSequence = null;
 
     /**
      * Constructor
@@ -45,8 +48,10 @@ public class GetInteractionsResponse extends ActionResponse implements ToXConten
     public GetInteractionsResponse(StreamInput in) throws IOException {
         super(in);
         interactions = in.readList(Interaction::fromStream);
-        nextToken = in.readInt();
+        nextToken = in.readOptionalString();
         hasMoreTokens = in.readBoolean();
+        since = in.readOptionalInstant();
+        sinceSequence = in.readOptionalLong();
     }
 
     /**
@@ -55,17 +60,57 @@ public class GetInteractionsResponse extends ActionResponse implements ToXConten
      * @param nextToken token representing the next page of results
      * @param hasMoreTokens whether there are more results after this page
      */
-    public GetInteractionsResponse(List<Interaction> interactions, int nextToken, boolean hasMoreTokens) {
+    public GetInteractionsResponse(List<Interaction> interactions, String nextToken, boolean hasMoreTokens) {
         this.interactions = interactions;
         this.nextToken = nextToken;
         this.hasMoreTokens = hasMoreTokens;
     }
 
+    /**
+     * Constructor, for incremental gets
+     * @param interactions the interactions newer than the request's marker, oldest first
+     * @param since the marker to ask for the interactions after these with
+     */
+    public GetInteractionsResponse(List<Interaction> interactions, Instant since) {
+        this(interactions, since, null);
+    }
+
+    /**
+     * Constructor, for incremental gets
+     * @param interactions the interactions newer than the request's marker, oldest first
+     * @param since the time marker to ask for the interactions after these with, if known
+     * @param sinceSequence the sequence number marker to ask for the interactions after these with, if known
+     */
+    public GetInteractionsResponse(List<Interaction> interactions, Instant since, Long sinceSequence) {
+        this.interactions = interactions;
+        this.nextToken = null;
+        this.hasMoreTokens = false;
+        this.since = since;
+        this.sinceSequence = sinceSequence;
+    }
+
+    /**
+     * Makes the response of an incremental get, with the markers to ask for the interactions after these
+     * @param interactions the interactions newer than the request's markers, oldest first
+     * @param since the request's time marker, or null
+     * @param sinceSequence the request's sequence number marker, or null
+     * @return the response
+     */
+    public static GetInteractionsResponse incremental(List<Interaction> interactions, Instant since, Long sinceSequence) {
+        if(interactions.isEmpty()) {
+            return new GetInteractionsResponse(interactions, since, sinceSequence);
+        }
+        Interaction last = interactions.get(interactions.size() - 1);
+        return new GetInteractionsResponse(interactions, last.getTimestamp(), last.getSequence() == null ? sinceSequence : last.getSequence());
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeList(interactions);
-        out.writeInt(nextToken);
+        out.writeOptionalString(nextToken);
         out.writeBoolean(hasMoreTokens);
+        out.writeOptionalInstant(since);
+        out.writeOptionalLong(sinceSequence);
     }
 
     /**
@@ -76,6 +121,14 @@ public class GetInteractionsResponse extends ActionResponse implements ToXConten
         return interactions;
     }
 
+    /**
+     * the token for the next page in the pagination
+     * @return the opaque token for the next page in the pagination
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
     /**
      * Are there more pages in this search results
      * @return whether there are more pages in this search
@@ -84,6 +137,30 @@ public class GetInteractionsResponse extends ActionResponse implements ToXConten
         return hasMoreTokens;
     }
 
+    /**
+     * the marker for the next incremental get
+     * @return the marker to ask for newer interactions with, or null if this isn't an incremental get
+     */
+    public Instant getSince() {
+        return since;
+    }
+
+    /**
+     * the sequence number marker for the next incremental get
+     * @return the sequence number to ask for newer interactions with, or null if it isn't known
+     */
+    public Long getSinceSequence() {
+        return sinceSequence;
+    }
+
+    /**
+     * whether an incremental get found nothing new
+     * @return whether this is an incremental get that found no newer interactions
+     */
+    public boolean isNotModified() {
+        return (since != null || sinceSequence != null) && interactions.isEmpty();
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, ToXContent.Params params) throws IOException {
         builder.startObject();
@@ -95,6 +172,15 @@ public class GetInteractionsResponse extends ActionResponse implements ToXConten
         if(hasMoreTokens) {
             builder.field(ActionConstants.NEXT_TOKEN_FIELD, nextToken);
         }
+        if(since != null) {
+            builder.field(ActionConstants.REQUEST_SINCE_FIELD, since);
+        }
+        if(sinceSequence != null) {
+            builder.field(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD, sinceSequence);
+        }
+        if(since != null || sinceSequence != null) {
+            builder.field(ActionConstants.RESPONSE_NOT_MODIFIED_FIELD, isNotModified());
+        }
         builder.endObject();
         return builder;
     }
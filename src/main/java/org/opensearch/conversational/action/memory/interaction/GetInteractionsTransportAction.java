@@ -16,17 +16,23 @@
  */
 package org.opensearch.conversational.action.memory.interaction;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats.Operation;
 import org.opensearch.conversational.action.memory.conversation.ListConversationsTransportAction;
 import org.opensearch.conversational.index.Interaction;
+import org.opensearch.conversational.index.PageCursor;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
@@ -60,16 +66,44 @@ public class GetInteractionsTransportAction extends HandledTransportAction<GetIn
 
     @Override
     public void doExecute(Task task, GetInteractionsRequest request, ActionListener<GetInteractionsResponse> actionListener) {
+        ActionListener<GetInteractionsResponse> timed = cmHandler.getStats().time(Operation.GET_INTERACTIONS, actionListener);
+        cmHandler.getAdmissionController().admit(AdmissionController.GET_INTERACTIONS, timed, admitted ->
+            client.threadPool().executor(ConversationalSettings.THREAD_POOL_NAME)
+                .execute(ActionRunnable.wrap(admitted, l -> getInteractions(request, l)))
+        );
+    }
+
+    private void getInteractions(GetInteractionsRequest request, ActionListener<GetInteractionsResponse> actionListener) {
         int maxResults = request.getMaxResults();
         int from = request.getFrom();
+        PageCursor cursor = request.getCursor();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             ActionListener<GetInteractionsResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
             ActionListener<List<Interaction>> al = ActionListener.wrap(interactions -> {
-                internalListener.onResponse(new GetInteractionsResponse(interactions, from + maxResults, interactions.size() == maxResults));
+                boolean hasMore = interactions.size() == maxResults;
+                String nextToken = hasMore ? PageCursor.after(interactions.get(interactions.size() - 1)).encode() : null;
+                internalListener.onResponse(new GetInteractionsResponse(interactions, nextToken, hasMore));
             }, e -> {
                 internalListener.onFailure(e);
             });
-            cmHandler.getInteractions(request.getConversationId(), from, maxResults, al);
+            if(request.isIncremental()) {
+                Instant since = request.getSince();
+                Long sinceSequence = request.getSinceSequence();
+                ActionListener<List<Interaction>> incremental = ActionListener.wrap(interactions -> {
+                    internalListener.onResponse(GetInteractionsResponse.incremental(interactions, since, sinceSequence));
+                }, e -> {
+                    internalListener.onFailure(e);
+                });
+                if(sinceSequence != null) {
+                    cmHandler.getInteractionsAfter(request.getConversationId(), sinceSequence, maxResults, incremental);
+                } else {
+                    cmHandler.getInteractionsSince(request.getConversationId(), since, maxResults, incremental);
+                }
+            } else if(cursor == null) {
+                cmHandler.getInteractions(request.getConversationId(), from, maxResults, al);
+            } else {
+                cmHandler.getInteractions(request.getConversationId(), cursor, maxResults, al);
+            }
         } catch(Exception e) {
             log.error(e.toString());
             actionListener.onFailure(e);
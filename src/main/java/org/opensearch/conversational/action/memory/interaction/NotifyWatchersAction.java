@@ -0,0 +1,31 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Internal action telling the watchers parked on other nodes about new interactions
+ */
+public class NotifyWatchersAction extends ActionType<NotifyWatchersResponse> {
+    /** Instance of this */
+    public static final NotifyWatchersAction INSTANCE = new NotifyWatchersAction();
+    /** Name of this action */
+    public static final String NAME = "internal:opensearch/conversational/watch/notify";
+
+    private NotifyWatchersAction() { super(NAME, NotifyWatchersResponse::new); }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.transport.TransportRequest;
+
+/**
+ * Per-node part of a notify watchers request
+ */
+public class NotifyWatchersNodeRequest extends TransportRequest {
+
+    private Map<String, List<String>> interactions;
+    private String watchingNode = null;
+    private TimeValue watchingFor = null;
+
+    /**
+     * Constructor
+     * @param interactions map of conversation id to the ids of its new interactions
+     * @param watchingNode id of the node announcing its watchers, or null
+     * @param watchingFor how long to keep telling the watching node about new interactions, or null
+     */
+    public NotifyWatchersNodeRequest(Map<String, List<String>> interactions, String watchingNode, TimeValue watchingFor) {
+        this.interactions = interactions;
+        this.watchingNode = watchingNode;
+        this.watchingFor = watchingFor;
+    }
+
+    /**
+     * Constructor
+     * @param in stream input; assumes NotifyWatchersNodeRequest.writeTo was called
+     * @throws IOException if there's not a NotifyWatchersNodeRequest in the stream
+     */
+    public NotifyWatchersNodeRequest(StreamInput in) throws IOException {
+        super(in);
+        this.interactions = in.readMap(StreamInput::readString, StreamInput::readStringList);
+        this.watchingNode = in.readOptionalString();
+        this.watchingFor = in.readOptionalTimeValue();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(interactions, StreamOutput::writeString, StreamOutput::writeStringCollection);
+        out.writeOptionalString(watchingNode);
+        out.writeOptionalTimeValue(watchingFor);
+    }
+
+    /**
+     * @return map of conversation id to the ids of its new interactions
+     */
+    public Map<String, List<String>> getInteractions() {
+        return interactions;
+    }
+
+    /**
+     * @return id of the node announcing its watchers, or null if this isn't an announcement
+     */
+    public String getWatchingNode() {
+        return watchingNode;
+    }
+
+    /**
+     * @return how long to keep telling the watching node about new interactions, or null if this isn't an announcement
+     */
+    public TimeValue getWatchingFor() {
+        return watchingFor;
+    }
+}
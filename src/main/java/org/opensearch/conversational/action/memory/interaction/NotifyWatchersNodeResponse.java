@@ -0,0 +1,90 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+/**
+ * Per-node response of notify watchers: how many watchers the node woke up,
+ * and for an announcement, the interactions the node was recently notified of
+ */
+public class NotifyWatchersNodeResponse extends BaseNodeResponse {
+
+    private int woken;
+    private Map<String, List<String>> recent;
+
+    /**
+     * Constructor
+     * @param node the node that was notified
+     * @param woken number of watchers it woke up
+     */
+    public NotifyWatchersNodeResponse(DiscoveryNode node, int woken) {
+        this(node, woken, Map.of());
+    }
+
+    /**
+     * Constructor
+     * @param node the node that was notified
+     * @param woken number of watchers it woke up
+     * @param recent map of conversation id to the ids of the interactions the node was recently notified of
+     */
+    public NotifyWatchersNodeResponse(DiscoveryNode node, int woken, Map<String, List<String>> recent) {
+        super(node);
+        this.woken = woken;
+        this.recent = recent;
+    }
+
+    /**
+     * Constructor
+     * @param in stream input; assumes NotifyWatchersNodeResponse.writeTo was called
+     * @throws IOException if there's not a NotifyWatchersNodeResponse in the stream
+     */
+    public NotifyWatchersNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.woken = in.readVInt();
+        this.recent = in.readMap(StreamInput::readString, StreamInput::readStringList);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeVInt(woken);
+        out.writeMap(recent, StreamOutput::writeString, StreamOutput::writeStringCollection);
+    }
+
+    /**
+     * @return number of watchers the node woke up
+     */
+    public int getWoken() {
+        return woken;
+    }
+
+    /**
+     * @return map of conversation id to the ids of the interactions the node was recently notified of; empty unless
+     *      the request was an announcement
+     */
+    public Map<String, List<String>> getRecent() {
+        return recent;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+/**
+ * Response of notify watchers, with one entry per notified node
+ */
+public class NotifyWatchersResponse extends BaseNodesResponse<NotifyWatchersNodeResponse> {
+
+    /**
+     * Constructor
+     * @param in stream input; assumes NotifyWatchersResponse.writeTo was called
+     * @throws IOException if there's not a NotifyWatchersResponse in the stream
+     */
+    public NotifyWatchersResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Constructor
+     * @param clusterName name of the cluster
+     * @param nodes responses of the nodes that were notified
+     * @param failures nodes that couldn't be notified
+     */
+    public NotifyWatchersResponse(ClusterName clusterName, List<NotifyWatchersNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<NotifyWatchersNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(NotifyWatchersNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<NotifyWatchersNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+}
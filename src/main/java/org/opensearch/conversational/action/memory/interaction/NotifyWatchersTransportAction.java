@@ -0,0 +1,105 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.conversational.ConversationWatcher;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Notify watchers action: wakes up the watchers parked on each notified node
+ */
+public class NotifyWatchersTransportAction extends TransportNodesAction<
+    NotifyWatchersRequest,
+    NotifyWatchersResponse,
+    NotifyWatchersNodeRequest,
+    NotifyWatchersNodeResponse
+> {
+
+    private ConversationalMemoryHandler cmHandler;
+
+    /**
+     * Constructor
+     * @param threadPool threadpool to run node operations on
+     * @param clusterService for resolving the nodes to notify
+     * @param transportService for inter-node communications
+     * @param actionFilters action filters
+     * @param cmHandler Handler for conversational memory operations
+     */
+    @Inject
+    public NotifyWatchersTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler
+    ) {
+        super(
+            NotifyWatchersAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            NotifyWatchersRequest::new,
+            NotifyWatchersNodeRequest::new,
+            ThreadPool.Names.GENERIC,
+            NotifyWatchersNodeResponse.class
+        );
+        this.cmHandler = cmHandler;
+    }
+
+    @Override
+    protected NotifyWatchersResponse newResponse(
+        NotifyWatchersRequest request,
+        List<NotifyWatchersNodeResponse> responses,
+        List<FailedNodeException> failures
+    ) {
+        return new NotifyWatchersResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NotifyWatchersNodeRequest newNodeRequest(NotifyWatchersRequest request) {
+        return new NotifyWatchersNodeRequest(request.getInteractions(), request.getWatchingNode(), request.getWatchingFor());
+    }
+
+    @Override
+    protected NotifyWatchersNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new NotifyWatchersNodeResponse(in);
+    }
+
+    @Override
+    protected NotifyWatchersNodeResponse nodeOperation(NotifyWatchersNodeRequest request) {
+        ConversationWatcher watcher = cmHandler.getWatcher();
+        if(request.getWatchingNode() != null) {
+            // tell the announcing node what it may have missed before it was told about new interactions
+            watcher.onWatching(request.getWatchingNode(), request.getWatchingFor());
+            return new NotifyWatchersNodeResponse(clusterService.localNode(), 0, watcher.getRecent());
+        }
+        int woken = watcher.notifyLocal(request.getInteractions());
+        return new NotifyWatchersNodeResponse(clusterService.localNode(), woken);
+    }
+}
@@ -17,6 +17,8 @@
 package org.opensearch.conversational.action.memory.interaction;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.MissingResourceException;
 
@@ -39,6 +41,8 @@ public class PutInteractionRequest extends ActionRequest {
     private String response;
     private String agent;
     private String attributes;
+    private Instant timestamp = null;
+    private String requestId = null;
 
     /**
      * Constructor
@@ -53,6 +57,8 @@ public class PutInteractionRequest extends ActionRequest {
         this.prompt = in.readOptionalString();
         this.agent = in.readOptionalString();
         this.attributes = in.readOptionalString();
+        this.timestamp = in.readOptionalInstant();
+        this.requestId = in.readOptionalString();
     }
 
     /**
@@ -80,15 +86,66 @@ public class PutInteractionRequest extends ActionRequest {
         this.attributes = attributes;
     }
 
+    /**
+     * Constructor for an interaction that happened at a known time, e.g. when backfilling history
+     * @param conversationId id of the conversation to add to
+     * @param input human input for this interaction
+     * @param prompt prompt template for this interaction
+     * @param response genAI response for this interaction
+     * @param agent AI agent used for this interaction
+     * @param attributes any extra stuff attached to this interaction
+     * @param timestamp when this interaction happened, or null for now
+     */
+    public PutInteractionRequest(
+        String conversationId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String attributes,
+        Instant timestamp
+    ) {
+        this(conversationId, input, prompt, response, agent, attributes);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Constructor for a put that may be retried, e.g. after a client-side timeout
+     * @param conversationId id of the conversation to add to
+     * @param input human input for this interaction
+     * @param prompt prompt template for this interaction
+     * @param response genAI response for this interaction
+     * @param agent AI agent used for this interaction
+     * @param attributes any extra stuff attached to this interaction
+     * @param timestamp when this interaction happened, or null for now
+     * @param requestId client-supplied id of this put, the same across its retries, or null.
+     *      Puts with the same request id add the interaction at most once
+     */
+    public PutInteractionRequest(
+        String conversationId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String attributes,
+        Instant timestamp,
+        String requestId
+    ) {
+        this(conversationId, input, prompt, response, agent, attributes, timestamp);
+        this.requestId = requestId;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeString(conversationId);
         out.writeString(input);
         out.writeString(response);
-        out.writeString(prompt);
-        out.writeString(agent);
-        out.writeString(attributes);
+        out.writeOptionalString(prompt);
+        out.writeOptionalString(agent);
+        out.writeOptionalString(attributes);
+        out.writeOptionalInstant(timestamp);
+        out.writeOptionalString(requestId);
     }
     
     @Override
@@ -97,6 +154,9 @@ public class PutInteractionRequest extends ActionRequest {
         if(this.conversationId == null) {
             exception = addValidationError("Interaction MUST belong to a conversation ID", exception);
         }
+        if(this.requestId != null && this.requestId.isEmpty()) {
+            exception = addValidationError("request id must not be empty", exception);
+        }
         return exception;
     }
 
@@ -130,6 +190,16 @@ public class PutInteractionRequest extends ActionRequest {
      * @return arbitrary string for extra data the agent might have generated
      */
     public String getAttributes() { return attributes; }
+    /**
+     * When this interaction happened
+     * @return the time this interaction happened, or null if it's happening now
+     */
+    public Instant getTimestamp() { return timestamp; }
+    /**
+     * Idempotency key of this put
+     * @return the client-supplied request id, or null if retrying this put may add the interaction again
+     */
+    public String getRequestId() { return requestId; }
 
     /**
      * Create a PutInteractionRequest from a RestRequest
@@ -149,7 +219,48 @@ public class PutInteractionRequest extends ActionRequest {
         String rsp = bodyMap.get(ActionConstants.AI_RESPONSE_FIELD);
         String agt = bodyMap.get(ActionConstants.AI_AGENT_FIELD);
         String att = bodyMap.get(ActionConstants.INTER_ATTRIBUTES_FIELD);
-        return new PutInteractionRequest(cid, inp, prp, rsp, agt, att);
+        String rid = bodyMap.get(ActionConstants.REQUEST_ID_FIELD);
+        return new PutInteractionRequest(cid, inp, prp, rsp, agt, att, null, rid);
+    }
+
+    /**
+     * Create a PutInteractionRequest from one item of a bulk put body.
+     * Items carry their own conversation id, and may carry a timestamp (ISO-8601 or epoch millis).
+     * A request id is read too, so the bulk put can reject it instead of silently dropping it
+     * @param item map of the item's fields
+     * @return new PutInteractionRequest object
+     * @throws IllegalArgumentException if a field has the wrong type
+     */
+    public static PutInteractionRequest fromMap(Map<String, Object> item) {
+        String cid = stringField(item, ActionConstants.CONVO_ID_FIELD);
+        String inp = stringField(item, ActionConstants.INPUT_FIELD);
+        String prp = stringField(item, ActionConstants.PROMPT_FIELD);
+        String rsp = stringField(item, ActionConstants.AI_RESPONSE_FIELD);
+        String agt = stringField(item, ActionConstants.AI_AGENT_FIELD);
+        String att = stringField(item, ActionConstants.INTER_ATTRIBUTES_FIELD);
+        String rid = stringField(item, ActionConstants.REQUEST_ID_FIELD);
+        Object ts = item.get(ActionConstants.INTER_TIMESTAMP_FIELD);
+        Instant timestamp;
+        try {
+            if(ts == null) {
+                timestamp = null;
+            } else if(ts instanceof Number) {
+                timestamp = Instant.ofEpochMilli(((Number) ts).longValue());
+            } else {
+                timestamp = Instant.parse(ts.toString());
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid [" + ActionConstants.INTER_TIMESTAMP_FIELD + "] [" + ts + "]", e);
+        }
+        return new PutInteractionRequest(cid, inp, prp, rsp, agt, att, timestamp, rid);
+    }
+
+    private static String stringField(Map<String, Object> item, String field) {
+        Object value = item.get(field);
+        if(value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("[" + field + "] must be a string");
+        }
+        return (String) value;
     }
 
 }
\ No newline at end of file
@@ -17,12 +17,16 @@
 package org.opensearch.conversational.action.memory.interaction;
 
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats.Operation;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
@@ -56,12 +60,21 @@ public class PutInteractionTransportAction extends HandledTransportAction<PutInt
 
     @Override
     protected void doExecute(Task task, PutInteractionRequest request, ActionListener<PutInteractionResponse> actionListener) {
+        ActionListener<PutInteractionResponse> timed = cmHandler.getStats().time(Operation.PUT_INTERACTION, actionListener);
+        cmHandler.getAdmissionController().admit(AdmissionController.PUT_INTERACTION, timed, admitted ->
+            client.threadPool().executor(ConversationalSettings.THREAD_POOL_NAME)
+                .execute(ActionRunnable.wrap(admitted, l -> putInteraction(request, l)))
+        );
+    }
+
+    private void putInteraction(PutInteractionRequest request, ActionListener<PutInteractionResponse> actionListener) {
         String cid = request.getConversationId();
         String inp = request.getInput();
         String prp = request.getPrompt();
         String rsp = request.getResponse();
         String agt = request.getAgent();
         String att = request.getAttributes();
+        String rid = request.getRequestId();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             ActionListener<PutInteractionResponse> internalListener = ActionListener.runBefore(actionListener, () -> context.restore());
             ActionListener<String> al = ActionListener.wrap(iid -> {
@@ -69,7 +82,11 @@ public class PutInteractionTransportAction extends HandledTransportAction<PutInt
             }, e -> {
                 internalListener.onFailure(e);
             });
-            cmHandler.putInteraction(cid, inp, prp, rsp, agt, att, al);
+            if(rid == null) {
+                cmHandler.putInteraction(cid, inp, prp, rsp, agt, att, al);
+            } else {
+                cmHandler.putInteraction(cid, inp, prp, rsp, agt, att, rid, al);
+            }
         } catch (Exception e) {
             log.error(e.toString());
             actionListener.onFailure(e);
@@ -0,0 +1,178 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * ActionRequest for watch interactions
+ */
+public class WatchInteractionsRequest extends ActionRequest {
+
+    private String conversationId;
+    private Instant since;
+    private Long sinceSequence;
+    private int maxResults = ActionConstants.DEFAULT_MAX_RESULTS;
+    private TimeValue timeout = ActionConstants.DEFAULT_WATCH_TIMEOUT;
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to watch
+     * @param since only interactions newer than this are returned; null for interactions put after the request arrives
+     * @param maxResults number of interactions to retrieve
+     * @param timeout how long to wait for new interactions
+     */
+    public WatchInteractionsRequest(String conversationId, Instant since, int maxResults, TimeValue timeout) {
+        this(conversationId, since, null, maxResults, timeout);
+    }
+
+    /**
+     * Constructor
+     * @param conversationId UID of the conversation to watch
+     * @param since only interactions newer than this are returned; null for interactions put after the request arrives
+     * @param sinceSequence only interactions with a higher sequence number are returned; null to go by since
+     * @param maxResults number of interactions to retrieve
+     * @param timeout how long to wait for new interactions
+     */
+    public WatchInteractionsRequest(String conversationId, Instant since, Long sinceSequence, int maxResults, TimeValue timeout) {
+        this.conversationId = conversationId;
+        this.since = since;
+        this.sinceSequence = sinceSequence;
+        this.maxResults = maxResults;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Constructor
+     * @param in streaminput to read this from. assumes there was a WatchInteractionsRequest.writeTo
+     * @throws IOException if there wasn't a WatchInteractionsRequest in the stream
+     */
+    public WatchInteractionsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.conversationId = in.readString();
+        this.since = in.readOptionalInstant();
+        this.sinceSequence = in.readOptionalLong();
+        this.maxResults = in.readInt();
+        this.timeout = in.readTimeValue();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(conversationId);
+        out.writeOptionalInstant(since);
+        out.writeOptionalLong(sinceSequence);
+        out.writeInt(maxResults);
+        out.writeTimeValue(timeout);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if(conversationId == null) {
+            exception = addValidationError("must watch a conversation", exception);
+        }
+        if(maxResults <= 0) {
+            exception = addValidationError("must retrieve positive interactions", exception);
+        }
+        if(since != null && sinceSequence != null) {
+            exception = addValidationError("can't watch for interactions since a time and a sequence number at once", exception);
+        }
+        if(timeout == null || timeout.millis() < 0 || timeout.compareTo(ActionConstants.MAX_WATCH_TIMEOUT) > 0) {
+            exception = addValidationError("timeout must be between 0 and " + ActionConstants.MAX_WATCH_TIMEOUT, exception);
+        }
+        return exception;
+    }
+
+    @Override
+    public String getDescription() {
+        return "watch conversation [" + conversationId + "]";
+    }
+
+    @Override
+    public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new WatchInteractionsTask(id, type, action, getDescription(), parentTaskId, headers);
+    }
+
+    /**
+     * @return the UID of the conversation to watch
+     */
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    /**
+     * @return only interactions newer than this are returned; or null for interactions put after the request arrives
+     */
+    public Instant getSince() {
+        return since;
+    }
+
+    /**
+     * @return only interactions with a higher sequence number are returned; or null to go by since
+     */
+    public Long getSinceSequence() {
+        return sinceSequence;
+    }
+
+    /**
+     * @return the max number of interactions to return
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * @return how long to wait for new interactions
+     */
+    public TimeValue getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Makes a WatchInteractionsRequest out of a RestRequest
+     * @param request Rest Request representing a watch interactions request
+     * @return a new WatchInteractionsRequest
+     * @throws IOException if something goes wrong
+     */
+    public static WatchInteractionsRequest fromRestRequest(RestRequest request) throws IOException {
+        String cid = request.param(ActionConstants.CONVO_ID_FIELD);
+        Instant since = request.hasParam(ActionConstants.REQUEST_SINCE_FIELD)
+            ? ActionConstants.parseSince(request.param(ActionConstants.REQUEST_SINCE_FIELD))
+            : null;
+        Long sinceSequence = request.hasParam(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD)
+            ? request.paramAsLong(ActionConstants.REQUEST_SINCE_SEQUENCE_FIELD, 0)
+            : null;
+        int maxResults = request.paramAsInt(ActionConstants.REQUEST_MAX_RESULTS_FIELD, ActionConstants.DEFAULT_MAX_RESULTS);
+        TimeValue timeout = request.paramAsTime(ActionConstants.REQUEST_TIMEOUT_FIELD, ActionConstants.DEFAULT_WATCH_TIMEOUT);
+        return new WatchInteractionsRequest(cid, since, sinceSequence, maxResults, timeout);
+    }
+}
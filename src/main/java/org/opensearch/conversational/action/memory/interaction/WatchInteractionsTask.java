@@ -0,0 +1,75 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.util.Map;
+
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Task of a watch parked until its conversation gets new interactions. Cancelled when the client that made the
+ * request goes away, so the watch stops holding its slot on the node
+ */
+public class WatchInteractionsTask extends CancellableTask {
+
+    private Runnable onCancel = null;
+
+    /**
+     * Constructor
+     * @param id id of the task
+     * @param type type of the task
+     * @param action action the task runs
+     * @param description description of the task
+     * @param parentTaskId id of the parent task
+     * @param headers headers of the request
+     */
+    public WatchInteractionsTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
+        super(id, type, action, description, parentTaskId, headers);
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    /**
+     * Run something when this task is cancelled; right away if it already was
+     * @param onCancel what to run
+     */
+    public void whenCancelled(Runnable onCancel) {
+        synchronized(this) {
+            if(!isCancelled()) {
+                this.onCancel = onCancel;
+                return;
+            }
+        }
+        onCancel.run();
+    }
+
+    @Override
+    protected void onCancelled() {
+        Runnable toRun;
+        synchronized(this) {
+            toRun = onCancel;
+            onCancel = null;
+        }
+        if(toRun != null) {
+            toRun.run();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import java.time.Instant;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskCancelledException;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Watch Interactions action that parks the request until the conversation gets new interactions
+ */
+public class WatchInteractionsTransportAction extends HandledTransportAction<WatchInteractionsRequest, GetInteractionsResponse> {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(WatchInteractionsTransportAction.class);
+
+    private Client client;
+    private ConversationalMemoryHandler cmHandler;
+
+    /**
+     * Constructor
+     * @param transportService for inter-node communications
+     * @param actionFilters action filters
+     * @param cmHandler Handler for conversational memory operations
+     * @param client OS Client for dealing with OS
+     */
+    @Inject
+    public WatchInteractionsTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler,
+        Client client
+    ) {
+        super(WatchInteractionsAction.NAME, transportService, actionFilters, WatchInteractionsRequest::new);
+        this.client = client;
+        this.cmHandler = cmHandler;
+    }
+
+    @Override
+    public void doExecute(Task task, WatchInteractionsRequest request, ActionListener<GetInteractionsResponse> actionListener) {
+        Long sinceSequence = request.getSinceSequence();
+        Instant since = request.getSince() == null && sinceSequence == null ? Instant.now() : request.getSince();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            // completed by the watch, or by the task's cancellation, whichever comes first
+            ActionListener<GetInteractionsResponse> internalListener = ActionListener.notifyOnce(
+                ActionListener.runBefore(actionListener, () -> context.restore())
+            );
+            Scheduler.Cancellable watch = cmHandler.watchInteractions(
+                request.getConversationId(), since, sinceSequence, request.getMaxResults(), request.getTimeout(), ActionListener.wrap(interactions -> {
+                    internalListener.onResponse(GetInteractionsResponse.incremental(interactions, since, sinceSequence));
+                }, e -> {
+                    internalListener.onFailure(e);
+                })
+            );
+            // a client that went away has nothing to answer to; free the watch's slot instead of waiting out its timeout
+            ((WatchInteractionsTask) task).whenCancelled(() -> {
+                watch.cancel();
+                internalListener.onFailure(new TaskCancelledException("watch of conversation [" + request.getConversationId() + "] cancelled"));
+            });
+        } catch(Exception e) {
+            log.error(e.toString());
+            actionListener.onFailure(e);
+        }
+    }
+
+}
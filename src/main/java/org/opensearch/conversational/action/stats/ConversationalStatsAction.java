@@ -0,0 +1,31 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Action for the stats of the conversational plugin on each node
+ */
+public class ConversationalStatsAction extends ActionType<ConversationalStatsResponse> {
+    /** Instance of this */
+    public static final ConversationalStatsAction INSTANCE = new ConversationalStatsAction();
+    /** Name of this action */
+    public static final String NAME = "cluster:monitor/opensearch/conversational/stats";
+
+    private ConversationalStatsAction() { super(NAME, ConversationalStatsResponse::new); }
+}
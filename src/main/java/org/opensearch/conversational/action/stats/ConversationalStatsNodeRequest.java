@@ -0,0 +1,44 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import java.io.IOException;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.transport.TransportRequest;
+
+/**
+ * Per-node part of a conversational stats request
+ */
+public class ConversationalStatsNodeRequest extends TransportRequest {
+
+    /**
+     * Constructor
+     */
+    public ConversationalStatsNodeRequest() {
+        super();
+    }
+
+    /**
+     * Constructor
+     * @param in stream input; assumes ConversationalStatsNodeRequest.writeTo was called
+     * @throws IOException if there's not a ConversationalStatsNodeRequest in the stream
+     */
+    public ConversationalStatsNodeRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.ConversationalStats.OperationStats;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Per-node response of conversational stats: the latency of each operation, and the counters of the
+ * node-local components (buffers, cache, watcher, admission control)
+ */
+public class ConversationalStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private Map<String, OperationStats> operations;
+    private Map<String, Object> components;
+
+    /**
+     * Constructor
+     * @param node the node these are the stats of
+     * @param operations stats of each operation, by name
+     * @param components counters of each component, by name. Values are numbers, or maps of them
+     */
+    public ConversationalStatsNodeResponse(DiscoveryNode node, Map<String, OperationStats> operations, Map<String, Object> components) {
+        super(node);
+        this.operations = operations;
+        this.components = components;
+    }
+
+    /**
+     * Constructor
+     * @param in stream input; assumes ConversationalStatsNodeResponse.writeTo was called
+     * @throws IOException if there's not a ConversationalStatsNodeResponse in the stream
+     */
+    public ConversationalStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.operations = in.readOrderedMap(StreamInput::readString, OperationStats::new);
+        this.components = in.readMap();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(operations, StreamOutput::writeString, (o, s) -> s.writeTo(o));
+        out.writeMap(components);
+    }
+
+    /**
+     * @return stats of each operation, by name
+     */
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return counters of each component, by name
+     */
+    public Map<String, Object> getComponents() {
+        return components;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field("name", getNode().getName());
+        ConversationalStatsResponse.operationsToXContent(builder, params, operations);
+        builder.field("components", components);
+        return builder;
+    }
+}
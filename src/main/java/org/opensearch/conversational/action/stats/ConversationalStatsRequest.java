@@ -0,0 +1,57 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.rest.RestRequest;
+
+/**
+ * Request for conversational stats: the nodes to get them from
+ */
+public class ConversationalStatsRequest extends BaseNodesRequest<ConversationalStatsRequest> {
+
+    /**
+     * Constructor
+     * @param nodeIds ids of the nodes to get stats from; every node if there are none
+     */
+    public ConversationalStatsRequest(String... nodeIds) {
+        super(nodeIds);
+    }
+
+    /**
+     * Constructor
+     * @param in stream input; assumes ConversationalStatsRequest.writeTo was called
+     * @throws IOException if there's not a ConversationalStatsRequest in the stream
+     */
+    public ConversationalStatsRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Makes a ConversationalStatsRequest out of a RestRequest
+     * @param request Rest Request representing a stats request
+     * @return a new ConversationalStatsRequest
+     */
+    public static ConversationalStatsRequest fromRestRequest(RestRequest request) {
+        return new ConversationalStatsRequest(Strings.splitStringByCommaToArray(request.param(ActionConstants.REQUEST_NODE_ID_FIELD)));
+    }
+}
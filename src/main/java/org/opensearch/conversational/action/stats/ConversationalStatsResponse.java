@@ -0,0 +1,135 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversational.ConversationalStats.OperationStats;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.action.RestActions;
+
+/**
+ * Response of conversational stats, with one entry per node and the stats of every node aggregated
+ */
+public class ConversationalStatsResponse extends BaseNodesResponse<ConversationalStatsNodeResponse> implements ToXContentObject {
+
+    /**
+     * Constructor
+     * @param in stream input; assumes ConversationalStatsResponse.writeTo was called
+     * @throws IOException if there's not a ConversationalStatsResponse in the stream
+     */
+    public ConversationalStatsResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Constructor
+     * @param clusterName name of the cluster
+     * @param nodes stats of the nodes that answered
+     * @param failures nodes that couldn't answer
+     */
+    public ConversationalStatsResponse(ClusterName clusterName, List<ConversationalStatsNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<ConversationalStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(ConversationalStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<ConversationalStatsNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    /**
+     * @return stats of each operation across every node that answered: histograms merged, failures added up
+     */
+    public Map<String, OperationStats> getClusterOperations() {
+        Map<String, OperationStats> merged = new LinkedHashMap<>();
+        for(ConversationalStatsNodeResponse node : getNodes()) {
+            for(Map.Entry<String, OperationStats> operation : node.getOperations().entrySet()) {
+                merged.merge(operation.getKey(), operation.getValue(), OperationStats::merge);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return counters of each component added up across every node that answered. Averages and ratios
+     *      don't add up, so they're only reported per node
+     */
+    public Map<String, Object> getClusterComponents() {
+        Map<String, Object> summed = new LinkedHashMap<>();
+        for(ConversationalStatsNodeResponse node : getNodes()) {
+            addCounters(summed, node.getComponents());
+        }
+        return summed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addCounters(Map<String, Object> into, Map<String, Object> counters) {
+        for(Map.Entry<String, Object> counter : counters.entrySet()) {
+            Object value = counter.getValue();
+            if(value instanceof Map) {
+                Map<String, Object> nested = (Map<String, Object>) into.computeIfAbsent(counter.getKey(), k -> new LinkedHashMap<>());
+                addCounters(nested, (Map<String, Object>) value);
+            } else if(value instanceof Long || value instanceof Integer) {
+                into.merge(counter.getKey(), ((Number) value).longValue(), (a, b) -> ((Number) a).longValue() + ((Number) b).longValue());
+            }
+        }
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        RestActions.buildNodesHeader(builder, params, this);
+        builder.field("cluster_name", getClusterName().value());
+        builder.startObject("cluster");
+        operationsToXContent(builder, params, getClusterOperations());
+        builder.field("components", getClusterComponents());
+        builder.endObject();
+        builder.startObject("nodes");
+        for(ConversationalStatsNodeResponse node : getNodes()) {
+            builder.startObject(node.getNode().getId());
+            node.toXContent(builder, params);
+            builder.endObject();
+        }
+        builder.endObject();
+        builder.endObject();
+        return builder;
+    }
+
+    static void operationsToXContent(XContentBuilder builder, Params params, Map<String, OperationStats> operations) throws IOException {
+        builder.startObject("operations");
+        for(Map.Entry<String, OperationStats> operation : operations.entrySet()) {
+            builder.startObject(operation.getKey());
+            operation.getValue().toXContent(builder, params);
+            builder.endObject();
+        }
+        builder.endObject();
+    }
+}
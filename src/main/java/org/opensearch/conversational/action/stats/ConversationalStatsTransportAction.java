@@ -0,0 +1,155 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.stats;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.conversational.AdmissionController;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConvoMetaHitBuffer;
+import org.opensearch.conversational.InteractionsCache;
+import org.opensearch.conversational.index.InteractionsWriteBuffer;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Conversational stats action: collects the stats of conversational memory on each requested node
+ */
+public class ConversationalStatsTransportAction extends TransportNodesAction<
+    ConversationalStatsRequest,
+    ConversationalStatsResponse,
+    ConversationalStatsNodeRequest,
+    ConversationalStatsNodeResponse
+> {
+
+    private ConversationalMemoryHandler cmHandler;
+
+    /**
+     * Constructor
+     * @param threadPool threadpool to run node operations on
+     * @param clusterService for resolving the nodes to collect stats from
+     * @param transportService for inter-node communications
+     * @param actionFilters action filters
+     * @param cmHandler Handler for conversational memory operations
+     */
+    @Inject
+    public ConversationalStatsTransportAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationalMemoryHandler cmHandler
+    ) {
+        super(
+            ConversationalStatsAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            ConversationalStatsRequest::new,
+            ConversationalStatsNodeRequest::new,
+            ThreadPool.Names.GENERIC,
+            ConversationalStatsNodeResponse.class
+        );
+        this.cmHandler = cmHandler;
+    }
+
+    @Override
+    protected ConversationalStatsResponse newResponse(
+        ConversationalStatsRequest request,
+        List<ConversationalStatsNodeResponse> responses,
+        List<FailedNodeException> failures
+    ) {
+        return new ConversationalStatsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected ConversationalStatsNodeRequest newNodeRequest(ConversationalStatsRequest request) {
+        return new ConversationalStatsNodeRequest();
+    }
+
+    @Override
+    protected ConversationalStatsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new ConversationalStatsNodeResponse(in);
+    }
+
+    @Override
+    protected ConversationalStatsNodeResponse nodeOperation(ConversationalStatsNodeRequest request) {
+        return new ConversationalStatsNodeResponse(clusterService.localNode(), cmHandler.getStats().snapshot(), componentStats());
+    }
+
+    private Map<String, Object> componentStats() {
+        Map<String, Object> components = new LinkedHashMap<>();
+
+        ConvoMetaHitBuffer hitBuffer = cmHandler.getHitBuffer();
+        Map<String, Object> hits = new LinkedHashMap<>();
+        hits.put("backlog", hitBuffer.getBacklog());
+        hits.put("tails_received", hitBuffer.getTailsReceived());
+        hits.put("counts_given_back", hitBuffer.getCountsGivenBack());
+        hits.put("updates_sent", hitBuffer.getUpdatesSent());
+        hits.put("updates_failed", hitBuffer.getUpdatesFailed());
+        hits.put("merge_ratio", hitBuffer.getMergeRatio());
+        hits.put("flush_count", hitBuffer.getFlushCount());
+        hits.put("flush_latency_millis", hitBuffer.getFlushLatencyMillis());
+        components.put("hit_buffer", hits);
+
+        InteractionsWriteBuffer writeBuffer = cmHandler.getWriteBuffer();
+        Map<String, Object> writes = new LinkedHashMap<>();
+        writes.put("queue_size", writeBuffer.getQueueSize());
+        writes.put("written", writeBuffer.getWritten());
+        writes.put("failed", writeBuffer.getFailed());
+        writes.put("lost", writeBuffer.getLost());
+        writes.put("retried", writeBuffer.getRetried());
+        writes.put("rejected", writeBuffer.getRejected());
+        writes.put("batch_count", writeBuffer.getBatchCount());
+        writes.put("batch_latency_millis", writeBuffer.getBatchLatencyMillis());
+        components.put("write_buffer", writes);
+
+        InteractionsCache cache = cmHandler.getInteractionsCache();
+        Map<String, Object> cached = new LinkedHashMap<>();
+        cached.put("hits", cache.getHits());
+        cached.put("misses", cache.getMisses());
+        cached.put("evictions", cache.getEvictions());
+        cached.put("size_in_bytes", cache.getSizeInBytes());
+        components.put("interactions_cache", cached);
+
+        components.put("watcher", Map.of("watchers", cmHandler.getWatcher().getNumWatchers()));
+
+        Map<String, Object> admission = new LinkedHashMap<>();
+        for(AdmissionController.Limiter limiter : cmHandler.getAdmissionController().getLimiters().values()) {
+            Map<String, Object> limits = new LinkedHashMap<>();
+            limits.put("limit", limiter.getLimit());
+            limits.put("in_flight", limiter.getInFlight());
+            limits.put("queue_size", limiter.getQueueSize());
+            limits.put("admitted", limiter.getAdmitted());
+            limits.put("queued", limiter.getQueued());
+            limits.put("rejected", limiter.getRejected());
+            admission.put(limiter.getName(), limits);
+        }
+        components.put("admission", admission);
+        return components;
+    }
+}
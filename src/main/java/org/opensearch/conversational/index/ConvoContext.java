@@ -0,0 +1,141 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * A conversation's metadata together with its most recent interactions,
+ * as kept in the tail of its metadata document
+ */
+public final class ConvoContext implements Writeable, ToXContentObject {
+
+    private final ConvoMeta meta;
+    private final List<Interaction> interactions;
+
+    /**
+     * Constructor
+     * @param meta the conversation's metadata
+     * @param interactions the conversation's most recent interactions, newest first.
+     *      These only have their id, timestamp, input and response
+     */
+    public ConvoContext(ConvoMeta meta, List<Interaction> interactions) {
+        this.meta = meta;
+        this.interactions = interactions;
+    }
+
+    /**
+     * Creates a ConvoContext from the source of a metadata document
+     * @param id the conversation's id
+     * @param docFields the map of source fields
+     * @param maxResults max number of interactions to keep from the document's tail
+     * @return a new ConvoContext representing the document
+     */
+    @SuppressWarnings("unchecked")
+    public static ConvoContext fromMap(String id, Map<String, Object> docFields, int maxResults) {
+        List<Interaction> interactions = new ArrayList<>();
+        Object tail = docFields.get(ConvoIndexConstants.META_TAIL_FIELD);
+        if(tail instanceof List) {
+            for(Object entry : (List<Object>) tail) {
+                if(interactions.size() >= maxResults) {
+                    break;
+                }
+                interactions.add(ConvoHits.fromTailEntry(id, (Map<String, Object>) entry));
+            }
+        }
+        return new ConvoContext(ConvoMeta.fromMap(id, docFields), interactions);
+    }
+
+    /**
+     * Creates a ConvoContext from a stream, given the stream was written to by
+     * ConvoContext.writeTo
+     * @param in stream to read from
+     * @return new ConvoContext object
+     * @throws IOException if you're reading from a stream without a ConvoContext in it
+     */
+    public static ConvoContext fromStream(StreamInput in) throws IOException {
+        ConvoMeta meta = ConvoMeta.fromStream(in);
+        List<Interaction> interactions = in.readList(Interaction::fromStream);
+        return new ConvoContext(meta, interactions);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        meta.writeTo(out);
+        out.writeList(interactions);
+    }
+
+    /**
+     * @return the conversation's metadata
+     */
+    public ConvoMeta getMeta() {
+        return meta;
+    }
+
+    /**
+     * @return the conversation's most recent interactions, newest first
+     */
+    public List<Interaction> getInteractions() {
+        return interactions;
+    }
+
+    /**
+     * Interactions are numbered when they're put, but only join the tail once the hit buffer of the node that took
+     * them flushes, so the tail can lag behind the conversation's last sequence number. Numbers of puts that were
+     * never written look the same as a lagging tail, until a newer interaction joins it
+     * @return whether the conversation has interactions numbered after the newest one in the tail
+     */
+    public boolean isTailBehind() {
+        Long newest = interactions.isEmpty() ? null : interactions.get(0).getSequence();
+        return meta.getLastSequence() > (newest == null ? 0 : newest);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, ToXContentObject.Params params) throws IOException {
+        builder.startObject();
+        builder.field(ActionConstants.CONVO_ID_FIELD, meta.getId());
+        builder.field(ConvoIndexConstants.META_CREATED_FIELD, meta.getCreated());
+        builder.field(ConvoIndexConstants.META_ENDED_FIELD, meta.getLastHit());
+        builder.field(ConvoIndexConstants.META_LENGTH_FIELD, meta.getLength());
+        builder.field(ConvoIndexConstants.META_NAME_FIELD, meta.getName());
+        builder.startArray(ActionConstants.RESPONSE_INTER_LIST_FIELD);
+        for(Interaction interaction : interactions) {
+            builder.startObject();
+            builder.field(ActionConstants.RESPONSE_INTER_ID_FIELD, interaction.getId());
+            builder.field(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, interaction.getTimestamp());
+            builder.field(ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, interaction.getInput());
+            builder.field(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, interaction.getResponse());
+            if(interaction.getSequence() != null) {
+                builder.field(ActionConstants.INTER_SEQUENCE_FIELD, interaction.getSequence());
+            }
+            builder.endObject();
+        }
+        builder.endArray();
+        builder.endObject();
+        return builder;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hits waiting to be applied to one conversation's metadata: the time of the newest interaction,
+ * how many interactions to add to its length, and the newest interactions to merge into its tail
+ */
+public final class ConvoHits {
+
+    /** Newest first; ties broken by id so every node orders a tail the same way */
+    final static Comparator<Interaction> NEWEST_FIRST = Interaction.NEWEST_FIRST;
+
+    private final int tailSize;
+    private Instant lastHit = null;
+    private int count = 0;
+    private final List<Interaction> tail = new ArrayList<>();
+
+    /**
+     * Constructor
+     * @param tailSize max number of interactions to keep for the conversation's tail. 0 keeps none
+     */
+    public ConvoHits(int tailSize) {
+        this.tailSize = tailSize;
+    }
+
+    /**
+     * Add hits that don't carry interactions
+     * @param hitTime time of the newest interaction
+     * @param hits number of interactions
+     * @return this
+     */
+    public ConvoHits add(Instant hitTime, int hits) {
+        if(lastHit == null || hitTime.isAfter(lastHit)) {
+            lastHit = hitTime;
+        }
+        count += hits;
+        return this;
+    }
+
+    /**
+     * Add a hit for a new interaction, keeping it for the tail if it's recent enough
+     * @param interaction the new interaction
+     * @return this
+     */
+    public ConvoHits add(Interaction interaction) {
+        add(interaction.getTimestamp(), 1);
+        return addToTail(interaction);
+    }
+
+    /**
+     * Keep a new interaction for the tail if it's recent enough, without counting it again.
+     * For interactions that were counted when their sequence number was allocated
+     * @param interaction the new interaction
+     * @return this
+     */
+    public ConvoHits addToTail(Interaction interaction) {
+        add(interaction.getTimestamp(), 0);
+        if(tailSize > 0) {
+            tail.add(interaction);
+            tail.sort(NEWEST_FIRST);
+            if(tail.size() > tailSize) {
+                tail.remove(tail.size() - 1);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add all of another set of hits to this one
+     * @param other hits to the same conversation
+     * @return this
+     */
+    public ConvoHits merge(ConvoHits other) {
+        add(other.lastHit, other.count);
+        for(Interaction interaction : other.tail) {
+            addToTail(interaction);
+        }
+        return this;
+    }
+
+    /**
+     * @return time of the newest interaction
+     */
+    public Instant getLastHit() {
+        return lastHit;
+    }
+
+    /**
+     * @return number of interactions to add to the conversation's length; negative to give back counted
+     *      interactions that were never written
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return max number of interactions kept for the tail
+     */
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * @return the newest interactions, newest first
+     */
+    public List<Interaction> getTail() {
+        return tail;
+    }
+
+    /**
+     * @return the tail as entries of the metadata document's tail field
+     */
+    public List<Map<String, Object>> getTailEntries() {
+        List<Map<String, Object>> entries = new ArrayList<>(tail.size());
+        for(Interaction interaction : tail) {
+            entries.add(toTailEntry(interaction));
+        }
+        return entries;
+    }
+
+    /**
+     * @param interaction an interaction
+     * @return the interaction's entry in a metadata document's tail field
+     */
+    static Map<String, Object> toTailEntry(Interaction interaction) {
+        // the interaction's text may be null, which Map.of doesn't allow
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(ConvoIndexConstants.INTERACTIONS_ID_FIELD, interaction.getId());
+        entry.put(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, interaction.getTimestamp().toString());
+        entry.put(ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, interaction.getInput());
+        entry.put(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, interaction.getResponse());
+        if(interaction.getSequence() != null) {
+            entry.put(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD, interaction.getSequence());
+        }
+        return entry;
+    }
+
+    /**
+     * @param convoId the conversation the entry's metadata document belongs to
+     * @param entry an entry of a metadata document's tail field
+     * @return the interaction the entry was made from, without its prompt, agent and metadata
+     */
+    static Interaction fromTailEntry(String convoId, Map<String, Object> entry) {
+        Number sequence = (Number) entry.get(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD);
+        return new Interaction(
+            (String) entry.get(ConvoIndexConstants.INTERACTIONS_ID_FIELD),
+            Instant.parse((String) entry.get(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD)),
+            convoId,
+            (String) entry.get(ConvoIndexConstants.INTERACTIONS_INPUT_FIELD),
+            null,
+            (String) entry.get(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD),
+            null,
+            null,
+            sequence == null ? null : sequence.longValue()
+        );
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.opensearch.conversational.index;
 
+import java.util.Locale;
+
+import org.opensearch.common.settings.Settings;
+
 /**
  * Class containing a bunch of constant defining how the conversational indices are formatted
  */
@@ -30,10 +34,34 @@ public class ConvoIndexConstants {
     public final static String META_LENGTH_FIELD = "numInteractions";
     /** Name of the metadata field for name of the conversation */
     public final static String META_NAME_FIELD = "name";
+    /** Name of the metadata field for how long (in millis) the conversation is kept after its last interaction */
+    public final static String META_RETENTION_FIELD = "retention";
+    /** Name of the metadata field for when the conversation expires, for conversations with their own retention */
+    public final static String META_EXPIRES_FIELD = "expireTime";
+    /** Name of the metadata field holding the conversation's most recent interactions, newest first */
+    public final static String META_TAIL_FIELD = "tail";
+    /** Name of the metadata field for the sequence number last allocated to one of the conversation's interactions */
+    public final static String META_SEQUENCE_FIELD = "lastSequence";
+    /** Name of the metadata field holding the conversation's id, with doc values to break ties on when sorting */
+    public final static String META_ID_FIELD = "conversationId";
+    /** Name of the document id metadata field, used to break ties when sorting indices that don't store ids in a field */
+    public final static String ID_SORT_FIELD = "_id";
+    /** Key in an index's mapping _meta saying its documents are routed by conversation id */
+    public final static String META_ROUTING_KEY = "routing";
+    /** Key in an index's mapping _meta saying every document stores its id in the field it names */
+    public final static String META_ID_KEY = "id_field";
     /** Mappings for the conversational metadata index */
     protected final static String META_MAPPING = "{\n"
+        + "    \"_meta\": {\""
+        + META_ID_KEY
+        + "\": \""
+        + META_ID_FIELD
+        + "\"},\n"
         + "    \"properties\": {\n"
         + "        \""
+        + META_ID_FIELD
+        + "\": {\"type\": \"keyword\"},\n"
+        + "        \""
         + META_NAME_FIELD
         + "\": {\"type\": \"keyword\"},\n"
         + "        \""
@@ -44,9 +72,25 @@ public class ConvoIndexConstants {
         + "\": {\"type\": \"date\", \"format\": \"strict_date_optional_time||epoch_millis\"},\n"
         + "        \""
         + META_LENGTH_FIELD
-        + "\": {\"type\": \"integer\"}\n"
+        + "\": {\"type\": \"integer\"},\n"
+        + "        \""
+        + META_RETENTION_FIELD
+        + "\": {\"type\": \"long\"},\n"
+        + "        \""
+        + META_EXPIRES_FIELD
+        + "\": {\"type\": \"date\", \"format\": \"strict_date_optional_time||epoch_millis\"},\n"
+        + "        \""
+        + META_TAIL_FIELD
+        + "\": {\"type\": \"object\", \"enabled\": false},\n"
+        + "        \""
+        + META_SEQUENCE_FIELD
+        + "\": {\"type\": \"long\"}\n"
         + "    }\n"
         + "}";
+    /** Settings for the conversational metadata index */
+    protected final static Settings META_INDEX_SETTINGS = Settings.builder()
+        .put("index.auto_expand_replicas", "0-1")
+        .build();
 
         /** Name of the conversational interactions index */
         public final static String INTERACTIONS_INDEX_NAME = ".conversational-interactions";
@@ -64,8 +108,17 @@ public class ConvoIndexConstants {
         public final static String INTERACTIONS_TIMESTAMP_FIELD = "timestamp";
         /** Name of the interaction field for any excess metadata */
         public final static String INTERACTIONS_METADATA_FIELD = "metadata";
+        /** Name of the interaction field holding its own id, so the id can be part of the index sort */
+        public final static String INTERACTIONS_ID_FIELD = "interaction_id";
+        /** Name of the interaction field for its position in the conversation */
+        public final static String INTERACTIONS_SEQUENCE_FIELD = "sequence";
         /** Mappings for the interactions index */
         protected final static String INTERACTIONS_MAPPINGS = "{\n"
+        + "    \"_meta\": {\""
+        + META_ROUTING_KEY
+        + "\": \""
+        + INTERACTIONS_CONVO_ID_FIELD
+        + "\"},\n"
         + "    \"properties\": {\n"
         + "        \""
         + INTERACTIONS_CONVO_ID_FIELD
@@ -87,8 +140,33 @@ public class ConvoIndexConstants {
         + "\": {\"type\": \"keyword\"},\n"
         + "        \""
         + INTERACTIONS_METADATA_FIELD
-        + "\": {\"type\": \"text\"}\n"
+        + "\": {\"type\": \"text\"},\n"
+        + "        \""
+        + INTERACTIONS_ID_FIELD
+        + "\": {\"type\": \"keyword\"},\n"
+        + "        \""
+        + INTERACTIONS_SEQUENCE_FIELD
+        + "\": {\"type\": \"long\"}\n"
         + "    }\n"
         + "}";
+        /**
+         * Settings for the interactions index. Sorted so that a conversation's interactions are
+         * stored together, newest first, and reading the latest of them can stop after a page.
+         * Interactions written before they had sequence numbers sort last, by timestamp
+         */
+        protected final static Settings INTERACTIONS_INDEX_SETTINGS = Settings.builder()
+        .put("index.auto_expand_replicas", "0-1")
+        .putList("index.sort.field", INTERACTIONS_CONVO_ID_FIELD, INTERACTIONS_SEQUENCE_FIELD, INTERACTIONS_TIMESTAMP_FIELD, INTERACTIONS_ID_FIELD)
+        .putList("index.sort.order", "asc", "desc", "desc", "asc")
+        .build();
+
+        /**
+         * Interactions live in generations of indices behind an alias named {@link #INTERACTIONS_INDEX_NAME}
+         * @param generation number of the generation, starting at 1
+         * @return name of the index of that generation
+         */
+        public static String interactionsGenerationName(int generation) {
+            return String.format(Locale.ROOT, "%s-%06d", INTERACTIONS_INDEX_NAME, generation);
+        }
 
 }
\ No newline at end of file
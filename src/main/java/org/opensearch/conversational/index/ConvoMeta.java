@@ -39,6 +39,7 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
     private Instant lastHit;
     private int numInteractions;
     private String name;
+    private long lastSequence;
 
     /**
      * Most naive constructor
@@ -55,12 +56,34 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         Instant lastHit,
         int numInteractions,
         String name
+    ) {
+        this(id, created, lastHit, numInteractions, name, 0);
+    }
+
+    /**
+     * Constructor
+     * @param id the UID of this conversation
+     * @param created the timestamp of this conversation's creation
+     * @param lastHit the timestamp of the most recent interaction belonging to this conversation
+     *      or the time of creation if there are no interactions
+     * @param numInteractions the length of this conversation
+     * @param name a user-defined name for the conversation
+     * @param lastSequence the sequence number last allocated to an interaction of this conversation; 0 if none was
+     */
+    public ConvoMeta(
+        String id,
+        Instant created,
+        Instant lastHit,
+        int numInteractions,
+        String name,
+        long lastSequence
     ) {
         this.id = id;
         this.created = created;
         this.lastHit = lastHit;
         this.numInteractions = numInteractions;
         this.name = name;
+        this.lastSequence = lastSequence;
     }
 
     /**
@@ -84,7 +107,8 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         Instant lastHit = Instant.parse((String) docFields.get(ConvoIndexConstants.META_ENDED_FIELD));
         int numInteractions = (int) docFields.get(ConvoIndexConstants.META_LENGTH_FIELD);
         String name = (String) docFields.get(ConvoIndexConstants.META_NAME_FIELD);
-        return new ConvoMeta(id, created, lastHit, numInteractions, name);
+        Number lastSequence = (Number) docFields.get(ConvoIndexConstants.META_SEQUENCE_FIELD);
+        return new ConvoMeta(id, created, lastHit, numInteractions, name, lastSequence == null ? 0 : lastSequence.longValue());
     }
 
     /**
@@ -100,7 +124,8 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         Instant lastHit = in.readInstant();
         int numInteractions = in.readInt();
         String name = in.readString();
-        return new ConvoMeta(id, created, lastHit, numInteractions, name);
+        long lastSequence = in.readLong();
+        return new ConvoMeta(id, created, lastHit, numInteractions, name, lastSequence);
     }
 
     @Override
@@ -110,6 +135,7 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         out.writeInstant(lastHit);
         out.writeInt(numInteractions);
         out.writeString(name);
+        out.writeLong(lastSequence);
     }
 
     /**
@@ -140,6 +166,13 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         return numInteractions;
     }
 
+    /**
+     * @return the sequence number last allocated to an interaction of this conversation; 0 if none was
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
     /**
      * Hit this ConvoMeta at this time, increasing the converation length
      * @param hitTime the Instant when the new interaction was created
@@ -191,6 +224,7 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
         builder.field(ConvoIndexConstants.META_ENDED_FIELD, this.lastHit);
         builder.field(ConvoIndexConstants.META_LENGTH_FIELD, this.numInteractions);
         builder.field(ConvoIndexConstants.META_NAME_FIELD, this.name);
+        builder.field(ConvoIndexConstants.META_SEQUENCE_FIELD, this.lastSequence);
         builder.endObject();
         return builder;
     }
@@ -209,6 +243,8 @@ public final class ConvoMeta implements Writeable, ToXContentObject {
             return false;
         } if(otherConvo.numInteractions != this.numInteractions) {
             return false;
+        } if(otherConvo.lastSequence != this.lastSequence) {
+            return false;
         } return otherConvo.name.equals(this.name);
     }
     
@@ -0,0 +1,185 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.Map;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.client.Client;
+import org.opensearch.client.Requests;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.index.engine.DocumentMissingException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.sort.FieldSortBuilder;
+
+/**
+ * Stores every conversation's id in a keyword field of its metadata document, so listing conversations can break
+ * ties on doc values instead of on _id, which needs fielddata. Maps the field first, so conversations created from
+ * then on fill it in themselves, then fills it in for the older ones until a pass finds none left, and last marks
+ * the index in its mapping _meta, which switches listing over to the field.
+ */
+public class ConvoMetaIdMigration implements IndexMigration {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConvoMetaIdMigration.class);
+
+    private final static int BATCH_SIZE = 500;
+    private final static int RETRIES_ON_CONFLICT = 5;
+    private final static TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+    private final static String ID_FIELD_MAPPING = "{\"properties\": {\""
+        + ConvoIndexConstants.META_ID_FIELD
+        + "\": {\"type\": \"keyword\"}}}";
+    private final static String ID_FILLED_MAPPING = "{\"_meta\": {\""
+        + ConvoIndexConstants.META_ID_KEY
+        + "\": \""
+        + ConvoIndexConstants.META_ID_FIELD
+        + "\"}}";
+
+    private final Client client;
+    private final IndexInitializer indexInitializer;
+
+    /**
+     * Constructor
+     * @param client client to migrate with
+     * @param indexInitializer initializer of the metadata index, which knows whether its documents store their ids
+     */
+    public ConvoMetaIdMigration(Client client, IndexInitializer indexInitializer) {
+        this.client = client;
+        this.indexInitializer = indexInitializer;
+    }
+
+    @Override
+    public String name() {
+        return "store conversation ids in a field to sort on";
+    }
+
+    @Override
+    public boolean isNeeded() {
+        return indexInitializer.indexExists() && !indexInitializer.isIdFilled();
+    }
+
+    @Override
+    public void run(ActionListener<Void> listener) {
+        String index = indexInitializer.getIndexName();
+        putMapping(index, ID_FIELD_MAPPING, ActionListener.wrap(
+            v -> fill(index, 0, ActionListener.wrap(filled -> {
+                log.info("stored the ids of [" + filled + "] conversations in [" + index + "]");
+                putMapping(index, ID_FILLED_MAPPING, listener);
+            }, listener::onFailure)),
+            listener::onFailure
+        ));
+    }
+
+    private void putMapping(String index, String mapping, ActionListener<Void> listener) {
+        PutMappingRequest request = Requests.putMappingRequest(index).source(mapping, XContentType.JSON);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().putMapping(request, ActionListener.wrap(r -> listener.onResponse(null), listener::onFailure));
+        }
+    }
+
+    /**
+     * Fills in the id of every conversation that doesn't have it, over and over until a pass finds none;
+     * conversations created by nodes that hadn't seen the mapping yet turn up in a later pass
+     */
+    private void fill(String index, long filled, ActionListener<Long> listener) {
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().refresh(Requests.refreshRequest(index), ActionListener.wrap(r -> {
+                SearchRequest search = new SearchRequest(index).scroll(SCROLL_KEEP_ALIVE);
+                search.source()
+                    .query(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(ConvoIndexConstants.META_ID_FIELD)))
+                    .fetchSource(false)
+                    .size(BATCH_SIZE)
+                    .sort(FieldSortBuilder.DOC_FIELD_NAME);
+                client.search(search, ActionListener.wrap(
+                    response -> onBatch(index, response, 0, ActionListener.wrap(passFilled -> {
+                        if(passFilled == 0) {
+                            listener.onResponse(filled);
+                        } else {
+                            fill(index, filled + passFilled, listener);
+                        }
+                    }, listener::onFailure)),
+                    listener::onFailure
+                ));
+            }, listener::onFailure));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private void onBatch(String index, SearchResponse response, long filled, ActionListener<Long> listener) {
+        String scrollId = response.getScrollId();
+        SearchHit[] hits = response.getHits().getHits();
+        if(hits.length == 0) {
+            clearScroll(scrollId);
+            listener.onResponse(filled);
+            return;
+        }
+        BulkRequest bulk = new BulkRequest();
+        for(SearchHit hit : hits) {
+            bulk.add(new UpdateRequest(index, hit.getId())
+                .doc(Map.of(ConvoIndexConstants.META_ID_FIELD, hit.getId()))
+                .retryOnConflict(RETRIES_ON_CONFLICT));
+        }
+        long batchFilled = filled + hits.length;
+        ActionListener<Void> next = ActionListener.wrap(v -> {
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.searchScroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE), ActionListener.wrap(
+                    r -> onBatch(index, r, batchFilled, listener),
+                    e -> {
+                        clearScroll(scrollId);
+                        listener.onFailure(e);
+                    }
+                ));
+            }
+        }, e -> {
+            clearScroll(scrollId);
+            listener.onFailure(e);
+        });
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.bulk(bulk, ActionListener.wrap(bulkResponse -> {
+                for(BulkItemResponse item : bulkResponse.getItems()) {
+                    // deleted since the search; nothing to fill in
+                    if(item.isFailed() && !(ExceptionsHelper.unwrapCause(item.getFailure().getCause()) instanceof DocumentMissingException)) {
+                        next.onFailure(new IllegalStateException(
+                            "failed to store conversation ids in [" + index + "]: " + bulkResponse.buildFailureMessage()
+                        ));
+                        return;
+                    }
+                }
+                next.onResponse(null);
+            }, next::onFailure));
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        ClearScrollRequest clear = new ClearScrollRequest();
+        clear.addScrollId(scrollId);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.clearScroll(clear, ActionListener.wrap(r -> {}, e -> log.warn("failed to clear scroll", e)));
+        }
+    }
+}
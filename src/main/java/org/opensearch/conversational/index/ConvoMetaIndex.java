@@ -18,27 +18,46 @@ package org.opensearch.conversational.index;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
-import org.opensearch.OpenSearchWrapperException;
-import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.ActionListener;
-import org.opensearch.action.admin.indices.create.CreateIndexRequest;
-import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.get.GetRequest;
-import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ThreadedActionListener;
 import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.client.Client;
 import org.opensearch.client.Requests;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalSlowLog;
+import org.opensearch.conversational.ConversationalStats;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.DocumentMissingException;
 import org.opensearch.index.query.MatchAllQueryBuilder;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.sort.SortOrder;
 
@@ -48,10 +67,19 @@ import org.opensearch.search.sort.SortOrder;
 public class ConvoMetaIndex {
     private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConvoMetaIndex.class);
 
+    /** Concurrent hits to one conversation conflict on the shard; retrying re-runs the script on the latest version */
+    private final static int HIT_RETRIES_ON_CONFLICT = 5;
+    /** Allocations conflict with each other and with hits; a put waits on its allocation, so it gets more retries */
+    private final static int SEQUENCE_RETRIES_ON_CONFLICT = 20;
+
     private Client client;
     private ClusterService clusterService;
     private final String indexName = ConvoIndexConstants.META_INDEX_NAME;
-
+    private final IndexInitializer indexInitializer;
+    private final RefreshTracker refreshTracker;
+    private final int tailSize;
+    private final ConversationalStats stats;
+    private final ConversationalSlowLog slowLog;
 
     /**
      * Constructor
@@ -59,8 +87,24 @@ public class ConvoMetaIndex {
      * @param clusterService a ClusterService object for managing OS
      */
     public ConvoMetaIndex(Client client, ClusterService clusterService){
+        this(client, clusterService, new ConversationalStats(), new ConversationalSlowLog(clusterService.getSettings()));
+    }
+
+    /**
+     * Constructor
+     * @param client base OpenSearch client to use for dealing with the OS cluster
+     * @param clusterService a ClusterService object for managing OS
+     * @param stats stats to record the latency of index, search and update calls in
+     * @param slowLog slow log to trace operations in
+     */
+    public ConvoMetaIndex(Client client, ClusterService clusterService, ConversationalStats stats, ConversationalSlowLog slowLog){
         this.client = client;
+        this.stats = stats;
+        this.slowLog = slowLog;
         this.clusterService = clusterService;
+        this.indexInitializer = new IndexInitializer(client, clusterService, indexName, ConvoIndexConstants.META_MAPPING, ConvoIndexConstants.META_INDEX_SETTINGS);
+        this.refreshTracker = new RefreshTracker(client, clusterService, indexName);
+        this.tailSize = ConversationalSettings.CONVERSATION_TAIL_SIZE.get(clusterService.getSettings());
     }
 
     /**
@@ -68,42 +112,14 @@ public class ConvoMetaIndex {
      * @param listener listener to wait for this to finish
      */
     public void initConvoMetaIndexIfAbsent(ActionListener<Boolean> listener) {
-        if(!clusterService.state().metadata().hasIndex(indexName)){
-            log.debug("No conversational meta index found. Adding it");
-            CreateIndexRequest request = Requests.createIndexRequest(indexName).mapping(ConvoIndexConstants.META_MAPPING);
-            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-                ActionListener<Boolean> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
-                ActionListener<CreateIndexResponse> al = ActionListener.wrap(r -> {
-                    if(r.equals(new CreateIndexResponse(true, true, indexName))) {
-                        log.info("created index [" + indexName + "]");
-                        internalListener.onResponse(true);
-                    } else {
-                        internalListener.onResponse(false);
-                    }
-                }, e-> {
-                    if(e instanceof ResourceAlreadyExistsException ||
-                        (e instanceof OpenSearchWrapperException &&
-                        e.getCause() instanceof ResourceAlreadyExistsException)) {
-                        internalListener.onResponse(true);
-                    } else {
-                        log.error("failed to create index [" + indexName + "]");
-                        internalListener.onFailure(e);
-                    }
-                });
-                client.admin().indices().create(request, al);
-            } catch (Exception e) {
-                if(e instanceof ResourceAlreadyExistsException ||
-                    (e instanceof OpenSearchWrapperException &&
-                    e.getCause() instanceof ResourceAlreadyExistsException)) {
-                    listener.onResponse(true);
-                } else {
-                    log.error("failed to create index [" + indexName + "]");
-                    listener.onFailure(e);
-                }
-            }
-        } else {
-            listener.onResponse(true);
-        }
+        indexInitializer.initIfAbsent(listener);
+    }
+
+    /**
+     * @return the initializer that creates this index
+     */
+    public IndexInitializer getIndexInitializer() {
+        return indexInitializer;
     }
 
     /**
@@ -112,18 +128,42 @@ public class ConvoMetaIndex {
      * @param listener listener to wait for this to finish
      */
     public void addNewConversation(String name, ActionListener<String> listener) {
-        initConvoMetaIndexIfAbsent(ActionListener.wrap(r -> {
+        addNewConversation(name, null, listener);
+    }
+
+    /**
+     * Adds a new conversation with the specified name to the index
+     * @param name user-specified name of the conversation to be added
+     * @param retention how long to keep the conversation after its last interaction, or null for the cluster default
+     * @param listener listener to wait for this to finish
+     */
+    public void addNewConversation(String name, TimeValue retention, ActionListener<String> listener) {
+        indexInitializer.awaitReady(ActionListener.wrap(r -> {
             if(r) {
-                IndexRequest request = Requests.indexRequest(indexName).source(
-                    ConvoIndexConstants.META_CREATED_FIELD, Instant.now(),
-                    ConvoIndexConstants.META_ENDED_FIELD, Instant.now(),
-                    ConvoIndexConstants.META_LENGTH_FIELD, 0,
-                    ConvoIndexConstants.META_NAME_FIELD, name
-                );
+                Instant now = Instant.now();
+                Map<String, Object> source = new HashMap<>();
+                source.put(ConvoIndexConstants.META_CREATED_FIELD, now);
+                source.put(ConvoIndexConstants.META_ENDED_FIELD, now);
+                source.put(ConvoIndexConstants.META_LENGTH_FIELD, 0);
+                source.put(ConvoIndexConstants.META_NAME_FIELD, name);
+                if(retention != null) {
+                    source.put(ConvoIndexConstants.META_RETENTION_FIELD, retention.millis());
+                    source.put(ConvoIndexConstants.META_EXPIRES_FIELD, now.plusMillis(retention.millis()));
+                }
+                IndexRequest request = Requests.indexRequest(indexName);
+                if(indexInitializer.isIdMapped()) {
+                    // stored with doc values for listing to sort on; until the index maps it, the migration fills it in
+                    String id = UUIDs.base64UUID();
+                    source.put(ConvoIndexConstants.META_ID_FIELD, id);
+                    request.id(id).create(true);
+                }
+                request.source(source);
+                ConversationalSlowLog.Trace trace = slowLog.start(Operation.CREATE_CONVERSATION, null);
                 try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-                    ActionListener<String> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+                    ActionListener<String> internalListener = trace.whenDone(ActionListener.runBefore(listener, () -> threadContext.restore()));
                     ActionListener<IndexResponse> al = ActionListener.wrap(resp -> {
                         if(resp.status() == RestStatus.CREATED) {
+                            refreshTracker.markWritten(resp.getId());
                             internalListener.onResponse(resp.getId());
                         } else {
                             internalListener.onFailure(new IOException("failed to create conversation"));
@@ -132,7 +172,7 @@ public class ConvoMetaIndex {
                         log.error("failed to create conversation", e);
                         internalListener.onFailure(e);
                     });
-                    client.index(request, al);
+                    client.index(request, stats.time(Operation.CREATE_CONVERSATION, Phase.INDEX, trace.phase(Phase.INDEX, al)));
                 } catch (Exception e) {
                     log.error(e.toString());
                     listener.onFailure(e);
@@ -161,34 +201,64 @@ public class ConvoMetaIndex {
      * @param listener gets the list of conversation metadata objects in the index
      */
     public void listConversations(int from, int maxResults, ActionListener<List<ConvoMeta>> listener) {
-        if(!clusterService.state().metadata().hasIndex(indexName)){
-            listener.onResponse(List.of());
+        SearchRequest request = listConversationsRequest(maxResults);
+        request.source().from(from);
+        searchConversations(request, listener);
+    }
+
+    /**
+     * list size conversations in the index, using search_after
+     * @param after cursor pointing past the last conversation of the previous page, or null for the first page
+     * @param maxResults how many conversations to list
+     * @param listener gets the list of conversation metadata objects in the index
+     */
+    public void listConversations(PageCursor after, int maxResults, ActionListener<List<ConvoMeta>> listener) {
+        SearchRequest request = listConversationsRequest(maxResults);
+        if(after != null) {
+            request.source().searchAfter(after.getSortValues());
         }
+        searchConversations(request, listener);
+    }
+
+    private SearchRequest listConversationsRequest(int maxResults) {
         SearchRequest request = Requests.searchRequest(indexName);
         MatchAllQueryBuilder queryBuilder = new MatchAllQueryBuilder();
         request.source().query(queryBuilder);
-        request.source().from(from).size(maxResults);
+        request.source().size(maxResults);
         request.source().sort(ConvoIndexConstants.META_ENDED_FIELD, SortOrder.DESC);
+        request.source().sort(indexInitializer.isIdFilled() ? ConvoIndexConstants.META_ID_FIELD : ConvoIndexConstants.ID_SORT_FIELD, SortOrder.ASC);
+        return request;
+    }
+
+    private void searchConversations(SearchRequest request, ActionListener<List<ConvoMeta>> listener) {
+        if(!indexInitializer.indexExists()){
+            listener.onResponse(List.of());
+            return;
+        }
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.LIST_CONVERSATIONS, null, request.source().from(), request.source().size());
         try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-            ActionListener<List<ConvoMeta>> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            ActionListener<List<ConvoMeta>> internalListener = trace.whenDone(ActionListener.runBefore(listener, () -> threadContext.restore()));
             ActionListener<SearchResponse> al = ActionListener.wrap(r -> {
+                long hydrateStart = System.nanoTime();
                 List<ConvoMeta> result = new LinkedList<ConvoMeta>();
                 for(SearchHit hit : r.getHits()) {
                     result.add(ConvoMeta.fromSearchHit(hit));
                 }
+                trace.record(ConversationalSlowLog.HYDRATE, System.nanoTime() - hydrateStart);
+                trace.hits(result.size());
                 internalListener.onResponse(result);
             }, e -> {
                 log.error("failed to list conversations", e);
                 internalListener.onFailure(e);
             });
-            client.admin().indices().refresh(Requests.refreshRequest(indexName), ActionListener.wrap(
+            ActionListener<SearchResponse> forked = onConversationalPool(al);
+            refreshTracker.ensureVisible(null, stats.time(Operation.LIST_CONVERSATIONS, Phase.REFRESH, trace.phase(Phase.REFRESH, ActionListener.wrap(
                 r -> {
-                    client.search(request, al);
+                    client.search(request, stats.time(Operation.LIST_CONVERSATIONS, Phase.SEARCH, trace.phase(Phase.SEARCH, forked)));
                 }, e -> {
-                    log.error("failed during refresh", e);
                     internalListener.onFailure(e);
                 }
-            ));
+            ))));
         } catch (Exception e) {
             log.error("failed during list conversations", e);
             listener.onFailure(e);
@@ -205,35 +275,271 @@ public class ConvoMetaIndex {
     }
 
     /**
-     * Update a conversation's metadata with a new hit
+     * Read a conversation's metadata and its most recent interactions with one realtime get.
+     * Doesn't search or refresh; the get sees every write the shard has acked
+     * @param id id of the conversation
+     * @param maxResults max number of recent interactions to return
+     * @param listener gets the conversation's recent context, or a ResourceNotFoundException if there's no such conversation
+     */
+    public void getConversationContext(String id, int maxResults, ActionListener<ConvoContext> listener) {
+        if(!indexInitializer.indexExists()) {
+            listener.onFailure(new ResourceNotFoundException("conversation [" + id + "] not found"));
+            return;
+        }
+        GetRequest request = Requests.getRequest(indexName).id(id).realtime(true);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<ConvoContext> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            client.get(request, onConversationalPool(ActionListener.wrap(response -> {
+                if(!response.isExists()) {
+                    internalListener.onFailure(new ResourceNotFoundException("conversation [" + id + "] not found"));
+                } else {
+                    internalListener.onResponse(ConvoContext.fromMap(id, response.getSourceAsMap(), maxResults));
+                }
+            }, e -> {
+                log.error("failed to get conversation context", e);
+                internalListener.onFailure(e);
+            })));
+        } catch (Exception e) {
+            log.error("failed during get conversation context", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Read the metadata of conversations by id with one realtime multi-get; no search and no refresh
+     * @param ids ids of the conversations
+     * @param listener gets the conversations that exist, in the order of ids
+     */
+    public void getConversations(List<String> ids, ActionListener<List<ConvoMeta>> listener) {
+        if(ids.isEmpty() || !indexInitializer.indexExists()) {
+            listener.onResponse(List.of());
+            return;
+        }
+        MultiGetRequest request = new MultiGetRequest().realtime(true);
+        for(String id : ids) {
+            request.add(indexName, id);
+        }
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<List<ConvoMeta>> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            client.multiGet(request, onConversationalPool(ActionListener.wrap(response -> {
+                List<ConvoMeta> result = new ArrayList<>();
+                for(MultiGetItemResponse item : response.getResponses()) {
+                    if(item.isFailed()) {
+                        internalListener.onFailure(item.getFailure().getFailure());
+                        return;
+                    }
+                    if(item.getResponse().isExists()) {
+                        result.add(ConvoMeta.fromMap(item.getId(), item.getResponse().getSourceAsMap()));
+                    }
+                }
+                internalListener.onResponse(result);
+            }, e -> {
+                log.error("failed to get conversations", e);
+                internalListener.onFailure(e);
+            })));
+        } catch (Exception e) {
+            log.error("failed during get conversations", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * @return max number of recent interactions kept in each conversation's metadata
+     */
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * Update a conversation's metadata with a new hit.
+     * Applied atomically on the shard by a script, so concurrent hits don't lose increments
      * @param id id of the conversation to touch
      * @param hitTime when this conversation got toushed
      * @param listener gets whether the operation was successful
      */
     public void hitConversation(String id, Instant hitTime, ActionListener<Boolean> listener) {
-        GetRequest getRequest = Requests.getRequest(indexName).id(id);
+        hitConversation(id, new ConvoHits(tailSize).add(hitTime, 1), listener);
+    }
+
+    /**
+     * Apply hits to a conversation's metadata, merging their interactions into its tail
+     * @param id id of the conversation to touch
+     * @param hits the hits to apply
+     * @param listener gets whether the operation was successful
+     */
+    public void hitConversation(String id, ConvoHits hits, ActionListener<Boolean> listener) {
+        UpdateRequest update = hitUpdateRequest(id, hits);
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.HIT_CONVERSATION, id);
         try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-            ActionListener<Boolean> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
-            ActionListener<GetResponse> al = ActionListener.wrap(getResponse -> {
-                if(!(getResponse.isExists() && getResponse.getId().equals(id))){
+            ActionListener<Boolean> internalListener = trace.whenDone(ActionListener.runBefore(listener, () -> threadContext.restore()));
+            client.update(update, timeHit(trace, ActionListener.wrap(response -> {
+                refreshTracker.markWritten(id);
+                internalListener.onResponse(true);
+            }, e -> {
+                if(ExceptionsHelper.unwrapCause(e) instanceof DocumentMissingException) {
                     internalListener.onResponse(false);
-                }
-                ConvoMeta convo = ConvoMeta.fromMap(id, getResponse.getSourceAsMap());
-                UpdateRequest update = (new UpdateRequest(indexName, id)).doc(convo.hit(hitTime).toIndexRequest(id));
-                client.update(update, ActionListener.wrap(response -> {
-                    internalListener.onResponse(true);
-                }, e -> {
+                } else {
                     log.error("failure touching conversation", e);
                     internalListener.onFailure(e);
-                }));
+                }
+            })));
+        } catch (Exception e) {
+            log.error("failed during hit conversation", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Apply hits to many conversations in one bulk request
+     * @param hits map of conversation id to the hits to apply to it
+     * @param listener gets the bulk response; items for conversations that don't exist fail with a document missing error
+     */
+    public void hitConversations(Map<String, ConvoHits> hits, ActionListener<BulkResponse> listener) {
+        BulkRequest bulk = new BulkRequest();
+        for(Map.Entry<String, ConvoHits> hit : hits.entrySet()) {
+            bulk.add(hitUpdateRequest(hit.getKey(), hit.getValue()));
+        }
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.HIT_CONVERSATION, null);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<BulkResponse> internalListener = trace.whenDone(ActionListener.runBefore(listener, () -> threadContext.restore()));
+            client.bulk(bulk, timeHit(trace, ActionListener.wrap(response -> {
+                for(BulkItemResponse item : response.getItems()) {
+                    if(!item.isFailed()) {
+                        refreshTracker.markWritten(item.getId());
+                    }
+                }
+                trace.hits(response.getItems().length);
+                internalListener.onResponse(response);
             }, e -> {
-                log.error("failure touching conversation", e);
+                log.error("failure touching conversations", e);
                 internalListener.onFailure(e);
-            });
-            client.get(getRequest, al);
+            })));
         } catch (Exception e) {
-            log.error("failed during hit conversation", e);
+            log.error("failed during hit conversations", e);
             listener.onFailure(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Allocate sequence numbers to new interactions of a conversation, and count them in it.
+     * Applied atomically on the shard by one script, so concurrent allocations never hand out the same number,
+     * and the conversation's length and last interaction time move with its last sequence number.
+     * Numbers are monotonic within the conversation, not dense: a number whose interaction is never written
+     * (a failed write, a keyed put that lost a race to a retry of itself) is skipped for good
+     * @param id id of the conversation
+     * @param hits how many interactions to number, and the time of the newest of them
+     * @param trace slow log trace of the put the numbers are for, to time the update in
+     * @param listener gets the first of the allocated numbers, the rest of this allocation follow it one by one;
+     *      or null if the conversation has no metadata to allocate from
+     */
+    public void allocateSequence(String id, ConvoHits hits, ConversationalSlowLog.Trace trace, ActionListener<Long> listener) {
+        UpdateRequest update = allocateUpdateRequest(id, hits);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<Long> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            client.update(update, stats.time(Operation.PUT_INTERACTION, Phase.UPDATE, trace.phase(Phase.UPDATE, ActionListener.wrap(response -> {
+                refreshTracker.markWritten(id);
+                internalListener.onResponse(firstAllocated(response, hits.getCount()));
+            }, e -> {
+                Throwable cause = ExceptionsHelper.unwrapCause(e);
+                if(cause instanceof DocumentMissingException || cause instanceof IndexNotFoundException) {
+                    internalListener.onResponse(null);
+                } else {
+                    log.error("failure allocating sequence numbers", e);
+                    internalListener.onFailure(e);
+                }
+            }))));
+        } catch (Exception e) {
+            log.error("failed during allocate sequence numbers", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Allocate sequence numbers to new interactions of many conversations, and count them in those, in one bulk request
+     * @param hits map of conversation id to how many interactions to number in it, and the time of the newest of them
+     * @param listener gets a map of conversation id to the first of its allocated numbers.
+     *      Conversations without metadata to allocate from are left out
+     */
+    public void allocateSequences(Map<String, ConvoHits> hits, ActionListener<Map<String, Long>> listener) {
+        BulkRequest bulk = new BulkRequest();
+        for(Map.Entry<String, ConvoHits> hit : hits.entrySet()) {
+            bulk.add(allocateUpdateRequest(hit.getKey(), hit.getValue()));
+        }
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<Map<String, Long>> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            client.bulk(bulk, stats.time(Operation.BULK_PUT_INTERACTIONS, Phase.UPDATE, ActionListener.wrap(response -> {
+                Map<String, Long> firsts = new HashMap<>();
+                for(BulkItemResponse item : response.getItems()) {
+                    if(!item.isFailed()) {
+                        refreshTracker.markWritten(item.getId());
+                        firsts.put(item.getId(), firstAllocated(item.getResponse(), hits.get(item.getId()).getCount()));
+                    } else if(!(ExceptionsHelper.unwrapCause(item.getFailure().getCause()) instanceof DocumentMissingException)) {
+                        log.error("failure allocating sequence numbers for conversation [" + item.getId() + "]", item.getFailure().getCause());
+                    }
+                }
+                internalListener.onResponse(firsts);
+            }, e -> {
+                if(ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    internalListener.onResponse(Map.of());
+                } else {
+                    log.error("failure allocating sequence numbers", e);
+                    internalListener.onFailure(e);
+                }
+            })));
+        } catch (Exception e) {
+            log.error("failed during allocate sequence numbers", e);
+            listener.onFailure(e);
+        }
+    }
+
+    private UpdateRequest allocateUpdateRequest(String id, ConvoHits hits) {
+        Script script = new Script(
+            ScriptType.INLINE,
+            ConvoMetaScriptEngine.NAME,
+            ConvoMetaScriptEngine.ALLOCATE_SEQUENCE,
+            Map.of(ConvoMetaScriptEngine.PARAM_COUNT, hits.getCount(), ConvoMetaScriptEngine.PARAM_TIME, hits.getLastHit().toString())
+        );
+        // the updated counter comes back with the response, so the numbers it hands out are known without another get
+        return new UpdateRequest(indexName, id)
+            .script(script)
+            .retryOnConflict(SEQUENCE_RETRIES_ON_CONFLICT)
+            .fetchSource(new String[] { ConvoIndexConstants.META_SEQUENCE_FIELD }, null);
+    }
+
+    private static Long firstAllocated(DocWriteResponse response, int count) {
+        Map<String, Object> source = ((UpdateResponse) response).getGetResult().sourceAsMap();
+        long last = ((Number) source.get(ConvoIndexConstants.META_SEQUENCE_FIELD)).longValue();
+        return last - count + 1;
+    }
+
+    /**
+     * Build the scripted update that applies hits to a conversation
+     * @param id id of the conversation to touch
+     * @param hits the hits to apply
+     * @return the update request
+     */
+    protected UpdateRequest hitUpdateRequest(String id, ConvoHits hits) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(ConvoMetaScriptEngine.PARAM_TIME, hits.getLastHit().toString());
+        params.put(ConvoMetaScriptEngine.PARAM_COUNT, hits.getCount());
+        if(!hits.getTail().isEmpty()) {
+            params.put(ConvoMetaScriptEngine.PARAM_TAIL, hits.getTailEntries());
+            params.put(ConvoMetaScriptEngine.PARAM_TAIL_SIZE, hits.getTailSize());
+        }
+        Script script = new Script(ScriptType.INLINE, ConvoMetaScriptEngine.NAME, ConvoMetaScriptEngine.HIT_CONVERSATION, params);
+        return new UpdateRequest(indexName, id).script(script).retryOnConflict(HIT_RETRIES_ON_CONFLICT);
+    }
+
+    /**
+     * Parsing conversations out of responses happens on the plugin's thread pool, not on the
+     * transport thread the response lands on
+     */
+    private <T> ActionListener<T> onConversationalPool(ActionListener<T> listener) {
+        return new ThreadedActionListener<>(log, client.threadPool(), ConversationalSettings.THREAD_POOL_NAME, listener, true);
+    }
+
+    /** A hit is one scripted update (or bulk of them); its latency is the operation's and the phase's both */
+    private <T> ActionListener<T> timeHit(ConversationalSlowLog.Trace trace, ActionListener<T> listener) {
+        return stats.time(Operation.HIT_CONVERSATION, stats.time(Operation.HIT_CONVERSATION, Phase.UPDATE, trace.phase(Phase.UPDATE, listener)));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensearch.script.ScriptContext;
+import org.opensearch.script.ScriptEngine;
+import org.opensearch.script.UpdateScript;
+
+/**
+ * Native script engine for updates to conversational metadata documents.
+ * Lets the shard apply a hit to a conversation atomically, in one round trip,
+ * without depending on a scripting language module being installed.
+ */
+public class ConvoMetaScriptEngine implements ScriptEngine {
+    /** Language name of this engine */
+    public final static String NAME = "conversational";
+    /** Source of the script that applies a hit to a conversation */
+    public final static String HIT_CONVERSATION = "hit_conversation";
+    /** Source of the script that allocates sequence numbers to new interactions of a conversation */
+    public final static String ALLOCATE_SEQUENCE = "allocate_sequence";
+    /** Hit and allocate script param: ISO-8601 time of the newest interaction */
+    public final static String PARAM_TIME = "time";
+    /** Hit script param: number of interactions to add to the conversation's length. Allocate script param: number of sequence numbers to allocate */
+    public final static String PARAM_COUNT = "count";
+    /** Hit script param: entries of the newest interactions to merge into the conversation's tail */
+    public final static String PARAM_TAIL = "tail";
+    /** Hit script param: max number of entries to keep in the conversation's tail */
+    public final static String PARAM_TAIL_SIZE = "tail_size";
+
+    @Override
+    public String getType() {
+        return NAME;
+    }
+
+    @Override
+    public <FactoryType> FactoryType compile(String name, String code, ScriptContext<FactoryType> context, Map<String, String> params) {
+        if(!context.equals(UpdateScript.CONTEXT)) {
+            throw new IllegalArgumentException(getType() + " scripts cannot be used for context [" + context.name + "]");
+        }
+        UpdateScript.Factory factory;
+        if(HIT_CONVERSATION.equals(code)) {
+            factory = HitConversationScript::new;
+        } else if(ALLOCATE_SEQUENCE.equals(code)) {
+            factory = AllocateSequenceScript::new;
+        } else {
+            throw new IllegalArgumentException("unknown " + getType() + " script [" + code + "]");
+        }
+        return context.factoryClazz.cast(factory);
+    }
+
+    @Override
+    public Set<ScriptContext<?>> getSupportedContexts() {
+        return Set.of(UpdateScript.CONTEXT);
+    }
+
+    /**
+     * Add hits to a conversation's length and move its last interaction time forward to the hit time,
+     * pushing back its expiry if it has a retention of its own
+     */
+    private static void applyHits(Map<String, Object> source, int count, String hitTime) {
+        Number length = (Number) source.get(ConvoIndexConstants.META_LENGTH_FIELD);
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, (length == null ? 0 : length.intValue()) + count);
+
+        Object lastHit = source.get(ConvoIndexConstants.META_ENDED_FIELD);
+        if(lastHit == null || Instant.parse(hitTime).isAfter(toInstant(lastHit))) {
+            source.put(ConvoIndexConstants.META_ENDED_FIELD, hitTime);
+            Number retention = (Number) source.get(ConvoIndexConstants.META_RETENTION_FIELD);
+            if(retention != null) {
+                source.put(ConvoIndexConstants.META_EXPIRES_FIELD, Instant.parse(hitTime).plusMillis(retention.longValue()).toString());
+            }
+        }
+    }
+
+    private static Instant toInstant(Object time) {
+        if(time instanceof Number) {
+            return Instant.ofEpochMilli(((Number) time).longValue());
+        }
+        return Instant.parse(time.toString());
+    }
+
+    /**
+     * Adds `count` to the conversation's length and moves its last interaction time forward to `time`,
+     * pushing back its expiry if it has a retention of its own. Merges `tail` into the conversation's tail,
+     * keeping the newest `tail_size` entries
+     */
+    private static class HitConversationScript extends UpdateScript {
+
+        HitConversationScript(Map<String, Object> params, Map<String, Object> ctx) {
+            super(params, ctx);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void execute() {
+            Map<String, Object> source = (Map<String, Object>) getCtx().get("_source");
+            Map<String, Object> params = getParams();
+            int count = params.containsKey(PARAM_COUNT) ? ((Number) params.get(PARAM_COUNT)).intValue() : 1;
+            applyHits(source, count, (String) params.get(PARAM_TIME));
+
+            List<Map<String, Object>> newEntries = (List<Map<String, Object>>) params.get(PARAM_TAIL);
+            if(newEntries != null && !newEntries.isEmpty()) {
+                int tailSize = ((Number) params.get(PARAM_TAIL_SIZE)).intValue();
+                source.put(ConvoIndexConstants.META_TAIL_FIELD, mergeTail(source.get(ConvoIndexConstants.META_TAIL_FIELD), newEntries, tailSize));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Map<String, Object>> mergeTail(Object oldTail, List<Map<String, Object>> newEntries, int tailSize) {
+            Map<Object, Map<String, Object>> byId = new HashMap<>();
+            if(oldTail instanceof List) {
+                for(Map<String, Object> entry : (List<Map<String, Object>>) oldTail) {
+                    byId.put(entry.get(ConvoIndexConstants.INTERACTIONS_ID_FIELD), entry);
+                }
+            }
+            // a retried update may carry entries the tail already has
+            for(Map<String, Object> entry : newEntries) {
+                byId.put(entry.get(ConvoIndexConstants.INTERACTIONS_ID_FIELD), entry);
+            }
+            List<Map<String, Object>> merged = new ArrayList<>(byId.values());
+            merged.sort(TAIL_ORDER);
+            return new ArrayList<>(merged.subList(0, Math.min(tailSize, merged.size())));
+        }
+
+        /** Same order as {@link Interaction#NEWEST_FIRST} */
+        private final static Comparator<Map<String, Object>> TAIL_ORDER = Comparator
+            .comparing((Map<String, Object> entry) -> toSequence(entry.get(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD)),
+                Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+            .thenComparing(entry -> toInstant(entry.get(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD)))
+            .reversed()
+            .thenComparing(entry -> (String) entry.get(ConvoIndexConstants.INTERACTIONS_ID_FIELD));
+
+        private static Long toSequence(Object sequence) {
+            return sequence == null ? null : ((Number) sequence).longValue();
+        }
+    }
+
+    /**
+     * Moves the conversation's last allocated sequence number forward by `count`. The interactions that asked
+     * for them get the numbers after the previous value, up to the new one. Counts them in the conversation's
+     * length and moves its last interaction time forward to `time` in the same update, so the length and the
+     * sequence numbers move together
+     */
+    private static class AllocateSequenceScript extends UpdateScript {
+
+        AllocateSequenceScript(Map<String, Object> params, Map<String, Object> ctx) {
+            super(params, ctx);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void execute() {
+            Map<String, Object> source = (Map<String, Object>) getCtx().get("_source");
+            Map<String, Object> params = getParams();
+            int count = ((Number) params.get(PARAM_COUNT)).intValue();
+            Number last = (Number) source.get(ConvoIndexConstants.META_SEQUENCE_FIELD);
+            source.put(ConvoIndexConstants.META_SEQUENCE_FIELD, (last == null ? 0L : last.longValue()) + count);
+            applyHits(source, count, (String) params.get(PARAM_TIME));
+        }
+    }
+}
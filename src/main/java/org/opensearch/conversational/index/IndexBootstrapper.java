@@ -0,0 +1,81 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.gateway.GatewayService;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Creates the plugin's indices, with their mappings and settings, as soon as this node is the elected
+ * cluster manager of a recovered cluster, so the first write after a deploy doesn't pay for index creation.
+ * Also runs any migrations of existing indices to the current layout, one at a time.
+ */
+public class IndexBootstrapper implements ClusterStateListener {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(IndexBootstrapper.class);
+
+    private final ThreadPool threadPool;
+    private final List<IndexInitializer> initializers;
+    private final List<IndexMigration> migrations;
+    private final AtomicBoolean migrating = new AtomicBoolean(false);
+
+    /**
+     * Constructor
+     * @param threadPool thread pool to create the indices from
+     * @param initializers initializers of the indices to bootstrap
+     * @param migrations migrations of existing indices, in the order to run them
+     */
+    public IndexBootstrapper(ThreadPool threadPool, List<IndexInitializer> initializers, List<IndexMigration> migrations) {
+        this.threadPool = threadPool;
+        this.initializers = initializers;
+        this.migrations = migrations;
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if(!event.localNodeClusterManager() || event.state().blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK)) {
+            return;
+        }
+        for(IndexInitializer initializer : initializers) {
+            // the name may be an alias
+            if(!event.state().metadata().getIndicesLookup().containsKey(initializer.getIndexName())) {
+                // initIfAbsent dedupes with any creation already in flight
+                threadPool.generic().execute(() -> initializer.initIfAbsent(ActionListener.wrap(
+                    created -> {}, e -> log.warn("failed to bootstrap index [" + initializer.getIndexName() + "], will retry", e)
+                )));
+            }
+        }
+        for(IndexMigration migration : migrations) {
+            if(migration.isNeeded()) {
+                if(migrating.compareAndSet(false, true)) {
+                    log.info("running index migration [" + migration.name() + "]");
+                    threadPool.generic().execute(() -> migration.run(ActionListener.runAfter(ActionListener.wrap(
+                        r -> log.info("finished index migration [" + migration.name() + "]"),
+                        e -> log.warn("index migration [" + migration.name() + "] failed, will retry", e)
+                    ), () -> migrating.set(false))));
+                }
+                // later migrations wait for this one
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.opensearch.OpenSearchWrapperException;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.client.Requests;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.index.IndexSortConfig;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Knows whether one of this plugin's indices exists and creates it when it doesn't.
+ * Existence is tracked from cluster state updates, so checking it doesn't touch cluster state,
+ * and concurrent creation attempts on this node share a single create index request.
+ * The cluster manager creates the index eagerly (see {@link IndexBootstrapper}); writes on
+ * other nodes wait for it to show up, and only create it themselves if it takes too long.
+ */
+public class IndexInitializer implements ClusterStateListener {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(IndexInitializer.class);
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final String indexName;
+    private final Supplier<CreateIndexRequest> createRequest;
+    private final TimeValue readyTimeout;
+    /** null until this node has looked at cluster state */
+    private final AtomicReference<Boolean> exists = new AtomicReference<>(null);
+    private volatile boolean routed = false;
+    private volatile boolean sorted = false;
+    private volatile boolean idMapped = false;
+    private volatile boolean idFilled = false;
+    private volatile boolean concrete = false;
+    private volatile List<String> indices = List.of();
+    private List<ActionListener<Boolean>> pendingCreate = null;
+    private final List<ActionListener<Boolean>> readyWaiters = new ArrayList<>();
+    private final List<ActionListener<Void>> changeWaiters = new ArrayList<>();
+
+    /**
+     * Constructor
+     * @param client client used to create the index
+     * @param clusterService cluster service to follow cluster state updates from
+     * @param indexName the index to initialize
+     * @param mappings mappings to create the index with
+     * @param indexSettings settings to create the index with
+     */
+    public IndexInitializer(Client client, ClusterService clusterService, String indexName, String mappings, Settings indexSettings) {
+        this(client, clusterService, indexName, () -> Requests.createIndexRequest(indexName).mapping(mappings).settings(indexSettings));
+    }
+
+    /**
+     * Constructor, for indices that aren't created under their own name (e.g. an alias over a first generation)
+     * @param client client used to create the index
+     * @param clusterService cluster service to follow cluster state updates from
+     * @param indexName the name (index or alias) to initialize
+     * @param createRequest makes the request that creates whatever stands behind that name
+     */
+    public IndexInitializer(Client client, ClusterService clusterService, String indexName, Supplier<CreateIndexRequest> createRequest) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.indexName = indexName;
+        this.createRequest = createRequest;
+        this.readyTimeout = ConversationalSettings.INDEX_BOOTSTRAP_TIMEOUT.get(clusterService.getSettings());
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if(event.metadataChanged() || exists.get() == null) {
+            boolean hasIndex = update(event.state());
+            if(hasIndex) {
+                notifyReady();
+            }
+            if(event.metadataChanged()) {
+                notifyChanged();
+            }
+        }
+    }
+
+    /**
+     * Reads what this tracks out of a cluster state
+     * @return whether the index exists in that state
+     */
+    private boolean update(ClusterState state) {
+        IndexAbstraction abstraction = state.metadata().getIndicesLookup().get(indexName);
+        routed = abstraction != null && abstraction.getIndices().stream().allMatch(IndexInitializer::isRouted);
+        sorted = abstraction != null && abstraction.getIndices().stream().allMatch(IndexInitializer::isSorted);
+        idMapped = abstraction != null && abstraction.getIndices().stream().allMatch(IndexInitializer::isIdMapped);
+        idFilled = abstraction != null && abstraction.getIndices().stream().allMatch(IndexInitializer::isIdFilled);
+        concrete = abstraction != null && abstraction.getType() == IndexAbstraction.Type.CONCRETE_INDEX;
+        indices = abstraction == null ? List.of() : newestFirst(abstraction);
+        exists.set(abstraction != null);
+        return abstraction != null;
+    }
+
+    /**
+     * @param indexMetadata an index
+     * @return whether the index's mapping says its documents are routed by conversation
+     */
+    static boolean isRouted(IndexMetadata indexMetadata) {
+        MappingMetadata mapping = indexMetadata.mapping();
+        if(mapping == null) {
+            return false;
+        }
+        Object meta = mapping.sourceAsMap().get("_meta");
+        return meta instanceof Map && ((Map<?, ?>) meta).containsKey(ConvoIndexConstants.META_ROUTING_KEY);
+    }
+
+    /**
+     * @param indexMetadata an index
+     * @return whether the index's mapping has a field for conversation metadata documents to store their id in
+     */
+    static boolean isIdMapped(IndexMetadata indexMetadata) {
+        MappingMetadata mapping = indexMetadata.mapping();
+        if(mapping == null) {
+            return false;
+        }
+        Object properties = mapping.sourceAsMap().get("properties");
+        return properties instanceof Map && ((Map<?, ?>) properties).containsKey(ConvoIndexConstants.META_ID_FIELD);
+    }
+
+    /**
+     * @param indexMetadata an index
+     * @return whether the index's mapping says every document stores its id in a field
+     */
+    static boolean isIdFilled(IndexMetadata indexMetadata) {
+        MappingMetadata mapping = indexMetadata.mapping();
+        if(mapping == null) {
+            return false;
+        }
+        Object meta = mapping.sourceAsMap().get("_meta");
+        return meta instanceof Map && ((Map<?, ?>) meta).containsKey(ConvoIndexConstants.META_ID_KEY);
+    }
+
+    /**
+     * @return whether every index behind this name has the field documents store their id in,
+     *     so new documents can fill it in without it getting mapped dynamically
+     */
+    public boolean isIdMapped() {
+        indexExists();
+        return idMapped;
+    }
+
+    /**
+     * @return whether every document behind this name stores its id in a field with doc values,
+     *     so sorts can break ties on that field rather than on _id, which needs fielddata
+     */
+    public boolean isIdFilled() {
+        indexExists();
+        return idFilled;
+    }
+
+    /**
+     * @param indexMetadata an index
+     * @return whether the index is sorted by the current interactions index sort. Generations created with an
+     *     earlier sort don't count, since searches in the current order can't terminate early on them
+     */
+    static boolean isSorted(IndexMetadata indexMetadata) {
+        Settings settings = indexMetadata.getSettings();
+        Settings expected = ConvoIndexConstants.INTERACTIONS_INDEX_SETTINGS;
+        return IndexSortConfig.INDEX_SORT_FIELD_SETTING.get(settings).equals(IndexSortConfig.INDEX_SORT_FIELD_SETTING.get(expected))
+            && IndexSortConfig.INDEX_SORT_ORDER_SETTING.get(settings).equals(IndexSortConfig.INDEX_SORT_ORDER_SETTING.get(expected));
+    }
+
+    /**
+     * @return whether every index behind this name is sorted by the index sort this plugin creates
+     *     its indices with, so searches in that order can terminate early
+     */
+    public boolean isSorted() {
+        indexExists();
+        return sorted;
+    }
+
+    private static List<String> newestFirst(IndexAbstraction abstraction) {
+        List<String> names = new ArrayList<>();
+        for(IndexMetadata indexMetadata : abstraction.getIndices()) {
+            names.add(indexMetadata.getIndex().getName());
+        }
+        // generation names are zero padded, so they sort by age
+        names.sort(Comparator.reverseOrder());
+        if(abstraction.getWriteIndex() != null) {
+            String writeIndex = abstraction.getWriteIndex().getIndex().getName();
+            names.remove(writeIndex);
+            names.add(0, writeIndex);
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * @return the concrete indices behind this name, the one taking writes first and then newest to oldest
+     */
+    public List<String> getIndices() {
+        indexExists();
+        return indices;
+    }
+
+    /**
+     * @return whether this name is a concrete index rather than an alias
+     */
+    public boolean isConcreteIndex() {
+        indexExists();
+        return concrete;
+    }
+
+    /**
+     * Waits for the next change to cluster metadata, e.g. to retry a write that raced with a migration
+     * @param timeout how long to wait at most; the listener is called either way
+     * @param listener gets called once metadata changed or the timeout passed
+     */
+    public void awaitChange(TimeValue timeout, ActionListener<Void> listener) {
+        ActionListener<Void> waiter = ContextPreservingActionListener.wrapPreservingContext(listener, client.threadPool().getThreadContext());
+        synchronized(this) {
+            changeWaiters.add(waiter);
+        }
+        client.threadPool().schedule(() -> {
+            boolean stillWaiting;
+            synchronized(this) {
+                stillWaiting = changeWaiters.remove(waiter);
+            }
+            if(stillWaiting) {
+                waiter.onResponse(null);
+            }
+        }, timeout, ThreadPool.Names.GENERIC);
+    }
+
+    /**
+     * @return whether every index behind this name routes its documents by conversation,
+     *     so a conversation's documents can be read from a single shard
+     */
+    public boolean isRouted() {
+        indexExists();
+        return routed;
+    }
+
+    /**
+     * @return the name of the index this initializes
+     */
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * @return whether the index exists, as of the latest cluster state applied on this node
+     */
+    public boolean indexExists() {
+        Boolean known = exists.get();
+        if(known == null) {
+            // no cluster state update seen yet; read it once
+            synchronized(this) {
+                if(exists.get() == null) {
+                    update(clusterService.state());
+                }
+            }
+            known = exists.get();
+        }
+        return known;
+    }
+
+    /**
+     * Waits for the index to exist before a write. Unless this node is the cluster manager, which bootstraps
+     * the index itself, this waits for the index to show up in cluster state, creating it only after a timeout
+     * @param listener gets whether the index is there to be used. Throws error if it fails to init
+     */
+    public void awaitReady(ActionListener<Boolean> listener) {
+        if(indexExists()) {
+            listener.onResponse(true);
+            return;
+        }
+        if(readyTimeout.millis() == 0 || clusterService.state().nodes().isLocalNodeElectedClusterManager()) {
+            initIfAbsent(listener);
+            return;
+        }
+        ActionListener<Boolean> waiter = ContextPreservingActionListener.wrapPreservingContext(listener, client.threadPool().getThreadContext());
+        synchronized(this) {
+            readyWaiters.add(waiter);
+        }
+        // the index may have shown up between the check and registering as a waiter
+        if(indexExists()) {
+            notifyReady();
+            return;
+        }
+        client.threadPool().schedule(() -> {
+            boolean stillWaiting;
+            synchronized(this) {
+                stillWaiting = readyWaiters.remove(waiter);
+            }
+            if(stillWaiting) {
+                log.warn("index [" + indexName + "] not bootstrapped after [" + readyTimeout + "], creating it");
+                initIfAbsent(waiter);
+            }
+        }, readyTimeout, ThreadPool.Names.GENERIC);
+    }
+
+    private void notifyReady() {
+        List<ActionListener<Boolean>> toNotify;
+        synchronized(this) {
+            if(readyWaiters.isEmpty()) {
+                return;
+            }
+            toNotify = new ArrayList<>(readyWaiters);
+            readyWaiters.clear();
+        }
+        // may be on the cluster applier thread; don't run callers' code there
+        client.threadPool().generic().execute(() -> {
+            for(ActionListener<Boolean> waiter : toNotify) {
+                waiter.onResponse(true);
+            }
+        });
+    }
+
+    private void notifyChanged() {
+        List<ActionListener<Void>> toNotify;
+        synchronized(this) {
+            if(changeWaiters.isEmpty()) {
+                return;
+            }
+            toNotify = new ArrayList<>(changeWaiters);
+            changeWaiters.clear();
+        }
+        client.threadPool().generic().execute(() -> {
+            for(ActionListener<Void> waiter : toNotify) {
+                waiter.onResponse(null);
+            }
+        });
+    }
+
+    /**
+     * Creates the index if it doesn't already exist
+     * @param listener gets whether the index is there to be used. Throws error if it fails to init
+     */
+    public void initIfAbsent(ActionListener<Boolean> listener) {
+        if(indexExists()) {
+            listener.onResponse(true);
+            return;
+        }
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        synchronized(this) {
+            if(pendingCreate != null) {
+                pendingCreate.add(ContextPreservingActionListener.wrapPreservingContext(listener, threadContext));
+                return;
+            }
+            pendingCreate = new ArrayList<>();
+            pendingCreate.add(ContextPreservingActionListener.wrapPreservingContext(listener, threadContext));
+        }
+        log.debug("No index [" + indexName + "] found. Adding it");
+        CreateIndexRequest request = createRequest.get();
+        try (ThreadContext.StoredContext storedContext = threadContext.stashContext()) {
+            client.admin().indices().create(request, ActionListener.wrap(r -> {
+                if(r.isAcknowledged() && r.isShardsAcknowledged()) {
+                    log.info("created index [" + r.index() + "] for [" + indexName + "]");
+                    complete(true, null);
+                } else {
+                    complete(false, null);
+                }
+            }, e -> {
+                if(isAlreadyExists(e)) {
+                    complete(true, null);
+                } else {
+                    log.error("failed to create index [" + indexName + "]");
+                    complete(false, e);
+                }
+            }));
+        } catch (Exception e) {
+            if(isAlreadyExists(e)) {
+                complete(true, null);
+            } else {
+                log.error("failed to create index [" + indexName + "]");
+                complete(false, e);
+            }
+        }
+    }
+
+    private void complete(boolean created, Exception e) {
+        List<ActionListener<Boolean>> toNotify;
+        synchronized(this) {
+            toNotify = pendingCreate;
+            pendingCreate = null;
+        }
+        if(created) {
+            // the create is acked once every node applied it, so this node's cluster state normally has the index
+            // already; read what's behind the name now rather than at the next update
+            ClusterState state = clusterService.state();
+            if(state.metadata().getIndicesLookup().containsKey(indexName)) {
+                update(state);
+            } else {
+                exists.set(true);
+            }
+            notifyReady();
+        }
+        for(ActionListener<Boolean> listener : toNotify) {
+            if(e == null) {
+                listener.onResponse(created);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    private static boolean isAlreadyExists(Exception e) {
+        return e instanceof ResourceAlreadyExistsException ||
+            (e instanceof OpenSearchWrapperException &&
+            e.getCause() instanceof ResourceAlreadyExistsException);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import org.opensearch.action.ActionListener;
+
+/**
+ * A change to the layout of one of this plugin's indices that the cluster manager applies in the background
+ */
+public interface IndexMigration {
+
+    /**
+     * @return a short name for logging
+     */
+    String name();
+
+    /**
+     * @return whether the migration still has to run, as of the latest cluster state on this node
+     */
+    boolean isNeeded();
+
+    /**
+     * Run the migration. Must be safe to run again if it fails or the cluster manager changes halfway
+     * @param listener called when the migration is done
+     */
+    void run(ActionListener<Void> listener);
+}
@@ -18,8 +18,11 @@ package org.opensearch.conversational.index;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Objects;
 
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.common.io.stream.Writeable;
@@ -33,6 +36,16 @@ import org.opensearch.search.SearchHit;
  */
 public class Interaction implements Writeable, ToXContentObject {
 
+    /**
+     * Newest first: by sequence number, then timestamp for interactions written before they had sequence numbers,
+     * which are older than any that have one. Ties broken by id so every node orders interactions the same way
+     */
+    public final static Comparator<Interaction> NEWEST_FIRST = Comparator
+        .comparing(Interaction::getSequence, Comparator.nullsFirst(Comparator.<Long>naturalOrder()))
+        .thenComparing(Interaction::getTimestamp)
+        .reversed()
+        .thenComparing(Interaction::getId);
+
     private String id;
     private Instant timestamp;
     private String convoId;
@@ -41,6 +54,7 @@ public class Interaction implements Writeable, ToXContentObject {
     private String response;
     private String agent;
     private String metadata;
+    private Long sequence;
 
     /**
      * Constructor
@@ -62,6 +76,32 @@ public class Interaction implements Writeable, ToXContentObject {
         String response,
         String agent,
         String metadata
+    ) {
+        this(id, timestamp, convoId, input, prompt, response, agent, metadata, null);
+    }
+
+    /**
+     * Constructor
+     * @param id id of THIS interaction object in the index
+     * @param timestamp when this interaction happened
+     * @param convoId id of the conversation this interaction belongs to
+     * @param input human input in this interaction
+     * @param prompt prompt template used in this interaction
+     * @param response GenAI response from this interaction
+     * @param agent name of the agent used in this interaction
+     * @param metadata arbitrary metadata
+     * @param sequence position of this interaction in its conversation, or null if it doesn't have one
+     */
+    public Interaction(
+        String id,
+        Instant timestamp,
+        String convoId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        Long sequence
     ) {
         this.id = id;
         this.timestamp = timestamp;
@@ -71,6 +111,7 @@ public class Interaction implements Writeable, ToXContentObject {
         this.response = response;
         this.agent = agent;
         this.metadata = metadata;
+        this.sequence = sequence;
     }
 
     /**
@@ -87,7 +128,8 @@ public class Interaction implements Writeable, ToXContentObject {
         String response  = (String) fields.get(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD);
         String agent     = (String) fields.get(ConvoIndexConstants.INTERACTIONS_AGENT_FIELD);
         String metadata  = (String) fields.get(ConvoIndexConstants.INTERACTIONS_METADATA_FIELD);
-        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata);
+        Number sequence  = (Number) fields.get(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD);
+        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata, sequence == null ? null : sequence.longValue());
     }
 
     /**
@@ -110,12 +152,13 @@ public class Interaction implements Writeable, ToXContentObject {
         String id = in.readString();
         Instant timestamp = in.readInstant();
         String convoId = in.readString();
-        String input = in.readString();
-        String prompt = in.readString();
-        String response = in.readString();
-        String agent = in.readString();
+        String input = in.readOptionalString();
+        String prompt = in.readOptionalString();
+        String response = in.readOptionalString();
+        String agent = in.readOptionalString();
         String metadata = in.readOptionalString();
-        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata);
+        Long sequence = in.readOptionalLong();
+        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata, sequence);
     }
 
 
@@ -124,11 +167,12 @@ public class Interaction implements Writeable, ToXContentObject {
         out.writeString(id);
         out.writeInstant(timestamp);
         out.writeString(convoId);
-        out.writeString(input);
-        out.writeString(prompt);
-        out.writeString(response);
-        out.writeString(agent);
-        out.writeString(metadata);
+        out.writeOptionalString(input);
+        out.writeOptionalString(prompt);
+        out.writeOptionalString(response);
+        out.writeOptionalString(agent);
+        out.writeOptionalString(metadata);
+        out.writeOptionalLong(sequence);
     }
 
     /**
@@ -179,6 +223,65 @@ public class Interaction implements Writeable, ToXContentObject {
     public String getMetadata() {
         return metadata;
     }
+    /**
+     * @return the position of this interaction in its conversation, or null if it was written before interactions had one.
+     *      Increases with every put to the conversation, but with gaps: puts that fail after they were numbered,
+     *      and keyed puts that lose a race to a retry of the same request, leave their numbers unused
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Make an index request to put this interaction into an index, routed by its conversation.
+     * The id is stored in the document as well, since the index sorts on it
+     * @param index the index to put it into
+     * @return the index request
+     */
+    public IndexRequest toIndexRequest(String index) {
+        IndexRequest request = new IndexRequest(index);
+        if(this.sequence == null) {
+            return request.id(this.id).routing(this.convoId).source(
+                ConvoIndexConstants.INTERACTIONS_AGENT_FIELD, this.agent,
+                ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, this.convoId,
+                ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, this.input,
+                ConvoIndexConstants.INTERACTIONS_METADATA_FIELD, this.metadata,
+                ConvoIndexConstants.INTERACTIONS_PROMPT_FIELD, this.prompt,
+                ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, this.response,
+                ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, this.timestamp,
+                ConvoIndexConstants.INTERACTIONS_ID_FIELD, this.id
+            );
+        }
+        return request.id(this.id).routing(this.convoId).source(
+            ConvoIndexConstants.INTERACTIONS_AGENT_FIELD, this.agent,
+            ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, this.convoId,
+            ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, this.input,
+            ConvoIndexConstants.INTERACTIONS_METADATA_FIELD, this.metadata,
+            ConvoIndexConstants.INTERACTIONS_PROMPT_FIELD, this.prompt,
+            ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, this.response,
+            ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, this.timestamp,
+            ConvoIndexConstants.INTERACTIONS_ID_FIELD, this.id,
+            ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD, this.sequence
+        );
+    }
+
+    /**
+     * Copy of this interaction with the id the index gave it
+     * @param id the id of the interaction in the index
+     * @return a new Interaction with that id
+     */
+    public Interaction withId(String id) {
+        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata, sequence);
+    }
+
+    /**
+     * Copy of this interaction with the position allocated to it in its conversation
+     * @param sequence the sequence number of the interaction
+     * @return a new Interaction with that sequence number
+     */
+    public Interaction withSequence(Long sequence) {
+        return new Interaction(id, timestamp, convoId, input, prompt, response, agent, metadata, sequence);
+    }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, ToXContentObject.Params params) throws IOException {
@@ -191,6 +294,9 @@ public class Interaction implements Writeable, ToXContentObject {
         builder.field(ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, response);
         builder.field(ConvoIndexConstants.INTERACTIONS_AGENT_FIELD, agent);
         builder.field(ActionConstants.INTER_ATTRIBUTES_FIELD, metadata);
+        if(sequence != null) {
+            builder.field(ActionConstants.INTER_SEQUENCE_FIELD, sequence);
+        }
         builder.endObject();
         return builder;
     }
@@ -202,11 +308,12 @@ public class Interaction implements Writeable, ToXContentObject {
             ((Interaction) other).id.equals(this.id) &&
             ((Interaction) other).convoId.equals(this.convoId) &&
             ((Interaction) other).timestamp.equals(this.timestamp) &&
-            ((Interaction) other).input.equals(this.input) &&
-            ((Interaction) other).prompt.equals(this.prompt) &&
-            ((Interaction) other).response.equals(this.response) &&
-            ((Interaction) other).agent.equals(this.agent) && 
-            ((Interaction) other).metadata.equals(this.metadata)
+            Objects.equals(((Interaction) other).input, this.input) &&
+            Objects.equals(((Interaction) other).prompt, this.prompt) &&
+            Objects.equals(((Interaction) other).response, this.response) &&
+            Objects.equals(((Interaction) other).agent, this.agent) &&
+            Objects.equals(((Interaction) other).metadata, this.metadata) &&
+            Objects.equals(((Interaction) other).sequence, this.sequence)
         );
     }
 
@@ -216,6 +323,7 @@ public class Interaction implements Writeable, ToXContentObject {
             + "id=" + id
             + ",cid=" + convoId
             + ",timestamp=" + timestamp
+            + ",sequence=" + sequence
             + ",agent=" + agent
             + "}";
     }
@@ -0,0 +1,137 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.Map;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.sort.FieldSortBuilder;
+
+/**
+ * Copies interaction documents between indices with a scroll and bulk requests, routing every copy by its
+ * conversation id and storing its id in the document for the index sort. Ids are kept, so copying again
+ * overwrites instead of duplicating. Used instead of _reindex, which lives in a module that may not be installed.
+ */
+public class InteractionsCopier {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(InteractionsCopier.class);
+
+    private final static int BATCH_SIZE = 500;
+    private final static TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+
+    private final Client client;
+
+    /**
+     * Constructor
+     * @param client client to scroll and bulk with
+     */
+    public InteractionsCopier(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Copy documents from one index to another, routed by conversation id
+     * @param source index to copy from
+     * @param target index to copy to
+     * @param query which documents to copy, or null for all
+     * @param listener gets the number of documents copied
+     */
+    public void copy(String source, String target, QueryBuilder query, ActionListener<Long> listener) {
+        SearchRequest search = new SearchRequest(source).scroll(SCROLL_KEEP_ALIVE);
+        if(query != null) {
+            search.source().query(query);
+        }
+        search.source().size(BATCH_SIZE).sort(FieldSortBuilder.DOC_FIELD_NAME);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.search(search, ActionListener.wrap(
+                r -> onBatch(source, target, r, 0, listener),
+                listener::onFailure
+            ));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private void onBatch(String source, String target, SearchResponse response, long copied, ActionListener<Long> listener) {
+        String scrollId = response.getScrollId();
+        SearchHit[] hits = response.getHits().getHits();
+        if(hits.length == 0) {
+            clearScroll(scrollId);
+            listener.onResponse(copied);
+            return;
+        }
+        BulkRequest bulk = new BulkRequest();
+        for(SearchHit hit : hits) {
+            Map<String, Object> document = hit.getSourceAsMap();
+            Object convoId = document.get(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD);
+            if(!(convoId instanceof String)) {
+                log.warn("interaction [" + hit.getId() + "] in [" + source + "] has no conversation id; leaving it be");
+                continue;
+            }
+            document.put(ConvoIndexConstants.INTERACTIONS_ID_FIELD, hit.getId());
+            bulk.add(new IndexRequest(target).id(hit.getId()).routing((String) convoId).source(document));
+        }
+        long batchCopied = copied + hits.length;
+        ActionListener<Void> next = ActionListener.wrap(v -> {
+            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                client.searchScroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE), ActionListener.wrap(
+                    r -> onBatch(source, target, r, batchCopied, listener),
+                    e -> {
+                        clearScroll(scrollId);
+                        listener.onFailure(e);
+                    }
+                ));
+            }
+        }, e -> {
+            clearScroll(scrollId);
+            listener.onFailure(e);
+        });
+        if(bulk.numberOfActions() == 0) {
+            next.onResponse(null);
+            return;
+        }
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.bulk(bulk, ActionListener.wrap(bulkResponse -> {
+                if(bulkResponse.hasFailures()) {
+                    next.onFailure(new IllegalStateException(
+                        "failed to copy interactions from [" + source + "] to [" + target + "]: " + bulkResponse.buildFailureMessage()
+                    ));
+                } else {
+                    next.onResponse(null);
+                }
+            }, next::onFailure));
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        ClearScrollRequest clear = new ClearScrollRequest();
+        clear.addScrollId(scrollId);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.clearScroll(clear, ActionListener.wrap(r -> {}, e -> log.warn("failed to clear scroll", e)));
+        }
+    }
+}
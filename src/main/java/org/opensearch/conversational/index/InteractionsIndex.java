@@ -17,26 +17,55 @@
 package org.opensearch.conversational.index;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
-import org.opensearch.OpenSearchWrapperException;
-import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.alias.Alias;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
-import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ThreadedActionListener;
 import org.opensearch.client.Client;
 import org.opensearch.client.Requests;
+import org.opensearch.cluster.block.ClusterBlockException;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalSlowLog;
+import org.opensearch.conversational.ConversationalStats;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.index.query.TermQueryBuilder;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
 
 /**
@@ -45,9 +74,19 @@ import org.opensearch.search.sort.SortOrder;
 public class InteractionsIndex {
     private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(ConvoMetaIndex.class);
 
+    /** How long a write blocked by the layout migration waits for the migration to finish */
+    private final static TimeValue MIGRATION_WRITE_WAIT = TimeValue.timeValueSeconds(30);
+    /** Extra interactions fetched by incremental gets, to make up for the ones in the marker's milli that aren't newer */
+    private final static int SINCE_OVERLAP = 16;
+
     private Client client;
     private ClusterService clusterService;
     private final String indexName = ConvoIndexConstants.INTERACTIONS_INDEX_NAME;
+    private final IndexInitializer indexInitializer;
+    private final RefreshTracker refreshTracker;
+    private final InteractionsWriteBuffer writeBuffer;
+    private final ConversationalStats stats;
+    private final ConversationalSlowLog slowLog;
 
     /**
      * Constructor
@@ -55,8 +94,25 @@ public class InteractionsIndex {
      * @param clusterService ClusterService object for managing OS
      */
     public InteractionsIndex(Client client, ClusterService clusterService) {
+        this(client, clusterService, new ConversationalStats(), new ConversationalSlowLog(clusterService.getSettings()));
+    }
+
+    /**
+     * Constructor
+     * @param client Opensearch client to use for all operations
+     * @param clusterService ClusterService object for managing OS
+     * @param stats stats to record the latency of index and search calls in
+     * @param slowLog slow log to trace operations in
+     */
+    public InteractionsIndex(Client client, ClusterService clusterService, ConversationalStats stats, ConversationalSlowLog slowLog) {
         this.client = client;
+        this.stats = stats;
+        this.slowLog = slowLog;
         this.clusterService = clusterService;
+        this.indexInitializer = new IndexInitializer(client, clusterService, indexName,
+            () -> createGenerationRequest(ConvoIndexConstants.interactionsGenerationName(1)).alias(new Alias(indexName).writeIndex(true)));
+        this.refreshTracker = new RefreshTracker(client, clusterService, indexName);
+        this.writeBuffer = new InteractionsWriteBuffer(client, refreshTracker, clusterService.getSettings(), this::isBlockedByMigration);
     }
 
     /**
@@ -64,46 +120,31 @@ public class InteractionsIndex {
      * @param listener gets whether the index needed to be initialized. Throws error if it fails to init
      */
     public void initInteractionsIndexIfAbsent(ActionListener<Boolean> listener) {
-        if(!clusterService.state().metadata().hasIndex(indexName)){
-            log.debug("No interactions index found. Adding it");
-            CreateIndexRequest request = Requests.createIndexRequest(indexName).mapping(ConvoIndexConstants.INTERACTIONS_MAPPINGS);
-            try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-                ActionListener<Boolean> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
-                ActionListener<CreateIndexResponse> al = ActionListener.wrap(r -> {
-                    if(r.equals(new CreateIndexResponse(true, true, indexName))) {
-                        log.info("created index [" + indexName + "]");
-                        internalListener.onResponse(true);
-                    } else {
-                        internalListener.onResponse(false);
-                    }
-                }, e-> {
-                    if(e instanceof ResourceAlreadyExistsException ||
-                        (e instanceof OpenSearchWrapperException &&
-                        e.getCause() instanceof ResourceAlreadyExistsException)) {
-                        internalListener.onResponse(true);
-                    } else {
-                        log.error("failed to create index [" + indexName + "]");
-                        internalListener.onFailure(e);
-                    }
-                });
-                client.admin().indices().create(request, al);
-            } catch (Exception e) {
-                if(e instanceof ResourceAlreadyExistsException ||
-                    (e instanceof OpenSearchWrapperException &&
-                    e.getCause() instanceof ResourceAlreadyExistsException)) {
-                    listener.onResponse(true);
-                } else {
-                    log.error("failed to create index [" + indexName + "]");
-                    listener.onFailure(e);
-                }
-            }
-        } else {
-            listener.onResponse(true);
-        }
+        indexInitializer.initIfAbsent(listener);
+    }
+
+    /**
+     * Make the request that creates a generation of the interactions index, sorted and routed by conversation.
+     * Doesn't point the alias at it
+     * @param generationName name of the generation's index
+     * @return the create index request
+     */
+    public static CreateIndexRequest createGenerationRequest(String generationName) {
+        return Requests.createIndexRequest(generationName)
+            .mapping(ConvoIndexConstants.INTERACTIONS_MAPPINGS)
+            .settings(ConvoIndexConstants.INTERACTIONS_INDEX_SETTINGS);
     }
 
     /**
-     * Add an interaction to this index. Return the ID of the newly created interaction
+     * @return the initializer that creates this index
+     */
+    public IndexInitializer getIndexInitializer() {
+        return indexInitializer;
+    }
+
+    /**
+     * Add an interaction to this index. Return the ID of the newly created interaction.
+     * The id is assigned here; in write-behind mode the interaction is queued and written in bulk
      * @param convoId The id of the conversation this interaction belongs to
      * @param input the user (human) input into this interaction
      * @param prompt the prompt template used for this interaction
@@ -123,32 +164,114 @@ public class InteractionsIndex {
         Instant timestamp,
         ActionListener<String> listener) 
     {
-        initInteractionsIndexIfAbsent(ActionListener.wrap(
+        addInteraction(convoId, input, prompt, response, agent, metadata, timestamp, null, listener);
+    }
+
+    /**
+     * Add an interaction to this index, at a position in its conversation. Return the ID of the newly created interaction.
+     * The id is assigned here; in write-behind mode the interaction is queued and written in bulk
+     * @param convoId The id of the conversation this interaction belongs to
+     * @param input the user (human) input into this interaction
+     * @param prompt the prompt template used for this interaction
+     * @param response the GenAI response for this interaction
+     * @param agent the name of the GenAI agent this interaction belongs to
+     * @param metadata arbitrary JSON blob of extra info
+     * @param timestamp when this interaction happened
+     * @param sequence the sequence number allocated to this interaction, or null if it doesn't have one
+     * @param listener gets the id of the newly created interaction record
+     */
+    public void addInteraction(
+        String convoId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        Instant timestamp,
+        Long sequence,
+        ActionListener<String> listener
+    ) {
+        addInteraction(convoId, input, prompt, response, agent, metadata, timestamp, sequence, id -> {}, e -> {}, listener);
+    }
+
+    /**
+     * Add an interaction to this index, at a position in its conversation. Return the ID of the newly created interaction.
+     * The id is assigned here; in write-behind mode the interaction is queued and written in bulk
+     * @param convoId The id of the conversation this interaction belongs to
+     * @param input the user (human) input into this interaction
+     * @param prompt the prompt template used for this interaction
+     * @param response the GenAI response for this interaction
+     * @param agent the name of the GenAI agent this interaction belongs to
+     * @param metadata arbitrary JSON blob of extra info
+     * @param timestamp when this interaction happened
+     * @param sequence the sequence number allocated to this interaction, or null if it doesn't have one
+     * @param onWritten called with the id once the interaction is written, before the listener unless write-behind
+     *      acks puts when they're queued; never called if the write fails
+     * @param onLost called with the failure if write-behind acked the put when it was queued and the write then failed
+     *      for good; the listener gets every other failure
+     * @param listener gets the id of the newly created interaction record
+     */
+    public void addInteraction(
+        String convoId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        Instant timestamp,
+        Long sequence,
+        Consumer<String> onWritten,
+        Consumer<Exception> onLost,
+        ActionListener<String> listener
+    ) {
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.PUT_INTERACTION, convoId);
+        addInteraction(convoId, input, prompt, response, agent, metadata, timestamp, sequence, onWritten, onLost, trace, trace.whenDone(listener));
+    }
+
+    /**
+     * Add an interaction to this index, at a position in its conversation, as part of a put traced by the caller.
+     * A direct write is timed in the put's trace; in write-behind mode the interaction is queued and written in bulk
+     * @param convoId The id of the conversation this interaction belongs to
+     * @param input the user (human) input into this interaction
+     * @param prompt the prompt template used for this interaction
+     * @param response the GenAI response for this interaction
+     * @param agent the name of the GenAI agent this interaction belongs to
+     * @param metadata arbitrary JSON blob of extra info
+     * @param timestamp when this interaction happened
+     * @param sequence the sequence number allocated to this interaction, or null if it doesn't have one
+     * @param onWritten called with the id once the interaction is written, before the listener unless write-behind
+     *      acks puts when they're queued; never called if the write fails
+     * @param onLost called with the failure if write-behind acked the put when it was queued and the write then failed
+     *      for good; the listener gets every other failure
+     * @param trace slow log trace of the put, to time the write in. The caller logs it once the put is done
+     * @param listener gets the id of the newly created interaction record
+     */
+    public void addInteraction(
+        String convoId,
+        String input,
+        String prompt,
+        String response,
+        String agent,
+        String metadata,
+        Instant timestamp,
+        Long sequence,
+        Consumer<String> onWritten,
+        Consumer<Exception> onLost,
+        ConversationalSlowLog.Trace trace,
+        ActionListener<String> listener
+    ) {
+        indexInitializer.awaitReady(ActionListener.wrap(
             b -> {
                 if(b) {
-                    IndexRequest request = Requests.indexRequest(indexName).source(
-                        ConvoIndexConstants.INTERACTIONS_AGENT_FIELD, agent,
-                        ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, convoId,
-                        ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, input,
-                        ConvoIndexConstants.INTERACTIONS_METADATA_FIELD, metadata,
-                        ConvoIndexConstants.INTERACTIONS_PROMPT_FIELD, prompt,
-                        ConvoIndexConstants.INTERACTIONS_RESPONSE_FIELD, response,
-                        ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, timestamp
-                    );
-                    try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-                        ActionListener<String> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
-                        ActionListener<IndexResponse> al = ActionListener.wrap(resp -> {
-                            if(resp.status() == RestStatus.CREATED) {
-                                internalListener.onResponse(resp.getId());
-                            } else {
-                                internalListener.onFailure(new IOException("failed to create conversation"));
-                            }
-                        }, e -> {
-                            internalListener.onFailure(e);
-                        });
-                        client.index(request, al);
-                    } catch (Exception e) {
-                        listener.onFailure(e);
+                    Interaction interaction = new Interaction(UUIDs.base64UUID(), timestamp, convoId, input, prompt, response, agent, metadata, sequence);
+                    IndexRequest request = interaction.toIndexRequest(indexName).opType(DocWriteRequest.OpType.CREATE);
+                    if(writeBuffer.isEnabled()) {
+                        writeBuffer.add(request, convoId, onWritten, onLost, listener);
+                    } else {
+                        indexInteraction(request, convoId, System.nanoTime() + MIGRATION_WRITE_WAIT.nanos(), trace, ActionListener.wrap(iid -> {
+                            onWritten.accept(iid);
+                            listener.onResponse(iid);
+                        }, listener::onFailure));
                     }
                 } else {
                     listener.onFailure(new IOException("no index to add conversation to"));
@@ -159,6 +282,94 @@ public class InteractionsIndex {
         ));
     }
 
+    /**
+     * Add an interaction whose id is already decided, e.g. derived from a client request id.
+     * Always written directly with op_type=create, never through the write-behind buffer, so that
+     * a write of an id that already exists fails with a {@link org.opensearch.index.engine.VersionConflictEngineException}
+     * the caller gets to see
+     * @param interaction the interaction to add. Must have its id
+     * @param listener gets the id of the interaction
+     */
+    public void addInteraction(Interaction interaction, ActionListener<String> listener) {
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.PUT_INTERACTION, interaction.getConvoId());
+        addInteraction(interaction, trace, trace.whenDone(listener));
+    }
+
+    /**
+     * Add an interaction whose id is already decided, timing its write in the put's slow log trace
+     * @param interaction the interaction to add. Must have its id
+     * @param trace slow log trace of the put. The caller logs it once the put is done
+     * @param listener gets the id of the interaction
+     */
+    public void addInteraction(Interaction interaction, ConversationalSlowLog.Trace trace, ActionListener<String> listener) {
+        indexInitializer.awaitReady(ActionListener.wrap(
+            b -> {
+                if(b) {
+                    IndexRequest request = interaction.toIndexRequest(indexName).opType(DocWriteRequest.OpType.CREATE);
+                    indexInteraction(request, interaction.getConvoId(), System.nanoTime() + MIGRATION_WRITE_WAIT.nanos(), trace, listener);
+                } else {
+                    listener.onFailure(new IOException("no index to add conversation to"));
+                }
+            }, e -> {
+                listener.onFailure(e);
+            }
+        ));
+    }
+
+    /**
+     * Derive the id of an interaction from the id of the client request that put it, so retries of the
+     * request all write the same document
+     * @param convoId the conversation the interaction belongs to
+     * @param requestId the client-supplied request id
+     * @return url-safe document id, unique to the pair
+     */
+    public static String idempotentId(String convoId, String requestId) {
+        MessageDigest digest = MessageDigests.sha256();
+        digest.update(convoId.getBytes(StandardCharsets.UTF_8));
+        // separator, so ("ab", "c") and ("a", "bc") don't collide
+        digest.update((byte) 0);
+        digest.update(requestId.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    private void indexInteraction(
+        IndexRequest request,
+        String convoId,
+        long retryDeadlineNanos,
+        ConversationalSlowLog.Trace trace,
+        ActionListener<String> listener
+    ) {
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<String> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            ActionListener<IndexResponse> al = ActionListener.wrap(resp -> {
+                if(resp.status() == RestStatus.CREATED) {
+                    refreshTracker.markWritten(convoId);
+                    internalListener.onResponse(resp.getId());
+                } else {
+                    internalListener.onFailure(new IOException("failed to create conversation"));
+                }
+            }, e -> {
+                long remainingNanos = retryDeadlineNanos - System.nanoTime();
+                if(isBlockedByMigration(e) && remainingNanos > 0) {
+                    // the layout migration blocks writes to the old index for its final pass; retry once the alias is swapped in
+                    indexInitializer.awaitChange(TimeValue.timeValueNanos(remainingNanos), ActionListener.wrap(
+                        r -> indexInteraction(request, convoId, retryDeadlineNanos, trace, internalListener),
+                        internalListener::onFailure
+                    ));
+                } else {
+                    internalListener.onFailure(e);
+                }
+            });
+            client.index(request, stats.time(Operation.PUT_INTERACTION, Phase.INDEX, trace.phase(Phase.INDEX, al)));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private boolean isBlockedByMigration(Exception e) {
+        return ExceptionsHelper.unwrapCause(e) instanceof ClusterBlockException && indexInitializer.isConcreteIndex();
+    }
+
     /**
      * Add an interaction to this index, timestamped now. Return the id of the newly created interaction
      * @param convoId The id of the converation this interaction belongs to
@@ -190,6 +401,48 @@ public class InteractionsIndex {
         );
     }
 
+    /**
+     * Add many interactions to this index with one bulk request
+     * @param interactions the interactions to add. Those without an id get one assigned here
+     * @param listener gets the bulk response, with one item per interaction in the same order
+     */
+    public void addInteractions(List<Interaction> interactions, ActionListener<BulkResponse> listener) {
+        indexInitializer.awaitReady(ActionListener.wrap(
+            b -> {
+                if(b) {
+                    BulkRequest bulk = new BulkRequest();
+                    for(Interaction interaction : interactions) {
+                        if(interaction.getId() == null) {
+                            bulk.add(interaction.withId(UUIDs.base64UUID()).toIndexRequest(indexName).opType(DocWriteRequest.OpType.CREATE));
+                        } else {
+                            bulk.add(interaction.toIndexRequest(indexName));
+                        }
+                    }
+                    try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+                        ActionListener<BulkResponse> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+                        ActionListener<BulkResponse> al = ActionListener.wrap(resp -> {
+                            for(BulkItemResponse item : resp.getItems()) {
+                                if(!item.isFailed()) {
+                                    refreshTracker.markWritten(interactions.get(item.getItemId()).getConvoId());
+                                }
+                            }
+                            internalListener.onResponse(resp);
+                        }, e -> {
+                            internalListener.onFailure(e);
+                        });
+                        client.bulk(bulk, stats.time(Operation.BULK_PUT_INTERACTIONS, Phase.INDEX, al));
+                    } catch (Exception e) {
+                        listener.onFailure(e);
+                    }
+                } else {
+                    listener.onFailure(new IOException("no index to add interactions to"));
+                }
+            }, e -> {
+                listener.onFailure(e);
+            }
+        ));
+    }
+
     /**
      * Gets a list of interactions belonging to a conversation
      * @param convoId the conversation to read from
@@ -198,34 +451,232 @@ public class InteractionsIndex {
      * @param listener gets the list, sorted by recency, of interactions
      */
     public void getInteractions(String convoId, int from, int maxResults, ActionListener<List<Interaction>> listener) {
-        if(! clusterService.state().metadata().hasIndex(indexName)) {
+        SearchRequest request = interactionsSearchRequest(convoId, maxResults);
+        request.source().from(from);
+        searchInteractions(convoId, request, listener);
+    }
+
+    /**
+     * Gets a page of interactions belonging to a conversation, using search_after
+     * @param convoId the conversation to read from
+     * @param after cursor pointing past the last interaction of the previous page, or null for the first page
+     * @param maxResults how many interactions to return
+     * @param listener gets the list, sorted by recency, of interactions
+     */
+    public void getInteractions(String convoId, PageCursor after, int maxResults, ActionListener<List<Interaction>> listener) {
+        SearchRequest request = interactionsSearchRequest(convoId, maxResults);
+        if(after != null && indexInitializer.isSorted()) {
+            request.source().searchAfter(after.getSortValues(convoId));
+        } else if(after != null) {
+            request.source().searchAfter(after.getSequenceSortValues());
+        }
+        searchInteractions(convoId, request, listener);
+    }
+
+    /**
+     * Gets the interactions of a conversation after a sequence number, in sequence order
+     * @param convoId the conversation to read from
+     * @param afterSequence only interactions with a higher sequence number are returned
+     * @param maxResults how many interactions to return
+     * @param listener gets the list of interactions, oldest first
+     */
+    public void getInteractionsAfter(String convoId, long afterSequence, int maxResults, ActionListener<List<Interaction>> listener) {
+        SearchRequest request = Requests.searchRequest(indexName);
+        BoolQueryBuilder query = new BoolQueryBuilder()
+            .filter(new TermQueryBuilder(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, convoId))
+            .filter(new RangeQueryBuilder(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD).gt(afterSequence));
+        request.source().query(query);
+        request.source().size(maxResults);
+        // sequence numbers are unique within a conversation; no tiebreaker needed
+        request.source().sort(sequenceSort(SortOrder.ASC));
+        request.source().trackTotalHits(false);
+        if(indexInitializer.isRouted()) {
+            request.routing(convoId);
+        }
+        searchInteractions(convoId, request, listener);
+    }
+
+    /**
+     * Gets the interactions of a conversation newer than a marker, oldest first
+     * @param convoId the conversation to read from
+     * @param since only interactions with a later timestamp are returned
+     * @param maxResults how many interactions to return
+     * @param listener gets the list of interactions, oldest first
+     */
+    public void getInteractionsSince(String convoId, Instant since, int maxResults, ActionListener<List<Interaction>> listener) {
+        SearchRequest request = Requests.searchRequest(indexName);
+        // the index only keeps millis; interactions of the marker's milli that aren't after it are dropped below
+        BoolQueryBuilder query = new BoolQueryBuilder()
+            .filter(new TermQueryBuilder(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, convoId))
+            .filter(new RangeQueryBuilder(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD).gte(since.toEpochMilli()));
+        request.source().query(query);
+        request.source().size(maxResults + SINCE_OVERLAP);
+        request.source().sort(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, SortOrder.ASC);
+        request.source().sort(indexInitializer.isSorted() ? ConvoIndexConstants.INTERACTIONS_ID_FIELD : ConvoIndexConstants.ID_SORT_FIELD, SortOrder.ASC);
+        request.source().trackTotalHits(false);
+        if(indexInitializer.isRouted()) {
+            request.routing(convoId);
+        }
+        searchInteractions(convoId, request, ActionListener.wrap(interactions -> {
+            List<Interaction> newer = new ArrayList<>(maxResults);
+            for(Interaction interaction : interactions) {
+                if(interaction.getTimestamp().isAfter(since) && newer.size() < maxResults) {
+                    newer.add(interaction);
+                }
+            }
+            // timestamps of different coordinating nodes can disagree with the order interactions were put in
+            newer.sort(Interaction.NEWEST_FIRST.reversed());
+            listener.onResponse(newer);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Gets interactions of a conversation by id with realtime multi-gets routed to the conversation's shard; no search and no refresh.
+     * Looks in the generation taking writes first and only looks in older generations for the ids it didn't find,
+     * so a recent interaction costs a single get
+     * @param convoId the conversation the interactions belong to
+     * @param ids ids of the interactions
+     * @param listener gets the interactions found, in the order of ids. Ids of missing interactions,
+     *      or of interactions in other conversations, are left out
+     */
+    public void getInteractionsById(String convoId, List<String> ids, ActionListener<List<Interaction>> listener) {
+        List<String> generations = indexInitializer.getIndices();
+        if(ids.isEmpty() || generations.isEmpty()) {
             listener.onResponse(List.of());
+            return;
+        }
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<List<Interaction>> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            Map<String, Interaction> found = new HashMap<>();
+            getFromGeneration(convoId, new HashSet<>(ids), generations, 0, found, ActionListener.wrap(r -> {
+                List<Interaction> result = new ArrayList<>();
+                for(String id : ids) {
+                    if(found.containsKey(id)) {
+                        result.add(found.get(id));
+                    }
+                }
+                internalListener.onResponse(result);
+            }, e -> {
+                log.error("failed to get interactions", e);
+                internalListener.onFailure(e);
+            }));
+        } catch (Exception e) {
+            log.error("failed during get interactions", e);
+            listener.onFailure(e);
+        }
+    }
+
+    private void getFromGeneration(
+        String convoId,
+        Set<String> missing,
+        List<String> generations,
+        int generation,
+        Map<String, Interaction> found,
+        ActionListener<Void> listener
+    ) {
+        if(missing.isEmpty() || generation >= generations.size()) {
+            listener.onResponse(null);
+            return;
+        }
+        MultiGetRequest request = new MultiGetRequest().realtime(true);
+        for(String id : missing) {
+            MultiGetRequest.Item item = new MultiGetRequest.Item(generations.get(generation), id);
+            if(indexInitializer.isRouted()) {
+                item.routing(convoId);
+            }
+            request.add(item);
         }
+        client.multiGet(request, onConversationalPool(ActionListener.wrap(response -> {
+            for(MultiGetItemResponse item : response.getResponses()) {
+                if(item.isFailed()) {
+                    // expiry may have dropped this generation since we looked
+                    if(!(ExceptionsHelper.unwrapCause(item.getFailure().getFailure()) instanceof IndexNotFoundException)) {
+                        listener.onFailure(item.getFailure().getFailure());
+                        return;
+                    }
+                } else if(item.getResponse().isExists()) {
+                    Interaction interaction = Interaction.fromMap(item.getId(), item.getResponse().getSourceAsMap());
+                    missing.remove(item.getId());
+                    if(convoId.equals(interaction.getConvoId())) {
+                        found.put(item.getId(), interaction);
+                    }
+                }
+            }
+            getFromGeneration(convoId, missing, generations, generation + 1, found, listener);
+        }, listener::onFailure)));
+    }
+
+    /**
+     * @return the queue of interactions waiting to be written in write-behind mode
+     */
+    public InteractionsWriteBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
+    private SearchRequest interactionsSearchRequest(String convoId, int maxResults) {
         SearchRequest request = Requests.searchRequest(indexName);
         TermQueryBuilder builder = new TermQueryBuilder(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, convoId);
         request.source().query(builder);
-        request.source().from(from).size(maxResults);
-        request.source().sort(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, SortOrder.DESC);
+        request.source().size(maxResults);
+        if(indexInitializer.isSorted()) {
+            // the index sort; each segment can stop collecting once it has a page, as long as hits aren't counted.
+            // interactions without a sequence number are older than those with one; they sort last, by timestamp
+            request.source().sort(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, SortOrder.ASC);
+            request.source().sort(sequenceSort(SortOrder.DESC));
+            request.source().sort(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, SortOrder.DESC);
+            request.source().sort(ConvoIndexConstants.INTERACTIONS_ID_FIELD, SortOrder.ASC);
+            request.source().trackTotalHits(false);
+        } else {
+            request.source().sort(sequenceSort(SortOrder.DESC));
+            request.source().sort(ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, SortOrder.DESC);
+            request.source().sort(ConvoIndexConstants.ID_SORT_FIELD, SortOrder.ASC);
+        }
+        if(indexInitializer.isRouted()) {
+            // every interaction of the conversation is on one shard; don't fan out to the others
+            request.routing(convoId);
+        }
+        return request;
+    }
+
+    /** Generations created before interactions had sequence numbers may not map the field yet */
+    private static FieldSortBuilder sequenceSort(SortOrder order) {
+        return SortBuilders.fieldSort(ConvoIndexConstants.INTERACTIONS_SEQUENCE_FIELD).order(order).unmappedType("long");
+    }
+
+    private void searchInteractions(String convoId, SearchRequest request, ActionListener<List<Interaction>> listener) {
+        if(! indexInitializer.indexExists()) {
+            listener.onResponse(List.of());
+            return;
+        }
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.GET_INTERACTIONS, convoId, request.source().from(), request.source().size());
         try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
-            ActionListener<List<Interaction>> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
+            ActionListener<List<Interaction>> internalListener = trace.whenDone(ActionListener.runBefore(listener, () -> threadContext.restore()));
             ActionListener<SearchResponse> al = ActionListener.wrap(response -> {
+                long hydrateStart = System.nanoTime();
                 List<Interaction> result = new LinkedList<Interaction>();
                 for(SearchHit hit : response.getHits()) {
                     result.add(Interaction.fromSearchHit(hit));
                 }
+                trace.record(ConversationalSlowLog.HYDRATE, System.nanoTime() - hydrateStart);
+                trace.hits(result.size());
                 internalListener.onResponse(result);
             }, e -> {
                 internalListener.onFailure(e);
             });
-            client.admin().indices().refresh(Requests.refreshRequest(indexName), ActionListener.wrap(
+            refreshTracker.ensureVisible(convoId, stats.time(Operation.GET_INTERACTIONS, Phase.REFRESH, trace.phase(Phase.REFRESH, ActionListener.wrap(
                 r -> {
-                    client.search(request, al);
+                    client.search(request, stats.time(Operation.GET_INTERACTIONS, Phase.SEARCH, trace.phase(Phase.SEARCH, onConversationalPool(al))));
                 }, e -> {
                     internalListener.onFailure(e);
                 }
-            ));
+            ))));
         } catch (Exception e) {
             listener.onFailure(e);
         }
     }
-}
\ No newline at end of file
+
+    /** Interactions are hydrated from responses on the plugin's own pool, off the transport threads */
+    private <T> ActionListener<T> onConversationalPool(ActionListener<T> listener) {
+        return new ThreadedActionListener<>(log, client.threadPool(), ConversationalSettings.THREAD_POOL_NAME, listener, true);
+    }
+}
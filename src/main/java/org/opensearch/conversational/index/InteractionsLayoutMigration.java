@@ -0,0 +1,145 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.opensearch.action.admin.indices.readonly.AddIndexBlockRequest;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.admin.indices.stats.ShardStats;
+import org.opensearch.client.Client;
+import org.opensearch.client.Requests;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.index.mapper.SeqNoFieldMapper;
+import org.opensearch.index.query.QueryBuilders;
+
+/**
+ * Moves interactions out of a plain interactions index, created before interactions were sorted, into the
+ * first generation of the sorted layout, and puts the alias reads and writes go through in the old index's place.
+ * Documents are copied while the old index takes writes; then the old index is write-blocked, whatever was
+ * written during the first pass is copied again, and the alias replaces the old index in one step.
+ * Writes that hit the block wait for the alias and retry.
+ */
+public class InteractionsLayoutMigration implements IndexMigration {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(InteractionsLayoutMigration.class);
+
+    private final Client client;
+    private final IndexInitializer indexInitializer;
+    private final InteractionsCopier copier;
+    private final String target;
+
+    /**
+     * Constructor
+     * @param client client to migrate with
+     * @param indexInitializer initializer of the interactions index, which knows whether it's still a plain index
+     * @param copier copier to move documents with
+     * @param target name of the first generation index to move interactions into
+     */
+    public InteractionsLayoutMigration(Client client, IndexInitializer indexInitializer, InteractionsCopier copier, String target) {
+        this.client = client;
+        this.indexInitializer = indexInitializer;
+        this.copier = copier;
+        this.target = target;
+    }
+
+    @Override
+    public String name() {
+        return "move interactions to a sorted index behind an alias";
+    }
+
+    @Override
+    public boolean isNeeded() {
+        return indexInitializer.isConcreteIndex();
+    }
+
+    @Override
+    public void run(ActionListener<Void> listener) {
+        String source = indexInitializer.getIndexName();
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().create(InteractionsIndex.createGenerationRequest(target), ActionListener.wrap(
+                r -> copyAndSwap(source, target, listener),
+                e -> {
+                    // left over from an earlier attempt that didn't finish; copying again is idempotent
+                    if(ExceptionsHelper.unwrapCause(e) instanceof ResourceAlreadyExistsException) {
+                        copyAndSwap(source, target, listener);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }
+            ));
+        }
+    }
+
+    private void copyAndSwap(String source, String target, ActionListener<Void> listener) {
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().stats(new IndicesStatsRequest().indices(source).clear(), ActionListener.wrap(stats -> {
+                // every write after the first pass starts has a higher seq_no than this on its shard
+                long firstPassSeqNo = Long.MAX_VALUE;
+                for(ShardStats shard : stats.getShards()) {
+                    if(shard.getSeqNoStats() != null) {
+                        firstPassSeqNo = Math.min(firstPassSeqNo, shard.getSeqNoStats().getMaxSeqNo());
+                    }
+                }
+                long catchUpAfter = firstPassSeqNo == Long.MAX_VALUE ? -1 : firstPassSeqNo;
+                refreshAndCopy(source, target, -1, ActionListener.wrap(copied -> {
+                    log.info("copied [" + copied + "] interactions from [" + source + "] to [" + target + "]; blocking writes to finish up");
+                    blockWrites(source, ActionListener.wrap(
+                        v -> refreshAndCopy(source, target, catchUpAfter, ActionListener.wrap(
+                            caughtUp -> {
+                                log.info("copied [" + caughtUp + "] interactions written to [" + source + "] during the copy");
+                                swapAlias(source, target, listener);
+                            }, listener::onFailure
+                        )), listener::onFailure
+                    ));
+                }, listener::onFailure));
+            }, listener::onFailure));
+        }
+    }
+
+    private void refreshAndCopy(String source, String target, long afterSeqNo, ActionListener<Long> listener) {
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().refresh(Requests.refreshRequest(source), ActionListener.wrap(
+                r -> copier.copy(source, target, afterSeqNo < 0 ? null : QueryBuilders.rangeQuery(SeqNoFieldMapper.NAME).gt(afterSeqNo), listener),
+                listener::onFailure
+            ));
+        }
+    }
+
+    private void blockWrites(String index, ActionListener<Void> listener) {
+        // unlike setting index.blocks.write, this waits for writes already in flight on the shards
+        AddIndexBlockRequest request = new AddIndexBlockRequest(IndexMetadata.APIBlock.WRITE, index);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().addBlock(request, ActionListener.wrap(r -> listener.onResponse(null), listener::onFailure));
+        }
+    }
+
+    private void swapAlias(String source, String target, ActionListener<Void> listener) {
+        IndicesAliasesRequest request = new IndicesAliasesRequest()
+            .addAliasAction(AliasActions.removeIndex().index(source))
+            .addAliasAction(AliasActions.add().index(target).alias(source).writeIndex(true));
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().aliases(request, ActionListener.wrap(r -> {
+                log.info("replaced index [" + source + "] with an alias over [" + target + "]");
+                listener.onResponse(null);
+            }, listener::onFailure));
+        }
+    }
+}
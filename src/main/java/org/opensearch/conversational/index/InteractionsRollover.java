@@ -0,0 +1,176 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.rollover.RolloverRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.gateway.GatewayService;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Rolls the interactions alias over to a new generation once its write generation is old, big or full enough,
+ * and force merges generations that no longer take writes down to one segment.
+ * Runs on a schedule on every node, but only does anything on the elected cluster manager.
+ */
+public class InteractionsRollover {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(InteractionsRollover.class);
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+    private final IndexInitializer indexInitializer;
+    private final TimeValue checkInterval;
+    private final TimeValue maxAge;
+    private final ByteSizeValue maxSize;
+    private final long maxDocs;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Constructor
+     * @param client client to roll over and merge with
+     * @param clusterService cluster service to look up generations with
+     * @param threadPool thread pool to schedule checks on
+     * @param indexInitializer initializer of the interactions alias
+     * @param settings node settings holding the rollover conditions
+     */
+    public InteractionsRollover(
+        Client client,
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        IndexInitializer indexInitializer,
+        Settings settings
+    ) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.indexInitializer = indexInitializer;
+        this.checkInterval = ConversationalSettings.INTERACTIONS_ROLLOVER_CHECK_INTERVAL.get(settings);
+        this.maxAge = ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_AGE.get(settings);
+        this.maxSize = ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_SIZE.get(settings);
+        this.maxDocs = ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_DOCS.get(settings);
+    }
+
+    /**
+     * Start checking for rollover on a schedule, unless it's disabled
+     * @return the scheduled checks, to cancel when the node shuts down; or null if rollover is disabled
+     */
+    public Scheduler.Cancellable start() {
+        if(checkInterval.millis() == 0) {
+            return null;
+        }
+        return threadPool.scheduleWithFixedDelay(() -> {
+            ClusterState state = clusterService.state();
+            if(!state.nodes().isLocalNodeElectedClusterManager() || state.blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK)) {
+                return;
+            }
+            runOnce(ActionListener.wrap(r -> {}, e -> log.warn("failed to roll over interactions, will retry", e)));
+        }, checkInterval, ThreadPool.Names.GENERIC);
+    }
+
+    /**
+     * Roll over if any condition is met, then force merge one old generation that isn't merged yet.
+     * Does nothing while another run is in progress or before the interactions alias exists
+     * @param listener gets called once this run is done
+     */
+    public void runOnce(ActionListener<Void> listener) {
+        if(!indexInitializer.indexExists() || indexInitializer.isConcreteIndex() || !running.compareAndSet(false, true)) {
+            listener.onResponse(null);
+            return;
+        }
+        ActionListener<Void> done = ActionListener.runBefore(listener, () -> running.set(false));
+        rollover(ActionListener.wrap(r -> forceMergeOldGeneration(done), done::onFailure));
+    }
+
+    private void rollover(ActionListener<Void> listener) {
+        String alias = indexInitializer.getIndexName();
+        RolloverRequest request = new RolloverRequest(alias, null);
+        boolean hasCondition = false;
+        if(maxAge.millis() > 0) {
+            request.addMaxIndexAgeCondition(maxAge);
+            hasCondition = true;
+        }
+        if(maxSize.getBytes() > 0) {
+            request.addMaxIndexSizeCondition(maxSize);
+            hasCondition = true;
+        }
+        if(maxDocs > 0) {
+            request.addMaxIndexDocsCondition(maxDocs);
+            hasCondition = true;
+        }
+        if(!hasCondition) {
+            // a rollover without conditions would roll over every time
+            listener.onResponse(null);
+            return;
+        }
+        // the new generation is named after the old one, with the number bumped
+        request.getCreateIndexRequest()
+            .mapping(ConvoIndexConstants.INTERACTIONS_MAPPINGS)
+            .settings(ConvoIndexConstants.INTERACTIONS_INDEX_SETTINGS);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().rolloverIndex(request, ActionListener.wrap(r -> {
+                if(r.isRolledOver()) {
+                    log.info("rolled [" + alias + "] over from [" + r.getOldIndex() + "] to [" + r.getNewIndex() + "]");
+                }
+                listener.onResponse(null);
+            }, listener::onFailure));
+        }
+    }
+
+    private void forceMergeOldGeneration(ActionListener<Void> listener) {
+        IndexAbstraction abstraction = clusterService.state().metadata().getIndicesLookup().get(indexInitializer.getIndexName());
+        IndexMetadata toMerge = null;
+        if(abstraction != null && abstraction.getWriteIndex() != null) {
+            for(IndexMetadata generation : abstraction.getIndices()) {
+                if(!generation.getIndex().equals(abstraction.getWriteIndex().getIndex())
+                    && !ConversationalSettings.INTERACTIONS_GENERATION_FORCE_MERGED.get(generation.getSettings())) {
+                    toMerge = generation;
+                    break;
+                }
+            }
+        }
+        if(toMerge == null) {
+            listener.onResponse(null);
+            return;
+        }
+        String index = toMerge.getIndex().getName();
+        ForceMergeRequest request = new ForceMergeRequest(index).maxNumSegments(1);
+        UpdateSettingsRequest markMerged = new UpdateSettingsRequest(index).settings(
+            Settings.builder().put(ConversationalSettings.INTERACTIONS_GENERATION_FORCE_MERGED.getKey(), true)
+        );
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.admin().indices().forceMerge(request, ActionListener.wrap(r -> {
+                log.info("force merged old interactions generation [" + index + "]");
+                client.admin().indices().updateSettings(markMerged, ActionListener.wrap(u -> listener.onResponse(null), listener::onFailure));
+            }, listener::onFailure));
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.client.Client;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.metrics.MeanMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Bounded node-local queue of interactions waiting to be written to the interactions index.
+ * Queued interactions are written with bulk requests, once a batch fills up or after the linger time.
+ * Each interaction's id is assigned before it's queued, so callers can be acked as soon as it's queued
+ * (ack mode "enqueue"; the interaction is lost if this node dies before the flush) or once it's written
+ * (ack mode "flush"). Puts are rejected with a 429 once the queue is full, or once the buffer is closed.
+ * Writes that fail with a 429, a 503 or the layout migration's write block are retried with backoff; a write that
+ * still fails after that fails its put, or in ack mode "enqueue" is counted as lost.
+ */
+public class InteractionsWriteBuffer {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(InteractionsWriteBuffer.class);
+
+    /**
+     * When a queued interaction is acknowledged to the caller
+     */
+    public enum AckMode {
+        /** as soon as it's queued */
+        ENQUEUE,
+        /** once the bulk request that writes it comes back */
+        FLUSH;
+
+        /**
+         * @param value name of an ack mode, case-insensitive
+         * @return the ack mode
+         * @throws IllegalArgumentException if there's no such ack mode
+         */
+        public static AckMode fromString(String value) {
+            try {
+                return AckMode.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown write-behind ack mode [" + value + "], expected [enqueue] or [flush]", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // delays of 50ms growing to about 30s, 54.5s in all: past the 30s a direct write waits out the layout
+    // migration's final pass for. Ten retries would only add up to 24.7s
+    private final static BackoffPolicy RETRY_BACKOFF = BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(50), 11);
+
+    private final Client client;
+    private final RefreshTracker refreshTracker;
+    private final Predicate<Exception> blockedByMigration;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int capacity;
+    private final TimeValue linger;
+    private final AckMode ackMode;
+    private final BlockingQueue<Pending> queue;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile Scheduler.ScheduledCancellable scheduledFlush = null;
+    private volatile boolean closed = false;
+    private final List<PlainActionFuture<Void>> inFlight = new ArrayList<>();
+
+    private final CounterMetric written = new CounterMetric();
+    private final CounterMetric failed = new CounterMetric();
+    private final CounterMetric lost = new CounterMetric();
+    private final CounterMetric retried = new CounterMetric();
+    private final CounterMetric rejected = new CounterMetric();
+    private final MeanMetric batchLatencyMillis = new MeanMetric();
+
+    /**
+     * Constructor
+     * @param client client to send bulk requests with
+     * @param refreshTracker tracker to tell about written interactions
+     * @param settings node settings to read the buffer configuration from
+     */
+    public InteractionsWriteBuffer(Client client, RefreshTracker refreshTracker, Settings settings) {
+        this(client, refreshTracker, settings, e -> false);
+    }
+
+    /**
+     * Constructor
+     * @param client client to send bulk requests with
+     * @param refreshTracker tracker to tell about written interactions
+     * @param settings node settings to read the buffer configuration from
+     * @param blockedByMigration whether a write failure is the layout migration's write block, to be retried
+     */
+    public InteractionsWriteBuffer(Client client, RefreshTracker refreshTracker, Settings settings, Predicate<Exception> blockedByMigration) {
+        this.client = client;
+        this.refreshTracker = refreshTracker;
+        this.blockedByMigration = blockedByMigration;
+        this.enabled = ConversationalSettings.WRITE_BEHIND_ENABLED.get(settings);
+        this.batchSize = ConversationalSettings.WRITE_BEHIND_BATCH_SIZE.get(settings);
+        this.capacity = ConversationalSettings.WRITE_BEHIND_QUEUE_CAPACITY.get(settings);
+        this.linger = ConversationalSettings.WRITE_BEHIND_LINGER.get(settings);
+        this.ackMode = ConversationalSettings.WRITE_BEHIND_ACK.get(settings);
+        this.queue = new ArrayBlockingQueue<>(enabled ? capacity : 1);
+    }
+
+    /**
+     * @return whether puts should go through this buffer
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue an interaction to be written
+     * @param request index request for the interaction. Must have its id assigned already
+     * @param convoId the conversation the interaction belongs to
+     * @param listener gets the id of the interaction, when it's queued or written depending on the ack mode
+     */
+    public void add(IndexRequest request, String convoId, ActionListener<String> listener) {
+        add(request, convoId, id -> {}, e -> {}, listener);
+    }
+
+    /**
+     * Queue an interaction to be written
+     * @param request index request for the interaction. Must have its id assigned already
+     * @param convoId the conversation the interaction belongs to
+     * @param onWritten called with the id of the interaction once it's written, whatever the ack mode;
+     *      never called if the write fails
+     * @param onLost called with the failure if the interaction was acked when it was queued and then couldn't be
+     *      written, retries included. Only in ack mode "enqueue"; in ack mode "flush" the listener gets the failure
+     * @param listener gets the id of the interaction, when it's queued or written depending on the ack mode
+     */
+    public void add(
+        IndexRequest request,
+        String convoId,
+        Consumer<String> onWritten,
+        Consumer<Exception> onLost,
+        ActionListener<String> listener
+    ) {
+        if(closed) {
+            rejected.inc();
+            listener.onFailure(new OpenSearchRejectedExecutionException("interactions write-behind queue is closed"));
+            return;
+        }
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        ActionListener<String> flushListener = ackMode == AckMode.FLUSH
+            ? ContextPreservingActionListener.wrapPreservingContext(listener, threadContext)
+            : null;
+        if(!queue.offer(new Pending(request, convoId, onWritten, onLost, flushListener))) {
+            rejected.inc();
+            listener.onFailure(new OpenSearchRejectedExecutionException(
+                "interactions write-behind queue is full [capacity=" + capacity + "]"
+            ));
+            return;
+        }
+        if(ackMode == AckMode.ENQUEUE) {
+            listener.onResponse(request.id());
+        }
+        if(queue.size() >= batchSize || closed) {
+            // a put that raced with close isn't left behind in the queue
+            flush();
+        } else if(flushScheduled.compareAndSet(false, true)) {
+            scheduledFlush = client.threadPool().schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, linger, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    /**
+     * Stop taking puts and write everything that's queued, waiting for it for a bounded time.
+     * In ack mode "enqueue" the queued interactions were already acked, so they're written before the node goes away
+     * @param timeout how long to wait for the queued interactions to be written
+     */
+    public void close(TimeValue timeout) {
+        closed = true;
+        Scheduler.ScheduledCancellable scheduled = scheduledFlush;
+        if(scheduled != null) {
+            scheduled.cancel();
+        }
+        flush();
+        long deadline = System.nanoTime() + timeout.nanos();
+        // a batch that's retried is tracked again before its earlier attempt is done, so wait until nothing's left
+        while(true) {
+            List<PlainActionFuture<Void>> toWaitFor;
+            synchronized(inFlight) {
+                if(inFlight.isEmpty()) {
+                    return;
+                }
+                toWaitFor = new ArrayList<>(inFlight);
+            }
+            for(PlainActionFuture<Void> sent : toWaitFor) {
+                try {
+                    sent.actionGet(TimeValue.timeValueNanos(Math.max(0, deadline - System.nanoTime())));
+                } catch (Exception e) {
+                    log.warn("failed to write queued interactions on close", e);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write everything that's queued, in batches
+     */
+    public void flush() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while(queue.drainTo(batch, batchSize) > 0) {
+            send(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        BulkRequest bulk = new BulkRequest();
+        for(Pending pending : batch) {
+            bulk.add(pending.request);
+        }
+        long start = System.nanoTime();
+        PlainActionFuture<Void> sent = track();
+        Runnable done = () -> untrack(sent);
+        try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
+            client.bulk(bulk, ActionListener.runAfter(ActionListener.wrap(response -> {
+                batchLatencyMillis.inc(TimeValue.nsecToMSec(System.nanoTime() - start));
+                List<Pending> retries = new ArrayList<>();
+                for(BulkItemResponse item : response.getItems()) {
+                    Pending pending = batch.get(item.getItemId());
+                    Exception cause = item.isFailed() ? item.getFailure().getCause() : null;
+                    if(cause != null && pending.resent && ExceptionsHelper.unwrapCause(cause) instanceof VersionConflictEngineException) {
+                        // an earlier attempt that came back as a failure did write it
+                        cause = null;
+                    }
+                    if(cause == null) {
+                        onWritten(pending, item.getId());
+                    } else if(isRetryable(item.getFailure().getStatus(), cause)) {
+                        pending.lastFailure = cause;
+                        retries.add(pending);
+                    } else {
+                        onFailed(pending, cause);
+                    }
+                }
+                retry(retries);
+            }, e -> {
+                batchLatencyMillis.inc(TimeValue.nsecToMSec(System.nanoTime() - start));
+                onBulkFailed(batch, e);
+            }), done));
+        } catch (Exception e) {
+            onBulkFailed(batch, e);
+            done.run();
+        }
+    }
+
+    private PlainActionFuture<Void> track() {
+        PlainActionFuture<Void> future = PlainActionFuture.newFuture();
+        synchronized(inFlight) {
+            inFlight.add(future);
+        }
+        return future;
+    }
+
+    private void untrack(PlainActionFuture<Void> future) {
+        synchronized(inFlight) {
+            inFlight.remove(future);
+        }
+        future.onResponse(null);
+    }
+
+    private boolean isRetryable(RestStatus status, Exception e) {
+        return status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE || blockedByMigration.test(e);
+    }
+
+    private void onBulkFailed(List<Pending> batch, Exception e) {
+        if(isRetryable(ExceptionsHelper.status(e), e)) {
+            for(Pending pending : batch) {
+                pending.lastFailure = e;
+            }
+            retry(batch);
+        } else {
+            for(Pending pending : batch) {
+                onFailed(pending, e);
+            }
+        }
+    }
+
+    /**
+     * Send the failed interactions again, after the longest of their next backoff delays.
+     * Interactions that are out of retries fail with their last failure
+     */
+    private void retry(List<Pending> failures) {
+        List<Pending> batch = new ArrayList<>(failures.size());
+        TimeValue delay = TimeValue.ZERO;
+        for(Pending pending : failures) {
+            if(pending.backoff.hasNext()) {
+                TimeValue next = pending.backoff.next();
+                delay = next.compareTo(delay) > 0 ? next : delay;
+                pending.resent = true;
+                batch.add(pending);
+            } else {
+                onFailed(pending, pending.lastFailure);
+            }
+        }
+        if(batch.isEmpty()) {
+            return;
+        }
+        retried.inc(batch.size());
+        // tracked while it waits, so close waits for it too
+        PlainActionFuture<Void> waiting = track();
+        try {
+            client.threadPool().schedule(() -> {
+                send(batch);
+                untrack(waiting);
+            }, delay, ThreadPool.Names.GENERIC);
+        } catch (Exception e) {
+            for(Pending pending : batch) {
+                onFailed(pending, e);
+            }
+            untrack(waiting);
+        }
+    }
+
+    private void onWritten(Pending pending, String id) {
+        written.inc();
+        refreshTracker.markWritten(pending.convoId);
+        try {
+            pending.onWritten.accept(id);
+        } catch (Exception e) {
+            log.error("failed to process written interaction [" + id + "]", e);
+        }
+        if(pending.listener != null) {
+            pending.listener.onResponse(id);
+        }
+    }
+
+    private void onFailed(Pending pending, Exception e) {
+        failed.inc();
+        if(pending.listener != null) {
+            pending.listener.onFailure(e);
+            return;
+        }
+        lost.inc();
+        log.error("failed to write acknowledged interaction [" + pending.request.id() + "]", e);
+        try {
+            pending.onLost.accept(e);
+        } catch (Exception inner) {
+            log.error("failed to process lost interaction [" + pending.request.id() + "]", inner);
+        }
+    }
+
+    /**
+     * @return number of interactions waiting to be written
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of interactions written
+     */
+    public long getWritten() {
+        return written.count();
+    }
+
+    /**
+     * @return number of queued interactions that failed to be written
+     */
+    public long getFailed() {
+        return failed.count();
+    }
+
+    /**
+     * @return number of interactions that were acked when they were queued and then failed to be written
+     */
+    public long getLost() {
+        return lost.count();
+    }
+
+    /**
+     * @return number of times a queued interaction was sent again after its write failed
+     */
+    public long getRetried() {
+        return retried.count();
+    }
+
+    /**
+     * @return number of puts rejected because the queue was full
+     */
+    public long getRejected() {
+        return rejected.count();
+    }
+
+    /**
+     * @return number of bulk requests sent
+     */
+    public long getBatchCount() {
+        return batchLatencyMillis.count();
+    }
+
+    /**
+     * @return mean time a bulk request took, in millis
+     */
+    public double getBatchLatencyMillis() {
+        return batchLatencyMillis.mean();
+    }
+
+    private static final class Pending {
+        private final IndexRequest request;
+        private final String convoId;
+        private final Consumer<String> onWritten;
+        private final Consumer<Exception> onLost;
+        private final ActionListener<String> listener;
+        private final Iterator<TimeValue> backoff = RETRY_BACKOFF.iterator();
+        private boolean resent = false;
+        private Exception lastFailure = null;
+
+        private Pending(
+            IndexRequest request,
+            String convoId,
+            Consumer<String> onWritten,
+            Consumer<Exception> onLost,
+            ActionListener<String> listener
+        ) {
+            this.request = request;
+            this.convoId = convoId;
+            this.onWritten = onWritten;
+            this.onLost = onLost;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+
+/**
+ * Opaque pagination token holding the sort values of the last item of a page.
+ * Used as search_after for the next page, so every page costs the same no matter how deep it is.
+ * Both indices sort by a timestamp (descending) with the document id as tiebreaker;
+ * interactions sort by their sequence number (descending) before that.
+ */
+public final class PageCursor {
+
+    private final static byte VERSION = 2;
+    /** Tokens from before interactions had sequence numbers; they only ever point into interactions without one */
+    private final static byte VERSION_WITHOUT_SEQUENCE = 1;
+    /** Value a descending sort on the sequence number gives interactions that don't have one */
+    private final static long MISSING_SEQUENCE = Long.MIN_VALUE;
+
+    private final long timestampMillis;
+    private final String id;
+    private final long sequence;
+
+    private PageCursor(long timestampMillis, String id, long sequence) {
+        this.timestampMillis = timestampMillis;
+        this.id = id;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @param interaction the last interaction of a page
+     * @return cursor pointing just past that interaction
+     */
+    public static PageCursor after(Interaction interaction) {
+        Long sequence = interaction.getSequence();
+        return new PageCursor(interaction.getTimestamp().toEpochMilli(), interaction.getId(), sequence == null ? MISSING_SEQUENCE : sequence);
+    }
+
+    /**
+     * @param convo the last conversation of a page
+     * @return cursor pointing just past that conversation
+     */
+    public static PageCursor after(ConvoMeta convo) {
+        return new PageCursor(convo.getLastHit().toEpochMilli(), convo.getId(), MISSING_SEQUENCE);
+    }
+
+    /**
+     * @return the search_after values for the next page
+     */
+    public Object[] getSortValues() {
+        return new Object[] { timestampMillis, id };
+    }
+
+    /**
+     * @return the search_after values for the next page of interactions, sorted by sequence number first
+     */
+    public Object[] getSequenceSortValues() {
+        return new Object[] { sequence, timestampMillis, id };
+    }
+
+    /**
+     * @param key the value of the leading sort field shared by every item of the page
+     * @return the search_after values for the next page of interactions, for an index sorted by that field first
+     */
+    public Object[] getSortValues(String key) {
+        return new Object[] { key, sequence, timestampMillis, id };
+    }
+
+    /**
+     * @return this cursor as an opaque, url-safe string
+     */
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeByte(VERSION);
+            out.writeLong(timestampMillis);
+            out.writeString(id);
+            out.writeLong(sequence);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to encode page cursor", e);
+        }
+    }
+
+    /**
+     * Reads a cursor out of a token produced by {@link #encode}
+     * @param token the token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token isn't a valid cursor
+     */
+    public static PageCursor decode(String token) {
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(token)).streamInput()) {
+            byte version = in.readByte();
+            if(version == VERSION_WITHOUT_SEQUENCE) {
+                return new PageCursor(in.readLong(), in.readString(), MISSING_SEQUENCE);
+            } else if(version != VERSION) {
+                throw new IOException("unsupported pagination token version [" + version + "]");
+            }
+            return new PageCursor(in.readLong(), in.readString(), in.readLong());
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("invalid pagination token [" + token + "]", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PageCursor
+            && ((PageCursor) other).timestampMillis == this.timestampMillis
+            && ((PageCursor) other).id.equals(this.id)
+            && ((PageCursor) other).sequence == this.sequence;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getSequenceSortValues());
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{timestamp=" + timestampMillis + ",id=" + id + ",sequence=" + sequence + "}";
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.client.Requests;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.index.IndexSettings;
+
+/**
+ * Tracks which keys (conversations) of an index have writes acked by this node that
+ * may not be visible to searches yet, so that readers only refresh when they actually need to.
+ * Writes older than a few of the index's refresh intervals ({@link ConversationalSettings#REFRESH_VISIBILITY_INTERVALS})
+ * are assumed visible through the scheduled refresh. That's a time bound, not a refresh checkpoint: if the scheduled
+ * refresh runs later than that, a read in between may not see the write. Writes acked by other nodes aren't tracked.
+ */
+public class RefreshTracker implements ClusterStateListener {
+    private final static org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(RefreshTracker.class);
+
+    /** Prune old entries once there are this many, so write-only keys don't pile up */
+    private final static int PRUNE_THRESHOLD = 10000;
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final String indexName;
+    private final Map<String, Long> unrefreshedWrites = new ConcurrentHashMap<>();
+    /** Last write to any key, for readers of the whole index */
+    private final AtomicLong lastWriteNanos = new AtomicLong(Long.MIN_VALUE);
+    /** Start of the last refresh this tracker sent that went through */
+    private volatile long refreshedNanos = Long.MIN_VALUE;
+    private final int visibilityIntervals;
+    private InFlightRefresh inFlight = null;
+    /** Cached from cluster state updates; negative until this node has looked at cluster state */
+    private volatile long visibilityWindowNanos = -1;
+
+    /**
+     * Constructor
+     * @param client client used to send refreshes
+     * @param clusterService used to look up the index's refresh interval
+     * @param indexName the index (or alias) to track
+     */
+    public RefreshTracker(Client client, ClusterService clusterService, String indexName) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.indexName = indexName;
+        this.visibilityIntervals = ConversationalSettings.REFRESH_VISIBILITY_INTERVALS.get(clusterService.getSettings());
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if(event.metadataChanged() || visibilityWindowNanos < 0) {
+            visibilityWindowNanos = computeVisibilityWindowNanos(event.state());
+        }
+    }
+
+    /**
+     * Record that a write to this key was acked
+     * @param key the key (conversation id) that was written
+     */
+    public void markWritten(String key) {
+        long now = System.nanoTime();
+        unrefreshedWrites.put(key, now);
+        lastWriteNanos.accumulateAndGet(now, Math::max);
+        if(unrefreshedWrites.size() > PRUNE_THRESHOLD) {
+            long visibleBefore = System.nanoTime() - visibilityWindowNanos();
+            unrefreshedWrites.values().removeIf(t -> t < visibleBefore);
+        }
+    }
+
+    /**
+     * Make sure writes to this key acked by this node are visible to search, refreshing only if needed
+     * @param key the key about to be read, or null if the reader needs every write to the index
+     * @param listener gets called once the key's writes are visible
+     */
+    public void ensureVisible(String key, ActionListener<Void> listener) {
+        Long lastWrite = lastUnrefreshedWrite(key);
+        if(lastWrite == null) {
+            listener.onResponse(null);
+            return;
+        }
+        InFlightRefresh refresh;
+        synchronized(this) {
+            if(inFlight != null && inFlight.startNanos > lastWrite) {
+                inFlight.listeners.add(listener);
+                return;
+            }
+            refresh = new InFlightRefresh(System.nanoTime());
+            refresh.listeners.add(listener);
+            inFlight = refresh;
+        }
+        client.admin().indices().refresh(Requests.refreshRequest(indexName), ActionListener.wrap(r -> {
+            unrefreshedWrites.values().removeIf(t -> t < refresh.startNanos);
+            synchronized(this) {
+                refreshedNanos = Math.max(refreshedNanos, refresh.startNanos);
+            }
+            refresh.complete(null);
+        }, e -> {
+            log.error("failed during refresh", e);
+            refresh.complete(e);
+        }));
+    }
+
+    private Long lastUnrefreshedWrite(String key) {
+        long visibleBefore = System.nanoTime() - visibilityWindowNanos();
+        if(key != null) {
+            Long lastWrite = unrefreshedWrites.get(key);
+            return (lastWrite == null || lastWrite < visibleBefore) ? null : lastWrite;
+        }
+        long lastWrite = lastWriteNanos.get();
+        return (lastWrite < visibleBefore || lastWrite < refreshedNanos) ? null : lastWrite;
+    }
+
+    /**
+     * Writes older than this are assumed visible through the scheduled refresh. A few refresh
+     * intervals, to cover a scheduled refresh that is still running
+     */
+    private long visibilityWindowNanos() {
+        long window = visibilityWindowNanos;
+        if(window < 0) {
+            // no cluster state update seen yet; read it once
+            window = computeVisibilityWindowNanos(clusterService.state());
+            visibilityWindowNanos = window;
+        }
+        return window;
+    }
+
+    private long computeVisibilityWindowNanos(ClusterState state) {
+        IndexAbstraction abstraction = state.metadata().getIndicesLookup().get(indexName);
+        // writes go to the write index of an alias; that's the one whose refreshes matter
+        IndexMetadata indexMetadata = abstraction == null ? null
+            : abstraction.getWriteIndex() != null ? abstraction.getWriteIndex() : abstraction.getIndices().get(0);
+        TimeValue interval = IndexSettings.DEFAULT_REFRESH_INTERVAL;
+        if(indexMetadata != null) {
+            interval = IndexSettings.INDEX_REFRESH_INTERVAL_SETTING.get(indexMetadata.getSettings());
+        }
+        if(interval.nanos() < 0) {
+            // scheduled refresh is disabled; nothing becomes visible on its own
+            return Long.MAX_VALUE / 2;
+        }
+        return visibilityIntervals * interval.nanos();
+    }
+
+    private final class InFlightRefresh {
+        private final long startNanos;
+        private final List<ActionListener<Void>> listeners = new ArrayList<>();
+
+        private InFlightRefresh(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private void complete(Exception e) {
+            List<ActionListener<Void>> toNotify;
+            synchronized(RefreshTracker.this) {
+                if(inFlight == this) {
+                    inFlight = null;
+                }
+                toNotify = new ArrayList<>(listeners);
+                listeners.clear();
+            }
+            for(ActionListener<Void> listener : toNotify) {
+                if(e == null) {
+                    listener.onResponse(null);
+                } else {
+                    listener.onFailure(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class AdmissionControllerTests extends OpenSearchTestCase {
+
+    List<ActionListener<String>> running = new ArrayList<>();
+
+    private AdmissionController controller(boolean enabled, int min, int max, int queueSize) {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.ADMISSION_ENABLED.getKey(), enabled)
+            .put(ConversationalSettings.ADMISSION_MIN_CONCURRENCY.getKey(), min)
+            .put(ConversationalSettings.ADMISSION_MAX_CONCURRENCY.getKey(), max)
+            .put(ConversationalSettings.ADMISSION_QUEUE_SIZE.getKey(), queueSize)
+            .put(ConversationalSettings.ADMISSION_LATENCY_TOLERANCE.getKey(), 2.0)
+            .build();
+        return new AdmissionController(settings);
+    }
+
+    private PlainActionFuture<String> admit(AdmissionController controller) {
+        PlainActionFuture<String> future = PlainActionFuture.newFuture();
+        controller.admit(AdmissionController.PUT_INTERACTION, future, running::add);
+        return future;
+    }
+
+    private void runOne(AdmissionController controller) {
+        PlainActionFuture<String> future = admit(controller);
+        running.remove(running.size() - 1).onResponse("done");
+        assert(future.actionGet().equals("done"));
+    }
+
+    private void index(AdmissionController controller, TimeValue latency) {
+        controller.onPhase(Operation.PUT_INTERACTION, Phase.INDEX, latency.nanos());
+    }
+
+    public void testQueuesPastTheLimitAndRejectsPastTheQueue() {
+        AdmissionController controller = controller(true, 1, 2, 1);
+        AdmissionController.Limiter limiter = controller.getLimiter(AdmissionController.PUT_INTERACTION);
+        PlainActionFuture<String> first = admit(controller);
+        admit(controller);
+        PlainActionFuture<String> third = admit(controller);
+        PlainActionFuture<String> fourth = admit(controller);
+        assert(running.size() == 2);
+        assert(limiter.getInFlight() == 2);
+        assert(limiter.getQueueSize() == 1);
+        expectThrows(OpenSearchRejectedExecutionException.class, () -> fourth.actionGet());
+
+        // the finished request's slot goes to the waiting one
+        running.get(0).onResponse("first");
+        assert(first.actionGet().equals("first"));
+        assert(running.size() == 3);
+        assert(limiter.getQueueSize() == 0);
+        running.get(2).onResponse("third");
+        assert(third.actionGet().equals("third"));
+
+        assert(limiter.getAdmitted() == 3);
+        assert(limiter.getQueued() == 1);
+        assert(limiter.getRejected() == 1);
+    }
+
+    public void testFailedWorkReleasesItsSlot() {
+        AdmissionController controller = controller(true, 1, 1, 0);
+        PlainActionFuture<String> failing = PlainActionFuture.newFuture();
+        controller.admit(AdmissionController.PUT_INTERACTION, failing, l -> { throw new IllegalStateException("boom"); });
+        expectThrows(IllegalStateException.class, () -> failing.actionGet());
+        assert(controller.getLimiter(AdmissionController.PUT_INTERACTION).getInFlight() == 0);
+        runOne(controller);
+    }
+
+    public void testLimitShrinksWhenLatencyRises() {
+        AdmissionController controller = controller(true, 2, 10, 10);
+        AdmissionController.Limiter limiter = controller.getLimiter(AdmissionController.PUT_INTERACTION);
+        for(int i = 0; i < 100; i++) {
+            index(controller, TimeValue.timeValueMillis(1));
+        }
+        assert(limiter.getLimit() == 10);
+        for(int i = 0; i < 10; i++) {
+            index(controller, TimeValue.timeValueMillis(100));
+        }
+        assert(limiter.getLimit() < 10);
+        for(int i = 0; i < 30; i++) {
+            index(controller, TimeValue.timeValueMillis(100));
+        }
+        assert(limiter.getLimit() == 2);
+    }
+
+    public void testMixedLatenciesDontCollapseTheLimit() {
+        AdmissionController controller = controller(true, 2, 10, 10);
+        AdmissionController.Limiter limiter = controller.getLimiter(AdmissionController.PUT_INTERACTION);
+        // a steady mix of fast and slow calls; the fastest of them must not become the baseline
+        for(int i = 0; i < 2000; i++) {
+            index(controller, TimeValue.timeValueMillis(i % 2 == 0 ? 1 : 20));
+        }
+        assert(limiter.getLimit() == 10);
+    }
+
+    public void testOnlySampledPhasesCount() {
+        AdmissionController controller = controller(true, 2, 10, 10);
+        for(int i = 0; i < 100; i++) {
+            index(controller, TimeValue.timeValueMillis(1));
+            controller.onPhase(Operation.GET_INTERACTIONS, Phase.SEARCH, TimeValue.timeValueMillis(1).nanos());
+        }
+        for(int i = 0; i < 50; i++) {
+            controller.onPhase(Operation.PUT_INTERACTION, Phase.REFRESH, TimeValue.timeValueMillis(100).nanos());
+            controller.onPhase(Operation.GET_INTERACTIONS, Phase.REFRESH, TimeValue.timeValueMillis(100).nanos());
+        }
+        assert(controller.getLimiter(AdmissionController.PUT_INTERACTION).getLimit() == 10);
+        assert(controller.getLimiter(AdmissionController.GET_INTERACTIONS).getLimit() == 10);
+        for(int i = 0; i < 10; i++) {
+            controller.onPhase(Operation.GET_INTERACTIONS, Phase.SEARCH, TimeValue.timeValueMillis(100).nanos());
+        }
+        assert(controller.getLimiter(AdmissionController.GET_INTERACTIONS).getLimit() < 10);
+        assert(controller.getLimiter(AdmissionController.PUT_INTERACTION).getLimit() == 10);
+    }
+
+    public void testSlowMetadataUpdatesShrinkPutLimits() {
+        AdmissionController controller = controller(true, 2, 10, 10);
+        for(int i = 0; i < 100; i++) {
+            index(controller, TimeValue.timeValueMillis(1));
+            controller.onPhase(Operation.BULK_PUT_INTERACTIONS, Phase.INDEX, TimeValue.timeValueMillis(1).nanos());
+        }
+        for(int i = 0; i < 10; i++) {
+            controller.onPhase(Operation.PUT_INTERACTION, Phase.UPDATE, TimeValue.timeValueMillis(100).nanos());
+            controller.onPhase(Operation.BULK_PUT_INTERACTIONS, Phase.UPDATE, TimeValue.timeValueMillis(100).nanos());
+        }
+        assert(controller.getLimiter(AdmissionController.PUT_INTERACTION).getLimit() < 10);
+        assert(controller.getLimiter(AdmissionController.BULK_PUT_INTERACTIONS).getLimit() < 10);
+        assert(controller.getLimiter(AdmissionController.GET_INTERACTIONS).getLimit() == 10);
+    }
+
+    public void testDisabledAdmitsEverything() {
+        AdmissionController controller = controller(false, 1, 1, 0);
+        for(int i = 0; i < 5; i++) {
+            admit(controller);
+        }
+        assert(running.size() == 5);
+        assert(controller.getLimiter(AdmissionController.PUT_INTERACTION).getAdmitted() == 0);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsAction;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsRequest;
+import org.opensearch.conversational.action.memory.conversation.ExpireConversationsTask;
+import org.opensearch.conversational.index.ConvoIndexConstants;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.conversational.index.InteractionsRollover;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.plugins.Plugin;
+import org.opensearch.tasks.TaskId;
+import org.opensearch.test.OpenSearchIntegTestCase;
+
+@OpenSearchIntegTestCase.ClusterScope(scope = OpenSearchIntegTestCase.Scope.TEST, numDataNodes = 2)
+public class ConversationExpiryTests extends OpenSearchIntegTestCase {
+
+    private Client client;
+    private ClusterService clusterService;
+    private ConversationalMemoryHandler cmHandler;
+
+    @Override
+    protected Collection<Class<? extends Plugin>> nodePlugins() {
+        return List.of(ConversationalPlugin.class);
+    }
+
+    @Before
+    public void setup() {
+        client = client();
+        clusterService = clusterService();
+        cmHandler = new ConversationalMemoryHandler(client, clusterService);
+    }
+
+    private String createConversation(TimeValue retention) {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        if(retention == null) {
+            cmHandler.createConversation("test", cid);
+        } else {
+            cmHandler.createConversation("test", retention, cid);
+        }
+        return cid.actionGet();
+    }
+
+    private void putInteractions(String cid, int count) {
+        for(int i = 0; i < count; i++) {
+            PlainActionFuture<String> iid = PlainActionFuture.newFuture();
+            cmHandler.putInteraction(cid, "input-" + i, "", "", "", "", iid);
+            iid.actionGet();
+        }
+        PlainActionFuture<Void> flushed = PlainActionFuture.newFuture();
+        cmHandler.getHitBuffer().flush(flushed);
+        flushed.actionGet();
+    }
+
+    private List<Interaction> getInteractions(String cid) {
+        PlainActionFuture<List<Interaction>> interactions = PlainActionFuture.newFuture();
+        cmHandler.getInteractions(cid, 0, 10, interactions);
+        return interactions.actionGet();
+    }
+
+    private ExpireConversationsTask.Status expire() {
+        return client.execute(ExpireConversationsAction.INSTANCE, new ExpireConversationsRequest()).actionGet().getStatus();
+    }
+
+    private void rollOver() {
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+        Settings rolloverSettings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_DOCS.getKey(), 1)
+            .build();
+        // the interactions index is the second one the handler initializes
+        InteractionsRollover rollover = new InteractionsRollover(
+            client,
+            clusterService,
+            clusterService.threadPool(),
+            cmHandler.getIndexInitializers().get(1),
+            rolloverSettings
+        );
+        PlainActionFuture<Void> rolledOver = PlainActionFuture.newFuture();
+        rollover.runOnce(rolledOver);
+        rolledOver.actionGet();
+    }
+
+    /**
+     * Conversations past their own retention are deleted with their interactions; others are left alone
+     */
+    public void testExpiresConversationsPastRetention() throws Exception {
+        String shortLived = createConversation(TimeValue.timeValueMillis(1));
+        String kept = createConversation(null);
+        putInteractions(shortLived, 2);
+        putInteractions(kept, 3);
+        Thread.sleep(10);
+
+        ExpireConversationsTask.Status status = expire();
+        assert(status.getConversationsDeleted() == 1);
+        assert(status.getInteractionsDeleted() == 2);
+        assert(getInteractions(shortLived).isEmpty());
+        assert(getInteractions(kept).size() == 3);
+
+        status = expire();
+        assert(status.getConversationsDeleted() == 0);
+    }
+
+    /**
+     * Old generations that only hold expired conversations are dropped whole
+     */
+    public void testDropsExpiredGenerations() throws Exception {
+        client.admin().cluster().prepareUpdateSettings()
+            .setTransientSettings(Settings.builder().put(ConversationalSettings.RETENTION_DEFAULT.getKey(), "1ms"))
+            .get();
+        String cid = createConversation(null);
+        putInteractions(cid, 3);
+        rollOver();
+        Thread.sleep(10);
+
+        ExpireConversationsTask.Status status = expire();
+        assert(status.getGenerationsDropped() == 1);
+        assert(status.getConversationsDeleted() == 1);
+        assert(status.getInteractionsDeleted() == 0);
+        assert(!clusterService.state().metadata().hasIndex(ConvoIndexConstants.interactionsGenerationName(1)));
+    }
+
+    /**
+     * Generations holding interactions of conversations without metadata are kept, and so are
+     * all generations while no default retention is set
+     */
+    public void testKeepsGenerationsOfConversationsWithoutMetadata() throws Exception {
+        String expiring = createConversation(TimeValue.timeValueMillis(1));
+        putInteractions(expiring, 2);
+        putInteractions("no-metadata", 2);
+        rollOver();
+        Thread.sleep(10);
+
+        ExpireConversationsTask.Status status = expire();
+        assert(status.getGenerationsDropped() == 0);
+        assert(status.getConversationsDeleted() == 1);
+        assert(clusterService.state().metadata().hasIndex(ConvoIndexConstants.interactionsGenerationName(1)));
+
+        client.admin().cluster().prepareUpdateSettings()
+            .setTransientSettings(Settings.builder().put(ConversationalSettings.RETENTION_DEFAULT.getKey(), "1ms"))
+            .get();
+        status = expire();
+        assert(status.getGenerationsDropped() == 0);
+        assert(clusterService.state().metadata().hasIndex(ConvoIndexConstants.interactionsGenerationName(1)));
+        assert(getInteractions("no-metadata").size() == 2);
+    }
+
+    /**
+     * A conversation that gets a new interaction after its generation was found droppable keeps
+     * its metadata and every one of its interactions, and so the generation is kept
+     */
+    public void testKeepsGenerationOfConversationRevivedMidCheck() throws Exception {
+        client.admin().cluster().prepareUpdateSettings()
+            .setTransientSettings(Settings.builder().put(ConversationalSettings.RETENTION_DEFAULT.getKey(), "1ms"))
+            .get();
+        String revived = createConversation(null);
+        String expired = createConversation(null);
+        putInteractions(revived, 3);
+        putInteractions(expired, 2);
+        rollOver();
+        Thread.sleep(10);
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.META_INDEX_NAME).get();
+
+        // both conversations are expired as of the check; one of them gets a new interaction before the drop
+        QueryBuilder expiredQuery = cmHandler.getConversationExpiry().expiredQuery(Instant.now());
+        putInteractions(revived, 1);
+        ExpireConversationsTask task = new ExpireConversationsTask(1, "transport", ExpireConversationsAction.NAME, "", TaskId.EMPTY_TASK_ID, Map.of());
+        PlainActionFuture<Boolean> dropped = PlainActionFuture.newFuture();
+        cmHandler.getConversationExpiry().dropGeneration(task, ConvoIndexConstants.interactionsGenerationName(1), expiredQuery, dropped);
+
+        assert(!dropped.actionGet());
+        assert(task.getStatus().getGenerationsDropped() == 0);
+        assert(clusterService.state().metadata().hasIndex(ConvoIndexConstants.interactionsGenerationName(1)));
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+        assert(getInteractions(revived).size() == 4);
+        assert(getInteractions(expired).isEmpty());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.opensearch.Version;
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersAction;
+import org.opensearch.conversational.action.memory.interaction.NotifyWatchersRequest;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+public class ConversationWatcherTests extends OpenSearchTestCase {
+
+    ThreadPool threadPool;
+    Client client;
+    ClusterService clusterService;
+
+    @Before
+    public void setup() {
+        threadPool = new TestThreadPool(getTestName());
+        client = mock(Client.class);
+        when(client.threadPool()).thenReturn(threadPool);
+        DiscoveryNode local = new DiscoveryNode("local", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNode other = new DiscoveryNode("other", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNodes nodes = DiscoveryNodes.builder().add(local).add(other).localNodeId(local.getId()).build();
+        clusterService = mock(ClusterService.class);
+        when(clusterService.localNode()).thenReturn(local);
+        when(clusterService.state()).thenReturn(ClusterState.builder(new ClusterName("test")).nodes(nodes).build());
+    }
+
+    @After
+    public void teardown() {
+        terminate(threadPool);
+    }
+
+    private ConversationWatcher watcher(int maxWatchers) {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.WATCH_MAX_WATCHERS.getKey(), maxWatchers)
+            .put(ConversationalSettings.WATCH_NOTIFY_LINGER.getKey(), TimeValue.ZERO)
+            .build();
+        return new ConversationWatcher(client, clusterService, settings);
+    }
+
+    private ActionListener<List<String>> collect(List<List<String>> results) {
+        return ActionListener.wrap(results::add, e -> { assert(false); });
+    }
+
+    public void testNotifyWakesWatchersOfThatConversation() {
+        ConversationWatcher watcher = watcher(10);
+        List<List<String>> a = new ArrayList<>();
+        List<List<String>> b = new ArrayList<>();
+        watcher.watch("a", TimeValue.timeValueMinutes(1), collect(a));
+        watcher.watch("a", TimeValue.timeValueMinutes(1), collect(a));
+        watcher.watch("b", TimeValue.timeValueMinutes(1), collect(b));
+        assert(watcher.getNumWatchers() == 3);
+        assert(watcher.notifyLocal(Map.of("a", List.of("i1", "i2"))) == 2);
+        assert(a.size() == 2);
+        assert(a.get(0).equals(List.of("i1", "i2")));
+        assert(b.isEmpty());
+        assert(watcher.getNumWatchers() == 1);
+        // watches are one-shot
+        assert(watcher.notifyLocal(Map.of("a", List.of("i3"))) == 0);
+        assert(a.size() == 2);
+    }
+
+    public void testWatchTimesOutEmpty() throws InterruptedException {
+        ConversationWatcher watcher = watcher(10);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<List<String>> results = new ArrayList<>();
+        watcher.watch("a", TimeValue.timeValueMillis(10), ActionListener.wrap(ids -> {
+            results.add(ids);
+            latch.countDown();
+        }, e -> { assert(false); }));
+        assert(latch.await(10, TimeUnit.SECONDS));
+        assert(results.size() == 1);
+        assert(results.get(0).isEmpty());
+        assert(watcher.getNumWatchers() == 0);
+    }
+
+    public void testRejectsWatchesPastTheBound() {
+        ConversationWatcher watcher = watcher(1);
+        List<List<String>> results = new ArrayList<>();
+        ConversationWatcher.Watch watch = watcher.watch("a", TimeValue.timeValueMinutes(1), collect(results));
+        expectThrows(OpenSearchRejectedExecutionException.class, () -> watcher.watch("b", TimeValue.timeValueMinutes(1), collect(results)));
+        watch.cancel();
+        assert(watcher.getNumWatchers() == 0);
+        watcher.watch("b", TimeValue.timeValueMinutes(1), collect(results));
+        assert(watcher.getNumWatchers() == 1);
+        assert(results.isEmpty());
+    }
+
+    public void testAddedInteractionsAreBroadcastToOtherNodes() {
+        ConversationWatcher watcher = watcher(10);
+        List<List<String>> results = new ArrayList<>();
+        watcher.watch("a", TimeValue.timeValueMinutes(1), collect(results));
+        watcher.onWatching("other", TimeValue.timeValueMinutes(1));
+        watcher.onInteractionsAdded("a", List.of("i1"));
+        assert(results.size() == 1);
+        assert(results.get(0).equals(List.of("i1")));
+        verify(client).execute(
+            eq(NotifyWatchersAction.INSTANCE),
+            argThat((NotifyWatchersRequest request) -> List.of(request.nodesIds()).equals(List.of("other"))
+                && request.getInteractions().equals(Map.of("a", List.of("i1")))),
+            any()
+        );
+    }
+
+    public void testDoesntBroadcastWithoutWatchingNodes() {
+        ConversationWatcher watcher = watcher(10);
+        watcher.onInteractionsAdded("a", List.of("i1"));
+        verify(client, never()).execute(eq(NotifyWatchersAction.INSTANCE), any(), any());
+        // the lease ran out
+        watcher.onWatching("other", TimeValue.ZERO);
+        watcher.onInteractionsAdded("a", List.of("i2"));
+        verify(client, never()).execute(eq(NotifyWatchersAction.INSTANCE), any(), any());
+    }
+
+    public void testWatchAnnouncesThisNodeOncePerLease() {
+        ConversationWatcher watcher = watcher(10);
+        List<List<String>> results = new ArrayList<>();
+        watcher.watch("a", TimeValue.timeValueMinutes(1), collect(results));
+        watcher.watch("b", TimeValue.timeValueMinutes(1), collect(results));
+        verify(client, times(1)).execute(
+            eq(NotifyWatchersAction.INSTANCE),
+            argThat((NotifyWatchersRequest request) -> List.of(request.nodesIds()).equals(List.of("other"))
+                && "local".equals(request.getWatchingNode())
+                && request.getWatchingFor().minutes() >= 5
+                && request.getInteractions().isEmpty()),
+            any()
+        );
+        // a watch that outlasts the lease renews it
+        watcher.watch("c", TimeValue.timeValueMinutes(10), collect(results));
+        verify(client, times(2)).execute(eq(NotifyWatchersAction.INSTANCE), any(), any());
+    }
+
+    public void testRecentNotificationsAreKeptForReplay() {
+        ConversationWatcher watcher = watcher(10);
+        assert(watcher.notifyLocal(Map.of("a", List.of("i1", "i2"))) == 0);
+        watcher.onInteractionsAdded("a", List.of("i3"));
+        assert(watcher.getRecent("a").equals(List.of("i1", "i2", "i3")));
+        assert(watcher.getRecent("b").isEmpty());
+        assert(watcher.getRecent().equals(Map.of("a", List.of("i1", "i2", "i3"))));
+    }
+}
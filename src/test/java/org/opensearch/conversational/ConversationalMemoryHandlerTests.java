@@ -16,6 +16,8 @@
  */
 package org.opensearch.conversational;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -23,11 +25,20 @@ import org.junit.Before;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.LatchedActionListener;
 import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.index.ConvoContext;
+import org.opensearch.conversational.index.ConvoIndexConstants;
 import org.opensearch.conversational.index.ConvoMeta;
 import org.opensearch.conversational.index.Interaction;
+import org.opensearch.conversational.index.InteractionsRollover;
+import org.opensearch.plugins.Plugin;
 import org.opensearch.test.OpenSearchIntegTestCase;
+import org.opensearch.threadpool.Scheduler;
 
 
 
@@ -40,6 +51,11 @@ public class ConversationalMemoryHandlerTests extends OpenSearchIntegTestCase {
     private ClusterService clusterService;
     private ConversationalMemoryHandler cmHandler;
 
+    @Override
+    protected Collection<Class<? extends Plugin>> nodePlugins() {
+        return List.of(ConversationalPlugin.class);
+    }
+
     @Before
     private void setup() {
         client = client();
@@ -203,4 +219,287 @@ public class ConversationalMemoryHandlerTests extends OpenSearchIntegTestCase {
             log.error(e); 
         }
     }
-}
\ No newline at end of file
+
+    public void testRecentContextComesFromTheTail() {
+        CountDownLatch cdl = new CountDownLatch(1);
+        StepListener<String> cidListener = new StepListener<>();
+        cmHandler.createConversation("test", cidListener);
+
+        StepListener<String> iid1Listener = new StepListener<>();
+        cidListener.whenComplete(cid -> {
+            cmHandler.putInteraction(cid, "test input1", "test prompt", "test response1", 
+                "test agent", "{\"test\":\"metadata\"}", iid1Listener);
+        }, e -> {
+            assert(false);
+        });
+
+        StepListener<String> iid2Listener = new StepListener<>();
+        iid1Listener.whenComplete(iid -> {
+            cmHandler.putInteraction(cidListener.result(), "test input2", "test prompt", "test response2", 
+                "test agent", "{\"test\":\"metadata\"}", iid2Listener);
+        }, e -> {
+            assert(false);
+        });
+
+        StepListener<String> iid3Listener = new StepListener<>();
+        iid2Listener.whenComplete(iid -> {
+            cmHandler.putInteraction(cidListener.result(), "test input3", "test prompt", "test response3", 
+                "test agent", "{\"test\":\"metadata\"}", iid3Listener);
+        }, e -> {
+            assert(false);
+        });
+
+        LatchedActionListener<ConvoContext> finishAndAssert = new LatchedActionListener<>(ActionListener.wrap(
+            context -> {
+                assert(context.getMeta().getId().equals(cidListener.result()));
+                assert(context.getMeta().getName().equals("test"));
+                assert(context.getMeta().getLength() == 3);
+                assert(context.getInteractions().size() == 2);
+                assert(context.getInteractions().get(0).getId().equals(iid3Listener.result()));
+                assert(context.getInteractions().get(0).getInput().equals("test input3"));
+                assert(context.getInteractions().get(0).getResponse().equals("test response3"));
+                assert(context.getInteractions().get(1).getId().equals(iid2Listener.result()));
+                assert(context.getMeta().getLastHit().equals(context.getInteractions().get(0).getTimestamp()));
+            }, e -> {
+                assert(false);
+            }
+        ), cdl);
+        iid3Listener.whenComplete(r -> {
+            cmHandler.getConversationContext(cidListener.result(), 2, finishAndAssert);
+        }, e -> {assert(false);});
+
+        try { 
+            cdl.await(); 
+        } catch (InterruptedException e) { 
+            log.error(e); 
+        }
+    }
+
+    public void testContextIncludesInteractionsPutThroughOtherHandlers() {
+        // a second handler stands in for another node; its hit buffer hasn't flushed the tail yet
+        ConversationalMemoryHandler otherNode = new ConversationalMemoryHandler(client, clusterService);
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("context", cid);
+        PlainActionFuture<String> iid1 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input1", "test prompt", "test response1", "test agent", "", iid1);
+        iid1.actionGet();
+        PlainActionFuture<String> iid2 = PlainActionFuture.newFuture();
+        otherNode.putInteraction(cid.actionGet(), "test input2", "test prompt", "test response2", "test agent", "", iid2);
+        iid2.actionGet();
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+
+        PlainActionFuture<ConvoContext> context = PlainActionFuture.newFuture();
+        cmHandler.getConversationContext(cid.actionGet(), 2, context);
+        assert(context.actionGet().getMeta().getLength() == 2);
+        assert(context.actionGet().getInteractions().size() == 2);
+        assert(context.actionGet().getInteractions().get(0).getId().equals(iid2.actionGet()));
+        assert(context.actionGet().getInteractions().get(1).getId().equals(iid1.actionGet()));
+    }
+
+    public void testGetConversationsById() {
+        PlainActionFuture<String> cid1 = PlainActionFuture.newFuture();
+        cmHandler.createConversation("first", cid1);
+        PlainActionFuture<String> cid2 = PlainActionFuture.newFuture();
+        cmHandler.createConversation("second", cid2);
+        PlainActionFuture<String> iid = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid2.actionGet(), "test input", "test prompt", "test response", "test agent", "", iid);
+        iid.actionGet();
+
+        PlainActionFuture<List<ConvoMeta>> read = PlainActionFuture.newFuture();
+        cmHandler.getConversations(List.of(cid2.actionGet(), "no-such-conversation", cid1.actionGet()), read);
+        List<ConvoMeta> conversations = read.actionGet();
+        assert(conversations.size() == 2);
+        assert(conversations.get(0).getName().equals("second"));
+        assert(conversations.get(0).getLength() == 1);
+        assert(conversations.get(1).getName().equals("first"));
+        assert(conversations.get(1).getLength() == 0);
+    }
+
+    public void testGetInteractionsSince() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("since", cid);
+        PlainActionFuture<String> iid1 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input1", "test prompt", "test response", "test agent", "", iid1);
+        iid1.actionGet();
+        PlainActionFuture<String> iid2 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input2", "test prompt", "test response", "test agent", "", iid2);
+        iid2.actionGet();
+
+        PlainActionFuture<List<Interaction>> all = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsSince(cid.actionGet(), Instant.EPOCH, 10, all);
+        List<Interaction> interactions = all.actionGet();
+        assert(interactions.size() == 2);
+        assert(interactions.get(0).getId().equals(iid1.actionGet()));
+        assert(interactions.get(1).getId().equals(iid2.actionGet()));
+
+        Instant marker = interactions.get(1).getTimestamp();
+        PlainActionFuture<List<Interaction>> none = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsSince(cid.actionGet(), marker, 10, none);
+        assert(none.actionGet().isEmpty());
+
+        PlainActionFuture<String> iid3 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input3", "test prompt", "test response", "test agent", "", iid3);
+        iid3.actionGet();
+        PlainActionFuture<List<Interaction>> newer = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsSince(cid.actionGet(), marker, 10, newer);
+        assert(newer.actionGet().size() == 1);
+        assert(newer.actionGet().get(0).getId().equals(iid3.actionGet()));
+    }
+
+    public void testGetInteractionsSinceSeesPutsFromOtherHandlers() {
+        // a second handler stands in for another node, with its own hit buffer
+        ConversationalMemoryHandler otherNode = new ConversationalMemoryHandler(client, clusterService);
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("since", cid);
+        PlainActionFuture<String> iid1 = PlainActionFuture.newFuture();
+        otherNode.putInteraction(cid.actionGet(), "test input1", "test prompt", "test response", "test agent", "", iid1);
+        iid1.actionGet();
+
+        PlainActionFuture<List<Interaction>> first = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsSince(cid.actionGet(), Instant.EPOCH, 10, first);
+        assert(first.actionGet().size() == 1);
+        Instant marker = first.actionGet().get(0).getTimestamp();
+
+        PlainActionFuture<String> iid2 = PlainActionFuture.newFuture();
+        otherNode.putInteraction(cid.actionGet(), "test input2", "test prompt", "test response", "test agent", "", iid2);
+        iid2.actionGet();
+        PlainActionFuture<List<Interaction>> newer = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsSince(cid.actionGet(), marker, 10, newer);
+        assert(newer.actionGet().size() == 1);
+        assert(newer.actionGet().get(0).getId().equals(iid2.actionGet()));
+    }
+
+    public void testInteractionsGetSequenceNumbersInPutOrder() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("sequence", cid);
+        PlainActionFuture<String> iid1 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input1", "test prompt", "test response", "test agent", "", iid1);
+        iid1.actionGet();
+        PlainActionFuture<BulkResponse> bulk = PlainActionFuture.newFuture();
+        Instant now = Instant.now();
+        // same timestamp; the sequence numbers keep the order they were given in
+        cmHandler.putInteractions(List.of(
+            new Interaction(null, now, cid.actionGet(), "test input2", "", "", "", ""),
+            new Interaction(null, now, cid.actionGet(), "test input3", "", "", "", "")
+        ), bulk);
+        assert(!bulk.actionGet().hasFailures());
+
+        PlainActionFuture<List<Interaction>> all = PlainActionFuture.newFuture();
+        cmHandler.getInteractions(cid.actionGet(), 0, 10, all);
+        List<Interaction> interactions = all.actionGet();
+        assert(interactions.size() == 3);
+        assert(interactions.get(0).getInput().equals("test input3") && interactions.get(0).getSequence() == 3);
+        assert(interactions.get(1).getInput().equals("test input2") && interactions.get(1).getSequence() == 2);
+        assert(interactions.get(2).getId().equals(iid1.actionGet()) && interactions.get(2).getSequence() == 1);
+
+        PlainActionFuture<List<Interaction>> after = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsAfter(cid.actionGet(), 1, 10, after);
+        assert(after.actionGet().size() == 2);
+        assert(after.actionGet().get(0).getSequence() == 2);
+        assert(after.actionGet().get(1).getSequence() == 3);
+
+        PlainActionFuture<List<Interaction>> none = PlainActionFuture.newFuture();
+        cmHandler.getInteractionsAfter(cid.actionGet(), 3, 10, none);
+        assert(none.actionGet().isEmpty());
+    }
+
+    public void testRetriedPutWithRequestIdAddsOnce() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("idempotent", cid);
+        PlainActionFuture<String> first = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", "request-1", first);
+        first.actionGet();
+        PlainActionFuture<String> retry = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", "request-1", retry);
+        assert(retry.actionGet().equals(first.actionGet()));
+        PlainActionFuture<String> other = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", "request-2", other);
+        assert(!other.actionGet().equals(first.actionGet()));
+
+        PlainActionFuture<List<Interaction>> all = PlainActionFuture.newFuture();
+        cmHandler.getInteractions(cid.actionGet(), 0, 10, all);
+        assert(all.actionGet().size() == 2);
+        assert(all.actionGet().get(1).getId().equals(first.actionGet()) && all.actionGet().get(1).getSequence() == 1);
+        // the retry found the first put, so it didn't take a sequence number
+        assert(all.actionGet().get(0).getSequence() == 2);
+
+        PlainActionFuture<List<ConvoMeta>> convos = PlainActionFuture.newFuture();
+        cmHandler.getConversations(List.of(cid.actionGet()), convos);
+        assert(convos.actionGet().get(0).getLength() == 2);
+    }
+
+    public void testRetriedPutWithRequestIdAddsOnceAcrossRollover() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("idempotent", cid);
+        PlainActionFuture<String> first = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", "request-1", first);
+        first.actionGet();
+
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+        Settings rolloverSettings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_DOCS.getKey(), 1)
+            .build();
+        // the interactions index is the second one the handler initializes
+        InteractionsRollover rollover = new InteractionsRollover(
+            client,
+            clusterService,
+            clusterService.threadPool(),
+            cmHandler.getIndexInitializers().get(1),
+            rolloverSettings
+        );
+        PlainActionFuture<Void> rolledOver = PlainActionFuture.newFuture();
+        rollover.runOnce(rolledOver);
+        rolledOver.actionGet();
+
+        PlainActionFuture<String> retry = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", "request-1", retry);
+        assert(retry.actionGet().equals(first.actionGet()));
+
+        PlainActionFuture<List<Interaction>> all = PlainActionFuture.newFuture();
+        cmHandler.getInteractions(cid.actionGet(), 0, 10, all);
+        assert(all.actionGet().size() == 1);
+        PlainActionFuture<List<ConvoMeta>> convos = PlainActionFuture.newFuture();
+        cmHandler.getConversations(List.of(cid.actionGet()), convos);
+        assert(convos.actionGet().get(0).getLength() == 1);
+        assert(convos.actionGet().get(0).getLastSequence() == 1);
+    }
+
+    public void testWatchKeepsWaitingPastInteractionsItHasSeen() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("watch", cid);
+        PlainActionFuture<String> iid1 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input1", "test prompt", "test response", "test agent", "", iid1);
+        iid1.actionGet();
+
+        // the caller has already seen up to sequence number 2, so the notification of the second put isn't news
+        PlainActionFuture<List<Interaction>> watched = PlainActionFuture.newFuture();
+        cmHandler.watchInteractions(cid.actionGet(), null, 2L, 10, TimeValue.timeValueSeconds(30), watched);
+        PlainActionFuture<String> iid2 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input2", "test prompt", "test response", "test agent", "", iid2);
+        iid2.actionGet();
+        assert(!watched.isDone());
+
+        PlainActionFuture<String> iid3 = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input3", "test prompt", "test response", "test agent", "", iid3);
+        List<Interaction> newer = watched.actionGet(TimeValue.timeValueSeconds(10));
+        assert(newer.size() == 1);
+        assert(newer.get(0).getId().equals(iid3.actionGet()));
+    }
+
+    public void testCancelledWatchStopsWatching() {
+        PlainActionFuture<String> cid = PlainActionFuture.newFuture();
+        cmHandler.createConversation("cancelled watch", cid);
+        PlainActionFuture<List<Interaction>> watched = PlainActionFuture.newFuture();
+        int before = cmHandler.getWatcher().getNumWatchers();
+        Scheduler.Cancellable watch = cmHandler.watchInteractions(cid.actionGet(), Instant.now(), null, 10, TimeValue.timeValueSeconds(30), watched);
+        assert(cmHandler.getWatcher().getNumWatchers() == before + 1);
+        assert(watch.cancel());
+        assert(watch.isCancelled());
+        assert(cmHandler.getWatcher().getNumWatchers() == before);
+
+        PlainActionFuture<String> iid = PlainActionFuture.newFuture();
+        cmHandler.putInteraction(cid.actionGet(), "test input", "test prompt", "test response", "test agent", "", iid);
+        iid.actionGet();
+        assert(!watched.isDone());
+    }
+}
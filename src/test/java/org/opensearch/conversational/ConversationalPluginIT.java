@@ -44,4 +44,12 @@ public class ConversationalPluginIT extends OpenSearchIntegTestCase {
         logger.info("response body: {}", body);
         assert(body.contains("conversational"));
     }
+
+    public void testThreadPoolRegistered() throws IOException, ParseException {
+        Response response = createRestClient().performRequest(new Request("GET", "/_cat/thread_pool/" + ConversationalSettings.THREAD_POOL_NAME));
+        String body = new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8);
+
+        logger.info("response body: {}", body);
+        assert(body.contains(ConversationalSettings.THREAD_POOL_NAME));
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.io.IOException;
+
+import org.apache.logging.log4j.Level;
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.ConversationalStats.Operation;
+import org.opensearch.conversational.ConversationalStats.Phase;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ConversationalSlowLogTests extends OpenSearchTestCase {
+
+    private ConversationalSlowLog slowLog(String warn, String info, String debug, String trace) {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.SLOWLOG_THRESHOLD_WARN.getKey(), warn)
+            .put(ConversationalSettings.SLOWLOG_THRESHOLD_INFO.getKey(), info)
+            .put(ConversationalSettings.SLOWLOG_THRESHOLD_DEBUG.getKey(), debug)
+            .put(ConversationalSettings.SLOWLOG_THRESHOLD_TRACE.getKey(), trace)
+            .build();
+        return new ConversationalSlowLog(settings);
+    }
+
+    public void testDisabledByDefault() {
+        ConversationalSlowLog slowLog = new ConversationalSlowLog(Settings.EMPTY);
+        assert(!slowLog.isEnabled());
+        assert(slowLog.level(TimeValue.timeValueHours(1).nanos()) == null);
+        ActionListener<String> listener = ActionListener.wrap(r -> {}, e -> {});
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.GET_INTERACTIONS, "cid", 0, 10);
+        assert(trace.whenDone(listener) == listener);
+        assert(trace.phase(Phase.SEARCH, listener) == listener);
+    }
+
+    public void testPicksHighestLevelReached() {
+        ConversationalSlowLog slowLog = slowLog("2s", "1s", "500ms", "-1");
+        assert(slowLog.isEnabled());
+        assert(slowLog.level(TimeValue.timeValueMillis(100).nanos()) == null);
+        assert(slowLog.level(TimeValue.timeValueMillis(500).nanos()) == Level.DEBUG);
+        assert(slowLog.level(TimeValue.timeValueMillis(1500).nanos()) == Level.INFO);
+        assert(slowLog.level(TimeValue.timeValueSeconds(3).nanos()) == Level.WARN);
+    }
+
+    public void testMessageHasRequestHitsAndPhases() {
+        ConversationalSlowLog slowLog = slowLog("-1", "-1", "-1", "0ms");
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.GET_INTERACTIONS, "cid", 20, 10);
+        trace.record(Phase.REFRESH.toString(), TimeValue.timeValueMillis(5).nanos());
+        trace.record(Phase.SEARCH.toString(), TimeValue.timeValueMillis(1500).nanos());
+        trace.record(ConversationalSlowLog.HYDRATE, TimeValue.timeValueMillis(200).nanos());
+        trace.hits(10);
+        String message = trace.message(TimeValue.timeValueSeconds(2).nanos(), null);
+        assert(message.contains("took_millis[2000]"));
+        assert(message.contains("operation[get_interactions]"));
+        assert(message.contains("conversation_id[cid]"));
+        assert(message.contains("from[20], size[10]"));
+        assert(message.contains("hits[10]"));
+        assert(message.contains("phases[refresh[5ms], search[1.5s], hydrate[200ms]]"));
+        assert(!message.contains("failure"));
+    }
+
+    public void testRetriedPhasesAddUp() {
+        ConversationalSlowLog slowLog = slowLog("-1", "-1", "-1", "0ms");
+        ConversationalSlowLog.Trace trace = slowLog.start(Operation.PUT_INTERACTION, "cid");
+        trace.record(Phase.INDEX.toString(), TimeValue.timeValueMillis(100).nanos());
+        trace.record(Phase.INDEX.toString(), TimeValue.timeValueMillis(200).nanos());
+        String message = trace.message(TimeValue.timeValueMillis(300).nanos(), new IOException("index is blocked"));
+        assert(message.contains("phases[index[300ms]]"));
+        assert(!message.contains("size["));
+        assert(message.contains("failure[index is blocked]"));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversational.index.ConvoHits;
+import org.opensearch.conversational.index.ConvoMetaIndex;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+public class ConvoMetaHitBufferTests extends OpenSearchTestCase {
+
+    ConvoMetaIndex convoMetaIndex;
+    ThreadPool threadPool;
+    List<Map<String, ConvoHits>> flushed;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        convoMetaIndex = mock(ConvoMetaIndex.class);
+        threadPool = mock(ThreadPool.class);
+        flushed = new ArrayList<>();
+        doAnswer(invocation -> {
+            flushed.add(invocation.getArgument(0));
+            ActionListener<BulkResponse> al = invocation.getArgument(1);
+            al.onResponse(new BulkResponse(new BulkItemResponse[0], 1));
+            return null;
+        }).when(convoMetaIndex).hitConversations(any(), any());
+    }
+
+    private ConvoMetaHitBuffer buffer(TimeValue interval, int size, int tailSize) {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.META_HITS_FLUSH_INTERVAL.getKey(), interval)
+            .put(ConversationalSettings.META_HITS_FLUSH_SIZE.getKey(), size)
+            .put(ConversationalSettings.CONVERSATION_TAIL_SIZE.getKey(), tailSize)
+            .build();
+        return new ConvoMetaHitBuffer(convoMetaIndex, threadPool, settings);
+    }
+
+    private static Interaction interaction(String id, Instant time, String convoId) {
+        return new Interaction(id, time, convoId, "in", "p", "out", "agent", null, 1L);
+    }
+
+    private void flush(ConvoMetaHitBuffer buffer) {
+        buffer.flush(ActionListener.wrap(r -> {}, e -> { assert(false); }));
+    }
+
+    public void testEntriesAreMergedPerConversation() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 10);
+        Instant t0 = Instant.now();
+        buffer.tail(interaction("a1", t0.plusSeconds(5), "a"));
+        buffer.tail(interaction("a0", t0, "a"));
+        buffer.tail(interaction("b0", t0, "b"));
+        buffer.uncount("a", t0.plusSeconds(2));
+        assert(buffer.getBacklog() == 2);
+        verify(threadPool, times(1)).schedule(any(), eq(TimeValue.timeValueMinutes(1)), eq(ThreadPool.Names.GENERIC));
+        flush(buffer);
+        assert(flushed.size() == 1);
+        Map<String, ConvoHits> hits = flushed.get(0);
+        assert(hits.get("a").getLastHit().equals(t0.plusSeconds(5)));
+        assert(hits.get("a").getCount() == -1);
+        assert(hits.get("a").getTail().size() == 2);
+        assert(hits.get("b").getCount() == 0);
+        assert(buffer.getBacklog() == 0);
+        assert(buffer.getTailsReceived() == 3);
+        assert(buffer.getCountsGivenBack() == 1);
+        assert(buffer.getUpdatesSent() == 2);
+        assert(buffer.getMergeRatio() == 2.0);
+        assert(buffer.getFlushCount() == 1);
+    }
+
+    public void testFlushesAtSizeThreshold() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 2, 10);
+        buffer.tail(interaction("a0", Instant.now(), "a"));
+        assert(flushed.isEmpty());
+        buffer.tail(interaction("b0", Instant.now(), "b"));
+        assert(flushed.size() == 1);
+        assert(flushed.get(0).size() == 2);
+        assert(buffer.getBacklog() == 0);
+    }
+
+    public void testEmptyFlushSendsNothing() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 10);
+        flush(buffer);
+        assert(flushed.isEmpty());
+    }
+
+    public void testZeroIntervalAppliesEntriesDirectly() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.ZERO, 100, 10);
+        Instant t0 = Instant.now();
+        buffer.tail(interaction("a0", t0, "a"));
+        verify(convoMetaIndex, times(1)).hitConversation(eq("a"), argThat((ConvoHits hits) -> hits.getLastHit().equals(t0)), any());
+        verify(threadPool, never()).schedule(any(), any(), anyString());
+        assert(buffer.getBacklog() == 0);
+    }
+
+    public void testTailKeepsNewestInteractions() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 2);
+        Instant t0 = Instant.now();
+        buffer.tail(interaction("i2", t0.plusSeconds(2), "a"));
+        buffer.tail(interaction("i0", t0, "a"));
+        buffer.tail(interaction("i3", t0.plusSeconds(3), "a"));
+        buffer.tail(interaction("i1", t0.plusSeconds(1), "a"));
+        flush(buffer);
+        ConvoHits hits = flushed.get(0).get("a");
+        assert(hits.getCount() == 0);
+        assert(hits.getLastHit().equals(t0.plusSeconds(3)));
+        assert(hits.getTail().size() == 2);
+        assert(hits.getTail().get(0).getId().equals("i3"));
+        assert(hits.getTail().get(1).getId().equals("i2"));
+    }
+
+    public void testTailAndUncountDontCountInteractions() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 2);
+        Instant t0 = Instant.now();
+        buffer.tail(new Interaction("i0", t0, "a", "in0", "p", "out0", "agent", null, 1L));
+        buffer.tail(new Interaction("i1", t0.plusSeconds(1), "a", "in1", "p", "out1", "agent", null, 2L));
+        buffer.uncount("a", t0.plusSeconds(2));
+        flush(buffer);
+        ConvoHits hits = flushed.get(0).get("a");
+        // the sequence allocations counted all three; the one that was never written is given back
+        assert(hits.getCount() == -1);
+        assert(hits.getTail().size() == 2);
+        assert(hits.getTail().get(0).getId().equals("i1"));
+    }
+
+    public void testTailIsDroppedWithoutTailSize() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 0);
+        buffer.tail(interaction("i0", Instant.now(), "a"));
+        assert(buffer.getBacklog() == 0);
+        assert(buffer.getTailsReceived() == 0);
+    }
+
+    public void testFlushForConversationOnlyFlushesWhenBuffered() {
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 10);
+        buffer.tail(interaction("a0", Instant.now(), "a"));
+        buffer.flush("b", ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        assert(flushed.isEmpty());
+        buffer.flush("a", ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        assert(flushed.size() == 1);
+        assert(buffer.getBacklog() == 0);
+    }
+
+    public void testCloseFlushesAndStopsBuffering() {
+        Scheduler.ScheduledCancellable scheduled = mock(Scheduler.ScheduledCancellable.class);
+        when(threadPool.schedule(any(), any(), anyString())).thenReturn(scheduled);
+        ConvoMetaHitBuffer buffer = buffer(TimeValue.timeValueMinutes(1), 100, 10);
+        buffer.tail(interaction("a0", Instant.now(), "a"));
+        buffer.close(TimeValue.timeValueSeconds(1));
+        verify(scheduled, times(1)).cancel();
+        assert(flushed.size() == 1);
+        assert(buffer.getBacklog() == 0);
+        buffer.uncount("b", Instant.now());
+        verify(convoMetaIndex, times(1)).hitConversation(eq("b"), any(), any());
+        assert(buffer.getBacklog() == 0);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.Before;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class InteractionsCacheTests extends OpenSearchTestCase {
+
+    private InteractionsCache cache;
+    private Instant now;
+
+    @Before
+    public void setup() {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_CACHE_SIZE.getKey(), "1mb")
+            .put(ConversationalSettings.INTERACTIONS_CACHE_MAX_PER_CONVERSATION.getKey(), 3)
+            .build();
+        cache = new InteractionsCache(settings);
+        now = Instant.now();
+    }
+
+    private Interaction interaction(String id, String cid, int minutesAgo) {
+        return new Interaction(id, now.minus(minutesAgo, ChronoUnit.MINUTES), cid, "test input", "test prompt",
+            "test response", "test agent", "{\"test\":\"metadata\"}");
+    }
+
+    public void testMissThenHit() {
+        assert(cache.get("test-cid", 0, 2) == null);
+        List<Interaction> page = List.of(interaction("iid2", "test-cid", 1), interaction("iid1", "test-cid", 2));
+        cache.populate("test-cid", cache.readStamp("test-cid"), page, false);
+        List<Interaction> cached = cache.get("test-cid", 0, 2);
+        assert(cached.equals(page));
+        assert(cache.get("test-cid", 0, 3) == null);
+        assert(cache.getHits() == 1);
+        assert(cache.getMisses() == 2);
+    }
+
+    public void testExhaustiveConversationAnswersLargerPages() {
+        List<Interaction> page = List.of(interaction("iid1", "test-cid", 1));
+        cache.populate("test-cid", cache.readStamp("test-cid"), page, true);
+        assert(cache.get("test-cid", 0, 10).equals(page));
+        assert(cache.get("test-cid", 1, 10).isEmpty());
+    }
+
+    public void testWriteThrough() {
+        cache.populate("test-cid", cache.readStamp("test-cid"), List.of(interaction("iid1", "test-cid", 2)), true);
+        cache.markWriting("test-cid");
+        cache.onInteractionAdded(interaction("iid2", "test-cid", 1));
+        cache.onInteractionAdded(interaction("iid2", "test-cid", 1));
+        List<Interaction> cached = cache.get("test-cid", 0, 10);
+        assert(cached.size() == 2);
+        assert(cached.get(0).getId().equals("iid2"));
+        assert(cached.get(1).getId().equals("iid1"));
+    }
+
+    public void testWriteThroughTrimsToMaxPerConversation() {
+        cache.populate("test-cid", cache.readStamp("test-cid"), List.of(
+            interaction("iid3", "test-cid", 3), interaction("iid2", "test-cid", 4), interaction("iid1", "test-cid", 5)
+        ), true);
+        cache.onInteractionAdded(interaction("iid4", "test-cid", 1));
+        assert(cache.get("test-cid", 0, 3).get(0).getId().equals("iid4"));
+        assert(cache.get("test-cid", 0, 4) == null);
+    }
+
+    public void testStaleReadIsNotCached() {
+        long stamp = cache.readStamp("test-cid");
+        cache.markWriting("test-cid");
+        cache.populate("test-cid", stamp, List.of(interaction("iid1", "test-cid", 1)), true);
+        assert(cache.get("test-cid", 0, 1) == null);
+        assert(cache.count() == 0);
+    }
+
+    public void testInvalidate() {
+        cache.populate("test-cid", cache.readStamp("test-cid"), List.of(interaction("iid1", "test-cid", 1)), true);
+        cache.populate("other-cid", cache.readStamp("other-cid"), List.of(interaction("iid2", "other-cid", 1)), true);
+        cache.invalidate("test-cid");
+        assert(cache.get("test-cid", 0, 1) == null);
+        assert(cache.get("other-cid", 0, 1) != null);
+    }
+
+    public void testEvictsBySize() {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_CACHE_SIZE.getKey(), "2kb")
+            .build();
+        InteractionsCache small = new InteractionsCache(settings);
+        for(int i = 0; i < 20; i++) {
+            String cid = "test-cid-" + i;
+            small.populate(cid, small.readStamp(cid), List.of(interaction("iid" + i, cid, 1)), true);
+        }
+        assert(small.getSizeInBytes() <= 2048);
+        assert(small.getEvictions() > 0);
+    }
+
+    public void testDisabled() {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_CACHE_SIZE.getKey(), "0b")
+            .build();
+        InteractionsCache disabled = new InteractionsCache(settings);
+        disabled.populate("test-cid", disabled.readStamp("test-cid"), List.of(interaction("iid1", "test-cid", 1)), true);
+        assert(disabled.get("test-cid", 0, 1) == null);
+    }
+
+    public void testDisabledByDefault() {
+        InteractionsCache byDefault = new InteractionsCache(Settings.EMPTY);
+        byDefault.populate("test-cid", byDefault.readStamp("test-cid"), List.of(interaction("iid1", "test-cid", 1)), true);
+        assert(byDefault.get("test-cid", 0, 1) == null);
+    }
+}
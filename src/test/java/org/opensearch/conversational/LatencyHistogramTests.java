@@ -0,0 +1,95 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational;
+
+import java.io.IOException;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.unit.TimeValue;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class LatencyHistogramTests extends OpenSearchTestCase {
+
+    public void testEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assert(snapshot.getCount() == 0);
+        assert(snapshot.percentileMicros(0.99) == 0);
+        assert(snapshot.getMeanMicros() == 0);
+    }
+
+    public void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int i = 1; i <= 1000; i++) {
+            histogram.record(TimeValue.timeValueMillis(i).nanos());
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assert(snapshot.getCount() == 1000);
+        assert(snapshot.getMaxMicros() == 1000000);
+        assert(Math.abs(snapshot.getMeanMicros() - 500500) < 1);
+        for(double q : new double[] { 0.5, 0.9, 0.99 }) {
+            long expected = (long) (q * 1000000);
+            long actual = snapshot.percentileMicros(q);
+            assert(actual >= expected);
+            assert(actual <= expected + expected / 8);
+        }
+        assert(snapshot.percentileMicros(1.0) == 1000000);
+    }
+
+    public void testBucketsCoverEveryValue() {
+        for(long micros : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucket(micros);
+            assert(LatencyHistogram.upperBound(bucket) >= micros);
+            assert(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < micros);
+        }
+    }
+
+    public void testMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for(int i = 0; i < 90; i++) {
+            fast.record(TimeValue.timeValueMillis(1).nanos());
+        }
+        for(int i = 0; i < 10; i++) {
+            slow.record(TimeValue.timeValueSeconds(1).nanos());
+        }
+        LatencyHistogram.Snapshot merged = fast.snapshot().merge(slow.snapshot());
+        assert(merged.getCount() == 100);
+        assert(merged.getMaxMicros() == 1000000);
+        assert(merged.percentileMicros(0.9) <= 1000 + 1000 / 8);
+        assert(merged.percentileMicros(0.91) >= 1000000);
+    }
+
+    public void testStreamRoundTrip() throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int i = 0; i < 50; i++) {
+            histogram.record(randomLongBetween(0, TimeValue.timeValueSeconds(10).nanos()));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        BytesStreamOutput out = new BytesStreamOutput();
+        snapshot.writeTo(out);
+        StreamInput in = out.bytes().streamInput();
+        LatencyHistogram.Snapshot read = new LatencyHistogram.Snapshot(in);
+        assert(read.getCount() == snapshot.getCount());
+        assert(read.getMaxMicros() == snapshot.getMaxMicros());
+        assert(read.getMeanMicros() == snapshot.getMeanMicros());
+        for(double q : new double[] { 0.5, 0.9, 0.99 }) {
+            assert(read.percentileMicros(q) == snapshot.percentileMicros(q));
+        }
+    }
+}
@@ -33,8 +33,11 @@ import org.opensearch.action.support.ActionFilters;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
@@ -89,6 +92,8 @@ public class CreateConversationTransportActionTests extends OpenSearchTestCase {
         this.threadContext = new ThreadContext(settings);
         when(this.client.threadPool()).thenReturn(this.threadPool);
         when(this.threadPool.getThreadContext()).thenReturn(this.threadContext);
+        when(this.threadPool.executor(ConversationalSettings.THREAD_POOL_NAME)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(this.cmHandler.getStats()).thenReturn(new ConversationalStats());
     }
 
     public void testCreateConversation() {
@@ -18,6 +18,7 @@ package org.opensearch.conversational.action.memory.conversation;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -37,9 +38,13 @@ import org.opensearch.action.support.ActionFilters;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats;
 import org.opensearch.conversational.index.ConvoMeta;
+import org.opensearch.conversational.index.PageCursor;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
@@ -94,6 +99,8 @@ public class ListConversationsTransportActionTests extends OpenSearchTestCase {
         this.threadContext = new ThreadContext(settings);
         when(this.client.threadPool()).thenReturn(this.threadPool);
         when(this.threadPool.getThreadContext()).thenReturn(this.threadContext);
+        when(this.threadPool.executor(ConversationalSettings.THREAD_POOL_NAME)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(this.cmHandler.getStats()).thenReturn(new ConversationalStats());
     }
 
     public void testListConversations() {
@@ -135,7 +142,7 @@ public class ListConversationsTransportActionTests extends OpenSearchTestCase {
         verify(actionListener).onResponse(argCaptor.capture());
         assert(argCaptor.getValue().getConversations().equals(testResult.subList(0, 2)));
         assert(argCaptor.getValue().hasMorePages());
-        assert(argCaptor.getValue().getNextToken() == 2);
+        assert(argCaptor.getValue().getNextToken().equals(PageCursor.after(testResult.get(1)).encode()));
 
         @SuppressWarnings("unchecked")
         ActionListener<ListConversationsResponse> al1 = (ActionListener<ListConversationsResponse>) Mockito.mock(ActionListener.class);
@@ -145,7 +152,7 @@ public class ListConversationsTransportActionTests extends OpenSearchTestCase {
         verify(al1).onResponse(argCaptor.capture());
         assert(argCaptor.getValue().getConversations().equals(testResult.subList(0,2)));
         assert(argCaptor.getValue().hasMorePages());
-        assert(argCaptor.getValue().getNextToken() == 4);
+        assert(argCaptor.getValue().getNextToken().equals(PageCursor.after(testResult.get(1)).encode()));
 
         @SuppressWarnings("unchecked")
         ActionListener<ListConversationsResponse> al2 = (ActionListener<ListConversationsResponse>) Mockito.mock(ActionListener.class);
@@ -156,4 +163,25 @@ public class ListConversationsTransportActionTests extends OpenSearchTestCase {
         assert(argCaptor.getValue().getConversations().equals(testResult));
         assert(!argCaptor.getValue().hasMorePages());
     }
-}
\ No newline at end of file
+
+    public void testCursorPagination() {
+        List<ConvoMeta> testResult = List.of(
+            new ConvoMeta("testcid1", Instant.now(), Instant.now(), 0, ""),
+            new ConvoMeta("testcid2", Instant.now(), Instant.now().minus(2, ChronoUnit.MINUTES), 4, "testname"),
+            new ConvoMeta("testcid3", Instant.now(), Instant.now().minus(3, ChronoUnit.MINUTES), 4, "testname")
+        );
+        doAnswer(invocation -> {
+            ActionListener<List<ConvoMeta>> listener = invocation.getArgument(2);
+            listener.onResponse(testResult.subList(1, 3));
+            return null;
+        }).when(cmHandler).listConversations(any(PageCursor.class), anyInt(), any());
+        String token = PageCursor.after(testResult.get(0)).encode();
+        action.doExecute(null, new ListConversationsRequest(2, token), actionListener);
+        verify(cmHandler).listConversations(eq(PageCursor.after(testResult.get(0))), eq(2), any());
+        ArgumentCaptor<ListConversationsResponse> argCaptor = ArgumentCaptor.forClass(ListConversationsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getConversations().equals(testResult.subList(1, 3)));
+        assert(argCaptor.getValue().hasMorePages());
+        assert(argCaptor.getValue().getNextToken().equals(PageCursor.after(testResult.get(2)).encode()));
+    }
+}
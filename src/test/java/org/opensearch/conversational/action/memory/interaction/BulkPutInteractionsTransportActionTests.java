@@ -0,0 +1,193 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.action.memory.interaction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
+import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.conversational.index.Interaction;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class BulkPutInteractionsTransportActionTests extends OpenSearchTestCase {
+    @Mock
+    ThreadPool threadPool;
+
+    @Mock
+    Client client;
+
+    @Mock
+    ClusterService clusterService;
+
+    @Mock
+    NamedXContentRegistry xContentRegistry;
+
+    @Mock
+    TransportService transportService;
+
+    @Mock
+    ActionFilters actionFilters;
+
+    @Mock
+    ActionListener<BulkPutInteractionsResponse> actionListener;
+
+    @Mock
+    ConversationalMemoryHandler cmHandler;
+
+    BulkPutInteractionsTransportAction action;
+    ThreadContext threadContext;
+
+    @Before
+    public void setup() throws IOException {
+        this.threadPool = Mockito.mock(ThreadPool.class);
+        this.client = Mockito.mock(Client.class);
+        this.clusterService = Mockito.mock(ClusterService.class);
+        this.xContentRegistry = Mockito.mock(NamedXContentRegistry.class);
+        this.transportService = Mockito.mock(TransportService.class);
+        this.actionFilters = Mockito.mock(ActionFilters.class);
+        @SuppressWarnings("unchecked")
+        ActionListener<BulkPutInteractionsResponse> al = (ActionListener<BulkPutInteractionsResponse>) Mockito.mock(ActionListener.class);
+        this.actionListener = al;
+        this.cmHandler = Mockito.mock(ConversationalMemoryHandler.class);
+
+        this.action = spy(new BulkPutInteractionsTransportAction(transportService, actionFilters, cmHandler, client));
+
+        Settings settings = Settings.builder().build();
+        this.threadContext = new ThreadContext(settings);
+        when(this.client.threadPool()).thenReturn(this.threadPool);
+        when(this.threadPool.getThreadContext()).thenReturn(this.threadContext);
+        when(this.threadPool.executor(ConversationalSettings.THREAD_POOL_NAME)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(this.cmHandler.getStats()).thenReturn(new ConversationalStats());
+        when(this.cmHandler.getAdmissionController()).thenReturn(new AdmissionController(settings));
+    }
+
+    private static PutInteractionRequest put(String cid, Instant timestamp) {
+        return new PutInteractionRequest(cid, "input", "prompt", "response", "agent", "{\"attributes\": \"test\"}", timestamp);
+    }
+
+    public void testBulkPutReportsPerItemResults() {
+        Instant past = Instant.now().minusSeconds(3600);
+        BulkPutInteractionsRequest request = new BulkPutInteractionsRequest(List.of(
+            put("cid-1", past),
+            put(null, null),
+            put("cid-2", null)
+        ));
+        doAnswer(invocation -> {
+            List<Interaction> interactions = invocation.getArgument(0);
+            assert(interactions.size() == 2);
+            assert(interactions.get(0).getConvoId().equals("cid-1"));
+            assert(interactions.get(0).getTimestamp().equals(past));
+            assert(interactions.get(1).getConvoId().equals("cid-2"));
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new BulkResponse(new BulkItemResponse[] {
+                new BulkItemResponse(0, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure(
+                    "index", "iid-0", new MapperParsingException("bad doc"))),
+                new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+                    new IndexResponse(new ShardId("index", "uuid", 0), "iid-1", 1, 1, 1, true))
+            }, 1));
+            return null;
+        }).when(cmHandler).putInteractions(any(), any());
+        action.doExecute(null, request, actionListener);
+        ArgumentCaptor<BulkPutInteractionsResponse> argCaptor = ArgumentCaptor.forClass(BulkPutInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        List<BulkPutInteractionsResponse.Item> items = argCaptor.getValue().getItems();
+        assert(items.size() == 3);
+        assert(items.get(0).getConversationId().equals("cid-1"));
+        assert(items.get(0).getFailure() instanceof MapperParsingException);
+        assert(items.get(1).isFailed());
+        assert(items.get(2).getConversationId().equals("cid-2"));
+        assert(items.get(2).getId().equals("iid-1"));
+        assert(argCaptor.getValue().hasFailures());
+    }
+
+    public void testBulkPutWithNoValidItemsSkipsHandler() {
+        BulkPutInteractionsRequest request = new BulkPutInteractionsRequest(List.of(put(null, null)));
+        action.doExecute(null, request, actionListener);
+        ArgumentCaptor<BulkPutInteractionsResponse> argCaptor = ArgumentCaptor.forClass(BulkPutInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getItems().size() == 1);
+        assert(argCaptor.getValue().getItems().get(0).isFailed());
+        verify(cmHandler, never()).putInteractions(any(), any());
+    }
+
+    public void testBulkPutFailure() {
+        BulkPutInteractionsRequest request = new BulkPutInteractionsRequest(List.of(put("cid-1", null)));
+        doAnswer(invocation -> {
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new Exception("Test Fail Case"));
+            return null;
+        }).when(cmHandler).putInteractions(any(), any());
+        action.doExecute(null, request, actionListener);
+        ArgumentCaptor<Exception> argCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(actionListener).onFailure(argCaptor.capture());
+        assert(argCaptor.getValue().getMessage().equals("Test Fail Case"));
+    }
+
+    public void testBulkPutRejectsItemsWithRequestId() {
+        BulkPutInteractionsRequest request = new BulkPutInteractionsRequest(List.of(
+            new PutInteractionRequest("cid-1", "input", "prompt", "response", "agent", "", null, "request-1")
+        ));
+        action.doExecute(null, request, actionListener);
+        ArgumentCaptor<BulkPutInteractionsResponse> argCaptor = ArgumentCaptor.forClass(BulkPutInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getItems().get(0).isFailed());
+        assert(argCaptor.getValue().getItems().get(0).getFailure().getMessage().contains(ActionConstants.REQUEST_ID_FIELD));
+        verify(cmHandler, never()).putInteractions(any(), any());
+    }
+
+    public void testBulkPutIsCappedPerRequest() {
+        List<PutInteractionRequest> puts = new ArrayList<>();
+        for(int i = 0; i <= ActionConstants.MAX_BULK_PUT_INTERACTIONS; i++) {
+            puts.add(put("cid-1", null));
+        }
+        assert(new BulkPutInteractionsRequest(puts).validate() != null);
+        assert(new BulkPutInteractionsRequest(puts.subList(0, ActionConstants.MAX_BULK_PUT_INTERACTIONS)).validate() == null);
+    }
+}
@@ -18,6 +18,7 @@ package org.opensearch.conversational.action.memory.interaction;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -36,8 +37,12 @@ import org.opensearch.action.support.ActionFilters;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats;
 import org.opensearch.conversational.index.Interaction;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.test.OpenSearchTestCase;
@@ -93,6 +98,9 @@ public class GetInteractionsTransportActionTests extends OpenSearchTestCase {
         this.threadContext = new ThreadContext(settings);
         when(this.client.threadPool()).thenReturn(this.threadPool);
         when(this.threadPool.getThreadContext()).thenReturn(this.threadContext);
+        when(this.threadPool.executor(ConversationalSettings.THREAD_POOL_NAME)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(this.cmHandler.getStats()).thenReturn(new ConversationalStats());
+        when(this.cmHandler.getAdmissionController()).thenReturn(new AdmissionController(settings));
     }
 
     public void testGetInteractions() {
@@ -113,4 +121,51 @@ public class GetInteractionsTransportActionTests extends OpenSearchTestCase {
         assert(!argCaptor.getValue().hasMorePages());
     }
 
-}
\ No newline at end of file
+    public void testGetInteractionsSince() {
+        Instant since = Instant.now();
+        Interaction testInteraction = new Interaction("test-iid", since.plusSeconds(1), "test-cid", "test-input", "test-prompt", 
+                "test-response", "test-agent", "{\"test\":\"metadata\"}");
+        doAnswer(invocation -> {
+            ActionListener<List<Interaction>> listener = invocation.getArgument(3);
+            listener.onResponse(List.of(testInteraction));
+            return null;
+        }).when(cmHandler).getInteractionsSince(any(), any(), anyInt(), any());
+        action.doExecute(null, new GetInteractionsRequest("test-cid", 10, since), actionListener);
+        ArgumentCaptor<GetInteractionsResponse> argCaptor = ArgumentCaptor.forClass(GetInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getInteractions().size() == 1);
+        assert(argCaptor.getValue().getSince().equals(testInteraction.getTimestamp()));
+        assert(!argCaptor.getValue().isNotModified());
+    }
+
+    public void testGetInteractionsSinceNotModified() {
+        Instant since = Instant.now();
+        doAnswer(invocation -> {
+            ActionListener<List<Interaction>> listener = invocation.getArgument(3);
+            listener.onResponse(List.of());
+            return null;
+        }).when(cmHandler).getInteractionsSince(any(), any(), anyInt(), any());
+        action.doExecute(null, new GetInteractionsRequest("test-cid", 10, since), actionListener);
+        ArgumentCaptor<GetInteractionsResponse> argCaptor = ArgumentCaptor.forClass(GetInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getInteractions().isEmpty());
+        assert(argCaptor.getValue().getSince().equals(since));
+        assert(argCaptor.getValue().isNotModified());
+    }
+
+    public void testGetInteractionsSinceSequence() {
+        Interaction testInteraction = new Interaction("test-iid", Instant.now(), "test-cid", "test-input", "test-prompt",
+                "test-response", "test-agent", "{\"test\":\"metadata\"}", 6L);
+        doAnswer(invocation -> {
+            ActionListener<List<Interaction>> listener = invocation.getArgument(3);
+            listener.onResponse(List.of(testInteraction));
+            return null;
+        }).when(cmHandler).getInteractionsAfter(any(), anyLong(), anyInt(), any());
+        action.doExecute(null, new GetInteractionsRequest("test-cid", 10, null, 5L), actionListener);
+        ArgumentCaptor<GetInteractionsResponse> argCaptor = ArgumentCaptor.forClass(GetInteractionsResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getInteractions().size() == 1);
+        assert(argCaptor.getValue().getSinceSequence() == 6L);
+        assert(!argCaptor.getValue().isNotModified());
+    }
+}
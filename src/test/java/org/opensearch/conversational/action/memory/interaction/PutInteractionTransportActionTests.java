@@ -33,8 +33,12 @@ import org.opensearch.action.support.ActionFilters;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.AdmissionController;
 import org.opensearch.conversational.ConversationalMemoryHandler;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.conversational.ConversationalStats;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
@@ -90,6 +94,9 @@ public class PutInteractionTransportActionTests extends OpenSearchTestCase {
         this.threadContext = new ThreadContext(settings);
         when(this.client.threadPool()).thenReturn(this.threadPool);
         when(this.threadPool.getThreadContext()).thenReturn(this.threadContext);
+        when(this.threadPool.executor(ConversationalSettings.THREAD_POOL_NAME)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(this.cmHandler.getStats()).thenReturn(new ConversationalStats());
+        when(this.cmHandler.getAdmissionController()).thenReturn(new AdmissionController(settings));
     }
 
     public void testPutInteraction() {
@@ -104,4 +111,19 @@ public class PutInteractionTransportActionTests extends OpenSearchTestCase {
         assert(argCaptor.getValue().getId().equals("testID"));
     }
 
-}
\ No newline at end of file
+    public void testPutInteractionWithRequestId() {
+        doAnswer(invocation -> {
+            ActionListener<String> listener = invocation.getArgument(7);
+            listener.onResponse("testID");
+            return null;
+        }).when(cmHandler).putInteraction(any(), any(), any(), any(), any(), any(), any(), any());
+        PutInteractionRequest keyed = new PutInteractionRequest("test-cid", "input", "prompt", "response",
+                    "agent", "{\"attributes\": \"test\"}", null, "request-1");
+        action.doExecute(null, keyed, actionListener);
+        ArgumentCaptor<PutInteractionResponse> argCaptor = ArgumentCaptor.forClass(PutInteractionResponse.class);
+        verify(actionListener).onResponse(argCaptor.capture());
+        assert(argCaptor.getValue().getId().equals("testID"));
+        verify(cmHandler).putInteraction(any(), any(), any(), any(), any(), any(), Mockito.eq("request-1"), any());
+    }
+
+}
@@ -18,6 +18,7 @@ package org.opensearch.conversational.index;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,9 @@ import org.opensearch.action.StepListener;
 import org.opensearch.client.Client;
 import org.opensearch.client.Requests;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.util.concurrent.CountDown;
+import org.opensearch.conversational.ConversationalPlugin;
+import org.opensearch.plugins.Plugin;
 import org.opensearch.test.OpenSearchIntegTestCase;
 
 @OpenSearchIntegTestCase.ClusterScope(scope = OpenSearchIntegTestCase.Scope.TEST, numDataNodes = 2)
@@ -45,6 +49,11 @@ public class ConvoMetaIndexTests extends OpenSearchIntegTestCase {
         client.admin().indices().refresh(Requests.refreshRequest(ConvoIndexConstants.META_INDEX_NAME));
     }
 
+    @Override
+    protected Collection<Class<? extends Plugin>> nodePlugins() {
+        return List.of(ConversationalPlugin.class);
+    }
+
     @Before
     public void setup() {
         log.info("Setting up test");
@@ -53,6 +62,16 @@ public class ConvoMetaIndexTests extends OpenSearchIntegTestCase {
         this.index = new ConvoMetaIndex(client, clusterService);
     }
 
+    /**
+     * Does the cluster manager create the indices without waiting for a write?
+     */
+    public void testIndicesAreBootstrapped() throws Exception {
+        assertBusy(() -> {
+            assert(clusterService().state().metadata().hasIndex(ConvoIndexConstants.META_INDEX_NAME));
+            assert(clusterService().state().metadata().hasAlias(ConvoIndexConstants.INTERACTIONS_INDEX_NAME));
+        });
+    }
+
     /**
      * Can the index be initialized?
      */
@@ -140,6 +159,34 @@ public class ConvoMetaIndexTests extends OpenSearchIntegTestCase {
         }
     }
 
+    /**
+     * Does a new conversation store its id in the field listing sorts on?
+     */
+    public void testNewConversationStoresItsIdToSortOn() {
+        CountDownLatch cdl = new CountDownLatch(1);
+        StepListener<String> addConvoListener = new StepListener<>();
+        index.addNewConversation(addConvoListener);
+        addConvoListener.whenComplete(id -> {
+            client.get(Requests.getRequest(ConvoIndexConstants.META_INDEX_NAME).id(id), new LatchedActionListener<>(ActionListener.wrap(r -> {
+                assert(id.equals(r.getSourceAsMap().get(ConvoIndexConstants.META_ID_FIELD)));
+            }, e -> {
+                log.error(e);
+                assert(false);
+            }), cdl));
+        }, e -> {
+            log.error(e);
+            assert(false);
+            cdl.countDown();
+        });
+        try {
+            cdl.await();
+        } catch (InterruptedException e) {
+            log.error(e);
+        }
+        assert(index.getIndexInitializer().isIdMapped());
+        assert(index.getIndexInitializer().isIdFilled());
+    }
+
     /**
      * Are conversation ids unique?
      */
@@ -248,6 +295,83 @@ public class ConvoMetaIndexTests extends OpenSearchIntegTestCase {
         }
     }
 
+    /**
+     * Concurrent hits to a conversation shouldn't lose any increments
+     */
+    public void testConcurrentHitsAreNotLost() {
+        int numHits = 20;
+        CountDownLatch cdl = new CountDownLatch(1);
+        StepListener<String> addConvoListener = new StepListener<>();
+        index.addNewConversation(addConvoListener);
+
+        Instant latest = Instant.now().plus(10, ChronoUnit.MINUTES);
+        StepListener<Void> hitsListener = new StepListener<>();
+        addConvoListener.whenComplete(cid -> {
+            CountDown hitsLeft = new CountDown(numHits);
+            for(int i = 0; i < numHits; i++) {
+                Instant pit = i == numHits / 2 ? latest : Instant.now();
+                index.hitConversation(cid, pit, ActionListener.wrap(b -> {
+                    assert(b);
+                    if(hitsLeft.countDown()) {
+                        hitsListener.onResponse(null);
+                    }
+                }, hitsListener::onFailure));
+            }
+        }, e -> {
+            log.error(e);
+        });
+
+        StepListener<List<ConvoMeta>> listConvoListener = new StepListener<>();
+        hitsListener.whenComplete(r -> {
+            index.listConversations(1, listConvoListener);
+        }, e -> {
+            log.error(e);
+        });
+
+        LatchedActionListener<List<ConvoMeta>> finishAndAssert = new LatchedActionListener<>(ActionListener.wrap(
+            convos -> {
+                ConvoMeta convo = convos.get(0);
+                assert(convo.getId().equals(addConvoListener.result()));
+                assert(convo.getLength() == numHits);
+                assert(convo.getLastHit().equals(latest));
+            }, e -> {
+                log.error(e);
+                assert(false);
+            }
+        ), cdl);
+        listConvoListener.whenComplete(finishAndAssert::onResponse, finishAndAssert::onFailure);
+        try {
+            cdl.await();
+        } catch (InterruptedException e) {
+            log.error(e);
+        }
+    }
+
+    /**
+     * Hitting a conversation that doesn't exist reports false rather than failing
+     */
+    public void testHitMissingConversationIsFalse() {
+        CountDownLatch cdl = new CountDownLatch(1);
+        StepListener<Boolean> initListener = new StepListener<>();
+        index.initConvoMetaIndexIfAbsent(initListener);
+        initListener.whenComplete(b -> {
+            index.hitConversation("not-a-conversation", Instant.now(), new LatchedActionListener<>(ActionListener.wrap(r -> {
+                assert(!r);
+            }, e -> {
+                log.error(e);
+                assert(false);
+            }), cdl));
+        }, e -> {
+            log.error(e);
+            cdl.countDown();
+        });
+        try {
+            cdl.await();
+        } catch (InterruptedException e) {
+            log.error(e);
+        }
+    }
+
     public void testConversationsCanBeListedPaginated() {
         CountDownLatch cdl = new CountDownLatch(1);
         StepListener<String> addConvoListener1 = new StepListener<>();
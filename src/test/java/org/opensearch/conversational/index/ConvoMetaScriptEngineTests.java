@@ -0,0 +1,138 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.script.IngestScript;
+import org.opensearch.script.UpdateScript;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class ConvoMetaScriptEngineTests extends OpenSearchTestCase {
+
+    private final ConvoMetaScriptEngine engine = new ConvoMetaScriptEngine();
+
+    private Map<String, Object> runHit(Map<String, Object> source, Map<String, Object> params) {
+        UpdateScript.Factory factory = engine.compile("hit", ConvoMetaScriptEngine.HIT_CONVERSATION, UpdateScript.CONTEXT, Map.of());
+        Map<String, Object> ctx = new HashMap<>();
+        ctx.put("_source", source);
+        factory.newInstance(params, ctx).execute();
+        return source;
+    }
+
+    public void testHitIncrementsAndMovesTimeForward() {
+        Instant start = Instant.now();
+        Instant later = start.plusSeconds(30);
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, 3);
+        source.put(ConvoIndexConstants.META_ENDED_FIELD, start.toString());
+        runHit(source, Map.of(ConvoMetaScriptEngine.PARAM_TIME, later.toString()));
+        assert(((Number) source.get(ConvoIndexConstants.META_LENGTH_FIELD)).intValue() == 4);
+        assert(source.get(ConvoIndexConstants.META_ENDED_FIELD).equals(later.toString()));
+    }
+
+    public void testHitDoesNotMoveTimeBackward() {
+        Instant start = Instant.now();
+        Instant earlier = start.minusSeconds(30);
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, 0);
+        source.put(ConvoIndexConstants.META_ENDED_FIELD, start.toString());
+        runHit(source, Map.of(ConvoMetaScriptEngine.PARAM_TIME, earlier.toString(), ConvoMetaScriptEngine.PARAM_COUNT, 5));
+        assert(((Number) source.get(ConvoIndexConstants.META_LENGTH_FIELD)).intValue() == 5);
+        assert(source.get(ConvoIndexConstants.META_ENDED_FIELD).equals(start.toString()));
+    }
+
+    public void testHitPushesBackExpiry() {
+        Instant start = Instant.now();
+        Instant later = start.plusSeconds(30);
+        long retention = 60000;
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, 0);
+        source.put(ConvoIndexConstants.META_ENDED_FIELD, start.toString());
+        source.put(ConvoIndexConstants.META_RETENTION_FIELD, retention);
+        source.put(ConvoIndexConstants.META_EXPIRES_FIELD, start.plusMillis(retention).toString());
+        runHit(source, Map.of(ConvoMetaScriptEngine.PARAM_TIME, later.toString()));
+        assert(source.get(ConvoIndexConstants.META_EXPIRES_FIELD).equals(later.plusMillis(retention).toString()));
+    }
+
+    public void testHitMergesTailNewestFirst() {
+        Instant start = Instant.now();
+        List<Map<String, Object>> oldTail = new ArrayList<>();
+        oldTail.add(ConvoHits.toTailEntry(new Interaction("b", start.plusSeconds(1), "c", "in b", null, "out b", null, null)));
+        oldTail.add(ConvoHits.toTailEntry(new Interaction("a", start, "c", "in a", null, "out a", null, null)));
+        Map<String, Object> source = new HashMap<>();
+        source.put(ConvoIndexConstants.META_LENGTH_FIELD, 2);
+        source.put(ConvoIndexConstants.META_ENDED_FIELD, start.plusSeconds(1).toString());
+        source.put(ConvoIndexConstants.META_TAIL_FIELD, oldTail);
+        ConvoHits hits = new ConvoHits(3)
+            .add(new Interaction("d", start.plusSeconds(3), "c", "in d", "p", "out d", "agent", null))
+            .add(new Interaction("c", start.plusSeconds(2), "c", "in c", "p", "out c", "agent", null))
+            // already in the tail, as if this update were retried
+            .add(new Interaction("b", start.plusSeconds(1), "c", "in b", "p", "out b", "agent", null));
+        runHit(source, Map.of(
+            ConvoMetaScriptEngine.PARAM_TIME, hits.getLastHit().toString(),
+            ConvoMetaScriptEngine.PARAM_COUNT, 2,
+            ConvoMetaScriptEngine.PARAM_TAIL, hits.getTailEntries(),
+            ConvoMetaScriptEngine.PARAM_TAIL_SIZE, hits.getTailSize()
+        ));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> tail = (List<Map<String, Object>>) source.get(ConvoIndexConstants.META_TAIL_FIELD);
+        assert(tail.size() == 3);
+        assert(tail.get(0).get(ConvoIndexConstants.INTERACTIONS_ID_FIELD).equals("d"));
+        assert(tail.get(0).get(ConvoIndexConstants.INTERACTIONS_INPUT_FIELD).equals("in d"));
+        assert(tail.get(1).get(ConvoIndexConstants.INTERACTIONS_ID_FIELD).equals("c"));
+        assert(tail.get(2).get(ConvoIndexConstants.INTERACTIONS_ID_FIELD).equals("b"));
+        assert(((Number) source.get(ConvoIndexConstants.META_LENGTH_FIELD)).intValue() == 4);
+
+        ConvoContext context = ConvoContext.fromMap("c", Map.of(
+            ConvoIndexConstants.META_CREATED_FIELD, start.toString(),
+            ConvoIndexConstants.META_ENDED_FIELD, source.get(ConvoIndexConstants.META_ENDED_FIELD),
+            ConvoIndexConstants.META_LENGTH_FIELD, 4,
+            ConvoIndexConstants.META_NAME_FIELD, "",
+            ConvoIndexConstants.META_TAIL_FIELD, tail
+        ), 2);
+        assert(context.getInteractions().size() == 2);
+        assert(context.getInteractions().get(0).getId().equals("d"));
+        assert(context.getInteractions().get(0).getTimestamp().equals(start.plusSeconds(3)));
+        assert(context.getInteractions().get(1).getResponse().equals("out c"));
+    }
+
+    public void testRejectsUnknownScripts() {
+        expectThrows(IllegalArgumentException.class, () -> engine.compile("x", "other", UpdateScript.CONTEXT, Map.of()));
+        expectThrows(IllegalArgumentException.class,
+            () -> engine.compile("x", ConvoMetaScriptEngine.HIT_CONVERSATION, IngestScript.CONTEXT, Map.of()));
+    }
+
+    public void testAllocateSequenceMovesCounterForward() {
+        UpdateScript.Factory factory = engine.compile("allocate", ConvoMetaScriptEngine.ALLOCATE_SEQUENCE, UpdateScript.CONTEXT, Map.of());
+        Map<String, Object> source = new HashMap<>();
+        Map<String, Object> ctx = new HashMap<>();
+        ctx.put("_source", source);
+        Instant t0 = Instant.now();
+        factory.newInstance(Map.of(ConvoMetaScriptEngine.PARAM_COUNT, 1, ConvoMetaScriptEngine.PARAM_TIME, t0.toString()), ctx).execute();
+        assert(((Number) source.get(ConvoIndexConstants.META_SEQUENCE_FIELD)).longValue() == 1);
+        factory.newInstance(Map.of(ConvoMetaScriptEngine.PARAM_COUNT, 3, ConvoMetaScriptEngine.PARAM_TIME, t0.plusSeconds(1).toString()), ctx).execute();
+        assert(((Number) source.get(ConvoIndexConstants.META_SEQUENCE_FIELD)).longValue() == 4);
+        // the length and the last interaction time move with the counter
+        assert(((Number) source.get(ConvoIndexConstants.META_LENGTH_FIELD)).intValue() == 4);
+        assert(source.get(ConvoIndexConstants.META_ENDED_FIELD).equals(t0.plusSeconds(1).toString()));
+    }
+}
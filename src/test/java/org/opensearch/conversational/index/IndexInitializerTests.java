@@ -0,0 +1,193 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.opensearch.Version;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.client.AdminClient;
+import org.opensearch.client.Client;
+import org.opensearch.client.IndicesAdminClient;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+public class IndexInitializerTests extends OpenSearchTestCase {
+
+    Client client;
+    IndicesAdminClient indicesAdminClient;
+    ClusterService clusterService;
+    ClusterState emptyState;
+    List<ActionListener<CreateIndexResponse>> creates;
+
+    @Before
+    public void setup() {
+        client = mock(Client.class);
+        AdminClient adminClient = mock(AdminClient.class);
+        indicesAdminClient = mock(IndicesAdminClient.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        clusterService = mock(ClusterService.class);
+        emptyState = ClusterState.builder(new ClusterName("test")).build();
+        creates = new ArrayList<>();
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        when(client.threadPool()).thenReturn(threadPool);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        when(threadPool.generic()).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(clusterService.state()).thenReturn(emptyState);
+        when(clusterService.getSettings()).thenReturn(Settings.EMPTY);
+        doAnswer(invocation -> {
+            creates.add(invocation.getArgument(1));
+            return null;
+        }).when(indicesAdminClient).create(any(), any());
+    }
+
+    private ClusterState stateWithIndex(String indexName) {
+        IndexMetadata indexMetadata = IndexMetadata.builder(indexName)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        return ClusterState.builder(emptyState).metadata(Metadata.builder().put(indexMetadata, false)).build();
+    }
+
+    public void testConcurrentInitsShareOneCreate() {
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        List<Boolean> results = new ArrayList<>();
+        for(int i = 0; i < 5; i++) {
+            initializer.initIfAbsent(ActionListener.wrap(results::add, e -> { assert(false); }));
+        }
+        verify(indicesAdminClient, times(1)).create(any(), any());
+        assert(results.isEmpty());
+        creates.get(0).onResponse(new CreateIndexResponse(true, true, "test-index"));
+        assert(results.size() == 5);
+        assert(results.stream().allMatch(b -> b));
+        assert(initializer.indexExists());
+
+        initializer.initIfAbsent(ActionListener.wrap(results::add, e -> { assert(false); }));
+        verify(indicesAdminClient, times(1)).create(any(), any());
+        assert(results.size() == 6);
+    }
+
+    public void testCreateReadsIndexFromClusterState() {
+        IndexMetadata indexMetadata = IndexMetadata.builder("test-index")
+            .settings(Settings.builder()
+                .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                .put(ConvoIndexConstants.INTERACTIONS_INDEX_SETTINGS))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        ClusterState withIndex = ClusterState.builder(emptyState).metadata(Metadata.builder().put(indexMetadata, false)).build();
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        initializer.initIfAbsent(ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        // the create was applied on this node, but the initializer hasn't seen the update yet
+        when(clusterService.state()).thenReturn(withIndex);
+        creates.get(0).onResponse(new CreateIndexResponse(true, true, "test-index"));
+        assert(initializer.indexExists());
+        assert(initializer.getIndices().equals(List.of("test-index")));
+        assert(initializer.isSorted());
+    }
+
+    public void testIndexSortedAnotherWayIsNotSorted() {
+        IndexMetadata indexMetadata = IndexMetadata.builder("test-index")
+            .settings(Settings.builder()
+                .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                // the sort of generations created before interactions had sequence numbers
+                .putList("index.sort.field", ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD,
+                    ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, ConvoIndexConstants.INTERACTIONS_ID_FIELD)
+                .putList("index.sort.order", "asc", "desc", "asc"))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        ClusterState withIndex = ClusterState.builder(emptyState).metadata(Metadata.builder().put(indexMetadata, false)).build();
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        initializer.clusterChanged(new ClusterChangedEvent("test", withIndex, emptyState));
+        assert(initializer.indexExists());
+        assert(!initializer.isSorted());
+    }
+
+    public void testExistenceFollowsClusterState() {
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        assert(!initializer.indexExists());
+        ClusterState withIndex = stateWithIndex("test-index");
+        initializer.clusterChanged(new ClusterChangedEvent("test", withIndex, emptyState));
+        assert(initializer.indexExists());
+        initializer.clusterChanged(new ClusterChangedEvent("test", emptyState, withIndex));
+        assert(!initializer.indexExists());
+    }
+
+    public void testFailedCreateFailsAllWaiters() {
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        List<Exception> failures = new ArrayList<>();
+        for(int i = 0; i < 3; i++) {
+            initializer.initIfAbsent(ActionListener.wrap(r -> { assert(false); }, failures::add));
+        }
+        creates.get(0).onFailure(new Exception("Test Fail Case"));
+        assert(failures.size() == 3);
+        // the next attempt tries again
+        initializer.initIfAbsent(ActionListener.wrap(r -> {}, e -> {}));
+        verify(indicesAdminClient, times(2)).create(any(), any());
+    }
+
+    public void testWritesWaitForBootstrap() {
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        List<Boolean> results = new ArrayList<>();
+        initializer.awaitReady(ActionListener.wrap(results::add, e -> { assert(false); }));
+        verify(client.threadPool()).schedule(any(), any(), any());
+        assert(results.isEmpty());
+        assert(creates.isEmpty());
+        ClusterState withIndex = stateWithIndex("test-index");
+        initializer.clusterChanged(new ClusterChangedEvent("test", withIndex, emptyState));
+        assert(results.equals(List.of(true)));
+        assert(creates.isEmpty());
+    }
+
+    public void testWritesCreateIndexAfterBootstrapTimeout() {
+        List<Runnable> scheduled = new ArrayList<>();
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return null;
+        }).when(client.threadPool()).schedule(any(), any(), any());
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, "test-index", "{}", Settings.EMPTY);
+        List<Boolean> results = new ArrayList<>();
+        initializer.awaitReady(ActionListener.wrap(results::add, e -> { assert(false); }));
+        assert(creates.isEmpty());
+        scheduled.get(0).run();
+        assert(creates.size() == 1);
+        creates.get(0).onResponse(new CreateIndexResponse(true, true, "test-index"));
+        assert(results.equals(List.of(true)));
+    }
+}
@@ -18,6 +18,9 @@ package org.opensearch.conversational.index;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -25,8 +28,17 @@ import org.junit.Before;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.LatchedActionListener;
 import org.opensearch.action.StepListener;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.conversational.ConversationalPlugin;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.plugins.Plugin;
+import org.opensearch.search.SearchHit;
 import org.opensearch.test.OpenSearchIntegTestCase;
 
 @OpenSearchIntegTestCase.ClusterScope(scope = OpenSearchIntegTestCase.Scope.TEST, numDataNodes = 2)
@@ -38,6 +50,11 @@ public class InteractionsIndexTests extends OpenSearchIntegTestCase {
     private InteractionsIndex index;
 
 
+    @Override
+    protected Collection<Class<? extends Plugin>> nodePlugins() {
+        return List.of(ConversationalPlugin.class);
+    }
+
     @Before
     public void setup() {
         client = client();
@@ -192,4 +209,203 @@ public class InteractionsIndexTests extends OpenSearchIntegTestCase {
             log.error(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Indices made by the plugin route interactions by conversation
+     */
+    public void testNewIndexIsRouted() {
+        CountDownLatch cdl = new CountDownLatch(1);
+        index.initInteractionsIndexIfAbsent(new LatchedActionListener<>(ActionListener.wrap(
+            r -> {
+                assert(r);
+                assert(index.getIndexInitializer().isRouted());
+            }, e -> { assert(false); }
+        ), cdl));
+        try {
+            cdl.await();
+        } catch (InterruptedException e) {
+            log.error(e);
+        }
+    }
+
+    /**
+     * Indices made by the plugin are sorted generations behind an alias
+     */
+    public void testNewIndexIsSortedBehindAlias() {
+        CountDownLatch cdl = new CountDownLatch(1);
+        index.initInteractionsIndexIfAbsent(new LatchedActionListener<>(ActionListener.wrap(
+            r -> {
+                assert(r);
+                assert(index.getIndexInitializer().isSorted());
+                assert(!index.getIndexInitializer().isConcreteIndex());
+            }, e -> { assert(false); }
+        ), cdl));
+        try {
+            cdl.await();
+        } catch (InterruptedException e) {
+            log.error(e);
+        }
+        assert(clusterService.state().metadata().hasIndex(ConvoIndexConstants.interactionsGenerationName(1)));
+    }
+
+    /**
+     * Reading pages in index sort order sees every interaction exactly once
+     */
+    public void testSortedPagination() {
+        int numInteractions = 7;
+        String cid = "sorted-convo";
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for(int i = 0; i < numInteractions; i++) {
+            // pairs of interactions share a timestamp, so ties are broken by id
+            PlainActionFuture<String> future = PlainActionFuture.newFuture();
+            index.addInteraction(cid, "input-" + i, "", "", "", "", start.plusMillis(i / 2), future);
+            future.actionGet();
+        }
+        assert(index.getIndexInitializer().isSorted());
+        List<String> seen = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            PlainActionFuture<List<Interaction>> page = PlainActionFuture.newFuture();
+            index.getInteractions(cid, cursor, 2, page);
+            List<Interaction> interactions = page.actionGet();
+            for(Interaction interaction : interactions) {
+                seen.add(interaction.getId());
+            }
+            cursor = interactions.size() < 2 ? null : PageCursor.after(interactions.get(interactions.size() - 1));
+        } while(cursor != null);
+        assert(seen.size() == numInteractions);
+        assert(new HashSet<>(seen).size() == numInteractions);
+    }
+
+    /**
+     * An interactions index from before the sorted layout is moved into a sorted generation behind an alias
+     */
+    public void testLayoutMigration() throws Exception {
+        String old = "test-old-interactions";
+        String target = old + "-000001";
+        client.admin().indices().prepareCreate(old)
+            .setSettings(Settings.builder().put("index.number_of_shards", 3))
+            .get();
+        int numDocs = 30;
+        for(int i = 0; i < numDocs; i++) {
+            client.prepareIndex(old).setSource(
+                ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, "cid-" + (i % 3),
+                ConvoIndexConstants.INTERACTIONS_INPUT_FIELD, "input-" + i,
+                ConvoIndexConstants.INTERACTIONS_TIMESTAMP_FIELD, Instant.now()
+            ).get();
+        }
+        IndexInitializer initializer = new IndexInitializer(client, clusterService, old, "{}", Settings.EMPTY);
+        InteractionsLayoutMigration migration = new InteractionsLayoutMigration(client, initializer, new InteractionsCopier(client), target);
+        assert(migration.isNeeded());
+        CountDownLatch cdl = new CountDownLatch(1);
+        migration.run(new LatchedActionListener<>(ActionListener.wrap(
+            r -> {}, e -> { log.error(e); assert(false); }
+        ), cdl));
+        cdl.await();
+        assertBusy(() -> {
+            assert(!migration.isNeeded());
+            assert(initializer.isSorted());
+            assert(initializer.isRouted());
+        });
+        assert(clusterService.state().metadata().hasAlias(old));
+        assert(!clusterService.state().metadata().hasIndex(old));
+        client.admin().indices().prepareRefresh(old).get();
+        SearchHit[] hits = client.prepareSearch(old).setSize(numDocs + 1).get().getHits().getHits();
+        assert(hits.length == numDocs);
+        for(SearchHit hit : hits) {
+            assert(hit.getId().equals(hit.getSourceAsMap().get(ConvoIndexConstants.INTERACTIONS_ID_FIELD)));
+        }
+        for(int c = 0; c < 3; c++) {
+            long routedHits = client.prepareSearch(old)
+                .setRouting("cid-" + c)
+                .setQuery(new TermQueryBuilder(ConvoIndexConstants.INTERACTIONS_CONVO_ID_FIELD, "cid-" + c))
+                .setSize(0)
+                .get().getHits().getTotalHits().value;
+            assert(routedHits == numDocs / 3);
+        }
+    }
+
+    /**
+     * The interactions alias rolls over to a new generation once it's full, reads still see
+     * every generation, and the old generation gets force merged
+     */
+    public void testRolloverByDocCount() throws Exception {
+        String cid = "rollover-convo";
+        int numInteractions = 6;
+        for(int i = 0; i < numInteractions; i++) {
+            PlainActionFuture<String> future = PlainActionFuture.newFuture();
+            index.addInteraction(cid, "input-" + i, "", "", "", "", future);
+            future.actionGet();
+        }
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_DOCS.getKey(), 5)
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_AGE.getKey(), "0")
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_SIZE.getKey(), "0")
+            .build();
+        InteractionsRollover rollover = new InteractionsRollover(client, clusterService, clusterService.threadPool(), index.getIndexInitializer(), settings);
+        PlainActionFuture<Void> rolledOver = PlainActionFuture.newFuture();
+        rollover.runOnce(rolledOver);
+        rolledOver.actionGet();
+        assertBusy(() -> {
+            IndexAbstraction alias = clusterService.state().metadata().getIndicesLookup().get(ConvoIndexConstants.INTERACTIONS_INDEX_NAME);
+            assert(alias.getIndices().size() == 2);
+            assert(alias.getWriteIndex().getIndex().getName().equals(ConvoIndexConstants.interactionsGenerationName(2)));
+        });
+
+        // the old generation is merged on the run after the rollover
+        PlainActionFuture<Void> merged = PlainActionFuture.newFuture();
+        rollover.runOnce(merged);
+        merged.actionGet();
+        assertBusy(() -> {
+            IndexMetadata old = clusterService.state().metadata().index(ConvoIndexConstants.interactionsGenerationName(1));
+            assert(ConversationalSettings.INTERACTIONS_GENERATION_FORCE_MERGED.get(old.getSettings()));
+        });
+
+        PlainActionFuture<String> another = PlainActionFuture.newFuture();
+        index.addInteraction(cid, "input-" + numInteractions, "", "", "", "", another);
+        another.actionGet();
+        PlainActionFuture<List<Interaction>> read = PlainActionFuture.newFuture();
+        index.getInteractions(cid, 0, numInteractions + 2, read);
+        assert(read.actionGet().size() == numInteractions + 1);
+    }
+
+    public void testGetInteractionsByIdAcrossGenerations() throws Exception {
+        String cid = "get-by-id-convo";
+        PlainActionFuture<String> first = PlainActionFuture.newFuture();
+        index.addInteraction(cid, "input-old", "", "", "", "", first);
+        String oldId = first.actionGet();
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_DOCS.getKey(), 1)
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_AGE.getKey(), "0")
+            .put(ConversationalSettings.INTERACTIONS_ROLLOVER_MAX_SIZE.getKey(), "0")
+            .build();
+        client.admin().indices().prepareRefresh(ConvoIndexConstants.INTERACTIONS_INDEX_NAME).get();
+        InteractionsRollover rollover = new InteractionsRollover(client, clusterService, clusterService.threadPool(), index.getIndexInitializer(), settings);
+        PlainActionFuture<Void> rolledOver = PlainActionFuture.newFuture();
+        rollover.runOnce(rolledOver);
+        rolledOver.actionGet();
+        assertBusy(() -> {
+            assert(index.getIndexInitializer().getIndices().size() == 2);
+            assert(index.getIndexInitializer().getIndices().get(0).equals(ConvoIndexConstants.interactionsGenerationName(2)));
+        });
+
+        // no refresh between the write and the reads; gets are realtime
+        PlainActionFuture<String> second = PlainActionFuture.newFuture();
+        index.addInteraction(cid, "input-new", "", "", "", "", second);
+        String newId = second.actionGet();
+
+        PlainActionFuture<List<Interaction>> read = PlainActionFuture.newFuture();
+        index.getInteractionsById(cid, List.of(newId, "no-such-interaction", oldId), read);
+        List<Interaction> interactions = read.actionGet();
+        assert(interactions.size() == 2);
+        assert(interactions.get(0).getId().equals(newId));
+        assert(interactions.get(0).getInput().equals("input-new"));
+        assert(interactions.get(1).getId().equals(oldId));
+        assert(interactions.get(1).getInput().equals("input-old"));
+
+        PlainActionFuture<List<Interaction>> otherConvo = PlainActionFuture.newFuture();
+        index.getInteractionsById("some-other-convo", List.of(newId), otherConvo);
+        assert(otherConvo.actionGet().isEmpty());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkItemResponse.Failure;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversational.ConversationalSettings;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+public class InteractionsWriteBufferTests extends OpenSearchTestCase {
+
+    Client client;
+    ThreadPool threadPool;
+    RefreshTracker refreshTracker;
+    List<BulkRequest> bulks;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        client = mock(Client.class);
+        threadPool = mock(ThreadPool.class);
+        refreshTracker = mock(RefreshTracker.class);
+        bulks = new ArrayList<>();
+        when(client.threadPool()).thenReturn(threadPool);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        doAnswer(invocation -> {
+            BulkRequest bulk = invocation.getArgument(0);
+            bulks.add(bulk);
+            BulkItemResponse[] items = new BulkItemResponse[bulk.numberOfActions()];
+            for(int i = 0; i < items.length; i++) {
+                String id = bulk.requests().get(i).id();
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.CREATE, new IndexResponse(new ShardId("index", "uuid", 0), id, 1, 1, 1, true));
+            }
+            ActionListener<BulkResponse> al = invocation.getArgument(1);
+            al.onResponse(new BulkResponse(items, 1));
+            return null;
+        }).when(client).bulk(any(), any());
+    }
+
+    private InteractionsWriteBuffer buffer(int batchSize, int capacity, String ack) {
+        Settings settings = Settings.builder()
+            .put(ConversationalSettings.WRITE_BEHIND_ENABLED.getKey(), true)
+            .put(ConversationalSettings.WRITE_BEHIND_BATCH_SIZE.getKey(), batchSize)
+            .put(ConversationalSettings.WRITE_BEHIND_QUEUE_CAPACITY.getKey(), capacity)
+            .put(ConversationalSettings.WRITE_BEHIND_ACK.getKey(), ack)
+            .build();
+        return new InteractionsWriteBuffer(client, refreshTracker, settings);
+    }
+
+    private static IndexRequest request(String id) {
+        return new IndexRequest("index").id(id).opType(DocWriteRequest.OpType.CREATE).source("field", "value");
+    }
+
+    public void testAckOnEnqueueRespondsBeforeWrite() {
+        InteractionsWriteBuffer buffer = buffer(10, 100, "enqueue");
+        AtomicReference<String> acked = new AtomicReference<>();
+        AtomicReference<String> written = new AtomicReference<>();
+        buffer.add(request("iid-1"), "cid", written::set, ActionListener.wrap(acked::set, e -> { assert(false); }));
+        assert(acked.get().equals("iid-1"));
+        assert(written.get() == null);
+        assert(bulks.isEmpty());
+        assert(buffer.getQueueSize() == 1);
+        buffer.flush();
+        assert(bulks.size() == 1);
+        assert(written.get().equals("iid-1"));
+        assert(buffer.getWritten() == 1);
+        verify(refreshTracker).markWritten("cid");
+    }
+
+    public void testAckOnFlushWaitsForWrite() {
+        InteractionsWriteBuffer buffer = buffer(2, 100, "flush");
+        List<String> acked = new ArrayList<>();
+        buffer.add(request("iid-1"), "cid", ActionListener.wrap(acked::add, e -> { assert(false); }));
+        assert(acked.isEmpty());
+        buffer.add(request("iid-2"), "cid", ActionListener.wrap(acked::add, e -> { assert(false); }));
+        // second put filled the batch
+        assert(bulks.size() == 1);
+        assert(bulks.get(0).numberOfActions() == 2);
+        assert(acked.equals(List.of("iid-1", "iid-2")));
+        assert(buffer.getQueueSize() == 0);
+    }
+
+    public void testRejectsWhenFull() {
+        InteractionsWriteBuffer buffer = buffer(10, 1, "flush");
+        buffer.add(request("iid-1"), "cid", ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        buffer.add(request("iid-2"), "cid", ActionListener.wrap(r -> { assert(false); }, failure::set));
+        assert(failure.get() instanceof OpenSearchRejectedExecutionException);
+        assert(buffer.getRejected() == 1);
+    }
+
+    public void testFailedBulkFailsListeners() {
+        doAnswer(invocation -> {
+            ActionListener<BulkResponse> al = invocation.getArgument(1);
+            al.onFailure(new Exception("Test Fail Case"));
+            return null;
+        }).when(client).bulk(any(), any());
+        InteractionsWriteBuffer buffer = buffer(10, 100, "flush");
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        buffer.add(request("iid-1"), "cid", ActionListener.wrap(r -> { assert(false); }, failure::set));
+        buffer.flush();
+        assert(failure.get().getMessage().equals("Test Fail Case"));
+        assert(buffer.getFailed() == 1);
+    }
+
+    private void failFirstBulks(int failures, RestStatus status) {
+        AtomicInteger remaining = new AtomicInteger(failures);
+        doAnswer(invocation -> {
+            BulkRequest bulk = invocation.getArgument(0);
+            bulks.add(bulk);
+            BulkItemResponse[] items = new BulkItemResponse[bulk.numberOfActions()];
+            Exception cause = status == RestStatus.TOO_MANY_REQUESTS
+                ? new OpenSearchRejectedExecutionException("Test Fail Case")
+                : new IllegalArgumentException("Test Fail Case");
+            for(int i = 0; i < items.length; i++) {
+                String id = bulk.requests().get(i).id();
+                items[i] = remaining.get() > 0
+                    ? new BulkItemResponse(i, DocWriteRequest.OpType.CREATE, new Failure("index", id, cause, status))
+                    : new BulkItemResponse(i, DocWriteRequest.OpType.CREATE, new IndexResponse(new ShardId("index", "uuid", 0), id, 1, 1, 1, true));
+            }
+            remaining.decrementAndGet();
+            ActionListener<BulkResponse> al = invocation.getArgument(1);
+            al.onResponse(new BulkResponse(items, 1));
+            return null;
+        }).when(client).bulk(any(), any());
+        // retries run right away
+        doAnswer(invocation -> {
+            Runnable retry = invocation.getArgument(0);
+            retry.run();
+            return null;
+        }).when(threadPool).schedule(any(), any(), anyString());
+    }
+
+    public void testRetriesRejectedWrites() {
+        failFirstBulks(2, RestStatus.TOO_MANY_REQUESTS);
+        InteractionsWriteBuffer buffer = buffer(1, 100, "enqueue");
+        AtomicReference<String> written = new AtomicReference<>();
+        AtomicReference<Exception> lost = new AtomicReference<>();
+        buffer.add(request("iid-1"), "cid", written::set, lost::set, ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        assert(bulks.size() == 3);
+        assert(written.get().equals("iid-1"));
+        assert(lost.get() == null);
+        assert(buffer.getRetried() == 2);
+        assert(buffer.getWritten() == 1);
+        assert(buffer.getFailed() == 0);
+    }
+
+    public void testAckedWriteIsLostAfterRetries() {
+        failFirstBulks(Integer.MAX_VALUE, RestStatus.TOO_MANY_REQUESTS);
+        InteractionsWriteBuffer buffer = buffer(1, 100, "enqueue");
+        AtomicReference<String> acked = new AtomicReference<>();
+        AtomicReference<Exception> lost = new AtomicReference<>();
+        buffer.add(request("iid-1"), "cid", id -> { assert(false); }, lost::set, ActionListener.wrap(acked::set, e -> { assert(false); }));
+        assert(acked.get().equals("iid-1"));
+        assert(lost.get() instanceof OpenSearchRejectedExecutionException);
+        assert(bulks.size() > 1);
+        assert(buffer.getRetried() == bulks.size() - 1);
+        assert(buffer.getFailed() == 1);
+        assert(buffer.getLost() == 1);
+    }
+
+    public void testDoesntRetryOtherFailures() {
+        failFirstBulks(1, RestStatus.BAD_REQUEST);
+        InteractionsWriteBuffer buffer = buffer(1, 100, "flush");
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        buffer.add(request("iid-1"), "cid", ActionListener.wrap(r -> { assert(false); }, failure::set));
+        assert(failure.get() != null);
+        assert(bulks.size() == 1);
+        assert(buffer.getRetried() == 0);
+        assert(buffer.getFailed() == 1);
+        assert(buffer.getLost() == 0);
+    }
+
+    public void testCloseWritesAckedInteractionsAndRejectsNewOnes() {
+        InteractionsWriteBuffer buffer = buffer(10, 100, "enqueue");
+        buffer.add(request("iid-1"), "cid", ActionListener.wrap(r -> {}, e -> { assert(false); }));
+        assert(bulks.isEmpty());
+        buffer.close(TimeValue.timeValueSeconds(1));
+        assert(bulks.size() == 1);
+        assert(buffer.getWritten() == 1);
+        assert(buffer.getQueueSize() == 0);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        buffer.add(request("iid-2"), "cid", ActionListener.wrap(r -> { assert(false); }, failure::set));
+        assert(failure.get() instanceof OpenSearchRejectedExecutionException);
+        assert(bulks.size() == 1);
+    }
+
+    public void testUnknownAckMode() {
+        expectThrows(IllegalArgumentException.class, () -> buffer(10, 100, "sometimes"));
+    }
+}
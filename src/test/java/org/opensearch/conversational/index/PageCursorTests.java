@@ -0,0 +1,73 @@
+/*
+ * Copyright Aryn, Inc 2023
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opensearch.conversational.index;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.conversational.action.ActionConstants;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class PageCursorTests extends OpenSearchTestCase {
+
+    public void testRoundTrip() {
+        Interaction interaction = new Interaction("test-iid", Instant.now(), "test-cid", "test-input", "test-prompt",
+            "test-response", "test-agent", "{\"test\":\"metadata\"}");
+        PageCursor cursor = PageCursor.after(interaction);
+        String token = cursor.encode();
+        assert(PageCursor.decode(token).equals(cursor));
+        Object[] sortValues = PageCursor.decode(token).getSortValues();
+        assert(sortValues[0].equals(interaction.getTimestamp().toEpochMilli()));
+        assert(sortValues[1].equals("test-iid"));
+        assert(!ActionConstants.isPositionalToken(token));
+    }
+
+    public void testInvalidTokensAreRejected() {
+        expectThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a token"));
+        expectThrows(IllegalArgumentException.class, () -> PageCursor.decode("AAAA"));
+        assert(ActionConstants.isPositionalToken("20"));
+    }
+
+    public void testSequenceSortValues() {
+        Interaction interaction = new Interaction("test-iid", Instant.now(), "test-cid", "test-input", "test-prompt",
+            "test-response", "test-agent", "{\"test\":\"metadata\"}", 7L);
+        Object[] sortValues = PageCursor.decode(PageCursor.after(interaction).encode()).getSortValues("test-cid");
+        assert(sortValues[0].equals("test-cid"));
+        assert(sortValues[1].equals(7L));
+        assert(sortValues[2].equals(interaction.getTimestamp().toEpochMilli()));
+        assert(sortValues[3].equals("test-iid"));
+    }
+
+    public void testTokensWithoutSequenceStillDecode() throws IOException {
+        long millis = Instant.now().toEpochMilli();
+        String token;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeByte((byte) 1);
+            out.writeLong(millis);
+            out.writeString("test-iid");
+            token = Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        }
+        Object[] sortValues = PageCursor.decode(token).getSequenceSortValues();
+        // sorts like an interaction written before interactions had sequence numbers
+        assert(sortValues[0].equals(Long.MIN_VALUE));
+        assert(sortValues[1].equals(millis));
+        assert(sortValues[2].equals("test-iid"));
+    }
+}